@@ -2,6 +2,7 @@ package com.solayof.schoolinventorymanagement;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -16,7 +17,14 @@ import com.solayof.schoolinventorymanagement.services.UserService;
 import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Creates the roles and the superadmin on startup if they are missing.
+ *
+ * The V13 migration seeds the same data, so this runner is only needed where Flyway does not
+ * run; the fastboot profile turns it off with {@code sims.setup.enabled=false}.
+ */
 @Service
+@ConditionalOnProperty(name = "sims.setup.enabled", havingValue = "true", matchIfMissing = true)
 public class Setup implements CommandLineRunner {
 
     @Autowired
@@ -0,0 +1,251 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.Hibernate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.entity.TenantScoped;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Captures every insert, update and delete of items, assignments, collectors and reminders
+ * into the 'change_log' table, inside the transaction that made the change.
+ *
+ * Changes are collected per session while Hibernate flushes and appended just before the
+ * transaction commits, after the final flush. Offsets come from the single 'change_log_offsets'
+ * row, which stays locked until the commit, so offsets are gap-free and in commit order.
+ * Rolled-back transactions leave no trace.
+ *
+ * Each record carries the school of its entity, so a school's consumers only read its own
+ * changes. Entity events take it from the entity; changes without a loaded entity, such as bulk
+ * updates, look it up when they are appended. Rows deleted in bulk by then, like archived
+ * reminders, keep no school and are only read by consumers across all schools.
+ */
+@Component
+@Lazy(false) // Nothing injects it, so with lazy initialization it would never register and changes would go uncaptured
+public class ChangeCaptureListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Set<Class<?>> CAPTURED = Set.of(Item.class, Assignment.class, Collector.class, Reminder.class);
+    // Entity type -> the school of a change_log row's entity, for the records captured without one
+    private static final Map<String, String> SCHOOL_LOOKUPS = Map.of(
+            "Item", "SELECT e.school_id FROM items e WHERE e.id = change_log.entity_id",
+            "Assignment", "SELECT e.school_id FROM assignments e WHERE e.id = change_log.entity_id",
+            "Collector", "SELECT e.school_id FROM collectors e WHERE e.id = change_log.entity_id",
+            "Reminder", "SELECT a.school_id FROM reminders r JOIN assignments a ON a.id = r.assignment_id WHERE r.id = change_log.entity_id");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory; // Used to register the listener with Hibernate
+
+    private final Map<SharedSessionContractImplementor, PendingChanges> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), ChangeOperation.INSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), ChangeOperation.UPDATE);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getId(), event.getEntity(), ChangeOperation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Records a change that Hibernate does not raise an event for, such as a bulk JPQL update.
+     *
+     * @param session the session of the transaction that made the change
+     * @param entityClass the class of the changed entity
+     * @param entityId the ID of the changed entity
+     * @param operation the kind of change
+     */
+    public void capture(EventSource session, Class<?> entityClass, UUID entityId, ChangeOperation operation) {
+        capture(session, entityClass, entityId, null, operation);
+    }
+
+    private void capture(EventSource session, Class<?> entityClass, UUID entityId, String schoolId, ChangeOperation operation) {
+        if (!CAPTURED.contains(entityClass)) {
+            return;
+        }
+        pending.computeIfAbsent(session, key -> {
+            PendingChanges changes = new PendingChanges();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) changes);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) changes);
+            return changes;
+        }).add(entityClass.getSimpleName(), entityId, schoolId, operation);
+    }
+
+    private void capture(EventSource session, EntityPersister persister, Object id, Object entity, ChangeOperation operation) {
+        if (id instanceof UUID entityId) {
+            capture(session, persister.getMappedClass(), entityId, schoolOf(entity), operation);
+        }
+    }
+
+    // The school of a captured entity, or null to look it up on append; never loads anything mid-flush
+    private static String schoolOf(Object entity) {
+        if (entity instanceof TenantScoped scoped) {
+            return scoped.getSchoolId();
+        }
+        if (entity instanceof Reminder reminder && reminder.getAssignment() != null && Hibernate.isInitialized(reminder.getAssignment())) {
+            return reminder.getAssignment().getSchoolId();
+        }
+        return null;
+    }
+
+    private record ChangeKey(String entityType, UUID entityId) {
+    }
+
+    /**
+     * The changes of one transaction, merged per entity so a consumer gets one record for each
+     * entity the transaction touched.
+     */
+    private final class PendingChanges implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+        private final Map<ChangeKey, ChangeOperation> changes = new LinkedHashMap<>();
+        private final Map<ChangeKey, String> schools = new HashMap<>();
+
+        private void add(String entityType, UUID entityId, String schoolId, ChangeOperation operation) {
+            ChangeKey key = new ChangeKey(entityType, entityId);
+            changes.merge(key, operation, PendingChanges::merge);
+            if (schoolId != null) {
+                schools.put(key, schoolId);
+            }
+        }
+
+        private static ChangeOperation merge(ChangeOperation previous, ChangeOperation next) {
+            if (previous == ChangeOperation.INSERT && next == ChangeOperation.DELETE) {
+                return null; // Never visible outside the transaction
+            }
+            if (previous == ChangeOperation.INSERT) {
+                return ChangeOperation.INSERT;
+            }
+            if (previous == ChangeOperation.DELETE && next == ChangeOperation.INSERT) {
+                return ChangeOperation.UPDATE;
+            }
+            return next;
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pending.remove(session);
+            if (!changes.isEmpty()) {
+                session.doWork(this::append);
+            }
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            pending.remove(session); // Rolled back: drop what was collected
+        }
+
+        private void append(Connection connection) throws SQLException {
+            int count = changes.size();
+            long lastOffset = reserveOffsets(connection, count);
+            Timestamp changedAt = Timestamp.from(Instant.now());
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO change_log (change_offset, entity_type, entity_id, operation, changed_at, school_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+                long offset = lastOffset - count;
+                for (Map.Entry<ChangeKey, ChangeOperation> change : changes.entrySet()) {
+                    insert.setLong(1, ++offset);
+                    insert.setString(2, change.getKey().entityType());
+                    insert.setObject(3, change.getKey().entityId());
+                    insert.setString(4, change.getValue().name());
+                    insert.setTimestamp(5, changedAt);
+                    insert.setString(6, schools.get(change.getKey()));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            if (schools.size() < count) {
+                lookUpSchools(connection, lastOffset - count, lastOffset);
+            }
+        }
+
+        // Sets the school of the records just appended without one, per entity type in one statement
+        private void lookUpSchools(Connection connection, long afterOffset, long lastOffset) throws SQLException {
+            Set<String> entityTypes = new HashSet<>();
+            changes.keySet().stream().filter(key -> !schools.containsKey(key)).forEach(key -> entityTypes.add(key.entityType()));
+            for (String entityType : entityTypes) {
+                try (PreparedStatement update = connection.prepareStatement("UPDATE change_log SET school_id = (" + SCHOOL_LOOKUPS.get(entityType) + ") "
+                        + "WHERE change_offset > ? AND change_offset <= ? AND entity_type = ? AND school_id IS NULL")) {
+                    update.setLong(1, afterOffset);
+                    update.setLong(2, lastOffset);
+                    update.setString(3, entityType);
+                    update.executeUpdate();
+                }
+            }
+        }
+
+        // Locks the counter row until the transaction ends and returns the last offset reserved
+        private static long reserveOffsets(Connection connection, int count) throws SQLException {
+            try (PreparedStatement bump = connection.prepareStatement(
+                    "UPDATE change_log_offsets SET last_offset = last_offset + ? WHERE id = 1")) {
+                bump.setLong(1, count);
+                if (bump.executeUpdate() == 0) {
+                    try (PreparedStatement init = connection.prepareStatement(
+                            "INSERT INTO change_log_offsets (id, last_offset) VALUES (1, ?)")) {
+                        init.setLong(1, count);
+                        init.executeUpdate();
+                    }
+                }
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT last_offset FROM change_log_offsets WHERE id = 1");
+                 ResultSet result = select.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.solayof.schoolinventorymanagement.config.PoolRouting.Pool;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single auto-configured connection pool with two Hikari pools on the same
+ * database, one for web requests and one for batch work, behind a routing DataSource (see
+ * {@link PoolRouting}). Both pools take the URL and credentials from {@code spring.datasource.*}
+ * and their pool settings from {@code sims.datasource.pools.web.*} and
+ * {@code sims.datasource.pools.batch.*}; {@code spring.datasource.hikari.*} no longer applies.
+ *
+ * Both pools are DataSource beans, so Actuator publishes the hikaricp.* metrics of each, tagged
+ * with the pool name.
+ *
+ * When {@code sims.datasource.replicas.urls} lists read replicas, connections are fetched lazily,
+ * once the transaction is known to be read-only, and the reads of methods marked by
+ * {@link ReplicaReads} go to a replica chosen by {@link ReplicaSet}. The replicas use the primary's
+ * credentials unless {@code sims.datasource.replicas.username} and {@code password} are set, and
+ * their pool settings from {@code sims.datasource.pools.replica.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sims.datasource.pools.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("sims.datasource.pools.web")
+    public HikariDataSource webPool(DataSourceProperties properties) {
+        return pool(properties, "sims-web");
+    }
+
+    @Bean
+    @ConfigurationProperties("sims.datasource.pools.batch")
+    public HikariDataSource batchPool(DataSourceProperties properties) {
+        return pool(properties, "sims-batch");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource webPool, HikariDataSource batchPool, ObjectProvider<ReplicaSet> replicaSet) {
+        PoolRouting.RoutingDataSource routing = new PoolRouting.RoutingDataSource();
+        routing.setTargetDataSources(Map.of(Pool.WEB, webPool, Pool.BATCH, batchPool));
+        ReplicaSet replicas = replicaSet.getIfAvailable();
+        if (replicas == null) {
+            return routing;
+        }
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        lazy.setReadOnlyDataSource(replicas.readOnly(routing));
+        return lazy;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "sims.datasource.replicas.urls")
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+            @Value("${sims.datasource.replicas.urls}") List<String> urls,
+            @Value("${sims.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${sims.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${sims.datasource.replicas.max-lag:10s}") Duration maxLag,
+            @Value("${sims.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${sims.datasource.replicas.check-interval-ms:5000}") long checkIntervalMs) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url).username(username).password(password).build();
+            Binder.get(environment).bind("sims.datasource.pools.replica", Bindable.ofInstance(pool));
+            pool.setPoolName("sims-replica-" + (replicas.size() + 1));
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry); // Not a bean, so Actuator does not instrument it
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaSet(replicas, maxLag, lagQuery, checkIntervalMs, meterRegistry);
+    }
+
+    // Scheduled jobs run on the scheduler's threads, so those threads use the batch pool
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer batchPoolScheduler() {
+        return scheduler -> scheduler.setThreadFactory(task -> scheduler.newThread(PoolRouting.onBatchPool(task)));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        return pool;
+    }
+}
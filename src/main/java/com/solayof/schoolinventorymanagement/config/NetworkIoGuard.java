@@ -0,0 +1,56 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flags network calls, such as sending an email, made while a database transaction is open:
+ * the transaction holds its pooled connection, and any row locks, for as long as the remote
+ * server takes to answer.
+ *
+ * Every such call is counted in the {@code sims.transactions.network.io} metric, tagged with the
+ * operation and the pool. In {@code warn} mode (the default) the first call per operation and
+ * transaction is also logged; in {@code fail} mode the call is refused, which is meant for
+ * finding them in development; {@code off} disables the guard.
+ */
+@Component
+@Slf4j
+public class NetworkIoGuard {
+    @Autowired
+    private MeterRegistry meterRegistry; // Publishes the count of network calls inside transactions
+
+    @Value("${sims.datasource.network-io-in-transaction:warn}")
+    private String mode; // warn, fail or off
+
+    private final Set<String> reported = ConcurrentHashMap.newKeySet(); // Operation and transaction already logged
+
+    /**
+     * Records a network call about to be made on the current thread.
+     *
+     * @param operation what the call does, e.g. "smtp"
+     * @throws IllegalStateException in fail mode, if a transaction is open
+     */
+    public void check(String operation) {
+        if ("off".equals(mode) || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String pool = PoolRouting.current().name().toLowerCase();
+        meterRegistry.counter("sims.transactions.network.io", "operation", operation, "pool", pool).increment();
+        String transaction = Objects.requireNonNullElse(TransactionSynchronizationManager.getCurrentTransactionName(), "programmatic");
+        if ("fail".equals(mode)) {
+            throw new IllegalStateException("Network call '" + operation + "' inside transaction " + transaction);
+        }
+        if (reported.add(operation + "@" + transaction)) {
+            log.warn("Network call '{}' inside transaction {} holds a {} pool connection while it waits", operation, transaction, pool);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Chooses the connection pool for the current thread: request threads use the web pool, and
+ * background work (scheduled jobs and the reminder executors) the batch pool, so long batch
+ * transactions cannot take the connections requests are waiting for.
+ *
+ * The pool is chosen when a transaction acquires its connection; a transaction keeps the
+ * connection it started with.
+ */
+public final class PoolRouting {
+    private static final ThreadLocal<Pool> CURRENT = new ThreadLocal<>();
+
+    private PoolRouting() {
+    }
+
+    public enum Pool {
+        WEB,
+        BATCH
+    }
+
+    /**
+     * @return the pool connections are taken from on this thread; WEB unless running batch work
+     */
+    public static Pool current() {
+        Pool pool = CURRENT.get();
+        return pool == null ? Pool.WEB : pool;
+    }
+
+    /**
+     * Wraps a task so it takes its connections from the batch pool. Used as the task decorator of
+     * the scheduler and around the worker threads of background executors.
+     *
+     * @param task the task to wrap
+     * @return a task that runs the given one on the batch pool, then restores the previous pool
+     */
+    public static Runnable onBatchPool(Runnable task) {
+        return () -> {
+            Pool previous = CURRENT.get();
+            CURRENT.set(Pool.BATCH);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * The application's DataSource, delegating to the pool of the current thread.
+     */
+    static class RoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return current();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Marks the service methods whose reads may be served by a replica: those annotated with
+ * Spring's {@code @Transactional(readOnly = true)}. Other read-only transactions, such as the
+ * default ones of Spring Data repository methods, stay on the primary, so a read followed by a
+ * write never sees a stale version.
+ *
+ * Only mark methods whose request does not write afterwards: with open-in-view, the request's
+ * EntityManager keeps the connection of its first transaction until the response is written.
+ */
+@Aspect
+@Component
+public class ReplicaReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    /**
+     * @return true if the current thread is inside a method whose reads may go to a replica
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    @Around("within(com.solayof.schoolinventorymanagement.services..*) && @annotation(transactional)")
+    public Object routeReadOnly(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        return transactional.readOnly() ? onReplica(joinPoint::proceed) : joinPoint.proceed();
+    }
+
+    /**
+     * Runs work with replica reads allowed, then restores the previous state.
+     *
+     * @param work the work to run
+     * @return the result of the work
+     */
+    static <T> T onReplica(Work<T> work) throws Throwable {
+        if (isActive()) {
+            return work.run();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    @FunctionalInterface
+    interface Work<T> {
+        T run() throws Throwable;
+    }
+}
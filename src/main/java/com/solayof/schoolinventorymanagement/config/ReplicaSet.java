@@ -0,0 +1,188 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The read replicas, with the staleness policy deciding which of them may serve reads.
+ *
+ * Every {@code checkIntervalMs} each replica runs the lag query, which returns its replication
+ * lag in seconds; a replica is usable while the query succeeds and the lag is at most
+ * {@code maxLag}. Without a lag query only reachability is checked. Reads go to the usable
+ * replicas in turn; a replica that fails to give a connection is left out until its next
+ * successful check, and when none is usable reads fall back to the primary.
+ *
+ * The lag of each replica is published as {@code sims.datasource.replica.lag}, and reads sent to
+ * the primary for want of a usable replica as {@code sims.datasource.replica.fallbacks}.
+ */
+@Slf4j
+public class ReplicaSet implements Closeable {
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final long checkIntervalMs;
+    private final Counter fallbacks;
+    private final AtomicInteger next = new AtomicInteger(); // Round robin over the usable replicas
+
+    private ScheduledExecutorService checker; // Runs the lag checks
+
+    /**
+     * @param replicas the replica DataSources by name, in order
+     * @param maxLag the largest replication lag at which a replica still serves reads
+     * @param lagQuery a query returning the replica's lag in seconds, or blank to only check reachability
+     * @param checkIntervalMs the time between two checks of the replicas
+     * @param meterRegistry the registry the lag and fallback metrics are published to
+     */
+    public ReplicaSet(Map<String, DataSource> replicas, Duration maxLag, String lagQuery, long checkIntervalMs, MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.checkIntervalMs = checkIntervalMs;
+        this.fallbacks = meterRegistry.counter("sims.datasource.replica.fallbacks");
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder("sims.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Checks the replicas once, then keeps checking them in the background.
+     */
+    public void start() {
+        check();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Measures the lag of every replica and applies the staleness policy.
+     */
+    public void check() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                double lag = measureLag(connection);
+                boolean usable = lag <= maxLag.toMillis() / 1000.0;
+                if (usable != replica.usable) {
+                    log.info("Replica {} is {} (lag {} s)", replica.name, usable ? "serving reads" : "too stale to serve reads", lag);
+                }
+                replica.lagSeconds = lag;
+                replica.usable = usable;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.usable) {
+                    log.warn("Replica {} failed its check, reads go elsewhere until it recovers: {}", replica.name, e.getMessage());
+                }
+                replica.lagSeconds = Double.NaN;
+                replica.usable = false;
+            }
+        }
+    }
+
+    /**
+     * Wraps the replicas in a DataSource for read-only transactions: reads of methods marked by
+     * {@link ReplicaReads} go to a usable replica, everything else to the primary.
+     *
+     * @param primary the DataSource to use when a replica may not or cannot serve the read
+     * @return the DataSource to register as the read-only DataSource
+     */
+    public DataSource readOnly(DataSource primary) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return ReplicaReads.isActive() ? getReadConnection(primary) : primary.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new UnsupportedOperationException("Replica connections use the configured credentials");
+            }
+        };
+    }
+
+    private Connection getReadConnection(DataSource primary) throws SQLException {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.usable) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.usable = false; // Until the next successful check
+                log.warn("Replica {} refused a connection, reads go elsewhere until it recovers: {}", replica.name, e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    private double measureLag(Connection connection) throws SQLException {
+        if (!StringUtils.hasText(lagQuery)) {
+            if (!connection.isValid(5)) {
+                throw new SQLException("Connection is not valid");
+            }
+            return 0;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(lagQuery)) {
+            result.next();
+            return result.getDouble(1);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable; // Not until the first successful check
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
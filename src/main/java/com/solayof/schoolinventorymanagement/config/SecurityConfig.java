@@ -21,6 +21,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.solayof.schoolinventorymanagement.filter.AdmissionControlFilter;
 import com.solayof.schoolinventorymanagement.filter.JwtAuthFilter;
 
 
@@ -32,6 +33,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter authFilter;
 
+    @Autowired
+    private AdmissionControlFilter admissionControlFilter; // Runs once the caller is known
+
     @Autowired
     public UserDetailsService userDetailsService;
 
@@ -58,13 +62,15 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
                 .sessionManagement(httpSecuritySessionManagementConfigurer ->
                         httpSecuritySessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(admissionControlFilter, JwtAuthFilter.class);
         return http.build();
     }
 
-    // Password Encoding
+    // Password Encoding; static so UserService can get it without this class, which depends on UserService through
+    // JwtAuthFilter (an AOT-processed context cannot break that cycle with an early reference)
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public static PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
@@ -0,0 +1,32 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Multi-school mode. With {@code sims.tenancy.enabled=true} every request works for the school in
+ * the {@code school_id} claim of its JWT (see {@link TenantContext}); otherwise everything belongs
+ * to the default school, as before.
+ */
+@Configuration
+public class TenancyConfig {
+
+    // Static, as post-processors are created before the other beans; the dialect is installed
+    // before the factory reads the vendor adapter's, so the transaction manager picks it up too.
+    // The initializer covers the EntityManagers opened outside a transaction
+    @Bean
+    public static BeanPostProcessor tenantJpaDialectInstaller() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new TenantJpaDialect());
+                    entityManagerFactory.setEntityManagerInitializer(TenantJpaDialect::enableSchoolFilter);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.solayof.schoolinventorymanagement.config;
+
+/**
+ * The school the current thread works for, in multi-school mode.
+ *
+ * Requests get it from the {@code school_id} claim of their JWT (see JwtAuthFilter); scheduled
+ * jobs run without one, across all schools, unless they scope a task with {@link #runAs}. While a
+ * school is set, every transaction only sees that school's rows (see {@link TenantJpaDialect}),
+ * and new rows are stamped with it. In single-school mode no school is ever set and all rows
+ * belong to {@link #DEFAULT_SCHOOL}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_SCHOOL = "default"; // The school of rows created before multi-school mode
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the school of the current thread, or null when it works across all schools
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the school new rows created on this thread belong to
+     */
+    public static String schoolForNewRows() {
+        String schoolId = CURRENT.get();
+        return schoolId == null ? DEFAULT_SCHOOL : schoolId;
+    }
+
+    /**
+     * @param schoolId the school of a row
+     * @return true if the current thread may see the row
+     */
+    public static boolean canSee(String schoolId) {
+        String current = CURRENT.get();
+        return current == null || current.equals(schoolId);
+    }
+
+    /**
+     * Sets the school of the current thread. Callers must {@link #clear} it when done.
+     *
+     * @param schoolId the school
+     */
+    public static void set(String schoolId) {
+        CURRENT.set(schoolId);
+    }
+
+    /**
+     * Removes the school of the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs a task for one school, then restores the previous school. The task must start its own
+     * transactions: the school only applies to transactions begun while it is set.
+     *
+     * @param schoolId the school
+     * @param task the task to run
+     */
+    public static void runAs(String schoolId, Runnable task) {
+        String previous = CURRENT.get();
+        CURRENT.set(schoolId);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
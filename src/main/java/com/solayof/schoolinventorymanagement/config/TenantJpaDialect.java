@@ -0,0 +1,48 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import java.sql.SQLException;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import com.solayof.schoolinventorymanagement.entity.TenantScoped;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Enables the school filter on the session of every transaction begun while a school is set (see
+ * {@link TenantContext}), so its queries only return that school's rows. Every transaction of the
+ * JPA transaction manager starts here, including the default ones of Spring Data repositories.
+ * Derived query methods run without a transaction, on an EntityManager of their own, so
+ * {@link TenancyConfig} also applies {@link #enableSchoolFilter} to every new EntityManager.
+ *
+ * With open-in-view the session outlives the transaction and keeps the filter, which is fine as a
+ * request works for a single school.
+ */
+public class TenantJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        enableSchoolFilter(entityManager);
+        return transactionData;
+    }
+
+    /**
+     * Enables the school filter on an EntityManager if a school is set.
+     *
+     * @param entityManager the EntityManager
+     */
+    public static void enableSchoolFilter(EntityManager entityManager) {
+        String schoolId = TenantContext.current();
+        if (schoolId != null) {
+            entityManager.unwrap(Session.class)
+                    .enableFilter(TenantScoped.FILTER)
+                    .setParameter(TenantScoped.FILTER_PARAMETER, schoolId);
+        }
+    }
+}
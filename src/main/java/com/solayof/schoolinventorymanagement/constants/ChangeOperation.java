@@ -0,0 +1,7 @@
+package com.solayof.schoolinventorymanagement.constants;
+
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE
+}
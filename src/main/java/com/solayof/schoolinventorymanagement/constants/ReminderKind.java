@@ -0,0 +1,11 @@
+package com.solayof.schoolinventorymanagement.constants;
+
+/**
+ * What a reminder was created for. Together with the assignment and the reminder date it keys
+ * the reminder, so each kind is created at most once per assignment and day.
+ */
+public enum ReminderKind {
+    OVERDUE, // Generated by the overdue reminder job
+    MANUAL,  // Created or sent through the API
+    LEGACY   // Stored before reminders had a kind, after the first of its assignment and day; not keyed, never created again
+}
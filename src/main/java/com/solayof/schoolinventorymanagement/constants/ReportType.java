@@ -0,0 +1,6 @@
+package com.solayof.schoolinventorymanagement.constants;
+
+public enum ReportType {
+    INVENTORY_LEVELS,
+    COLLECTOR_ASSIGNMENTS
+}
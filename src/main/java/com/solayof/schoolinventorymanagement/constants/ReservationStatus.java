@@ -0,0 +1,10 @@
+package com.solayof.schoolinventorymanagement.constants;
+
+/**
+ * Enum representing the lifecycle of a reservation in an item's waitlist.
+ */
+public enum ReservationStatus {
+    WAITING,
+    FULFILLED,
+    CANCELLED
+}
@@ -0,0 +1,82 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+
+public class AssignmentHistoryDTO {
+    private UUID id; // ID the assignment had while it was active
+    private UUID itemId; // ID of the item
+    private UUID collectorId; // ID of the collector
+    private LocalDate assignmentDate; // Date the item was checked out
+    private LocalDate returnDueDate; // Date the item was due back
+    private LocalDate actualReturnDate; // Date the item was returned
+    private int loanDays; // Days between assignment and return
+    private boolean overdue; // Whether the item came back late
+
+    public AssignmentHistoryDTO() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    public UUID getItemId() {
+        return itemId;
+    }
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+    public UUID getCollectorId() {
+        return collectorId;
+    }
+    public void setCollectorId(UUID collectorId) {
+        this.collectorId = collectorId;
+    }
+    public LocalDate getAssignmentDate() {
+        return assignmentDate;
+    }
+    public void setAssignmentDate(LocalDate assignmentDate) {
+        this.assignmentDate = assignmentDate;
+    }
+    public LocalDate getReturnDueDate() {
+        return returnDueDate;
+    }
+    public void setReturnDueDate(LocalDate returnDueDate) {
+        this.returnDueDate = returnDueDate;
+    }
+    public LocalDate getActualReturnDate() {
+        return actualReturnDate;
+    }
+    public void setActualReturnDate(LocalDate actualReturnDate) {
+        this.actualReturnDate = actualReturnDate;
+    }
+    public int getLoanDays() {
+        return loanDays;
+    }
+    public void setLoanDays(int loanDays) {
+        this.loanDays = loanDays;
+    }
+    public boolean isOverdue() {
+        return overdue;
+    }
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+
+    public static AssignmentHistoryDTO fromAssignmentHistory(AssignmentHistory history) {
+        AssignmentHistoryDTO dto = new AssignmentHistoryDTO();
+        dto.setId(history.getId());
+        dto.setItemId(history.getItemId());
+        dto.setCollectorId(history.getCollectorId());
+        dto.setAssignmentDate(history.getAssignmentDate());
+        dto.setReturnDueDate(history.getReturnDueDate());
+        dto.setActualReturnDate(history.getActualReturnDate());
+        dto.setLoanDays(history.getLoanDays());
+        dto.setOverdue(history.isOverdue());
+        return dto;
+    }
+}
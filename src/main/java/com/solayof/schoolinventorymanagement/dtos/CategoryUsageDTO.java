@@ -0,0 +1,103 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import com.solayof.schoolinventorymanagement.repository.CategoryUsageStats;
+
+public class CategoryUsageDTO {
+    private String categoryName; // Name of the category
+    private long itemCount; // Items currently in the category
+    private long checkouts; // Assignments started in the range
+    private long returns; // Assignments returned in the range
+    private double utilization; // Share of the category's item-days on loan, between 0 and 1
+    private double meanLoanDays; // Average duration of the loans returned in the range
+    private double overdueRate; // Share of the returns that came back late, between 0 and 1
+
+    public CategoryUsageDTO() {
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+    public long getItemCount() {
+        return itemCount;
+    }
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+    public long getCheckouts() {
+        return checkouts;
+    }
+    public void setCheckouts(long checkouts) {
+        this.checkouts = checkouts;
+    }
+    public long getReturns() {
+        return returns;
+    }
+    public void setReturns(long returns) {
+        this.returns = returns;
+    }
+    public double getUtilization() {
+        return utilization;
+    }
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+    public double getMeanLoanDays() {
+        return meanLoanDays;
+    }
+    public void setMeanLoanDays(double meanLoanDays) {
+        this.meanLoanDays = meanLoanDays;
+    }
+    public double getOverdueRate() {
+        return overdueRate;
+    }
+    public void setOverdueRate(double overdueRate) {
+        this.overdueRate = overdueRate;
+    }
+
+    /**
+     * Derives the usage metrics of a category from the summed daily rollups of its items.
+     *
+     * @param stats the usage of the category summed over the range
+     * @param itemCount the number of items currently in the category
+     * @param openLoanDays the item-days in the range out on loans not returned yet
+     * @param days the number of days in the range
+     * @return the usage metrics of the category
+     */
+    public static CategoryUsageDTO fromStats(CategoryUsageStats stats, long itemCount, long openLoanDays, long days) {
+        CategoryUsageDTO dto = new CategoryUsageDTO();
+        dto.setCategoryName(stats.getCategoryName());
+        dto.setItemCount(itemCount);
+        dto.setCheckouts(stats.getCheckouts());
+        dto.setReturns(stats.getReturns());
+        dto.setUtilization(utilization(stats.getDaysOnLoan() + openLoanDays, itemCount, days));
+        dto.setMeanLoanDays(stats.getReturns() == 0 ? 0 : (double) stats.getLoanDays() / stats.getReturns());
+        dto.setOverdueRate(stats.getReturns() == 0 ? 0 : (double) stats.getOverdueReturns() / stats.getReturns());
+        return dto;
+    }
+
+    /**
+     * Derives the usage metrics of a category whose items were only out for the range on loans
+     * started before it, so has no daily rollups in the range.
+     *
+     * @param categoryName the name of the category
+     * @param itemCount the number of items currently in the category
+     * @param openLoanDays the item-days in the range out on those loans
+     * @param days the number of days in the range
+     * @return the usage metrics of the category
+     */
+    public static CategoryUsageDTO fromOpenLoans(String categoryName, long itemCount, long openLoanDays, long days) {
+        CategoryUsageDTO dto = new CategoryUsageDTO();
+        dto.setCategoryName(categoryName);
+        dto.setItemCount(itemCount);
+        dto.setUtilization(utilization(openLoanDays, itemCount, days));
+        return dto;
+    }
+
+    // Capped, as items deleted or moved to another category since still count the days they were out
+    private static double utilization(long daysOnLoan, long itemCount, long days) {
+        return itemCount == 0 ? 0 : Math.min(1.0, (double) daysOnLoan / (itemCount * days));
+    }
+}
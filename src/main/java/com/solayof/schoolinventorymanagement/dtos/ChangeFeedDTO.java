@@ -0,0 +1,37 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.util.List;
+
+public class ChangeFeedDTO {
+    private List<ChangeRecordDTO> changes; // In offset order
+    private long nextOffset; // Pass as 'since' to continue; equals the request's 'since' when nothing is new
+    private boolean hasMore; // True when the page was full and more changes may be waiting
+
+    public ChangeFeedDTO() {
+    }
+
+    public ChangeFeedDTO(List<ChangeRecordDTO> changes, long nextOffset, boolean hasMore) {
+        this.changes = changes;
+        this.nextOffset = nextOffset;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeRecordDTO> getChanges() {
+        return changes;
+    }
+    public void setChanges(List<ChangeRecordDTO> changes) {
+        this.changes = changes;
+    }
+    public long getNextOffset() {
+        return nextOffset;
+    }
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
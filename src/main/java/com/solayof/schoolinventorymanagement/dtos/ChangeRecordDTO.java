@@ -0,0 +1,56 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.entity.ChangeLogEntry;
+
+public class ChangeRecordDTO {
+    private long offset; // Position in the change feed
+    private String entityType; // e.g., "Item", "Assignment", "Collector", "Reminder"
+    private UUID entityId;
+    private ChangeOperation operation;
+    private Instant changedAt;
+
+    public long getOffset() {
+        return offset;
+    }
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+    public String getEntityType() {
+        return entityType;
+    }
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+    public UUID getEntityId() {
+        return entityId;
+    }
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public static ChangeRecordDTO fromChangeLogEntry(ChangeLogEntry entry) {
+        ChangeRecordDTO dto = new ChangeRecordDTO();
+        dto.setOffset(entry.getChangeOffset());
+        dto.setEntityType(entry.getEntityType());
+        dto.setEntityId(entry.getEntityId());
+        dto.setOperation(entry.getOperation());
+        dto.setChangedAt(entry.getChangedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,58 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.repository.CollectorAssignmentStats;
+
+public class CollectorAssignmentSummaryDTO {
+    private UUID collectorId; // ID of the collector
+    private String collectorName; // Name of the collector
+    private long activeCount; // Assignments not yet returned
+    private long overdueCount; // Active assignments past their return due date
+    private LocalDate oldestDueDate; // Earliest return due date among the active assignments
+
+    public CollectorAssignmentSummaryDTO() {
+    }
+
+    public UUID getCollectorId() {
+        return collectorId;
+    }
+    public void setCollectorId(UUID collectorId) {
+        this.collectorId = collectorId;
+    }
+    public String getCollectorName() {
+        return collectorName;
+    }
+    public void setCollectorName(String collectorName) {
+        this.collectorName = collectorName;
+    }
+    public long getActiveCount() {
+        return activeCount;
+    }
+    public void setActiveCount(long activeCount) {
+        this.activeCount = activeCount;
+    }
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+    public void setOverdueCount(long overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+    public LocalDate getOldestDueDate() {
+        return oldestDueDate;
+    }
+    public void setOldestDueDate(LocalDate oldestDueDate) {
+        this.oldestDueDate = oldestDueDate;
+    }
+
+    public static CollectorAssignmentSummaryDTO fromStats(CollectorAssignmentStats stats) {
+        CollectorAssignmentSummaryDTO dto = new CollectorAssignmentSummaryDTO();
+        dto.setCollectorId(stats.getCollectorId());
+        dto.setCollectorName(stats.getCollectorName());
+        dto.setActiveCount(stats.getActiveCount());
+        dto.setOverdueCount(stats.getOverdueCount());
+        dto.setOldestDueDate(stats.getOldestDueDate());
+        return dto;
+    }
+}
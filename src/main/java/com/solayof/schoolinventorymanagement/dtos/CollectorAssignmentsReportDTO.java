@@ -0,0 +1,46 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+public class CollectorAssignmentsReportDTO {
+    private Map<UUID, CollectorAssignmentSummaryDTO> collectors; // Collector ID -> aggregates, for collectors with active assignments, by name
+    private long totalActiveAssignments; // Sum of the active counts
+    private long totalOverdueAssignments; // Sum of the overdue counts
+    private Instant generatedAt; // When the report was computed
+
+    public CollectorAssignmentsReportDTO() {
+    }
+
+    public CollectorAssignmentsReportDTO(Map<UUID, CollectorAssignmentSummaryDTO> collectors, long totalActiveAssignments, long totalOverdueAssignments) {
+        this.collectors = collectors;
+        this.totalActiveAssignments = totalActiveAssignments;
+        this.totalOverdueAssignments = totalOverdueAssignments;
+    }
+
+    public Map<UUID, CollectorAssignmentSummaryDTO> getCollectors() {
+        return collectors;
+    }
+    public void setCollectors(Map<UUID, CollectorAssignmentSummaryDTO> collectors) {
+        this.collectors = collectors;
+    }
+    public long getTotalActiveAssignments() {
+        return totalActiveAssignments;
+    }
+    public void setTotalActiveAssignments(long totalActiveAssignments) {
+        this.totalActiveAssignments = totalActiveAssignments;
+    }
+    public long getTotalOverdueAssignments() {
+        return totalOverdueAssignments;
+    }
+    public void setTotalOverdueAssignments(long totalOverdueAssignments) {
+        this.totalOverdueAssignments = totalOverdueAssignments;
+    }
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+    public void setGeneratedAt(Instant generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.solayof.schoolinventorymanagement.constants.Status;
+
+public class InventoryLevelsReportDTO {
+    private long totalItems; // Number of items in the inventory
+    private Map<Status, Long> itemCountsByStatus; // Status -> number of items
+    private Map<String, Long> itemCountsByCategory; // Category name -> number of items
+    private double utilization; // Share of items currently assigned, between 0 and 1
+    private Instant generatedAt; // When the report was computed
+
+    public InventoryLevelsReportDTO() {
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+    public void setTotalItems(long totalItems) {
+        this.totalItems = totalItems;
+    }
+    public Map<Status, Long> getItemCountsByStatus() {
+        return itemCountsByStatus;
+    }
+    public void setItemCountsByStatus(Map<Status, Long> itemCountsByStatus) {
+        this.itemCountsByStatus = itemCountsByStatus;
+    }
+    public Map<String, Long> getItemCountsByCategory() {
+        return itemCountsByCategory;
+    }
+    public void setItemCountsByCategory(Map<String, Long> itemCountsByCategory) {
+        this.itemCountsByCategory = itemCountsByCategory;
+    }
+    public double getUtilization() {
+        return utilization;
+    }
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+    public void setGeneratedAt(Instant generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
@@ -0,0 +1,99 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.repository.ItemUsageStats;
+
+public class ItemUsageDTO {
+    private UUID itemId; // ID of the item
+    private String itemName; // Name of the item, null if it has been deleted
+    private long checkouts; // Assignments started in the range
+    private long returns; // Assignments returned in the range
+    private double utilization; // Share of the range the item was on loan, between 0 and 1
+    private double meanLoanDays; // Average duration of the loans returned in the range
+    private double overdueRate; // Share of the returns that came back late, between 0 and 1
+
+    public ItemUsageDTO() {
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+    public String getItemName() {
+        return itemName;
+    }
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+    public long getCheckouts() {
+        return checkouts;
+    }
+    public void setCheckouts(long checkouts) {
+        this.checkouts = checkouts;
+    }
+    public long getReturns() {
+        return returns;
+    }
+    public void setReturns(long returns) {
+        this.returns = returns;
+    }
+    public double getUtilization() {
+        return utilization;
+    }
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+    public double getMeanLoanDays() {
+        return meanLoanDays;
+    }
+    public void setMeanLoanDays(double meanLoanDays) {
+        this.meanLoanDays = meanLoanDays;
+    }
+    public double getOverdueRate() {
+        return overdueRate;
+    }
+    public void setOverdueRate(double overdueRate) {
+        this.overdueRate = overdueRate;
+    }
+
+    /**
+     * Derives the usage metrics of an item from its summed daily rollups.
+     *
+     * @param stats the usage of the item summed over the range
+     * @param openLoanDays the days in the range the item was out on a loan not returned yet
+     * @param days the number of days in the range
+     * @return the usage metrics of the item
+     */
+    public static ItemUsageDTO fromStats(ItemUsageStats stats, long openLoanDays, long days) {
+        ItemUsageDTO dto = new ItemUsageDTO();
+        dto.setItemId(stats.getItemId());
+        dto.setItemName(stats.getItemName());
+        dto.setCheckouts(stats.getCheckouts());
+        dto.setReturns(stats.getReturns());
+        dto.setUtilization((double) (stats.getDaysOnLoan() + openLoanDays) / days);
+        dto.setMeanLoanDays(stats.getReturns() == 0 ? 0 : (double) stats.getLoanDays() / stats.getReturns());
+        dto.setOverdueRate(stats.getReturns() == 0 ? 0 : (double) stats.getOverdueReturns() / stats.getReturns());
+        return dto;
+    }
+
+    /**
+     * Derives the usage metrics of an item that was out for the range on a loan started before it,
+     * so has no daily rollups in the range.
+     *
+     * @param itemId the ID of the item
+     * @param itemName the name of the item
+     * @param openLoanDays the days in the range the item was out
+     * @param days the number of days in the range
+     * @return the usage metrics of the item
+     */
+    public static ItemUsageDTO fromOpenLoan(UUID itemId, String itemName, long openLoanDays, long days) {
+        ItemUsageDTO dto = new ItemUsageDTO();
+        dto.setItemId(itemId);
+        dto.setItemName(itemName);
+        dto.setUtilization((double) openLoanDays / days);
+        return dto;
+    }
+}
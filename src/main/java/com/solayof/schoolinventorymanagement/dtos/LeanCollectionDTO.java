@@ -0,0 +1,34 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lean list representation: the rows as plain DTOs, with links only at collection level.
+ * Link values may be URI templates, e.g. "item" -> ".../api/items/{id}" to address a row.
+ */
+public class LeanCollectionDTO<T> {
+    private List<T> content; // The rows, without per-row links
+    private Map<String, String> links; // Relation -> href, for the collection as a whole
+
+    public LeanCollectionDTO() {
+    }
+
+    public LeanCollectionDTO(List<T> content, Map<String, String> links) {
+        this.content = content;
+        this.links = links;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    public Map<String, String> getLinks() {
+        return links;
+    }
+    public void setLinks(Map<String, String> links) {
+        this.links = links;
+    }
+}
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
 
@@ -16,6 +17,7 @@ public class ReminderDTO {
    private LocalDate reminderDate;
     @NotNull(message = "Status cannot be null")
    private ReminderStatus status;
+   private ReminderKind kind; // Set by the server: OVERDUE for generated reminders, MANUAL for the others
     @NotNull(message = "Message cannot be null")
     @Size(max = 500, message = "Message must be at most 500 characters")
    private String message;
@@ -54,6 +56,14 @@ public class ReminderDTO {
         this.updatedAt = updatedAt;
     }
 
+    public ReminderKind getKind() {
+        return kind;
+    }
+
+    public void setKind(ReminderKind kind) {
+        this.kind = kind;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -97,7 +107,7 @@ public class ReminderDTO {
         this.assignmentId = assignmentId;
     }
     public static ReminderDTO fromReminder(Reminder reminder) {
-        return new ReminderDTO(
+        ReminderDTO dto = new ReminderDTO(
             reminder.getId(),
             reminder.getReminderDate(),
             reminder.getStatus(),
@@ -107,5 +117,7 @@ public class ReminderDTO {
             reminder.getUpdatedAt(),
             reminder.getAssignment().getId() //!= null ? reminder.getAssignment().getId() : null
         );
+        dto.setKind(reminder.getKind());
+        return dto;
     }
 }
@@ -0,0 +1,53 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.entity.ReportSnapshot;
+
+public class ReportSnapshotDTO {
+    private UUID id; // Unique identifier of the snapshot
+    private ReportType reportType; // Which report the payload holds
+    private Instant createdAt; // When the report was computed
+    @JsonRawValue
+    private String payload; // The stored JSON, written as is without being parsed
+
+    public ReportSnapshotDTO() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    public ReportType getReportType() {
+        return reportType;
+    }
+    public void setReportType(ReportType reportType) {
+        this.reportType = reportType;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    public String getPayload() {
+        return payload;
+    }
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public static ReportSnapshotDTO fromReportSnapshot(ReportSnapshot snapshot) {
+        ReportSnapshotDTO dto = new ReportSnapshotDTO();
+        dto.setId(snapshot.getId());
+        dto.setReportType(snapshot.getReportType());
+        dto.setCreatedAt(snapshot.getCreatedAt());
+        dto.setPayload(snapshot.getPayload());
+        return dto;
+    }
+}
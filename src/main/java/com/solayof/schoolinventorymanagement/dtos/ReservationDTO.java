@@ -0,0 +1,104 @@
+package com.solayof.schoolinventorymanagement.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ReservationDTO {
+    private UUID id;
+    @NotNull(message = "Item ID cannot be null")
+    private UUID itemId; // ID of the item being waited for
+    @NotNull(message = "Collector ID cannot be null")
+    private UUID collectorId; // ID of the collector joining the waitlist
+    @Min(value = 1, message = "Loan days must be at least 1")
+    @Max(value = 365, message = "Loan days must be at most 365")
+    private int loanDays = 7; // Length of the loan created when the item is handed over
+    private ReservationStatus status;
+    private Integer position; // 1-based place in the waitlist while WAITING
+    private UUID assignmentId; // Assignment created by the hand-off, once fulfilled
+    private Instant createdAt;
+    private Instant fulfilledAt;
+
+    public ReservationDTO() {
+    }
+
+    public ReservationDTO(UUID itemId, UUID collectorId, int loanDays) {
+        this.itemId = itemId;
+        this.collectorId = collectorId;
+        this.loanDays = loanDays;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    public UUID getItemId() {
+        return itemId;
+    }
+    public void setItemId(UUID itemId) {
+        this.itemId = itemId;
+    }
+    public UUID getCollectorId() {
+        return collectorId;
+    }
+    public void setCollectorId(UUID collectorId) {
+        this.collectorId = collectorId;
+    }
+    public int getLoanDays() {
+        return loanDays;
+    }
+    public void setLoanDays(int loanDays) {
+        this.loanDays = loanDays;
+    }
+    public ReservationStatus getStatus() {
+        return status;
+    }
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+    public Integer getPosition() {
+        return position;
+    }
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+    public UUID getAssignmentId() {
+        return assignmentId;
+    }
+    public void setAssignmentId(UUID assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    public Instant getFulfilledAt() {
+        return fulfilledAt;
+    }
+    public void setFulfilledAt(Instant fulfilledAt) {
+        this.fulfilledAt = fulfilledAt;
+    }
+
+    public static ReservationDTO fromReservation(Reservation reservation) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setId(reservation.getId());
+        dto.setItemId(reservation.getItem().getId());
+        dto.setCollectorId(reservation.getCollector().getId());
+        dto.setLoanDays(reservation.getLoanDays());
+        dto.setStatus(reservation.getStatus());
+        dto.setAssignmentId(reservation.getAssignmentId());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        dto.setFulfilledAt(reservation.getFulfilledAt());
+        return dto;
+    }
+}
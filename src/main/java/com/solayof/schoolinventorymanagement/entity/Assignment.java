@@ -9,6 +9,7 @@ import java.util.UUID;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,7 +19,9 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -35,10 +38,12 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "assignments")
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Assignment {
+public class Assignment implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO) // Auto-incrementing primary key
@@ -53,6 +58,13 @@ public class Assignment {
     @Column(name = "actual_return_date")
     private LocalDate actualReturnDate; // Maps to DATE (nullable)
 
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the assignment belongs to, set on insert (TenantListener)
+
+    @Version // Optimistic locking: concurrent returns or due date changes of the same assignment cannot both win
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false) // Maps to TIMESTAMP WITH TIME ZONE
     private Instant createdAt; // Maps to TIMESTAMP WITH TIME ZONE
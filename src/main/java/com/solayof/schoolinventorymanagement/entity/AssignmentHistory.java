@@ -0,0 +1,67 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a returned assignment.
+ * Maps to the 'assignment_history' table. Returning an item deletes its assignment, so a copy
+ * is written here first. References are plain IDs, so history outlives deleted items and collectors.
+ * Rows belong to the school of their item.
+ */
+@Entity
+@Table(name = "assignment_history")
+@Immutable
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentHistory implements TenantScoped {
+
+    @Id
+    private UUID id; // The ID the assignment had while it was active
+
+    @Column(name = "item_id", nullable = false)
+    private UUID itemId;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId; // Category of the item at the time of the return
+
+    @Column(name = "collector_id", nullable = false)
+    private UUID collectorId;
+
+    @Column(name = "assignment_date", nullable = false)
+    private LocalDate assignmentDate; // Maps to DATE
+
+    @Column(name = "return_due_date")
+    private LocalDate returnDueDate; // Maps to DATE (nullable)
+
+    @Column(name = "actual_return_date", nullable = false)
+    private LocalDate actualReturnDate; // Maps to DATE
+
+    @Column(name = "loan_days", nullable = false)
+    private int loanDays; // Days between assignment and return
+
+    @Column(name = "overdue", nullable = false)
+    private boolean overdue; // Whether the item came back after its return due date
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt; // Maps to TIMESTAMP WITH TIME ZONE
+
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school of the item
+}
@@ -1,5 +1,6 @@
 package com.solayof.schoolinventorymanagement.entity;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -10,11 +11,17 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -25,22 +32,35 @@ import lombok.NoArgsConstructor;
  * Maps to the 'categories' table in the PostgreSQL database.
  */
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", uniqueConstraints = @UniqueConstraint(name = "uq_categories_school_name", columnNames = {"school_id", "name"}))
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
 @Data // Lombok: Generates getters, setters, toString, equals, and hashCode
 @NoArgsConstructor // Lombok: Generates a no-argument constructor
 @AllArgsConstructor // Lombok: Generates a constructor with all fields
-public class Category {
+public class Category implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO) // Auto-incrementing primary key
     private UUID id;
 
-    @Column(name = "name", nullable = false, unique = true) // Column for category name, must be unique and not null
+    @Column(name = "name", nullable = false) // Column for category name, must be unique within the school and not null
     private String name; // Category name
 
     @Column(name = "description", columnDefinition = "TEXT") // Column for category description, allows for longer text
     private String description; // Category description
 
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the category belongs to, set on insert (TenantListener)
+
+    @CreationTimestamp // Automatically sets the creation timestamp
+    @Column(name = "created_at", updatable = false) // Maps to TIMESTAMP WITH TIME ZONE
+    private Instant createdAt;
+
+    @UpdateTimestamp // Automatically updates the timestamp on entity update
+    @Column(name = "updated_at") // Used for the collection ETag of GET /api/categories
+    private Instant updatedAt;
+
     // One-to-Many relationship with Item: one category can have many items
     // mappedBy indicates the field in the Item entity that owns the relationship
     // CascadeType.ALL means all operations (persist, merge, remove, refresh, detach) will cascade
@@ -62,4 +82,19 @@ public class Category {
         this.description = description;
     }
 
+    /**
+     * Constructor to create a Category with its ID and items; timestamps are managed by Hibernate.
+     *
+     * @param id          the ID of the category
+     * @param name        the name of the category
+     * @param description the description of the category
+     * @param items       the items in the category
+     */
+    public Category(UUID id, String name, String description, Set<Item> items) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.items = items;
+    }
+
 }
\ No newline at end of file
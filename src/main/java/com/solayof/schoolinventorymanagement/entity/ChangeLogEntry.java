@@ -0,0 +1,55 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing one record of the append-only change feed.
+ * Maps to the 'change_log' table. Rows are written by the ChangeCaptureListener in the same
+ * transaction as the change they describe and are never updated. Each carries the school of its
+ * entity, so the school filter limits a school's feed to its own changes.
+ */
+@Entity
+@Table(name = "change_log")
+@Immutable
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry implements TenantScoped {
+
+    @Id
+    @Column(name = "change_offset")
+    private Long changeOffset; // Gap-free, assigned in commit order; consumers resume from the last one they processed
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType; // e.g., "Item", "Assignment", "Collector", "Reminder"
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "operation", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING) // Maps the enum to a string in the database
+    private ChangeOperation operation; // e.g., "INSERT", "UPDATE", "DELETE"
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt; // Maps to TIMESTAMP WITH TIME ZONE
+
+    @Column(name = "school_id", length = 64)
+    private String schoolId; // The school of the entity; null if it was deleted in bulk before it could be looked up
+}
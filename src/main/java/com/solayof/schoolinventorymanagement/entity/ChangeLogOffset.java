@@ -0,0 +1,30 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing the last offset handed out to the change feed.
+ * Maps to the single-row 'change_log_offsets' table. Writers lock the row while they append,
+ * which keeps offsets in commit order so a consumer reading past an offset never misses a
+ * change that commits later with a smaller one.
+ */
+@Entity
+@Table(name = "change_log_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogOffset {
+
+    @Id
+    private Integer id; // Always 1
+
+    @Column(name = "last_offset", nullable = false)
+    private Long lastOffset;
+}
@@ -8,12 +8,15 @@ import java.util.UUID;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -29,11 +32,13 @@ import lombok.NoArgsConstructor;
  * Maps to the 'collectors' table in the PostgreSQL database.
  */
 @Entity
-@Table(name = "collectors")
+@Table(name = "collectors", uniqueConstraints = @UniqueConstraint(name = "uq_collectors_school_email", columnNames = {"school_id", "email"}))
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Collector {
+public class Collector implements TenantScoped {
 
     @Id // Primary key for the collector entity
     @GeneratedValue(strategy = GenerationType.AUTO) // Auto-incrementing primary key
@@ -49,8 +54,11 @@ public class Collector {
     @Column(name = "created_at", nullable = false, updatable = false) // Maps to TIMESTAMP WITH TIME ZONE
     private Instant createdAt; // Maps to TIMESTAMP WITH TIME ZONE
 
-    @Column(name = "email", nullable = false, unique = true) // Maps to email, must be unique and not null
-    private String email; // Email of the collector, must be unique and not null
+    @Column(name = "email", nullable = false) // Maps to email, must be unique within the school and not null
+    private String email; // Email of the collector, must be unique within the school and not null
+
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the collector belongs to, set on insert (TenantListener)
 
     @UpdateTimestamp // Automatically updates the timestamp on entity update
     @Column(name = "updated_at", nullable = false) // Maps to TIMESTAMP WITH TIME ZONE
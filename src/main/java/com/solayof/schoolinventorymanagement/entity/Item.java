@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -11,6 +12,7 @@ import com.solayof.schoolinventorymanagement.constants.Status;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -22,6 +24,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne; 
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -32,11 +36,16 @@ import lombok.NoArgsConstructor;
  * Maps to the 'items' table in the PostgreSQL database.
  */
 @Data // Lombok annotation to generate getters, setters, equals, hashCode, and toString methods
-@Table(name = "items") // Specifies the table name in the database
+@Table(name = "items", uniqueConstraints = { // Specifies the table name; names and serial numbers are unique per school
+    @UniqueConstraint(name = "uq_items_school_name", columnNames = {"school_id", "name"}),
+    @UniqueConstraint(name = "uq_items_school_serial_number", columnNames = {"school_id", "serial_number"})
+})
 @Entity
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
 @NoArgsConstructor // Lombok annotation to generate a no-args constructor
 @AllArgsConstructor // Lombok annotation to generate a constructor with all fields
-public class Item {
+public class Item implements TenantScoped {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -48,19 +57,26 @@ public class Item {
         this.category = category;
     }
     
-    @Column(name = "name", nullable = false, unique = true) // Column for item name, must be unique and not null
-    private String name; // Name of the item, must be unique and not null
+    @Column(name = "name", nullable = false) // Column for item name, must be unique within the school and not null
+    private String name; // Name of the item, must be unique within the school and not null
 
     @Column(name = "description", columnDefinition = "TEXT") // Allows for longer text in the description
     private String description; // Description of the item
 
-    @Column(name = "serial_number", unique = true, nullable = false)
-    private String serialNumber; // Unique identifier for the item, e.g., a serial number
+    @Column(name = "serial_number", nullable = false)
+    private String serialNumber; // Unique identifier for the item within the school, e.g., a serial number
+
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the item belongs to, set on insert (TenantListener)
 
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING) // Maps the enum to a string in the database
     private Status status; // e.g., "AVAILABLE", "ASSIGNED", "RETURNED"
 
+    @Version // Optimistic locking: a stale write fails instead of silently overwriting a concurrent change
+    @Column(name = "version", nullable = false)
+    private Long version; // Incremented on every update, including the conditional status update used by checkout
+
     @CreationTimestamp // Automatically sets the creation timestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt; // Maps to TIMESTAMP WITH TIME ZONE
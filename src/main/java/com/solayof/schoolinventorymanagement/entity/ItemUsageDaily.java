@@ -0,0 +1,73 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing the usage of one item on one day.
+ * Maps to the 'item_usage_daily' table. Rows are updated on checkout and return, so analytics
+ * over any range sum at most one row per item and day instead of replaying every assignment.
+ * Loan durations are counted on the day the item comes back, and each day a returned loan had the
+ * item out is counted on that day. Rows belong to the school of their item.
+ */
+@Entity
+@Table(name = "item_usage_daily", uniqueConstraints = @UniqueConstraint(name = "uk_item_usage_daily_item_date", columnNames = {"item_id", "usage_date"}))
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemUsageDaily implements TenantScoped {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "item_id", nullable = false)
+    private UUID itemId;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId; // Category of the item when the row was created
+
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school of the item
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate; // Maps to DATE
+
+    @Column(name = "checkout_count", nullable = false)
+    private int checkouts; // Assignments started on this day
+
+    @Column(name = "return_count", nullable = false)
+    private int returns; // Assignments returned on this day
+
+    @Column(name = "loan_days", nullable = false)
+    private long loanDays; // Total duration of the loans returned on this day
+
+    @Column(name = "overdue_returns", nullable = false)
+    private int overdueReturns; // Returns on this day that came back after their return due date
+
+    @Column(name = "on_loan_count", nullable = false)
+    private int onLoan; // Returned loans that had the item out on this day, from the checkout to the day before the return
+
+    public ItemUsageDaily(UUID itemId, UUID categoryId, String schoolId, LocalDate usageDate) {
+        this.itemId = itemId;
+        this.categoryId = categoryId;
+        this.schoolId = schoolId;
+        this.usageDate = usageDate;
+    }
+}
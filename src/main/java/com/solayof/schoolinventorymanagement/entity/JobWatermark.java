@@ -0,0 +1,42 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing how far an incremental job has got.
+ * Maps to the 'job_watermarks' table. A run handles the rows between the stored watermark and
+ * the current time, then moves the watermark forward.
+ */
+@Entity
+@Table(name = "job_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName; // e.g., "due-reminder-sweep"
+
+    @Column(name = "watermark_at", nullable = false)
+    private Instant watermarkAt; // Rows created up to this instant have been handled
+
+    @Column(name = "watermark_date", nullable = false)
+    private LocalDate watermarkDate; // Rows dated up to this day have been handled
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
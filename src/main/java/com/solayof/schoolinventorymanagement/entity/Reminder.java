@@ -15,10 +15,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 
 import lombok.AllArgsConstructor;
@@ -32,7 +35,9 @@ import lombok.NoArgsConstructor;
  * Maps to the 'reminders' table in the PostgreSQL database.
  */
 @Entity
-@Table(name = "reminders")
+@Table(name = "reminders", uniqueConstraints = @UniqueConstraint(name = "uq_reminders_assignment_date_kind", columnNames = {"assignment_id", "reminder_date", "kind"}))
+// Reminders belong to the school of their assignment; the reminder jobs insert them natively, without a school
+@Filter(name = TenantScoped.FILTER, condition = "assignment_id IN (SELECT a.id FROM assignments a WHERE a.school_id = :schoolId)")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +54,10 @@ public class Reminder {
     @Enumerated(EnumType.STRING) // Maps the enum to a string in the database
     private ReminderStatus status; // e.g., "PENDING", "SENT", "FAILED", "DISMISSED"
 
+    @Column(name = "kind", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ReminderKind kind = ReminderKind.MANUAL; // One reminder per assignment, day and kind
+
     @Column(name = "message", columnDefinition = "TEXT")
     private String message;
 
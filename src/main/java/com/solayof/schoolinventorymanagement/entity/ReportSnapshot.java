@@ -0,0 +1,56 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.Immutable;
+
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a precomputed report.
+ * Maps to the 'report_snapshots' table. Each row holds the JSON payload a report endpoint
+ * returns, so the latest snapshot can be served without scanning the inventory and the
+ * history of snapshots can be charted over time.
+ */
+@Entity
+@Table(name = "report_snapshots")
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSnapshot implements TenantScoped {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "report_type", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING) // Maps the enum to a string in the database
+    private ReportType reportType; // e.g., "INVENTORY_LEVELS", "COLLECTOR_ASSIGNMENTS"
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // The report as serialized JSON
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt; // Maps to TIMESTAMP WITH TIME ZONE; equals the payload's generatedAt
+
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the report belongs to, set on insert (TenantListener)
+}
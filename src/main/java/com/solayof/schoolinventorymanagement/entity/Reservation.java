@@ -0,0 +1,81 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a collector's place in the waitlist of an item.
+ * Maps to the 'reservations' table in the PostgreSQL database.
+ * Waiting reservations are served in order of creation when the item is returned.
+ */
+@Entity
+@Table(name = "reservations")
+// Reservations belong to the school of their item
+@Filter(name = TenantScoped.FILTER, condition = "item_id IN (SELECT i.id FROM items i WHERE i.school_id = :schoolId)")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING) // Maps the enum to a string in the database
+    private ReservationStatus status; // e.g., "WAITING", "FULFILLED", "CANCELLED"
+
+    @Column(name = "loan_days", nullable = false)
+    private int loanDays; // Length of the loan created when the item is handed to this waiter
+
+    @Column(name = "assignment_id")
+    private UUID assignmentId; // Assignment created by the hand-off, once fulfilled
+
+    @Column(name = "fulfilled_at")
+    private Instant fulfilledAt; // Maps to TIMESTAMP WITH TIME ZONE (nullable)
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt; // Defines the FIFO order of the waitlist
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Many-to-One relationship with Item: one item can have many waiting reservations
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    @JsonBackReference
+    @EqualsAndHashCode.Exclude
+    private Item item;
+
+    // Many-to-One relationship with Collector: the collector waiting for the item
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "collector_id", nullable = false)
+    @JsonBackReference
+    @EqualsAndHashCode.Exclude
+    private Collector collector;
+}
@@ -0,0 +1,40 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a lease on a unit of scheduled work.
+ * Maps to the 'scheduler_leases' table. A node may run the work only while it owns the lease,
+ * i.e. while it is the owner and lockedUntil is in the future; the holder extends lockedUntil
+ * as it makes progress, so a lease left by a node that died expires and is taken over.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "lease_name", length = 200)
+    private String leaseName; // e.g., "overdue-reminders:2024-01-10:3"
+
+    @Column(name = "owner", nullable = false, length = 200)
+    private String owner; // Node ID of the current or last holder
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil; // The lease is free for other nodes after this instant
+
+    @Column(name = "completed_at")
+    private Instant completedAt; // Set once the work is done; a completed lease is never acquired again
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
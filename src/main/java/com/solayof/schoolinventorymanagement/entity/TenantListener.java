@@ -0,0 +1,54 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.CategoryNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.ItemNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.UserNotFoundException;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Keeps {@link TenantScoped} entities within their school.
+ *
+ * Hibernate filters apply to queries but not to loads by ID, such as findById or the loading of a
+ * lazy association, so a row of another school loaded that way is refused here instead. It is
+ * reported as not found, the same as a row that does not exist.
+ */
+public class TenantListener {
+
+    @PrePersist
+    public void assignSchool(TenantScoped entity) {
+        if (entity.getSchoolId() == null) {
+            entity.setSchoolId(TenantContext.schoolForNewRows());
+        }
+    }
+
+    @PostLoad
+    public void checkSchool(TenantScoped entity) {
+        if (!TenantContext.canSee(entity.getSchoolId())) {
+            throw notFound(entity);
+        }
+    }
+
+    private static RuntimeException notFound(TenantScoped entity) {
+        if (entity instanceof Item item) {
+            return new ItemNotFoundException("Item not found with id: " + item.getId());
+        }
+        if (entity instanceof Category category) {
+            return new CategoryNotFoundException("Category not found with id: " + category.getId());
+        }
+        if (entity instanceof Collector collector) {
+            return new CollectorNotFoundException("Collector not found with id: " + collector.getId());
+        }
+        if (entity instanceof Assignment assignment) {
+            return new AssignmentNotFoundException("Assignment not found with id: " + assignment.getId());
+        }
+        if (entity instanceof UserEntity user) {
+            return new UserNotFoundException(user.getId());
+        }
+        return new IllegalStateException(entity.getClass().getSimpleName() + " belongs to another school");
+    }
+}
@@ -0,0 +1,17 @@
+package com.solayof.schoolinventorymanagement.entity;
+
+/**
+ * An entity whose rows belong to one school, in the 'school_id' column.
+ *
+ * Such entities carry the {@link #FILTER} filter, which the transactions of a school enable so
+ * queries only return that school's rows, and the {@link TenantListener}, which stamps new rows
+ * with the current school and refuses rows of another school loaded by ID.
+ */
+public interface TenantScoped {
+    String FILTER = "school"; // Defined in package-info.java
+    String FILTER_PARAMETER = "schoolId";
+
+    String getSchoolId();
+
+    void setSchoolId(String schoolId);
+}
@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -21,12 +22,14 @@ import lombok.*;
 
 @Entity
 @Table(name = "users")
+@Filter(name = TenantScoped.FILTER, condition = "school_id = :schoolId")
+@EntityListeners(TenantListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class UserEntity {
+public class UserEntity implements TenantScoped {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -46,6 +49,8 @@ public class UserEntity {
     private LocalDate dob;
     @Column(name = "gender")
     private String gender;
+    @Column(name = "school_id", nullable = false, updatable = false, length = 64)
+    private String schoolId; // The school the user works for, sent as the school_id claim of their tokens; set on insert (TenantListener)
     @JsonIgnore
     @Column(name = "password", nullable = false)
     private String password;
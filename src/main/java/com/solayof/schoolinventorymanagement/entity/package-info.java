@@ -0,0 +1,9 @@
+/**
+ * JPA entities. The school filter of {@link com.solayof.schoolinventorymanagement.entity.TenantScoped}
+ * entities is defined here, as filter definitions are global.
+ */
+@FilterDef(name = TenantScoped.FILTER, parameters = @ParamDef(name = TenantScoped.FILTER_PARAMETER, type = String.class))
+package com.solayof.schoolinventorymanagement.entity;
+
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
@@ -0,0 +1,45 @@
+package com.solayof.schoolinventorymanagement.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+
+/**
+ * An inventory change published by the services.
+ * Carries identifiers and the new status only, so it can be built without touching lazy associations
+ * beyond the ones the publishing service already loaded, and serialized cheaply to every subscriber.
+ *
+ * @param type the kind of change
+ * @param entityId the ID of the changed item, assignment or reminder
+ * @param itemId the ID of the item the change relates to, if known
+ * @param schoolId the school the changed entity belongs to; subscribers of other schools do not receive it
+ * @param status the new status of the changed entity, if it has one
+ * @param occurredAt when the change was made
+ */
+public record InventoryEvent(InventoryEventType type, UUID entityId, UUID itemId, String schoolId, String status, Instant occurredAt) {
+
+    public static InventoryEvent itemStatusChanged(UUID itemId, String schoolId, Status status) {
+        return new InventoryEvent(InventoryEventType.ITEM_STATUS_CHANGED, itemId, itemId, schoolId, status.name(), Instant.now());
+    }
+
+    public static InventoryEvent assignmentCreated(Assignment assignment) {
+        return new InventoryEvent(InventoryEventType.ASSIGNMENT_CREATED, assignment.getId(), itemIdOf(assignment), assignment.getSchoolId(), null, Instant.now());
+    }
+
+    public static InventoryEvent assignmentReturned(Assignment assignment) {
+        return new InventoryEvent(InventoryEventType.ASSIGNMENT_RETURNED, assignment.getId(), itemIdOf(assignment), assignment.getSchoolId(), null, Instant.now());
+    }
+
+    public static InventoryEvent reminderStatusChanged(Reminder reminder) {
+        Assignment assignment = reminder.getAssignment(); // Already loaded by the publishing transaction, a reminder belongs to its school
+        return new InventoryEvent(InventoryEventType.REMINDER_STATUS_CHANGED, reminder.getId(), itemIdOf(assignment),
+                assignment == null ? null : assignment.getSchoolId(), reminder.getStatus() == null ? null : reminder.getStatus().name(), Instant.now());
+    }
+
+    private static UUID itemIdOf(Assignment assignment) {
+        return assignment == null || assignment.getItem() == null ? null : assignment.getItem().getId();
+    }
+}
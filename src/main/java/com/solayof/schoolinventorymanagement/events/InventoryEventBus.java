@@ -0,0 +1,209 @@
+package com.solayof.schoolinventorymanagement.events;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of inventory changes to live subscribers.
+ *
+ * Services publish {@link InventoryEvent}s through Spring's ApplicationEventPublisher; the bus receives
+ * them once the publishing transaction commits, so subscribers never see changes that were rolled back.
+ * Every subscriber has its own bounded buffer drained by a small dispatcher pool. Publishing never blocks:
+ * when a slow subscriber's buffer is full the oldest event is dropped and the subscriber is told how many
+ * it missed, so one stalled client cannot hold back the services or the other subscribers.
+ * A subscriber of a school only receives that school's events.
+ */
+@Component
+@Slf4j
+public class InventoryEventBus {
+    @Value("${sims.events.buffer-size:256}")
+    private int bufferSize = 256; // Events buffered per subscriber before the oldest are dropped
+
+    private final Executor dispatcher; // Drains subscriber buffers off the publishing thread
+    private final Set<Subscription> subscriptions = new CopyOnWriteArraySet<>();
+    private final AtomicLong sequence = new AtomicLong(); // Bus-wide event sequence, used as the SSE event ID
+
+    public InventoryEventBus() {
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    InventoryEventBus(Executor dispatcher, int bufferSize) {
+        this.dispatcher = dispatcher;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Registers a subscriber.
+     *
+     * @param sink where the subscriber's events are delivered
+     * @param types the event types to deliver, or an empty set for all of them
+     * @param schoolId the school whose events to deliver, or null for those of all schools
+     * @return the subscription, to be cancelled when the subscriber goes away
+     */
+    public Subscription subscribe(InventoryEventSink sink, Set<InventoryEventType> types, String schoolId) {
+        Subscription subscription = new Subscription(sink, types.isEmpty() ? EnumSet.allOf(InventoryEventType.class) : EnumSet.copyOf(types), schoolId);
+        subscriptions.add(subscription);
+        log.debug("Inventory event subscriber added, {} active", subscriptions.size());
+        return subscription;
+    }
+
+    /**
+     * Returns the number of active subscribers.
+     *
+     * @return the subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Receives a published event after its transaction commits (or immediately when published
+     * outside a transaction) and hands it to every interested subscriber.
+     *
+     * @param event the published event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryEvent(InventoryEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        long id = sequence.incrementAndGet();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(id, event);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${sims.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscriptions.forEach(Subscription::requestHeartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(Subscription::cancel);
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record Pending(long sequence, InventoryEvent event) {
+    }
+
+    /**
+     * A subscriber's bounded buffer. Producers only append under a short lock; delivery to the sink
+     * happens on a dispatcher thread, one drain at a time per subscriber, so events keep their order.
+     */
+    public final class Subscription {
+        private final InventoryEventSink sink;
+        private final Set<InventoryEventType> types;
+        private final String schoolId; // Null for a subscriber across all schools
+        private final Deque<Pending> buffer = new ArrayDeque<>(); // Guarded by itself
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatPending;
+        private volatile boolean cancelled;
+        private long dropped; // Guarded by buffer
+
+        private Subscription(InventoryEventSink sink, Set<InventoryEventType> types, String schoolId) {
+            this.sink = sink;
+            this.types = types;
+            this.schoolId = schoolId;
+        }
+
+        private void offer(long id, InventoryEvent event) {
+            if (cancelled || !types.contains(event.type()) || (schoolId != null && !schoolId.equals(event.schoolId()))) {
+                return;
+            }
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst(); // Drop the oldest, the subscriber is told to resync
+                    dropped++;
+                }
+                buffer.addLast(new Pending(id, event));
+            }
+            scheduleDrain();
+        }
+
+        private void requestHeartbeat() {
+            heartbeatPending = true;
+            scheduleDrain();
+        }
+
+        /**
+         * Stops delivery and removes the subscriber from the bus.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void scheduleDrain() {
+            if (!cancelled && draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) { // Dispatcher shut down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!cancelled) {
+                    Pending next;
+                    long missed;
+                    synchronized (buffer) {
+                        next = buffer.pollFirst();
+                        missed = dropped;
+                        dropped = 0;
+                    }
+                    if (missed > 0) {
+                        sink.dropped(missed);
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    sink.send(next.sequence(), next.event());
+                }
+                if (heartbeatPending && !cancelled) {
+                    heartbeatPending = false;
+                    sink.heartbeat();
+                }
+            } catch (Exception e) {
+                log.debug("Dropping inventory event subscriber: {}", e.getMessage());
+                cancel();
+            } finally {
+                draining.set(false);
+            }
+            // Events offered after the last poll but before the flag was cleared
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending || heartbeatPending) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.solayof.schoolinventorymanagement.events;
+
+import java.io.IOException;
+
+/**
+ * Destination of a single subscriber, e.g. one Server-Sent Events connection.
+ * Methods are called from the bus's dispatcher threads, never concurrently for the same sink.
+ * Throwing an exception unsubscribes the sink.
+ */
+public interface InventoryEventSink {
+
+    /**
+     * Delivers an event.
+     *
+     * @param sequence the bus-wide sequence number of the event
+     * @param event the event to deliver
+     * @throws IOException if the subscriber can no longer be written to
+     */
+    void send(long sequence, InventoryEvent event) throws IOException;
+
+    /**
+     * Tells the subscriber that its buffer overflowed and the oldest events were dropped,
+     * so its view is stale and should be reloaded.
+     *
+     * @param count the number of events dropped since the last delivery
+     * @throws IOException if the subscriber can no longer be written to
+     */
+    void dropped(long count) throws IOException;
+
+    /**
+     * Keeps an idle connection open and detects clients that went away.
+     *
+     * @throws IOException if the subscriber can no longer be written to
+     */
+    void heartbeat() throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.solayof.schoolinventorymanagement.events;
+
+/**
+ * Kinds of inventory changes pushed to live subscribers.
+ */
+public enum InventoryEventType {
+    ITEM_STATUS_CHANGED, // An item became AVAILABLE, ASSIGNED, ...
+    ASSIGNMENT_CREATED, // An item was checked out (directly or by a reservation hand-off)
+    ASSIGNMENT_RETURNED, // An assigned item was returned
+    REMINDER_STATUS_CHANGED // A reminder was created, sent, failed or updated
+}
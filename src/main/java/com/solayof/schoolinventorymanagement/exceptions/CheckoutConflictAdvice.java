@@ -0,0 +1,14 @@
+package com.solayof.schoolinventorymanagement.exceptions;
+
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@RestControllerAdvice
+public class CheckoutConflictAdvice {
+    @ExceptionHandler(CheckoutConflictException.class)
+    public ResponseEntity<String> handleCheckoutConflict(CheckoutConflictException ex) {
+        return new ResponseEntity<String>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+}
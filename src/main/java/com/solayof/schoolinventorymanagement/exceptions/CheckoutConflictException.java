@@ -0,0 +1,18 @@
+package com.solayof.schoolinventorymanagement.exceptions;
+
+public class CheckoutConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CheckoutConflictException() {
+        super("Checkout conflicted with a concurrent update");
+    }
+
+    public CheckoutConflictException(String message) {
+        super(message);
+    }
+
+    public CheckoutConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+}
@@ -5,8 +5,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -49,6 +51,36 @@ public class CustomExceptionHandler {
 
     }
 
+    /**
+     * Handles ObjectOptimisticLockingFailureException.
+     * This method returns a 409 Conflict response when an entity was modified concurrently
+     * between being read and written, so the client can reload and retry.
+     * @param ex the ObjectOptimisticLockingFailureException that was thrown
+     * @return ResponseEntity with a message and HTTP status 409 Conflict
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return new ResponseEntity<String>(
+                "The resource was modified concurrently, reload it and try again.",
+                HttpStatus.CONFLICT
+        );
+    }
+
+    /**
+     * Handles DataIntegrityViolationException.
+     * This method returns a 409 Conflict response when a write breaks a unique key, e.g. when a
+     * concurrent request created the same row first, instead of a 500.
+     * @param ex the DataIntegrityViolationException that was thrown
+     * @return ResponseEntity with a message and HTTP status 409 Conflict
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return new ResponseEntity<String>(
+                "The request conflicts with existing data, reload it and try again.",
+                HttpStatus.CONFLICT
+        );
+    }
+
     /**
      * Handles MethodArgumentNotValidException.
      * This method captures validation errors in request bodies and returns a list of error details.
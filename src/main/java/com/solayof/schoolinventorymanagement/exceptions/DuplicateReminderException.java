@@ -0,0 +1,10 @@
+package com.solayof.schoolinventorymanagement.exceptions;
+
+public class DuplicateReminderException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateReminderException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.solayof.schoolinventorymanagement.exceptions;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter; // How long until the request would be allowed
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
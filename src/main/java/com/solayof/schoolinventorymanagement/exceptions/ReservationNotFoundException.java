@@ -0,0 +1,18 @@
+package com.solayof.schoolinventorymanagement.exceptions;
+
+public class ReservationNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ReservationNotFoundException() {
+        super("Reservation not found");
+    }
+
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+
+    public ReservationNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+}
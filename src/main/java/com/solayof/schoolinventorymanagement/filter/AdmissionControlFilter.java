@@ -0,0 +1,235 @@
+package com.solayof.schoolinventorymanagement.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.utils.TokenBuckets;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control in front of the controllers, so one client cannot saturate the server.
+ *
+ * Every request of a logged-in user takes a token from three buckets (see {@link TokenBuckets}):
+ * the user's, the user's for the endpoint, and, in multi-school mode, the school's. Requests made
+ * before login, to log in or sign up, take one from their client address's bucket instead, with
+ * limits of their own, so clients hammering the login endpoint do not lock out each other. The
+ * address is the one the reverse proxy forwards (see server.forward-headers-strategy). Reports and
+ * full listings, which scan whole tables, are also limited in how many may run at once. A request
+ * over any limit is answered with 429 Too Many Requests and a Retry-After header, before it
+ * reaches a controller.
+ * A request over a rate limit gets back the tokens it took from the other buckets.
+ *
+ * Rejections are counted in the {@code sims.admission.rejected} metric, tagged with the limit,
+ * and the requests running per expensive group in {@code sims.admission.in.flight}. The limits
+ * are per node, like those of the reminder rate limiter.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    // Collection roots whose GET returns the whole table
+    private static final Set<String> FULL_LISTINGS = Set.of("/api/items", "/api/categories", "/api/collectors", "/api/users");
+    private static final Pattern ID_SEGMENT = Pattern.compile("/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry; // Publishes the rejections and the requests in flight; the global one in web test slices
+
+    @Value("${sims.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sims.admission.user-per-minute:600}")
+    private int userPerMinute; // Sustained requests per caller, all endpoints together
+
+    @Value("${sims.admission.user-burst:100}")
+    private int userBurst; // Requests a caller can make back to back
+
+    @Value("${sims.admission.anonymous-per-minute:300}")
+    private int anonymousPerMinute; // Sustained requests per client address before login
+
+    @Value("${sims.admission.anonymous-burst:60}")
+    private int anonymousBurst; // Requests a client address can make back to back before login
+
+    @Value("${sims.admission.endpoint-per-minute:60}")
+    private int endpointPerMinute; // Sustained requests per caller to one endpoint
+
+    @Value("${sims.admission.endpoint-burst:20}")
+    private int endpointBurst; // Requests a caller can make back to back to one endpoint
+
+    @Value("${sims.admission.school-per-minute:6000}")
+    private int schoolPerMinute; // Sustained requests per school, in multi-school mode
+
+    @Value("${sims.admission.school-burst:1000}")
+    private int schoolBurst; // Requests a school can make back to back
+
+    @Value("${sims.admission.reports-concurrency:4}")
+    private int reportsConcurrency; // Report requests running at once
+
+    @Value("${sims.admission.listings-concurrency:8}")
+    private int listingsConcurrency; // Full listing requests running at once
+
+    private LongSupplier clock = System::nanoTime; // Replaced in tests
+    private final TokenBuckets buckets = new TokenBuckets(() -> clock.getAsLong());
+    private final Map<String, AtomicInteger> inFlight = Map.of("reports", new AtomicInteger(), "listings", new AtomicInteger());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected void initFilterBean() {
+        inFlight.forEach((group, running) -> Gauge.builder("sims.admission.in.flight", running, AtomicInteger::get)
+                .tag("group", group)
+                .register(meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String user = authenticatedUser();
+        if (user == null ? !admitAnonymous(request, response) : !admitUser(user, request, response)) {
+            return;
+        }
+
+        String group = expensiveGroup(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AtomicInteger running = inFlight.get(group);
+        if (!tryEnter(running, "reports".equals(group) ? reportsConcurrency : listingsConcurrency)) {
+            // Not refunded: a client retrying at once should not find its buckets full again
+            reject(response, "concurrency", "Too many " + group + " running, try again shortly.", TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the buckets that have refilled completely; they are recreated full on next use.
+     */
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void evictIdleBuckets() {
+        int evicted = buckets.evictIdle();
+        log.debug("Evicted {} idle admission control buckets.", evicted);
+    }
+
+    // Takes the tokens of a logged-in user's request, or rejects it
+    private boolean admitUser(String user, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String endpoint = request.getMethod() + " " + ID_SEGMENT.matcher(request.getRequestURI()).replaceAll("/{id}");
+        String school = TenantContext.current();
+
+        long userInterval = interval(userPerMinute);
+        long userWait = buckets.tryTake("user:" + user, userInterval, userBurst);
+        if (userWait > 0) {
+            reject(response, "user", "Too many requests from " + user + ".", userWait);
+            return false;
+        }
+        long endpointInterval = interval(endpointPerMinute);
+        long endpointWait = buckets.tryTake("endpoint:" + user + ":" + endpoint, endpointInterval, endpointBurst);
+        if (endpointWait > 0) {
+            buckets.giveBack("user:" + user, userInterval); // Rejected requests must not count against the other limits
+            reject(response, "endpoint", "Too many requests to " + endpoint + " from " + user + ".", endpointWait);
+            return false;
+        }
+        if (school != null) {
+            long schoolWait = buckets.tryTake("school:" + school, interval(schoolPerMinute), schoolBurst);
+            if (schoolWait > 0) {
+                buckets.giveBack("user:" + user, userInterval);
+                buckets.giveBack("endpoint:" + user + ":" + endpoint, endpointInterval);
+                reject(response, "school", "Too many requests from school " + school + ".", schoolWait);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Takes the token of a request made before login, or rejects it
+    private boolean admitAnonymous(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String address = request.getRemoteAddr(); // The client's, as forwarded by a trusted proxy
+        long wait = buckets.tryTake("address:" + address, interval(anonymousPerMinute), anonymousBurst);
+        if (wait > 0) {
+            reject(response, "anonymous", "Too many requests from " + address + ".", wait);
+            return false;
+        }
+        return true;
+    }
+
+    private static String authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return null;
+    }
+
+    private static String expensiveGroup(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/reports/")) {
+            return "reports";
+        }
+        if ("GET".equals(request.getMethod()) && FULL_LISTINGS.contains(path)) {
+            return "listings";
+        }
+        return null;
+    }
+
+    // Takes a slot without locking, unless the limit is reached
+    private static boolean tryEnter(AtomicInteger running, int limit) {
+        while (true) {
+            int current = running.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, String limit, String message, long waitNanos) throws IOException {
+        meterRegistry.counter("sims.admission.rejected", "limit", limit).increment();
+        long seconds = Math.max(1, (Duration.ofNanos(waitNanos).toMillis() + 999) / 1000); // Retry-After is in whole seconds, rounded up
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType("application/json");
+        response.getWriter()
+                .write(objectMapper.writeValueAsString(Map.of("error", "Too Many Requests", "message", message)));
+    }
+
+    private static long interval(int perMinute) {
+        return TimeUnit.MINUTES.toNanos(1) / perMinute;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +18,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.services.UserDetailsImpl;
 import com.solayof.schoolinventorymanagement.services.JwtService;
 import com.solayof.schoolinventorymanagement.services.UserService;
 
@@ -32,6 +35,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     @Autowired
     private UserService userDetailsService;
+
+    @Value("${sims.tenancy.enabled:false}")
+    private boolean tenancyEnabled; // Scope each request to the school in its token
     
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException, IOException {
@@ -50,6 +56,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
+                        if (tenancyEnabled) {
+                            String schoolId = jwtService.extractSchoolId(token);
+                            // Tokens issued before multi-school mode have no claim; their user's school applies
+                            TenantContext.set(schoolId != null ? schoolId : ((UserDetailsImpl) userDetails).getSchoolId());
+                        }
                     }
                 }
                 log.info("JWT Authentication successful for user: {}", username);
@@ -64,6 +75,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             .writeValueAsString(Map.of("error", "Unauthorized",
             "message", "Access denied. You do not have permission to access this resource.",
             "errMsg", e.getMessage())));
+        } finally {
+            TenantContext.clear();
         }
     }
 }
@@ -5,22 +5,24 @@ import com.solayof.schoolinventorymanagement.dtos.AssignmentDTO;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.restControllers.AssignmentController;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class AssignmentModelAssembler implements RepresentationModelAssembler<Assignment, EntityModel<AssignmentDTO>>{
+    @Autowired
+    private LinkTemplateCache linkTemplates; // Resolves each controller mapping once instead of per entity
+
     @SuppressWarnings("null")
     @Override
     public EntityModel<AssignmentDTO> toModel(@NonNull Assignment assignment) {
         return EntityModel.of(
             AssignmentDTO.fromAssignment(assignment),
-            linkTo(methodOn(AssignmentController.class).getOne(assignment.getId())).withSelfRel(),
-            linkTo(methodOn(AssignmentController.class).createCollector(AssignmentDTO.fromAssignment(assignment))).withRel("createAssignment")
+            linkTemplates.link(AssignmentController.class, "getOne", assignment.getId()).withSelfRel(),
+            linkTemplates.link(AssignmentController.class, "createCollector").withRel("createAssignment")
         );
     }
 }
@@ -5,22 +5,24 @@ import com.solayof.schoolinventorymanagement.dtos.CollectorDTO;
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.restControllers.CollectorController;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class CollectorModelAssembler implements RepresentationModelAssembler<Collector, EntityModel<CollectorDTO>>{
+    @Autowired
+    private LinkTemplateCache linkTemplates; // Resolves each controller mapping once instead of per entity
+
     @SuppressWarnings("null")
     @Override
     public EntityModel<CollectorDTO> toModel(@NonNull Collector collector) {
         return EntityModel.of(
             CollectorDTO.fromCollector(collector),
-            linkTo(methodOn(CollectorController.class).getOne(collector.getId())).withSelfRel(),
-            linkTo(methodOn(CollectorController.class).createCollector(CollectorDTO.fromCollector(collector))).withRel("createCollector")
+            linkTemplates.link(CollectorController.class, "getOne", collector.getId()).withSelfRel(),
+            linkTemplates.link(CollectorController.class, "createCollector").withRel("createCollector")
         );
     }
 }
@@ -5,22 +5,24 @@ import com.solayof.schoolinventorymanagement.dtos.ItemDTO;
 import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.restControllers.ItemController;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class ItemModelAssembler implements RepresentationModelAssembler<Item, EntityModel<ItemDTO>>{
+    @Autowired
+    private LinkTemplateCache linkTemplates; // Resolves each controller mapping once instead of per entity
+
     @SuppressWarnings("null")
     @Override
     public EntityModel<ItemDTO> toModel(@NonNull Item item) {
         return EntityModel.of(
             ItemDTO.fromItem(item),
-            linkTo(methodOn(ItemController.class).getOne(item.getId())).withSelfRel(),
-            linkTo(methodOn(ItemController.class).createItem(ItemDTO.fromItem(item))).withRel("createItem")
+            linkTemplates.link(ItemController.class, "getOne", item.getId()).withSelfRel(),
+            linkTemplates.link(ItemController.class, "createItem").withRel("createItem")
         );
     }
 }
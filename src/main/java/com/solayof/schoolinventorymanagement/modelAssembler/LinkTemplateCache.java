@@ -0,0 +1,118 @@
+package com.solayof.schoolinventorymanagement.modelAssembler;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.server.core.MappingDiscoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Builds entity links from controller mappings that are resolved once and cached as URI templates.
+ *
+ * linkTo(methodOn(...)) creates a proxy, records the invocation and resolves the mapping
+ * reflectively on every call, and the assemblers run it for every row of a list. Here each
+ * controller method is resolved on first use, and later links only substitute the path
+ * variables. The base URI (scheme, host, context and servlet path) comes from the current
+ * request like it does for linkTo, and is computed once per request.
+ */
+@Component
+public class LinkTemplateCache {
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplateCache.class.getName() + ".baseUri";
+
+    private final MappingDiscoverer discoverer = new AnnotationMappingDiscoverer(RequestMapping.class); // Same discovery linkTo uses
+    private final ConcurrentMap<TemplateKey, PathTemplate> templates = new ConcurrentHashMap<>(); // Controller method -> resolved template
+
+    /**
+     * Builds a link to a controller method, expanding its path variables in order.
+     * Outside a request the link is relative to the servlet mapping.
+     *
+     * @param controller the controller class
+     * @param methodName the name of the handler method, which must not be overloaded
+     * @param pathVariables the values of the mapping's path variables, in template order
+     * @return the link, without a relation; use withSelfRel() or withRel()
+     * @throws IllegalArgumentException if the method cannot be resolved or the variable count does not match
+     */
+    public Link link(Class<?> controller, String methodName, Object... pathVariables) {
+        PathTemplate template = templates.computeIfAbsent(new TemplateKey(controller, methodName), this::resolve);
+        return Link.of(baseUri() + template.expand(pathVariables));
+    }
+
+    private PathTemplate resolve(TemplateKey key) {
+        List<Method> candidates = Arrays.stream(key.controller().getMethods())
+                .filter(method -> method.getName().equals(key.methodName()))
+                .toList();
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one method named '" + key.methodName() + "' on "
+                    + key.controller().getSimpleName() + ", found " + candidates.size() + ".");
+        }
+        return PathTemplate.parse(discoverer.getMapping(key.controller(), candidates.get(0)));
+    }
+
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    private record TemplateKey(Class<?> controller, String methodName) {
+    }
+
+    /**
+     * A mapping split into literal parts around its variables, e.g. "/api/items/{id}" into
+     * ["/api/items/", ""] with one variable.
+     */
+    static final class PathTemplate {
+        private final String[] literals; // One more than the number of variables
+
+        private PathTemplate(String[] literals) {
+            this.literals = literals;
+        }
+
+        static PathTemplate parse(String mapping) {
+            List<String> literals = new ArrayList<>();
+            int start = 0;
+            int open;
+            while ((open = mapping.indexOf('{', start)) >= 0) {
+                int close = mapping.indexOf('}', open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed variable in mapping: " + mapping);
+                }
+                literals.add(mapping.substring(start, open));
+                start = close + 1;
+            }
+            literals.add(mapping.substring(start));
+            return new PathTemplate(literals.toArray(String[]::new));
+        }
+
+        String expand(Object... variables) {
+            if (variables.length != literals.length - 1) {
+                throw new IllegalArgumentException("Expected " + (literals.length - 1) + " path variables, got " + variables.length + ".");
+            }
+            StringBuilder path = new StringBuilder(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                path.append(UriUtils.encodePathSegment(String.valueOf(variables[i]), StandardCharsets.UTF_8))
+                    .append(literals[i + 1]);
+            }
+            return path.toString();
+        }
+    }
+}
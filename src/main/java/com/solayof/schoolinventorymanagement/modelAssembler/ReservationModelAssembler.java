@@ -0,0 +1,33 @@
+package com.solayof.schoolinventorymanagement.modelAssembler;
+
+
+import com.solayof.schoolinventorymanagement.dtos.ReservationDTO;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.restControllers.ReservationController;
+import com.solayof.schoolinventorymanagement.services.ReservationService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationModelAssembler implements RepresentationModelAssembler<Reservation, EntityModel<ReservationDTO>> {
+    @Autowired
+    private ReservationService reservationService; // Resolves the waitlist position from the in-memory waitlist
+    @Autowired
+    private LinkTemplateCache linkTemplates; // Resolves each controller mapping once instead of per entity
+
+    @SuppressWarnings("null")
+    @Override
+    public EntityModel<ReservationDTO> toModel(@NonNull Reservation reservation) {
+        ReservationDTO dto = ReservationDTO.fromReservation(reservation);
+        dto.setPosition(reservationService.positionOf(reservation));
+        return EntityModel.of(
+            dto,
+            linkTemplates.link(ReservationController.class, "getOne", reservation.getId()).withSelfRel(),
+            linkTemplates.link(ReservationController.class, "getWaitlist", dto.getItemId()).withRel("waitlist")
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+
+public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHistory, UUID> {
+    Page<AssignmentHistory> findByItemId(UUID itemId, Pageable pageable);
+
+    @Query("SELECT MIN(h.actualReturnDate) FROM AssignmentHistory h")
+    LocalDate findOldestReturnDate();
+
+    @Query("SELECT h.id FROM AssignmentHistory h WHERE h.actualReturnDate < :cutoff ORDER BY h.actualReturnDate")
+    List<UUID> findIdsReturnedBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    /**
+     * Copies returned assignments to the archive table. Native, as the archive is not mapped.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO assignment_history_archive (id, item_id, category_id, collector_id, assignment_date,
+            return_due_date, actual_return_date, loan_days, overdue, archived_at, school_id)
+        SELECT id, item_id, category_id, collector_id, assignment_date,
+            return_due_date, actual_return_date, loan_days, overdue, archived_at, school_id
+        FROM assignment_history WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM assignment_history WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
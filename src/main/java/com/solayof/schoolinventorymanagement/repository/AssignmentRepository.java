@@ -3,10 +3,34 @@ package com.solayof.schoolinventorymanagement.repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 
 
 public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
     List<Assignment> findByReturnDueDateBeforeAndActualReturnDateIsNull(LocalDate dueDate);
+
+    @Query("SELECT a.id FROM Assignment a WHERE a.returnDueDate < :today AND a.actualReturnDate IS NULL")
+    List<UUID> findOverdueIds(@Param("today") LocalDate today);
+
+    @Query("SELECT c.id AS collectorId, c.name AS collectorName, COUNT(a) AS activeCount, "
+            + "SUM(CASE WHEN a.returnDueDate < :today THEN 1 ELSE 0 END) AS overdueCount, "
+            + "MIN(a.returnDueDate) AS oldestDueDate "
+            + "FROM Assignment a JOIN a.collector c WHERE a.actualReturnDate IS NULL "
+            + "GROUP BY c.id, c.name ORDER BY c.name")
+    List<CollectorAssignmentStats> findActiveStatsByCollector(@Param("today") LocalDate today);
+
+    @Query("SELECT i.id AS itemId, i.name AS itemName, c.name AS categoryName, a.assignmentDate AS assignmentDate "
+            + "FROM Assignment a JOIN a.item i JOIN i.category c "
+            + "WHERE a.actualReturnDate IS NULL AND a.assignmentDate <= :to")
+    List<OpenLoan> findOpenLoansStartedBy(@Param("to") LocalDate to);
+
+    Page<Assignment> findByCollectorIdAndActualReturnDateIsNull(UUID collectorId, Pageable pageable);
+
+    Page<Assignment> findByCollectorIdAndActualReturnDateIsNullAndReturnDueDateBefore(UUID collectorId, LocalDate dueDate, Pageable pageable);
 }
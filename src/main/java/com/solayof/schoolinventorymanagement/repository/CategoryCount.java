@@ -0,0 +1,10 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+/**
+ * Projection of the number of items in one category.
+ */
+public interface CategoryCount {
+    String getName(); // Category name
+
+    long getTotal();
+}
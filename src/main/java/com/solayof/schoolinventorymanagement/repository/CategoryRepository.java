@@ -1,8 +1,10 @@
 package com.solayof.schoolinventorymanagement.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,4 +16,13 @@ public interface CategoryRepository extends JpaRepository<Category, UUID>{
    Boolean existsByName(String name);
    List<Category> findByNameContainingIgnoreCase(String name);
    boolean existsById(@NonNull UUID id); 
+
+   @Query("SELECT c.updatedAt FROM Category c WHERE c.id = :id")
+   Optional<Instant> findUpdatedAtById(UUID id);
+
+   @Query("SELECT COUNT(c) AS total, MAX(c.updatedAt) AS lastUpdatedAt FROM Category c")
+   CollectionStamp findCollectionStamp();
+
+   @Query("SELECT DISTINCT c.schoolId FROM Category c")
+   List<String> findSchoolIds();
 }
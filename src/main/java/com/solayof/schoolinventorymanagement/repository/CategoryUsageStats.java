@@ -0,0 +1,18 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+/**
+ * Projection of the daily usage rows of one category, summed over a date range in the database.
+ */
+public interface CategoryUsageStats {
+    String getCategoryName();
+
+    long getCheckouts();
+
+    long getReturns();
+
+    long getLoanDays(); // Total duration of the loans returned in the range
+
+    long getDaysOnLoan(); // Item-days in the range out on loans returned since
+
+    long getOverdueReturns();
+}
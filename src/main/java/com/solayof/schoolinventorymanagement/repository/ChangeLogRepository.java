@@ -0,0 +1,12 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.solayof.schoolinventorymanagement.entity.ChangeLogEntry;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    List<ChangeLogEntry> findByChangeOffsetGreaterThanOrderByChangeOffsetAsc(Long since, Pageable pageable);
+}
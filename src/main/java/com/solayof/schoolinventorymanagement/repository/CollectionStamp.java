@@ -0,0 +1,12 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection summarizing a table for collection-level ETags.
+ */
+public interface CollectionStamp {
+    long getTotal(); // Number of rows
+
+    Instant getLastUpdatedAt(); // Latest updated_at, null when the table is empty
+}
@@ -0,0 +1,19 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection of the active assignments of one collector, aggregated in the database.
+ */
+public interface CollectorAssignmentStats {
+    UUID getCollectorId();
+
+    String getCollectorName();
+
+    long getActiveCount(); // Assignments not yet returned
+
+    long getOverdueCount(); // Active assignments past their return due date
+
+    LocalDate getOldestDueDate(); // Earliest return due date among the active assignments, null if none is set
+}
@@ -1,13 +1,22 @@
 package com.solayof.schoolinventorymanagement.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.solayof.schoolinventorymanagement.entity.Collector;
 
 public interface CollectorRepository extends JpaRepository<Collector, UUID> {
     Optional<Collector> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT c.updatedAt FROM Collector c WHERE c.id = :id")
+    Optional<Instant> findUpdatedAtById(UUID id);
+
+    @Query("SELECT DISTINCT c.schoolId FROM Collector c")
+    List<String> findSchoolIds();
 }
@@ -1,10 +1,14 @@
 package com.solayof.schoolinventorymanagement.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.constants.Status;
@@ -20,5 +24,32 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
     List<Item> findByCategoryIdInAndNameContainingIgnoreCase(List<UUID> categoryIds, String name);
     List<Item> findByStatus(Status status);
     Boolean existsByName(String name);
-    
+
+    /**
+     * Atomically moves an item from one status to another.
+     * The row is only updated when it is still in the expected status, so of several
+     * concurrent callers exactly one sees an update count of 1.
+     * The persistence context is cleared afterwards so later reads see the new status and version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Item i
+        SET i.status = :newStatus, i.version = i.version + 1, i.updatedAt = :now
+        WHERE i.id = :id AND i.status = :expectedStatus
+    """)
+    int compareAndSetStatus(
+            @Param("id") UUID id,
+            @Param("expectedStatus") Status expectedStatus,
+            @Param("newStatus") Status newStatus,
+            @Param("now") Instant now
+    );
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("SELECT i.status AS status, COUNT(i) AS total FROM Item i GROUP BY i.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT c.name AS name, COUNT(i) AS total FROM Item i JOIN i.category c GROUP BY c.name")
+    List<CategoryCount> countGroupedByCategory();
 }
@@ -0,0 +1,32 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.solayof.schoolinventorymanagement.entity.ItemUsageDaily;
+
+public interface ItemUsageDailyRepository extends JpaRepository<ItemUsageDaily, UUID> {
+    Optional<ItemUsageDaily> findByItemIdAndUsageDate(UUID itemId, LocalDate usageDate);
+
+    List<ItemUsageDaily> findByItemIdAndUsageDateBetween(UUID itemId, LocalDate from, LocalDate to);
+
+    @Query("SELECT u.itemId AS itemId, i.name AS itemName, SUM(u.checkouts) AS checkouts, SUM(u.returns) AS returns, "
+            + "SUM(u.loanDays) AS loanDays, SUM(u.overdueReturns) AS overdueReturns, SUM(u.onLoan) AS daysOnLoan "
+            + "FROM ItemUsageDaily u LEFT JOIN Item i ON i.id = u.itemId "
+            + "WHERE u.usageDate BETWEEN :from AND :to "
+            + "GROUP BY u.itemId, i.name")
+    List<ItemUsageStats> sumByItem(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT c.name AS categoryName, SUM(u.checkouts) AS checkouts, SUM(u.returns) AS returns, "
+            + "SUM(u.loanDays) AS loanDays, SUM(u.overdueReturns) AS overdueReturns, SUM(u.onLoan) AS daysOnLoan "
+            + "FROM ItemUsageDaily u JOIN Category c ON c.id = u.categoryId "
+            + "WHERE u.usageDate BETWEEN :from AND :to "
+            + "GROUP BY c.name")
+    List<CategoryUsageStats> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,22 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of the daily usage rows of one item, summed over a date range in the database.
+ */
+public interface ItemUsageStats {
+    UUID getItemId();
+
+    String getItemName(); // Null if the item has since been deleted
+
+    long getCheckouts();
+
+    long getReturns();
+
+    long getLoanDays(); // Total duration of the loans returned in the range
+
+    long getDaysOnLoan(); // Days in the range the item was out on a loan returned since
+
+    long getOverdueReturns();
+}
@@ -0,0 +1,8 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.solayof.schoolinventorymanagement.entity.JobWatermark;
+
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -0,0 +1,17 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection of an assignment that has not been returned yet, with its item and category.
+ */
+public interface OpenLoan {
+    UUID getItemId();
+
+    String getItemName();
+
+    String getCategoryName();
+
+    LocalDate getAssignmentDate(); // The item has been out since this day
+}
@@ -0,0 +1,12 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a pending reminder and the collector it goes to, used to group reminders into digests.
+ */
+public interface PendingReminderRef {
+    UUID getReminderId();
+
+    UUID getCollectorId();
+}
@@ -0,0 +1,12 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat projection of what a reminder email says, read in one query instead of walking
+ * reminder -> assignment -> item/collector. The field names are the template variables.
+ */
+public record ReminderMessageData(UUID reminderId, String collectorName, String collectorEmail, String itemName,
+        String serialNumber, LocalDate assignmentDate, LocalDate returnDueDate) {
+}
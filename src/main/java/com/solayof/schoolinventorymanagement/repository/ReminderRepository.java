@@ -1,27 +1,197 @@
 package com.solayof.schoolinventorymanagement.repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
 
 public interface ReminderRepository extends JpaRepository<Reminder, UUID> {
     List<Reminder> findByStatus(ReminderStatus status);
 
+    /**
+     * Finds a reminder by ID with a query rather than a load by ID, so the school filter applies.
+     */
+    @Query("SELECT r FROM Reminder r WHERE r.id = :id")
+    Optional<Reminder> findVisibleById(@Param("id") UUID id);
+
+    Page<Reminder> findByStatus(ReminderStatus status, Pageable pageable);
+
+    Optional<Reminder> findByAssignmentIdAndReminderDateAndKind(UUID assignmentId, LocalDate reminderDate, ReminderKind kind);
+
+    boolean existsByAssignmentIdAndReminderDateAndKind(UUID assignmentId, LocalDate reminderDate, ReminderKind kind);
+
+    @Query("SELECT r.id FROM Reminder r WHERE r.kind = :kind AND r.reminderDate = :date AND r.createdAt = :createdAt")
+    List<UUID> findIdsByKindAndReminderDateAndCreatedAt(@Param("kind") ReminderKind kind, @Param("date") LocalDate date, @Param("createdAt") Instant createdAt);
+
+    @Query("SELECT r.id FROM Reminder r WHERE r.kind = :kind AND r.reminderDate = :date AND r.status = :status ORDER BY r.id")
+    List<UUID> findIdsByKindAndReminderDateAndStatus(@Param("kind") ReminderKind kind, @Param("date") LocalDate date, @Param("status") ReminderStatus status);
+
+    /**
+     * Lists the PENDING reminders of a kind and day with their collector, grouped by collector,
+     * so a digest run finds every recipient and their reminders in one query.
+     */
     @Query("""
-        SELECT r FROM Reminder r
-        WHERE r.reminderDate BETWEEN :startTime AND :endTime
-        AND r.status IN (:statuses)
+        SELECT r.id AS reminderId, a.collector.id AS collectorId FROM Reminder r JOIN r.assignment a
+        WHERE r.kind = :kind AND r.reminderDate = :date
+        AND r.status = com.solayof.schoolinventorymanagement.constants.ReminderStatus.PENDING
+        ORDER BY a.collector.id, a.returnDueDate
     """)
-    List<Reminder> findRemindersDueWithinLastHour(
-            @Param("startTime") LocalDate startTime,
-            @Param("endTime") LocalDate endTime,
-            @Param("statuses") List<ReminderStatus> statuses
+    List<PendingReminderRef> findPendingByCollector(@Param("kind") ReminderKind kind, @Param("date") LocalDate date);
+
+    /**
+     * Reads the data rendered into the emails of the given reminders, in one query, ordered by due date.
+     * Reminders whose assignment, item or collector is missing are left out.
+     */
+    @Query("""
+        SELECT new com.solayof.schoolinventorymanagement.repository.ReminderMessageData(
+            r.id, c.name, c.email, i.name, i.serialNumber, a.assignmentDate, a.returnDueDate)
+        FROM Reminder r JOIN r.assignment a JOIN a.item i JOIN a.collector c
+        WHERE r.id IN (:ids)
+        ORDER BY a.returnDueDate
+    """)
+    List<ReminderMessageData> findMessageDataByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Creates today's OVERDUE reminder for every overdue assignment that does not have one yet,
+     * in one statement. Rows that would violate the (assignment_id, reminder_date, kind) key are
+     * skipped, also when a concurrent run inserts them first. PostgreSQL only.
+     *
+     * @return the number of reminders created
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reminders (id, assignment_id, reminder_date, kind, status, created_at, updated_at)
+        SELECT gen_random_uuid(), a.id, :today, 'OVERDUE', 'PENDING', :now, :now
+        FROM assignments a
+        WHERE a.return_due_date < :today AND a.actual_return_date IS NULL
+        ON CONFLICT (assignment_id, reminder_date, kind) WHERE kind <> 'LEGACY' DO NOTHING
+    """, nativeQuery = true)
+    int insertOverdueOnConflictDoNothing(@Param("today") LocalDate today, @Param("now") Instant now);
+
+    /**
+     * Portable form of {@link #insertOverdueOnConflictDoNothing} for databases without ON CONFLICT
+     * (H2). The NOT EXISTS check skips existing reminders; a concurrent run can still hit the
+     * unique key and fail.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reminders (id, assignment_id, reminder_date, kind, status, created_at, updated_at)
+        SELECT RANDOM_UUID(), a.id, :today, 'OVERDUE', 'PENDING', :now, :now
+        FROM assignments a
+        WHERE a.return_due_date < :today AND a.actual_return_date IS NULL
+        AND NOT EXISTS (SELECT 1 FROM reminders r WHERE r.assignment_id = a.id AND r.reminder_date = :today AND r.kind = 'OVERDUE')
+    """, nativeQuery = true)
+    int insertOverdueIfAbsent(@Param("today") LocalDate today, @Param("now") Instant now);
+
+    /**
+     * Creates today's OVERDUE reminder for one assignment unless it exists. PostgreSQL only.
+     *
+     * @return 1 if the reminder was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reminders (id, assignment_id, reminder_date, kind, status, created_at, updated_at)
+        VALUES (gen_random_uuid(), :assignmentId, :today, 'OVERDUE', 'PENDING', :now, :now)
+        ON CONFLICT (assignment_id, reminder_date, kind) WHERE kind <> 'LEGACY' DO NOTHING
+    """, nativeQuery = true)
+    int insertOverdueOnConflictDoNothing(@Param("assignmentId") UUID assignmentId, @Param("today") LocalDate today, @Param("now") Instant now);
+
+    /**
+     * Portable form of {@link #insertOverdueOnConflictDoNothing(UUID, LocalDate, Instant)} (H2).
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reminders (id, assignment_id, reminder_date, kind, status, created_at, updated_at)
+        SELECT RANDOM_UUID(), :assignmentId, :today, 'OVERDUE', 'PENDING', :now, :now
+        WHERE NOT EXISTS (SELECT 1 FROM reminders r WHERE r.assignment_id = :assignmentId AND r.reminder_date = :today AND r.kind = 'OVERDUE')
+    """, nativeQuery = true)
+    int insertOverdueIfAbsent(@Param("assignmentId") UUID assignmentId, @Param("today") LocalDate today, @Param("now") Instant now);
+
+    /**
+     * Claims due PENDING and FAILED reminders for delivery: the rows are locked until the caller's
+     * transaction ends, and rows already locked by another node are skipped, so parallel
+     * dispatchers never pick the same reminder. Reminders touched since {@code claimedBefore}
+     * are left out, so a run does not retry what it has already attempted.
+     * Native, as Hibernate does not render SKIP LOCKED for every dialect; the status literals
+     * match the predicate of the partial index idx_reminders_due.
+     */
+    @Query(value = """
+        SELECT * FROM reminders
+        WHERE status IN ('PENDING', 'FAILED') AND reminder_date <= :today AND updated_at < :claimedBefore
+        ORDER BY reminder_date
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Reminder> claimDue(
+            @Param("today") LocalDate today,
+            @Param("claimedBefore") Instant claimedBefore,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Finds the PENDING reminders that became due in a sweep window: created in the window and
+     * already due, or created earlier and dated after the previous sweep's day. Keyset-paged by
+     * ID, so reminders dispatched while the sweep pages through the window do not shift the pages.
+     */
+    @Query("""
+        SELECT r.id FROM Reminder r
+        WHERE r.status = com.solayof.schoolinventorymanagement.constants.ReminderStatus.PENDING
+        AND r.reminderDate <= :today AND r.createdAt <= :createdTo
+        AND (r.createdAt > :createdFrom OR r.reminderDate > :dueAfter)
+        AND r.id > :afterId
+        ORDER BY r.id
+    """)
+    List<UUID> findNewlyDueIds(
+            @Param("createdFrom") Instant createdFrom,
+            @Param("createdTo") Instant createdTo,
+            @Param("dueAfter") LocalDate dueAfter,
+            @Param("today") LocalDate today,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
     );
+
+    /**
+     * Claims the given reminders for delivery if they are still PENDING, skipping rows another
+     * transaction holds, like {@link #claimDue}.
+     */
+    @Query(value = """
+        SELECT * FROM reminders
+        WHERE id IN (:ids) AND status = 'PENDING'
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Reminder> claimPending(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT MIN(r.reminderDate) FROM Reminder r WHERE r.status IN (:statuses)")
+    LocalDate findOldestReminderDate(@Param("statuses") List<ReminderStatus> statuses);
+
+    @Query("SELECT r.id FROM Reminder r WHERE r.status IN (:statuses) AND r.reminderDate < :cutoff ORDER BY r.reminderDate")
+    List<UUID> findIdsBefore(@Param("statuses") List<ReminderStatus> statuses, @Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    /**
+     * Copies reminders to the archive table. Native, as the archive is not mapped.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO reminders_archive (id, assignment_id, reminder_date, status, kind, message, sent_at, created_at, updated_at)
+        SELECT id, assignment_id, reminder_date, status, kind, message, sent_at, created_at, updated_at
+        FROM reminders WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM reminders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
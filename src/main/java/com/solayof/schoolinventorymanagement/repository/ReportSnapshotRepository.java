@@ -0,0 +1,24 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.entity.ReportSnapshot;
+
+public interface ReportSnapshotRepository extends JpaRepository<ReportSnapshot, UUID> {
+    Optional<ReportSnapshot> findFirstByReportTypeOrderByCreatedAtDesc(ReportType reportType);
+
+    List<ReportSnapshot> findByReportTypeAndCreatedAtBetweenOrderByCreatedAtAsc(ReportType reportType, Instant from, Instant to);
+
+    @Modifying
+    @Query("DELETE FROM ReportSnapshot s WHERE s.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,39 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+
+import jakarta.persistence.LockModeType;
+
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+    List<Reservation> findByItemIdAndStatusOrderByCreatedAtAsc(UUID itemId, ReservationStatus status);
+    boolean existsByItemIdAndCollectorIdAndStatus(UUID itemId, UUID collectorId, ReservationStatus status);
+
+    /**
+     * Finds a reservation by ID with a query rather than a load by ID, so the school filter applies.
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findVisibleById(@Param("id") UUID id);
+
+    @Query("""
+        SELECT r.id FROM Reservation r
+        WHERE r.item.id = :itemId AND r.status = :status
+        ORDER BY r.createdAt ASC
+    """)
+    List<UUID> findIdsByItemIdAndStatus(@Param("itemId") UUID itemId, @Param("status") ReservationStatus status);
+
+    /**
+     * Locks the oldest waiting reservation of an item so a hand-off cannot serve it twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Reservation> findFirstByItemIdAndStatusOrderByCreatedAtAsc(UUID itemId, ReservationStatus status);
+}
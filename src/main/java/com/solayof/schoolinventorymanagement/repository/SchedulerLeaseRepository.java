@@ -0,0 +1,71 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.solayof.schoolinventorymanagement.entity.SchedulerLease;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Creates a lease held by {@code owner}. A plain INSERT rather than save(), which would merge
+     * into (and overwrite) a row created concurrently by another node.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the lease already exists
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO scheduler_leases (lease_name, owner, locked_until, created_at)
+        VALUES (:name, :owner, :until, :now)
+    """, nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Takes an unfinished lease for {@code owner} if it is free (expired) or already held by that owner.
+     * The check and the write are one UPDATE, so of several nodes racing for the same lease exactly one
+     * sees an updated row.
+     *
+     * @return 1 if the lease is now held by {@code owner}, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+        UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :until
+        WHERE l.leaseName = :name AND l.completedAt IS NULL AND (l.owner = :owner OR l.lockedUntil < :now)
+    """)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    /**
+     * Extends a lease, provided {@code owner} still holds it.
+     *
+     * @return 1 if the lease was extended, 0 if it has expired and been taken over or has been completed
+     */
+    @Modifying
+    @Query("""
+        UPDATE SchedulerLease l SET l.lockedUntil = :until
+        WHERE l.leaseName = :name AND l.owner = :owner AND l.completedAt IS NULL AND l.lockedUntil >= :now
+    """)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    @Modifying
+    @Query("""
+        UPDATE SchedulerLease l SET l.completedAt = :now, l.lockedUntil = :now
+        WHERE l.leaseName = :name AND l.owner = :owner AND l.completedAt IS NULL
+    """)
+    int complete(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+
+    @Query("""
+        SELECT l.leaseName FROM SchedulerLease l
+        WHERE l.completedAt IS NULL AND l.lockedUntil < :now AND l.leaseName LIKE :prefix%
+        ORDER BY l.leaseName
+    """)
+    List<String> findExpired(@Param("prefix") String prefix, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM SchedulerLease l WHERE l.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,12 @@
+package com.solayof.schoolinventorymanagement.repository;
+
+import com.solayof.schoolinventorymanagement.constants.Status;
+
+/**
+ * Projection of the number of items in one status.
+ */
+public interface StatusCount {
+    Status getStatus();
+
+    long getTotal();
+}
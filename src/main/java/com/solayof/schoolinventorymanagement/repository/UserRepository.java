@@ -4,6 +4,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.solayof.schoolinventorymanagement.entity.UserEntity;
 
@@ -11,4 +13,10 @@ import com.solayof.schoolinventorymanagement.entity.UserEntity;
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    /**
+     * Finds a user by ID with a query rather than a load by ID, so the school filter applies.
+     */
+    @Query("SELECT u FROM UserEntity u WHERE u.id = :id")
+    Optional<UserEntity> findVisibleById(@Param("id") UUID id);
 }
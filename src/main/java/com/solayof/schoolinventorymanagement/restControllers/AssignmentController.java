@@ -18,16 +18,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.solayof.schoolinventorymanagement.constants.Status;
 import com.solayof.schoolinventorymanagement.dtos.AssignmentDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateAssignmentDTO;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
-import com.solayof.schoolinventorymanagement.entity.Collector;
-import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssembler;
 import com.solayof.schoolinventorymanagement.services.AssignmentService;
-import com.solayof.schoolinventorymanagement.services.CollectorService;
-import com.solayof.schoolinventorymanagement.services.ItemService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -41,10 +36,6 @@ public class AssignmentController {
     private AssignmentService assignmentService; // Injecting the AssignmentService to handle assignment-related operations
     @Autowired
     private AssignmentModelAssembler assembler; // Injecting the AssignmentModelAssembler to convert Assignment entities to EntityModel<AssignmentDTO>
-    @Autowired
-    private CollectorService collectorService; // Injecting the CollectorService to handle collector-related operations
-    @Autowired
-    private ItemService itemService; // Injecting the ItemService to handle item-related operations
 
 
     /**
@@ -74,27 +65,17 @@ public class AssignmentController {
      @ApiResponses(value = {
         // This annotation documents the API responses for Swagger/OpenAPI
          @ApiResponse(responseCode = "201", description = "Item created successfully"),
-         @ApiResponse(responseCode = "400", description = "Invalid input data")
+         @ApiResponse(responseCode = "400", description = "Invalid input data"),
+         @ApiResponse(responseCode = "409", description = "Checkout conflicted with a concurrent update")
      })
     public ResponseEntity<EntityModel<AssignmentDTO>> createCollector(@Valid @RequestBody AssignmentDTO entity) {
-        Collector collector = collectorService.findByCollectorId(entity.getCollectorId());
-        if (entity.getReturnDueDate().isBefore(entity.getAssignmentDate())) {
-            throw new IllegalArgumentException("Actual return date cannot be before assignment date.");
-        }
-        Assignment assignment = new Assignment();
-        assignment.setReturnDueDate(entity.getReturnDueDate());
-        assignment.setAssignmentDate(entity.getAssignmentDate());
-        Item item = itemService.findByItemId(entity.getItemId());
-        if (item.getStatus() != Status.AVAILABLE) {
-            throw new IllegalArgumentException("Item with name '" + item.getName() + "' is not available for assignment.");
-        }
-        assignment.setItem(item);
-        item.setStatus(Status.ASSIGNED); // Update the item's status to ASSIGNED
-        assignment.setCollector(collector);
-        collector.getAssignments().add(assignment); // Add the assignment to the collector's list
-        assignmentService.saveAssignment(assignment);
-        collectorService.saveCollector(collector); // Save the updated collector
-        itemService.saveItem(item); // Save the updated item status
+        // The service claims the item atomically, so concurrent checkouts of the same item cannot both succeed
+        Assignment assignment = assignmentService.checkout(
+            entity.getItemId(),
+            entity.getCollectorId(),
+            entity.getAssignmentDate(),
+            entity.getReturnDueDate()
+        );
         
         return new ResponseEntity<>(
             assembler.toModel(assignment),
@@ -1,17 +1,22 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.solayof.schoolinventorymanagement.dtos.CategoryDto;
 import com.solayof.schoolinventorymanagement.dtos.ItemDTO;
+import com.solayof.schoolinventorymanagement.dtos.LeanCollectionDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateCategoryDTO;
 import com.solayof.schoolinventorymanagement.services.CategoryService;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 
 
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,6 +31,7 @@ import com.solayof.schoolinventorymanagement.entity.Category;
 
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -78,7 +84,9 @@ public class CategoryController {
      /**
       * Retrieves a category by its ID.
       * This method is not implemented in this snippet, but it would typically return an EntityModel<Category> for the specified category ID.
+      * Answers 304 Not Modified without loading the category when the client's ETag is current.
       * @param id the UUID of the category to retrieve
+      * @param request the current request, used to evaluate If-None-Match
       * @return EntityModel<Category> containing the requested category and links
       * @throws CategotyNotFoundException if the category with the specified ID does not exist
       */
@@ -86,42 +94,83 @@ public class CategoryController {
         @Operation(summary = "Get a category by ID", description = "Retrieves an inventory category by its unique identifier.")
         @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Category not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Category not found")
         })
-        public ResponseEntity<EntityModel<CategoryDto>> getOne(@PathVariable UUID id) {
+        public ResponseEntity<EntityModel<CategoryDto>> getOne(@PathVariable UUID id, WebRequest request) {
+            String eTag = categoryService.getCategoryETag(id);
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(HttpCaching.categories()).build();
+            }
             // This method would typically use the CategoryService to find the category by ID and return it as an EntityModel<Category>
             Category category = categoryService.findByCategoryId(id);
-            return new ResponseEntity<EntityModel<CategoryDto>>(
-                assembler.toModel(category),
-                HttpStatus.OK
-            );
-                
-                
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(HttpCaching.categories())
+                .body(assembler.toModel(category));
         }
 
     /**
      * Retrieves all categories.
      * 
      * This method is not implemented in this snippet, but it would typically return a collection of EntityModel<Category> for all categories.
+     * Answers 304 Not Modified without loading the categories when the client's ETag is current.
+     * @param request the current request, used to evaluate If-None-Match
      * @return Collection<EntityModel<Category>> containing all categories and links
      */
     @GetMapping("")
     @Operation(summary = "Get all categories", description = "Retrieves all inventory categories.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Categories not modified since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "No categories found")
     })
-    public ResponseEntity<CollectionModel<EntityModel<CategoryDto>>> getAll() {
+    public ResponseEntity<CollectionModel<EntityModel<CategoryDto>>> getAll(WebRequest request) {
+        String eTag = categoryService.getCategoriesETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(HttpCaching.categories()).varyBy(HttpCaching.vary(HttpHeaders.ACCEPT)).build();
+        }
         // This method would typically use the CategoryService to find all categories and return them as a collection of EntityModel<Category>
         List<Category> categories = categoryService.findAllCategories();
-        return new ResponseEntity<CollectionModel<EntityModel<CategoryDto>>>(CollectionModel.of(
-            categories.stream()
-                .map(assembler::toModel)
-                .collect(Collectors.toList()),
-            linkTo(methodOn(CategoryController.class).getAll()).withSelfRel()
-        ),
-            HttpStatus.OK
-        );
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(HttpCaching.categories())
+            .varyBy(HttpCaching.vary(HttpHeaders.ACCEPT))
+            .body(CollectionModel.of(
+                categories.stream()
+                    .map(assembler::toModel)
+                    .collect(Collectors.toList()),
+                linkTo(methodOn(CategoryController.class).getAll(null)).withSelfRel()
+            ));
+    }
+
+    /**
+     * Retrieves all categories in the lean representation, selected with {@code Accept: application/vnd.sims.lean+json}.
+     * The rows are plain DTOs; instead of per-row links the collection carries a "category" URI template.
+     * The ETag differs from the HAL one, since both representations share the URL.
+     * @param request the current request, used to evaluate If-None-Match
+     * @return LeanCollectionDTO containing all categories, or 304 if the client's copy is current
+     */
+    @GetMapping(value = "", produces = MediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Get all categories (lean)", description = "Retrieves all inventory categories as plain DTOs with collection-level links only.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Categories not modified since the given ETag")
+    })
+    public ResponseEntity<LeanCollectionDTO<CategoryDto>> getAllLean(WebRequest request) {
+        String eTag = HttpCaching.leanETag(categoryService.getCategoriesETag());
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(HttpCaching.categories()).varyBy(HttpCaching.vary(HttpHeaders.ACCEPT)).build();
+        }
+        String self = linkTo(methodOn(CategoryController.class).getAll(null)).toUri().toString();
+        List<CategoryDto> categories = categoryService.findAllCategories().stream()
+            .map(CategoryDto::fromCategory)
+            .toList();
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(HttpCaching.categories())
+            .varyBy(HttpCaching.vary(HttpHeaders.ACCEPT))
+            .body(new LeanCollectionDTO<>(categories, Map.of("self", self, "category", self + "/{id}")));
     }
     
     /**
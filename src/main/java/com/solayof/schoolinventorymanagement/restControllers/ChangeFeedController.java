@@ -0,0 +1,41 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.solayof.schoolinventorymanagement.dtos.ChangeFeedDTO;
+import com.solayof.schoolinventorymanagement.services.ChangeLogService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+    @Autowired
+    private ChangeLogService changeLogService; // Injecting the ChangeLogService to read the change feed
+
+    /**
+     * Retrieves the changes to items, assignments, collectors and reminders after an offset.
+     * Consumers store the returned nextOffset and pass it as 'since' on the next call, so they
+     * can sync incrementally and resume after a crash without reloading everything.
+     * @param since the last offset already processed, 0 for the full history
+     * @param limit the maximum number of changes to return
+     * @return ChangeFeedDTO with the changes in offset order and the offset to resume from
+     */
+    @GetMapping("")
+    @Operation(summary = "Get the change feed", description = "Retrieves compact change records after the given offset, in offset order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid offset or limit")
+    })
+    public ResponseEntity<ChangeFeedDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+}
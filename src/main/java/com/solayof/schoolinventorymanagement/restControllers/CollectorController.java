@@ -1,11 +1,13 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,13 +19,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 import com.solayof.schoolinventorymanagement.dtos.CollectorDTO;
+import com.solayof.schoolinventorymanagement.dtos.LeanCollectionDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateCollectorDTO;
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.modelAssembler.CollectorModelAssembler;
 import com.solayof.schoolinventorymanagement.services.CollectorService;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -75,19 +81,26 @@ public class CollectorController {
     /**
      * Retrieves a collector by their ID.
      * This method is not implemented yet, but it will return an EntityModel<CollectorDTO> for the specified collector.
+     * Answers 304 Not Modified without loading the collector when the client's ETag is current.
      * @param collectorId the ID of the collector to retrieve
+     * @param request the current request, used to evaluate If-None-Match
      * @return EntityModel<CollectorDTO> containing the collector details
      */
     @GetMapping("/{collectorId}")
     @Operation(summary = "Get a collector by ID", description = "Retrieves an inventory collector by its unique identifier.")
         @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Collector retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Collector not modified since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Collector not found")
         })
-    public ResponseEntity<EntityModel<CollectorDTO>> getOne(@PathVariable UUID collectorId) {
+    public ResponseEntity<EntityModel<CollectorDTO>> getOne(@PathVariable UUID collectorId, WebRequest request) {
+        String eTag = collectorService.getCollectorETag(collectorId);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(HttpCaching.COLLECTORS).build();
+        }
         Collector collector = collectorService.findByCollectorId(collectorId);
         EntityModel<CollectorDTO> model = assembler.toModel(collector);
-        return ResponseEntity.ok(model);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(HttpCaching.COLLECTORS).body(model);
     }
 
     /**
@@ -121,7 +134,27 @@ public class CollectorController {
             collectorModels,
             linkTo(methodOn(CollectorController.class).getAll()).withSelfRel()
         );
-        return ResponseEntity.ok(collectionModel); // Return HTTP status 200 (OK) with the collection of collectors
+        return ResponseEntity.ok().varyBy(HttpCaching.vary(HttpHeaders.ACCEPT)).body(collectionModel); // Return HTTP status 200 (OK) with the collection of collectors
+    }
+
+    /**
+     * Retrieves all collectors in the lean representation, selected with {@code Accept: application/vnd.sims.lean+json}.
+     * The rows are plain DTOs; instead of per-row links the collection carries a "collector" URI template.
+     * @return ResponseEntity containing a LeanCollectionDTO of all collectors
+     */
+    @GetMapping(value = "", produces = MediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Get all collectors (lean)", description = "Retrieves all inventory collectors as plain DTOs with collection-level links only.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Collectors retrieved successfully")
+    })
+    public ResponseEntity<LeanCollectionDTO<CollectorDTO>> getAllLean() {
+        String self = linkTo(methodOn(CollectorController.class).getAll()).toUri().toString();
+        List<CollectorDTO> collectors = collectorService.findAll().stream()
+            .map(CollectorDTO::fromCollector)
+            .toList();
+        return ResponseEntity.ok()
+            .varyBy(HttpCaching.vary(HttpHeaders.ACCEPT))
+            .body(new LeanCollectionDTO<>(collectors, Map.of("self", self, "collector", self + "/{id}")));
     }
 
     /**
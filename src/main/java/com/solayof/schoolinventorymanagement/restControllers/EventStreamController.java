@@ -0,0 +1,76 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.events.InventoryEventBus;
+import com.solayof.schoolinventorymanagement.events.InventoryEventSink;
+import com.solayof.schoolinventorymanagement.events.InventoryEventType;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+    @Autowired
+    private InventoryEventBus eventBus; // Injecting the InventoryEventBus to subscribe clients to inventory changes
+
+    @Value("${sims.events.timeout-ms:1800000}")
+    private long timeoutMs; // Connection lifetime; EventSource clients reconnect automatically
+
+    /**
+     * Opens a Server-Sent Events stream of inventory changes.
+     * Dashboards can keep a live view of item availability, assignments and reminders instead of polling
+     * the status and report endpoints. Each event is named after its type and carries an InventoryEvent
+     * as JSON. A 'dropped' event means the client fell behind and should reload its view. In
+     * multi-school mode only the changes of the caller's school are streamed.
+     * @param types the event types to receive; all types when omitted
+     * @return the SseEmitter streaming the events
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream inventory changes", description = "Pushes item status changes, assignment creations and returns, and reminder status transitions as Server-Sent Events.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    public SseEmitter streamEvents(@RequestParam(required = false) Set<InventoryEventType> types) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        InventoryEventBus.Subscription subscription = eventBus.subscribe(new InventoryEventSink() {
+            @Override
+            public void send(long sequence, InventoryEvent event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(sequence))
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void dropped(long count) throws IOException {
+                emitter.send(SseEmitter.event().name("dropped").data(count));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }, types == null ? EnumSet.noneOf(InventoryEventType.class) : types, TenantContext.current());
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
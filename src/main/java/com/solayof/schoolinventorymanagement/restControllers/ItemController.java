@@ -1,12 +1,14 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,11 +19,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 import com.solayof.schoolinventorymanagement.constants.Status;
 import com.solayof.schoolinventorymanagement.dtos.AssignmentDTO;
 import com.solayof.schoolinventorymanagement.dtos.ItemDTO;
+import com.solayof.schoolinventorymanagement.dtos.LeanCollectionDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateItemDTO;
 import com.solayof.schoolinventorymanagement.entity.Category;
 import com.solayof.schoolinventorymanagement.entity.Item;
@@ -30,6 +34,8 @@ import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssem
 import com.solayof.schoolinventorymanagement.modelAssembler.ItemModelAssembler;
 import com.solayof.schoolinventorymanagement.services.CategoryService;
 import com.solayof.schoolinventorymanagement.services.ItemService;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -100,7 +106,9 @@ public class ItemController {
     /**
      * Retrieves an item by its ID.
      * This method is not implemented in this snippet, but it would typically return an EntityModel<Item> for the specified item ID.
+     * Answers 304 Not Modified without loading the item when the client's ETag is current.
      * @param id the UUID of the item to retrieve
+     * @param request the current request, used to evaluate If-None-Match
      * @return EntityModel<Item> containing the requested item and links
      * @throws ItemNotFoundException if the item with the specified ID does not exist
      */
@@ -108,15 +116,20 @@ public class ItemController {
     @Operation(summary = "Get an item by ID", description = "Retrieves an inventory item by its unique identifier.")
         @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Item not modified since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Item not found")
         })
-    public ResponseEntity<EntityModel<ItemDTO>> getOne(@PathVariable UUID id) {
+    public ResponseEntity<EntityModel<ItemDTO>> getOne(@PathVariable UUID id, WebRequest request) {
+        String eTag = itemService.getItemETag(id);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(HttpCaching.items()).build();
+        }
         // This method would typically use the ItemService to find the item by ID and return it as an EntityModel<Item>
         Item item = itemService.findByItemId(id);
-        return new ResponseEntity<>(
-            assembler.toModel(item),
-            HttpStatus.OK
-        );
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(HttpCaching.items())
+            .body(assembler.toModel(item));
     }
 
     /**
@@ -133,15 +146,34 @@ public class ItemController {
     public ResponseEntity<CollectionModel<EntityModel<ItemDTO>>> getAll() {
         // This method would typically use the ItemService to find all items and return them as a collection of EntityModel<Item>
         List<Item> items = itemService.findAllItems();
-        return new ResponseEntity<>(
-            CollectionModel.of(
+        return ResponseEntity.ok()
+            .varyBy(HttpCaching.vary(HttpHeaders.ACCEPT))
+            .body(CollectionModel.of(
                 items.stream()
                     .map(assembler::toModel)
                     .collect(Collectors.toList()),
                 linkTo(methodOn(ItemController.class).getAll()).withSelfRel()
-            ),
-            HttpStatus.OK
-        );
+            ));
+    }
+
+    /**
+     * Retrieves all items in the lean representation, selected with {@code Accept: application/vnd.sims.lean+json}.
+     * The rows are plain DTOs; instead of per-row links the collection carries an "item" URI template.
+     * @return LeanCollectionDTO containing all items and collection-level links
+     */
+    @GetMapping(value = "", produces = MediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Get all items (lean)", description = "Retrieves all inventory items as plain DTOs with collection-level links only.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Items retrieved successfully")
+    })
+    public ResponseEntity<LeanCollectionDTO<ItemDTO>> getAllLean() {
+        String self = linkTo(methodOn(ItemController.class).getAll()).toUri().toString();
+        List<ItemDTO> items = itemService.findAllItems().stream()
+            .map(ItemDTO::fromItem)
+            .toList();
+        return ResponseEntity.ok()
+            .varyBy(HttpCaching.vary(HttpHeaders.ACCEPT))
+            .body(new LeanCollectionDTO<>(items, Map.of("self", self, "item", self + "/{id}")));
     }
 
     /**
@@ -1,12 +1,16 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.hateoas.CollectionModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,18 +23,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.dtos.ReminderDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateReminderDTO;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.exceptions.DuplicateReminderException;
 import com.solayof.schoolinventorymanagement.modelAssembler.ReminderModelAssembler;
 import com.solayof.schoolinventorymanagement.services.AssignmentService;
+import com.solayof.schoolinventorymanagement.services.ReminderRateLimiter;
 import com.solayof.schoolinventorymanagement.services.ReminderService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 @RestController
 @RequestMapping("/api/reminders")
@@ -42,6 +50,8 @@ public class ReminderController {
 
     @Autowired
     private AssignmentService assignmentService;
+    @Autowired
+    private ReminderRateLimiter reminderRateLimiter; // Limits manual sends per caller and per recipient
 
     /**
      * Retrieves a reminder by its ID.
@@ -72,10 +82,14 @@ public class ReminderController {
      @ApiResponses(value = {
         // This annotation documents the API responses for Swagger/OpenAPI
          @ApiResponse(responseCode = "201", description = "Item created successfully"),
-         @ApiResponse(responseCode = "400", description = "Invalid input data")
+         @ApiResponse(responseCode = "400", description = "Invalid input data"),
+         @ApiResponse(responseCode = "409", description = "The assignment already has a manual reminder on that date")
      })
     public ResponseEntity<EntityModel<ReminderDTO>> createItem(@Valid @RequestBody ReminderDTO entity) {
         Assignment assignment = assignmentService.findByAssignmentId(entity.getAssignmentId());
+        if (reminderService.existsReminder(assignment.getId(), entity.getReminderDate(), ReminderKind.MANUAL)) {
+            throw new DuplicateReminderException("Assignment " + assignment.getId() + " already has a manual reminder on " + entity.getReminderDate());
+        }
         Reminder reminder = new Reminder(); // Create a new Reminder entity from the DTO
         // Set properties of the reminder from the DTO
         reminder.setMessage(entity.getMessage());
@@ -89,21 +103,26 @@ public class ReminderController {
     }
 
     /**
-     * Retrieves all reminders with a specific status.
-     * This method is not implemented yet, but it will return a collection of reminders with the specified status.
+     * Retrieves one page of the reminders with a specific status.
+     * Sorted by reminder date unless a sort is given; served by the (status, reminder_date) index.
      *
      * @param status the status of the reminders to retrieve
-     * @return ResponseEntity with a collection of reminders
+     * @param pageable the page, size and sort of the request
+     * @param pagedAssembler assembler adding the page metadata and navigation links
+     * @return ResponseEntity with one page of reminders
      */
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get all reminders whose status is prvided in the path", description = "Retrieves all inventory reminders whose status is prvided in the path.")
+    @Operation(summary = "Get all reminders whose status is prvided in the path", description = "Retrieves one page of the reminders whose status is prvided in the path.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Reminders retrieved successfully"),
         @ApiResponse(responseCode = "404", description = "No reminders found")
     })
-    public ResponseEntity<CollectionModel<EntityModel<ReminderDTO>>> getByStatus(@PathVariable ReminderStatus status) {
-        List<Reminder> reminders = reminderService.findByStatus(status);
-        return ResponseEntity.ok(reminderModelAssembler.toCollectionModel(reminders));
+    public ResponseEntity<PagedModel<EntityModel<ReminderDTO>>> getByStatus(
+            @PathVariable ReminderStatus status,
+            @PageableDefault(size = 20, sort = "reminderDate") Pageable pageable,
+            PagedResourcesAssembler<Reminder> pagedAssembler) {
+        Page<Reminder> reminders = reminderService.findByStatus(status, pageable);
+        return ResponseEntity.ok(pagedAssembler.toModel(reminders, reminderModelAssembler));
     }
 
     /**
@@ -116,7 +135,8 @@ public class ReminderController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Reminder updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "404", description = "Reminder not found")
+        @ApiResponse(responseCode = "404", description = "Reminder not found"),
+        @ApiResponse(responseCode = "409", description = "The assignment already has a reminder of the same kind on the new date")
     })
     public ResponseEntity<EntityModel<ReminderDTO>> updateReminder(@PathVariable UUID id, @Valid @RequestBody UpdateReminderDTO entity) {
         Reminder reminder = reminderService.findByReminderId(id);
@@ -127,7 +147,11 @@ public class ReminderController {
         if (entity.getStatus() != null) {
             reminder.setStatus(entity.getStatus());
         }
-        if (entity.getReminderDate() != null) {
+        if (entity.getReminderDate() != null && !entity.getReminderDate().equals(reminder.getReminderDate())) {
+            if (reminderService.existsReminder(reminder.getAssignment().getId(), entity.getReminderDate(), reminder.getKind())) {
+                throw new DuplicateReminderException("Assignment " + reminder.getAssignment().getId() + " already has a "
+                        + reminder.getKind().name().toLowerCase() + " reminder on " + entity.getReminderDate());
+            }
             reminder.setReminderDate(entity.getReminderDate());
         }
         return ResponseEntity.ok(reminderModelAssembler.toModel(reminderService.saveReminder(reminder)));
@@ -170,32 +194,40 @@ public class ReminderController {
 
     /**
      * Manually sends a reminder for an assignment.
-     * This method allows sending a reminder immediately for a specific assignment.
+     * The reminder is saved as PENDING and sent in the background, so the response does not wait
+     * for the mail server. The reminder is the job: its URL is returned in Location, its status
+     * moves to SENT or FAILED, and each change is pushed as a REMINDER_STATUS_CHANGED event on
+     * /api/events. An assignment has one manual reminder per day: sending again on the same day
+     * returns that reminder while it is pending, retries it if it failed, and is refused once it
+     * was sent. Sends are rate limited per caller and per recipient; during quiet
+     * hours the reminder waits for the first dispatch after them.
      *
      * @param assignmentId the ID of the assignment to send a reminder for
      * @param message optional custom message for the reminder
-     * @return ResponseEntity with the sent reminder
+     * @param request the current request, identifying the caller
+     * @return ResponseEntity with the queued reminder and its URL
      */
     @PostMapping("/manual-send/{assignmentId}")
-    @Operation(summary = "Manually send a reminder for an assignment", description = "Sends a reminder for a specific assignment immediately.")
+    @Operation(summary = "Manually send a reminder for an assignment", description = "Queues a reminder for a specific assignment and returns its URL to follow its status.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Reminder sent successfully"),
-        @ApiResponse(responseCode = "404", description = "Assignment not found")
+        @ApiResponse(responseCode = "202", description = "Reminder queued; poll the Location URL or follow /api/events for its status"),
+        @ApiResponse(responseCode = "404", description = "Assignment not found"),
+        @ApiResponse(responseCode = "409", description = "Today's manual reminder for the assignment was already sent"),
+        @ApiResponse(responseCode = "429", description = "Too many reminders for the caller or the recipient; see Retry-After")
     })
-    public ResponseEntity<Reminder> manuallySendReminder(
+    public ResponseEntity<EntityModel<ReminderDTO>> manuallySendReminder(
             @PathVariable UUID assignmentId,
-            @RequestParam(required = false) String message) {
+            @RequestParam(required = false) String message,
+            HttpServletRequest request) {
         Assignment assignment = assignmentService.findByAssignmentId(assignmentId);
+        String caller = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : request.getRemoteAddr();
+        reminderRateLimiter.acquire(caller, assignment.getCollector().getEmail());
 
-        Reminder reminder = new Reminder();
-        reminder.setAssignment(assignment);
-        reminder.setReminderDate(LocalDate.now());
-        reminder.setStatus(ReminderStatus.PENDING);
-        if (message != null) reminder.setMessage(message);
-        reminderService.saveReminder(reminder);
-        reminder = reminderService.sendReminder(reminder.getId());
-        
-        return new ResponseEntity<>(reminder, HttpStatus.OK);
+        Reminder reminder = reminderService.prepareManualReminder(assignment, message); // Committed before the send is queued
+        reminderService.enqueueSend(reminder.getId());
+
+        EntityModel<ReminderDTO> model = reminderModelAssembler.toModel(reminder);
+        return ResponseEntity.accepted().location(model.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(model);
     }
 
     /**
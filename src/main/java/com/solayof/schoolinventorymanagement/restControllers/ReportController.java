@@ -1,95 +1,200 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
-import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.dtos.AssignmentDTO;
+import com.solayof.schoolinventorymanagement.dtos.AssignmentHistoryDTO;
+import com.solayof.schoolinventorymanagement.dtos.CategoryUsageDTO;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.ItemUsageDTO;
+import com.solayof.schoolinventorymanagement.dtos.ReportSnapshotDTO;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
-import com.solayof.schoolinventorymanagement.services.AssignmentService;
-import com.solayof.schoolinventorymanagement.services.ItemService;
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssembler;
+import com.solayof.schoolinventorymanagement.services.ReportService;
+import com.solayof.schoolinventorymanagement.services.ReportSnapshotService;
+import com.solayof.schoolinventorymanagement.services.UsageAnalyticsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController {
     @Autowired
-    private ItemService itemService;
+    private ReportService reportService;
     @Autowired
-    private AssignmentService assignmentService;
+    private ReportSnapshotService reportSnapshotService;
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService;
+    @Autowired
+    private AssignmentModelAssembler assignmentAssembler;
 
 
     /**
      * Endpoint to generate a report on inventory levels.
-     * Includes counts of items by status and by category.
+     * Includes counts of items by status and by category, and the share of items assigned.
+     * Served from the latest daily snapshot unless a fresh report is requested.
      * Accessible by ADMIN and INVENTORY_MANAGER roles.
-     * @return A map containing inventory level statistics.
+     * @param fresh Whether to recompute the report (and store it as the latest snapshot).
+     * @return The inventory level statistics and when they were computed.
      */
     @GetMapping("/inventory-levels")
-    @Operation(summary = "Get inventory levels report", description = "Generates a report on inventory levels including item counts by status and category.")
+    @Operation(summary = "Get inventory levels report", description = "Returns the latest inventory levels snapshot, or recomputes it with fresh=true.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Inventory levels report generated successfully"),
-        @ApiResponse(responseCode = "404", description = "No items found in inventory")
+        @ApiResponse(responseCode = "200", description = "Inventory levels report generated successfully")
     })
-    public ResponseEntity<Map<String, Object>> getInventoryLevelsReport() {
-        Map<String, Object> report = new HashMap<>();
-
-        // Get total item count
-        long totalItems = itemService.findAllItems().size();
-        report.put("totalItems", totalItems);
-
-        // Get item counts by status
-        Map<Status, Long> itemCountsByStatus = itemService.getItemCountsByStatus();
-        report.put("itemCountsByStatus", itemCountsByStatus);
-
-        // Get item counts by category
-        Map<String, Long> itemCountsByCategory = itemService.getItemCountsByCategory();
-        report.put("itemCountsByCategory", itemCountsByCategory);
-
-        return ResponseEntity.ok(report);
+    public ResponseEntity<InventoryLevelsReportDTO> getInventoryLevelsReport(@RequestParam(defaultValue = "false") boolean fresh) {
+        return ResponseEntity.ok(reportSnapshotService.getInventoryLevels(fresh));
     }
 
     /**
      * Endpoint to generate a report on collector assignments.
-     * Includes all active assignments and a count of overdue assignments per collector.
+     * Includes the active and overdue assignment counts and the oldest due date per collector,
+     * keyed by collector ID and aggregated in the database. Use the detail endpoint to page through
+     * a collector's assignments.
+     * Served from the latest daily snapshot unless a fresh report is requested.
      * Accessible by ADMIN and INVENTORY_MANAGER roles.
-     * @return A map containing collector assignment statistics.
+     * @param fresh Whether to recompute the report (and store it as the latest snapshot).
+     * @return The per-collector aggregates and totals, and when they were computed.
      */
     @GetMapping("/collector-assignments")
-    @Operation(summary = "Get collector assignments report", description = "Generates a report on collector assignments including active and overdue assignments.")
+    @Operation(summary = "Get collector assignments report", description = "Returns the latest collector assignments snapshot, or recomputes it with fresh=true.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Collector assignments report generated successfully"),
-        @ApiResponse(responseCode = "404", description = "No assignments found")
+        @ApiResponse(responseCode = "200", description = "Collector assignments report generated successfully")
     })
-    public ResponseEntity<Map<String, Object>> getCollectorAssignmentsReport() {
-        Map<String, Object> report = new HashMap<>();
+    public ResponseEntity<CollectorAssignmentsReportDTO> getCollectorAssignmentsReport(@RequestParam(defaultValue = "false") boolean fresh) {
+        return ResponseEntity.ok(reportSnapshotService.getCollectorAssignments(fresh));
+    }
 
-        List<Assignment> allAssignments = assignmentService.getAllAssignments();
-        List<Assignment> overdueAssignments = assignmentService.getOverdueAssignments();
+    /**
+     * Endpoint to retrieve stored report snapshots for trend charts.
+     * @param type The report whose snapshots to return.
+     * @param from The start of the range; defaults to 30 days ago.
+     * @param to The end of the range; defaults to now.
+     * @return The snapshots in the range, oldest first.
+     */
+    @GetMapping("/snapshots")
+    @Operation(summary = "Get report snapshot history", description = "Retrieves the stored snapshots of a report in a time range, oldest first.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshots retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid report type or time range")
+    })
+    public ResponseEntity<List<ReportSnapshotDTO>> getSnapshots(
+            @RequestParam ReportType type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(30)) : from;
+        return ResponseEntity.ok(reportSnapshotService.getHistory(type, start, end));
+    }
 
-        // Group assignments by collector for a detailed view
-        Map<String, List<Assignment>> assignmentsByCollector = allAssignments.stream()
-                .collect(Collectors.groupingBy(assignment -> assignment.getCollector().getName()));
-        report.put("assignmentsByCollector", assignmentsByCollector);
+    /**
+     * Endpoint to page through the active assignments of one collector.
+     * Sorted by return due date unless a sort is given.
+     * @param collectorId The ID of the collector.
+     * @param overdue Whether to list only overdue assignments.
+     * @param pageable The page, size and sort of the request.
+     * @param pagedAssembler Assembler adding the page metadata and navigation links.
+     * @return One page of the collector's assignments.
+     */
+    @GetMapping("/collector-assignments/{collectorId}")
+    @Operation(summary = "Get a collector's assignments", description = "Retrieves one page of a collector's active (or only overdue) assignments.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Assignments page retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Collector not found")
+    })
+    public ResponseEntity<PagedModel<EntityModel<AssignmentDTO>>> getCollectorAssignments(
+            @PathVariable UUID collectorId,
+            @RequestParam(defaultValue = "false") boolean overdue,
+            @PageableDefault(size = 20, sort = "returnDueDate") Pageable pageable,
+            PagedResourcesAssembler<Assignment> pagedAssembler) {
+        Page<Assignment> page = reportService.getCollectorAssignments(collectorId, overdue, pageable);
+        return ResponseEntity.ok(pagedAssembler.toModel(page, assignmentAssembler));
+    }
 
-        // Count overdue assignments per collector
-        Map<String, Long> overdueCountsByCollector = overdueAssignments.stream()
-                .collect(Collectors.groupingBy(assignment -> assignment.getCollector().getName(), Collectors.counting()));
-        report.put("overdueCountsByCollector", overdueCountsByCollector);
+    /**
+     * Endpoint to report item utilization over a date range, computed from the daily usage rollups.
+     * Items that were neither checked out nor returned in the range are idle and not listed.
+     * @param from The first day of the range; defaults to 29 days before the last.
+     * @param to The last day of the range, inclusive; defaults to today.
+     * @return The utilization, mean loan duration and overdue rate per item, most used first.
+     */
+    @GetMapping("/usage/items")
+    @Operation(summary = "Get item usage", description = "Computes utilization, mean loan duration and overdue rate per item over a date range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Item usage computed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<ItemUsageDTO>> getItemUsage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(29) : from;
+        return ResponseEntity.ok(usageAnalyticsService.getItemUsage(start, end));
+    }
 
-        report.put("totalActiveAssignments", allAssignments.stream().filter(a -> a.getActualReturnDate() == null).count());
-        report.put("totalOverdueAssignments", overdueAssignments.size());
+    /**
+     * Endpoint to report category utilization over a date range, computed from the daily usage rollups.
+     * @param from The first day of the range; defaults to 29 days before the last.
+     * @param to The last day of the range, inclusive; defaults to today.
+     * @return The utilization, mean loan duration and overdue rate per category.
+     */
+    @GetMapping("/usage/categories")
+    @Operation(summary = "Get category usage", description = "Computes utilization, mean loan duration and overdue rate per category over a date range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Category usage computed successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<CategoryUsageDTO>> getCategoryUsage(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(29) : from;
+        return ResponseEntity.ok(usageAnalyticsService.getCategoryUsage(start, end));
+    }
 
-        return ResponseEntity.ok(report);
+    /**
+     * Endpoint to page through the returned assignments of an item, most recent first unless a sort is given.
+     * Assignments returned before the archival retention window are in the archive and not listed.
+     * @param itemId The ID of the item.
+     * @param pageable The page, size and sort of the request.
+     * @param pagedAssembler Assembler adding the page metadata and navigation links.
+     * @return One page of the item's loan history.
+     */
+    @GetMapping("/usage/items/{itemId}/history")
+    @Operation(summary = "Get an item's loan history", description = "Retrieves one page of the returned assignments of an item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Loan history page retrieved successfully")
+    })
+    public ResponseEntity<PagedModel<EntityModel<AssignmentHistoryDTO>>> getItemHistory(
+            @PathVariable UUID itemId,
+            @PageableDefault(size = 20, sort = "actualReturnDate", direction = Sort.Direction.DESC) Pageable pageable,
+            PagedResourcesAssembler<AssignmentHistory> pagedAssembler) {
+        Page<AssignmentHistory> page = usageAnalyticsService.getItemHistory(itemId, pageable);
+        return ResponseEntity.ok(pagedAssembler.toModel(page, history -> EntityModel.of(AssignmentHistoryDTO.fromAssignmentHistory(history))));
     }
 }
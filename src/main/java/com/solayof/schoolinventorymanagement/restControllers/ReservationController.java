@@ -0,0 +1,108 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+import com.solayof.schoolinventorymanagement.dtos.ReservationDTO;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.modelAssembler.ReservationModelAssembler;
+import com.solayof.schoolinventorymanagement.services.ReservationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+    @Autowired
+    private ReservationService reservationService; // Injecting the ReservationService to manage item waitlists
+    @Autowired
+    private ReservationModelAssembler assembler; // Injecting the ReservationModelAssembler to convert Reservation entities to EntityModel<ReservationDTO>
+
+    /**
+     * Joins the waitlist of an item that is currently assigned.
+     * When the item is returned it is checked out to the oldest waiting collector automatically,
+     * so collectors no longer need to retry the checkout themselves.
+     * @param entity the ReservationDTO containing the item, collector and loan length
+     * @return EntityModel<ReservationDTO> containing the reservation and its waitlist position
+     */
+    @PostMapping("")
+    @Operation(summary = "Reserve an item", description = "Adds a collector to the waitlist of an assigned item. The item is handed over automatically when it is returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Reservation created successfully"),
+        @ApiResponse(responseCode = "400", description = "Item is available or collector is already waiting"),
+        @ApiResponse(responseCode = "404", description = "Item or collector not found")
+    })
+    public ResponseEntity<EntityModel<ReservationDTO>> createReservation(@Valid @RequestBody ReservationDTO entity) {
+        Reservation reservation = reservationService.reserve(entity.getItemId(), entity.getCollectorId(), entity.getLoanDays());
+        return new ResponseEntity<>(assembler.toModel(reservation), HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieves a reservation by its ID.
+     * @param id the UUID of the reservation to retrieve
+     * @return EntityModel<ReservationDTO> containing the reservation and links
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a reservation by ID", description = "Retrieves a reservation, including its current waitlist position.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<EntityModel<ReservationDTO>> getOne(@PathVariable UUID id) {
+        return ResponseEntity.ok(assembler.toModel(reservationService.findByReservationId(id)));
+    }
+
+    /**
+     * Retrieves the waitlist of an item in hand-off order.
+     * @param itemId the UUID of the item
+     * @return CollectionModel of the waiting reservations
+     */
+    @GetMapping("/item/{itemId}")
+    @Operation(summary = "Get the waitlist of an item", description = "Retrieves the waiting reservations of an item, oldest first.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Waitlist retrieved successfully")
+    })
+    public ResponseEntity<CollectionModel<EntityModel<ReservationDTO>>> getWaitlist(@PathVariable UUID itemId) {
+        List<Reservation> reservations = reservationService.findWaiting(itemId);
+        return ResponseEntity.ok(CollectionModel.of(
+            reservations.stream()
+                .map(assembler::toModel)
+                .toList(),
+            linkTo(methodOn(ReservationController.class).getWaitlist(itemId)).withSelfRel()
+        ));
+    }
+
+    /**
+     * Cancels a waiting reservation.
+     * @param id the UUID of the reservation to cancel
+     * @return ResponseEntity with HTTP status 204 (No Content)
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a reservation", description = "Removes a waiting reservation from the item's waitlist.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Reservation cancelled successfully"),
+        @ApiResponse(responseCode = "400", description = "Reservation is no longer waiting"),
+        @ApiResponse(responseCode = "404", description = "Reservation not found")
+    })
+    public ResponseEntity<Void> cancelReservation(@PathVariable UUID id) {
+        reservationService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
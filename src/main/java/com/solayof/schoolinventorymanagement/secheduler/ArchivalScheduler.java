@@ -0,0 +1,51 @@
+package com.solayof.schoolinventorymanagement.secheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import com.solayof.schoolinventorymanagement.services.ArchivalService;
+import com.solayof.schoolinventorymanagement.services.SchedulerLeaseService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@Lazy(false) // Scheduled methods are only registered once the bean exists, so it is created at startup even in the fastboot profile
+@Slf4j // Lombok annotation for logging
+public class ArchivalScheduler {
+    static final String LEASE_PREFIX = "archival:"; // Followed by the run date
+
+    @Autowired
+    private ArchivalService archivalService;
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService; // Gives each day's run to one node
+
+    @Value("${sims.scheduler.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds; // How long the day's run stays with a node that dies before completing it
+
+    @Value("${sims.archive.retention-months:24}")
+    private int retentionMonths; // Closed records older than this move to the archive tables
+
+
+    // Runs daily at 2:30 AM by default, when the app is idle; every node ticks, and the one holding the day's lease archives
+    @Scheduled(cron = "${sims.archive.cron:0 30 2 * * ?}")
+    public void archiveClosedRecords() {
+        LocalDate today = LocalDate.now();
+        String lease = LEASE_PREFIX + today;
+        if (!schedulerLeaseService.tryAcquire(lease, Duration.ofSeconds(leaseTtlSeconds))) {
+            log.info("Skipping scheduled task: archival lease {} is held by another node.", lease);
+            return;
+        }
+        log.info("Running scheduled task: Archiving closed records...");
+        LocalDate cutoff = today.minusMonths(retentionMonths);
+        int assignments = archivalService.archiveAssignmentHistory(cutoff);
+        int reminders = archivalService.archiveReminders(cutoff);
+        schedulerLeaseService.complete(lease);
+        log.info("Finished scheduled task: {} returned assignments and {} reminders older than {} archived.", assignments, reminders, cutoff);
+    }
+}
@@ -1,32 +1,72 @@
 package com.solayof.schoolinventorymanagement.secheduler;
 
+import java.time.LocalDate;
+
+import com.solayof.schoolinventorymanagement.services.OverdueReminderJobService;
+import com.solayof.schoolinventorymanagement.services.ReminderRateLimiter;
 import com.solayof.schoolinventorymanagement.services.ReminderService;
+import com.solayof.schoolinventorymanagement.services.ReminderSweepService;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 
 @Component
+@Lazy(false) // Scheduled methods are only registered once the bean exists, so it is created at startup even in the fastboot profile
 @Slf4j // Lombok annotation for logging
 public class ReminderScheduler {
     @Autowired
     private ReminderService reminderService;
+    @Autowired
+    private OverdueReminderJobService overdueReminderJobService;
+    @Autowired
+    private ReminderSweepService reminderSweepService;
+    @Autowired
+    private ReminderRateLimiter reminderRateLimiter;
 
 
-    // This method will run daily at 9 AM (0 0 9 * * ?)
+    // This method will run daily at 9 AM (0 0 9 * * ?); every node runs it, and each partition of the overdue set is leased to one of them
     @Scheduled(cron = "0 0 9 * * ?")
     public void checkAndSendOverdueReminders() {
         log.info("Running scheduled task: Checking for overdue assignments and sending reminders...");
-        reminderService.processOverdueReminders();
-        log.info("Finished scheduled task: Overdue reminder check completed.");
+        int reminded = overdueReminderJobService.runTick(LocalDate.now());
+        log.info("Finished scheduled task: Overdue reminder check completed, {} reminders sent by this node.", reminded);
+    }
+
+    // Runs every minute by default; finishes the partitions of nodes that died mid-run once their lease expires
+    @Scheduled(fixedDelayString = "${sims.scheduler.failover-check-ms:60000}", initialDelayString = "${sims.scheduler.failover-check-ms:60000}")
+    public void recoverExpiredOverdueReminderLeases() {
+        int reminded = overdueReminderJobService.recoverExpired();
+        if (reminded > 0) {
+            log.info("Finished failover: {} overdue reminders sent for expired leases.", reminded);
+        }
     }
 
-    // @Scheduled(fixedRate = 3600000) // Every hour from application start
-    // public void sendDueReminderEveryHour() {
-    //     log.info("Running scheduled task: Sending due reminders...");
-    //     reminderService.sendDueReminders();
-    //     log.info("Finished scheduled task: Due reminders sent.");
-    // }
-}
\ No newline at end of file
+    // Runs every minute by default; only reads the reminders that became due since the previous sweep
+    @Scheduled(fixedDelayString = "${sims.reminders.sweep-interval-ms:60000}", initialDelayString = "${sims.reminders.sweep-interval-ms:60000}")
+    public void sweepDueReminders() {
+        int attempted = reminderSweepService.sweep();
+        if (attempted > 0) {
+            log.info("Finished reminder sweep: {} newly due reminders attempted.", attempted);
+        }
+    }
+
+    // Runs every hour by default and retries failed reminders, along with any the sweep missed;
+    // safe on several nodes at once, as each reminder is claimed by one of them
+    @Scheduled(fixedDelayString = "${sims.reminders.dispatch-interval-ms:3600000}", initialDelayString = "${sims.reminders.dispatch-interval-ms:3600000}")
+    public void sendDueReminderEveryHour() {
+        log.info("Running scheduled task: Sending due reminders...");
+        int attempted = reminderService.dispatchDueReminders();
+        log.info("Finished scheduled task: {} due reminders attempted.", attempted);
+    }
+
+    // Runs every ten minutes; drops the rate limit buckets of callers and recipients that have been quiet long enough to refill
+    @Scheduled(fixedDelay = 600000, initialDelay = 600000)
+    public void evictIdleRateLimitBuckets() {
+        int evicted = reminderRateLimiter.evictIdle();
+        log.debug("Evicted {} idle reminder rate limit buckets.", evicted);
+    }
+}
@@ -0,0 +1,51 @@
+package com.solayof.schoolinventorymanagement.secheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.solayof.schoolinventorymanagement.services.ReportSnapshotService;
+import com.solayof.schoolinventorymanagement.services.SchedulerLeaseService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@Lazy(false) // Scheduled methods are only registered once the bean exists, so it is created at startup even in the fastboot profile
+@Slf4j // Lombok annotation for logging
+public class ReportSnapshotScheduler {
+    static final String LEASE_PREFIX = "report-snapshots:"; // Followed by the run date
+
+    @Autowired
+    private ReportSnapshotService reportSnapshotService;
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService; // Gives each day's run to one node
+
+    @Value("${sims.scheduler.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds; // How long the day's run stays with a node that dies before completing it
+
+    @Value("${sims.reports.snapshot-retention-days:400}")
+    private int retentionDays; // Snapshots older than this are deleted; keeps a year of daily trend data
+
+
+    // Runs daily at 6 AM by default, before the reminder run, so the day's reports are ready when admins arrive;
+    // every node ticks, and the one holding the day's lease takes the snapshots
+    @Scheduled(cron = "${sims.reports.snapshot-cron:0 0 6 * * ?}")
+    public void takeReportSnapshots() {
+        String lease = LEASE_PREFIX + LocalDate.now();
+        if (!schedulerLeaseService.tryAcquire(lease, Duration.ofSeconds(leaseTtlSeconds))) {
+            log.info("Skipping scheduled task: report snapshot lease {} is held by another node.", lease);
+            return;
+        }
+        log.info("Running scheduled task: Taking report snapshots...");
+        reportSnapshotService.takeSnapshots();
+        int purged = reportSnapshotService.purgeOlderThan(Instant.now().minus(Duration.ofDays(retentionDays)));
+        schedulerLeaseService.complete(lease);
+        log.info("Finished scheduled task: Report snapshots taken, {} expired snapshots purged.", purged);
+    }
+}
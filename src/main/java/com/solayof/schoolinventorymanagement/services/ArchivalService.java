@@ -0,0 +1,118 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentHistoryRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service moving closed records out of the hot tables.
+ *
+ * Returned assignments and sent or dismissed reminders older than the cutoff are copied to
+ * their archive table and deleted, in batches of {@code sims.archive.batch-size} rows, each in
+ * its own short transaction. On PostgreSQL the archives are partitioned by year, and the yearly
+ * partitions a run needs are created before its rows are moved.
+ */
+@Service
+@Slf4j
+public class ArchivalService {
+    static final List<ReminderStatus> CLOSED_REMINDER_STATUSES = List.of(ReminderStatus.SENT, ReminderStatus.DISMISSED); // Pending and failed reminders are still worked on
+
+    @Autowired
+    private AssignmentHistoryRepository assignmentHistoryRepository; // Injecting the AssignmentHistoryRepository to move returned assignments
+    @Autowired
+    private ReminderRepository reminderRepository; // Injecting the ReminderRepository to move closed reminders
+    @Autowired
+    private ChangeLogService changeLogService; // Records the reminder deletions, which bypass the entity listeners
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Each batch commits on its own
+    @PersistenceContext
+    private EntityManager entityManager; // Used to create the yearly partitions on PostgreSQL
+
+    @Value("${sims.archive.batch-size:500}")
+    private int batchSize; // Rows moved per transaction
+
+    /**
+     * Moves the assignments returned before a cutoff to the archive.
+     *
+     * @param cutoff the oldest return date to keep in the hot table
+     * @return the number of archived assignments
+     */
+    public int archiveAssignmentHistory(LocalDate cutoff) {
+        preparePartitions("assignment_history_archive", "actual_return_date", assignmentHistoryRepository.findOldestReturnDate(), cutoff);
+        return moveInBatches(pageable -> assignmentHistoryRepository.findIdsReturnedBefore(cutoff, pageable), ids -> {
+            assignmentHistoryRepository.copyToArchive(ids);
+            assignmentHistoryRepository.deleteByIdIn(ids);
+        });
+    }
+
+    /**
+     * Moves the sent and dismissed reminders dated before a cutoff to the archive.
+     *
+     * @param cutoff the oldest reminder date to keep in the hot table
+     * @return the number of archived reminders
+     */
+    public int archiveReminders(LocalDate cutoff) {
+        preparePartitions("reminders_archive", "reminder_date", reminderRepository.findOldestReminderDate(CLOSED_REMINDER_STATUSES), cutoff);
+        return moveInBatches(pageable -> reminderRepository.findIdsBefore(CLOSED_REMINDER_STATUSES, cutoff, pageable), ids -> {
+            reminderRepository.copyToArchive(ids);
+            reminderRepository.deleteByIdIn(ids);
+            ids.forEach(id -> changeLogService.recordBulkChange(Reminder.class, id, ChangeOperation.DELETE));
+        });
+    }
+
+    private int moveInBatches(Function<PageRequest, List<UUID>> nextBatch, Consumer<List<UUID>> move) {
+        int moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<UUID> ids = nextBatch.apply(PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    move.accept(ids);
+                }
+                return ids.size();
+            });
+            moved += count;
+            if (count < batchSize) {
+                return moved;
+            }
+        }
+    }
+
+    private void preparePartitions(String table, String keyColumn, LocalDate oldest, LocalDate cutoff) {
+        if (oldest == null || !oldest.isBefore(cutoff) || !isPostgres()) {
+            return; // Nothing to move, or a database without partitions (H2 keeps plain archive tables)
+        }
+        Object created = transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("SELECT ensure_yearly_partitions(:parent, :keyColumn, :firstDay, :lastDay)")
+                .setParameter("parent", table)
+                .setParameter("keyColumn", keyColumn)
+                .setParameter("firstDay", oldest)
+                .setParameter("lastDay", cutoff.minusDays(1))
+                .getSingleResult());
+        log.debug("Ensured yearly partitions of {} from {} to {}, {} created", table, oldest, cutoff, created);
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -5,19 +5,27 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.solayof.schoolinventorymanagement.constants.Status;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
 import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.CheckoutConflictException;
 import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
 
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class AssignmentService {
     @Autowired
     private AssignmentRepository assignmentRepository; // Injecting the AssignmentRepository to interact with assignments
@@ -25,6 +33,17 @@ public class AssignmentService {
     private CollectorService collectorService; // Injecting the CollectorService to handle collector-related operations
     @Autowired
     private ItemService itemService; // Injecting the ItemService to handle item-related operations
+    @Autowired
+    private ReservationService reservationService; // Injecting the ReservationService to hand returned items to the next waiter
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Each checkout attempt runs in its own transaction so it can be retried
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publishes assignment changes to live subscribers
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService; // Keeps returned assignments and the daily usage rollups
+
+    @Value("${sims.checkout.max-attempts:3}")
+    private int checkoutMaxAttempts; // Upper bound on attempts when a checkout loses an optimistic locking race
 
     /**
      * Saves an assignment to the repository.
@@ -36,6 +55,61 @@ public class AssignmentService {
     public Assignment saveAssignment(Assignment assignment) {
         return assignmentRepository.save(assignment);
     }
+    /**
+     * Checks an item out to a collector.
+     *
+     * The item is claimed with a conditional update (AVAILABLE -> ASSIGNED), so of several
+     * concurrent checkouts of the same item exactly one succeeds and the others fail fast
+     * with an IllegalArgumentException. If the attempt loses a race with another update of
+     * the same rows (stale version, lock timeout) it is retried in a fresh transaction, up to
+     * {@code sims.checkout.max-attempts} times.
+     *
+     * @param itemId the ID of the item to check out
+     * @param collectorId the ID of the collector receiving the item
+     * @param assignmentDate the date of the assignment
+     * @param returnDueDate the date by which the item must be returned
+     * @return the created Assignment entity
+     * @throws IllegalArgumentException if the item is not available or the dates are inconsistent
+     * @throws CheckoutConflictException if every attempt conflicted with a concurrent update
+     */
+    public Assignment checkout(UUID itemId, UUID collectorId, LocalDate assignmentDate, LocalDate returnDueDate) {
+        if (returnDueDate.isBefore(assignmentDate)) {
+            throw new IllegalArgumentException("Actual return date cannot be before assignment date.");
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> doCheckout(itemId, collectorId, assignmentDate, returnDueDate));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= checkoutMaxAttempts) {
+                    throw new CheckoutConflictException("Could not check out item " + itemId + " after " + attempt + " attempts, try again.", e);
+                }
+                log.debug("Checkout of item {} conflicted on attempt {}, retrying", itemId, attempt);
+            }
+        }
+    }
+
+    private Assignment doCheckout(UUID itemId, UUID collectorId, LocalDate assignmentDate, LocalDate returnDueDate) {
+        // Claim the item first: the conditional update clears the persistence context,
+        // so everything else is loaded after it
+        if (!itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED)) {
+            Item item = itemService.findByItemId(itemId); // Throws ItemNotFoundException for unknown IDs
+            throw new IllegalArgumentException("Item with name '" + item.getName() + "' is not available for assignment.");
+        }
+        Item item = itemService.findByItemId(itemId);
+        Collector collector = collectorService.findByCollectorId(collectorId);
+
+        Assignment assignment = new Assignment();
+        assignment.setAssignmentDate(assignmentDate);
+        assignment.setReturnDueDate(returnDueDate);
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignmentRepository.save(assignment);
+        item.setAssignment(assignment); // Flushed with a version check against the claimed row
+        usageAnalyticsService.recordCheckout(assignment);
+        eventPublisher.publishEvent(InventoryEvent.assignmentCreated(assignment));
+        return assignment;
+    }
+
     /**
      * Finds an assignment by its ID.
      *
@@ -67,6 +141,7 @@ public class AssignmentService {
         item.setAssignment(null); // Clear the assignment reference in the item
         item.setStatus(Status.AVAILABLE); // Update the item's status to AVAILABLE
         itemService.saveItem(item); // Save the updated item status
+        eventPublisher.publishEvent(InventoryEvent.itemStatusChanged(item.getId(), item.getSchoolId(), Status.AVAILABLE));
         // Update the collector in the database
         // Removing an assigment from a collector automatically delete assignment
         collectorService.saveCollector(collector); // 
@@ -77,6 +152,16 @@ public class AssignmentService {
         return assignmentRepository.findByReturnDueDateBeforeAndActualReturnDateIsNull(LocalDate.now());
     }
 
+    /**
+     * Retrieves the IDs of the assignments overdue on a day, without loading the assignments.
+     *
+     * @param day the day, usually today
+     * @return the IDs of the active assignments whose return due date is before the day
+     */
+    public List<UUID> getOverdueAssignmentIds(LocalDate day) {
+        return assignmentRepository.findOverdueIds(day);
+    }
+
 
     public List<Reminder> getRemindersByAssignmentId( UUID assignmentId) {
         Assignment assignment = findByAssignmentId(assignmentId);
@@ -106,14 +191,35 @@ public class AssignmentService {
         }
 
         assignment.setActualReturnDate(LocalDate.now());
+        UUID itemId = assignment.getItem().getId();
+        usageAnalyticsService.recordReturn(assignment); // Before the assignment row is deleted
+        eventPublisher.publishEvent(InventoryEvent.assignmentReturned(assignment));
 
         // Update item status
         deleteAssignment(assignmentId); // This will unlink the item and set its status to AVAILABLE
-        
+        handOffToNextWaiter(itemId); // In the same transaction, so no one can grab the item in between
 
         return assignment;
     }
 
+    /**
+     * Checks a just-returned item out to the oldest waiting reservation, if there is one.
+     * The waiter's reservation stays locked until the hand-off commits.
+     *
+     * @param itemId the ID of the returned item
+     */
+    private void handOffToNextWaiter(UUID itemId) {
+        reservationService.pollNextWaiter(itemId).ifPresent(reservation -> {
+            // Capture what is needed before doCheckout clears the persistence context
+            UUID reservationId = reservation.getId();
+            UUID collectorId = reservation.getCollector().getId();
+            LocalDate today = LocalDate.now();
+            Assignment handedOff = doCheckout(itemId, collectorId, today, today.plusDays(reservation.getLoanDays()));
+            reservationService.markFulfilled(reservationId, handedOff);
+            log.info("Handed returned item {} to reservation {}", itemId, reservationId);
+        });
+    }
+
     public List<Assignment> getAllAssignments() {
         return assignmentRepository.findAll();
     }
@@ -6,12 +6,13 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.solayof.schoolinventorymanagement.entity.Category;
 import com.solayof.schoolinventorymanagement.exceptions.CategoryNotFoundException;
 import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
-
-import jakarta.transaction.Transactional;
+import com.solayof.schoolinventorymanagement.repository.CollectionStamp;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
 
 /**
  * Service class for managing categories in the school inventory management system.
@@ -74,10 +75,35 @@ public class CategoryService {
      * findallCategories
      * Retrieves all categories from the repository.
      */
+    @Transactional(readOnly = true)
     public List<Category> findAllCategories() {
         return categoryRepository.findAll();
     }
 
+    /**
+     * Computes the ETag of a category from its last update time, without loading the category.
+     *
+     * @param categoryId the ID of the category
+     * @return the strong ETag of the category's current state
+     * @throws CategoryNotFoundException if no category is found with the given ID
+     */
+    public String getCategoryETag(UUID categoryId) {
+        return categoryRepository.findUpdatedAtById(categoryId)
+                .map(HttpCaching::eTag)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + categoryId));
+    }
+
+    /**
+     * Computes the ETag of the category list from the number of categories and the latest
+     * update time, with a single aggregate query.
+     *
+     * @return the strong ETag of the current category list
+     */
+    public String getCategoriesETag() {
+        CollectionStamp stamp = categoryRepository.findCollectionStamp();
+        return HttpCaching.eTag(stamp.getTotal(), stamp.getLastUpdatedAt());
+    }
+
     /**
      * Deletes a category by its ID.
      *
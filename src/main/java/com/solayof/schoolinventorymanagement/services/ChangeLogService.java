@@ -0,0 +1,72 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.event.spi.EventSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.dtos.ChangeFeedDTO;
+import com.solayof.schoolinventorymanagement.dtos.ChangeRecordDTO;
+import com.solayof.schoolinventorymanagement.repository.ChangeLogRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service exposing the change feed to downstream consumers.
+ * Entity changes are captured automatically by the ChangeCaptureListener; changes made with
+ * bulk queries bypass Hibernate's events and must be recorded with {@link #recordBulkChange}.
+ */
+@Service
+public class ChangeLogService {
+    public static final int MAX_LIMIT = 1000; // Upper bound on changes returned per request
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository; // Injecting the ChangeLogRepository to read the change feed
+    @Autowired
+    private ChangeCaptureListener changeCaptureListener; // Writes change records in the caller's transaction
+    @PersistenceContext
+    private EntityManager entityManager; // The transaction-bound entity manager of the caller
+
+    /**
+     * Retrieves the changes recorded after an offset, oldest first. In multi-school mode a
+     * request only gets its school's changes; jobs without a school get all of them.
+     *
+     * @param since the last offset the consumer has processed, 0 to start from the beginning
+     * @param limit the maximum number of changes to return, between 1 and {@link #MAX_LIMIT}
+     * @return the page of changes and the offset to resume from
+     * @throws IllegalArgumentException if since is negative or limit is out of range
+     */
+    public ChangeFeedDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Offset 'since' cannot be negative.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        List<ChangeRecordDTO> changes = changeLogRepository
+                .findByChangeOffsetGreaterThanOrderByChangeOffsetAsc(since, PageRequest.of(0, limit))
+                .stream()
+                .map(ChangeRecordDTO::fromChangeLogEntry)
+                .toList();
+        long nextOffset = changes.isEmpty() ? since : changes.get(changes.size() - 1).getOffset();
+        return new ChangeFeedDTO(changes, nextOffset, changes.size() == limit);
+    }
+
+    /**
+     * Records a change made with a bulk query in the current transaction's change log.
+     * Must be called inside the transaction that made the change.
+     *
+     * @param entityClass the class of the changed entity
+     * @param entityId the ID of the changed entity
+     * @param operation the kind of change
+     */
+    public void recordBulkChange(Class<?> entityClass, UUID entityId, ChangeOperation operation) {
+        changeCaptureListener.capture(entityManager.unwrap(EventSource.class), entityClass, entityId, operation);
+    }
+}
@@ -5,12 +5,12 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
 import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
-
-import jakarta.transaction.Transactional;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
 
 @Service
 public class CollectorService {
@@ -28,6 +28,20 @@ public class CollectorService {
         return collectorRepository.findById(collectorId)
                 .orElseThrow(() -> new CollectorNotFoundException("Collector not found with id: " + collectorId));
     }
+
+    /**
+     * Computes the ETag of a collector from its last update time, without loading the collector.
+     *
+     * @param collectorId the ID of the collector
+     * @return the strong ETag of the collector's current state
+     * @throws CollectorNotFoundException if no collector is found with the given ID
+     */
+    public String getCollectorETag(UUID collectorId) {
+        return collectorRepository.findUpdatedAtById(collectorId)
+                .map(HttpCaching::eTag)
+                .orElseThrow(() -> new CollectorNotFoundException("Collector not found with id: " + collectorId));
+    }
+
     /**
      * Finds a collector by their email.
      *
@@ -77,6 +91,7 @@ public class CollectorService {
      *
      * @return an iterable of all Collector entities
      */
+    @Transactional(readOnly = true)
     public List<Collector> findAll() {
         return collectorRepository.findAll();
     }
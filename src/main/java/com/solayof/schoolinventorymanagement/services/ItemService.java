@@ -1,5 +1,6 @@
 package com.solayof.schoolinventorymanagement.services;
 
+import java.time.Instant;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -7,15 +8,21 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
 import com.solayof.schoolinventorymanagement.constants.Status;
 import com.solayof.schoolinventorymanagement.entity.Category;
 import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
 import com.solayof.schoolinventorymanagement.exceptions.ItemNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.CategoryCount;
 import com.solayof.schoolinventorymanagement.repository.ItemRepository;
-
-import jakarta.transaction.Transactional;
+import com.solayof.schoolinventorymanagement.repository.StatusCount;
+import com.solayof.schoolinventorymanagement.utils.HttpCaching;
 
 @Service
 public class ItemService {
@@ -23,6 +30,10 @@ public class ItemService {
     private ItemRepository itemRepository; // Injecting the ItemRepository to interact with the database
     @Autowired
     private CategoryService categoryService; // Injecting the CategoryService to handle category-related operations
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publishes item status changes to live subscribers
+    @Autowired
+    private ChangeLogService changeLogService; // Records the bulk status update in the change feed
 
     /**
      * Finds an item by its ID.
@@ -36,6 +47,19 @@ public class ItemService {
                 .orElseThrow(()-> new ItemNotFoundException("Item not found with id: " + itemId));
     }
 
+    /**
+     * Computes the ETag of an item from its version, without loading the item.
+     *
+     * @param itemId the ID of the item
+     * @return the strong ETag of the item's current state
+     * @throws ItemNotFoundException if no item is found with the given ID
+     */
+    public String getItemETag(UUID itemId) {
+        return itemRepository.findVersionById(itemId)
+                .map(HttpCaching::eTag)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found with id: " + itemId));
+    }
+
     /**
      * Exists by id.
      * Checks if an item exists by its ID.
@@ -113,6 +137,27 @@ public class ItemService {
         return itemRepository.save(item);
     }
 
+    /**
+     * Atomically changes the status of an item if it is still in the expected status.
+     * This is the race-free building block for checkout: the check and the update happen
+     * in a single conditional UPDATE, so two concurrent callers cannot both succeed.
+     *
+     * @param itemId the ID of the item to update
+     * @param expectedStatus the status the item must currently have
+     * @param newStatus the status to set
+     * @return true if the item was updated, false if it does not exist or is in another status
+     */
+    @Transactional
+    public boolean compareAndSetStatus(UUID itemId, Status expectedStatus, Status newStatus) {
+        boolean updated = itemRepository.compareAndSetStatus(itemId, expectedStatus, newStatus, Instant.now()) == 1;
+        if (updated) {
+            changeLogService.recordBulkChange(Item.class, itemId, ChangeOperation.UPDATE);
+            // Claimed in a request, whose transaction only commits for an item of its own school
+            eventPublisher.publishEvent(InventoryEvent.itemStatusChanged(itemId, TenantContext.schoolForNewRows(), newStatus));
+        }
+        return updated;
+    }
+
     /**
      * findAllItems
      * Retrieves all items from the repository.
@@ -120,6 +165,7 @@ public class ItemService {
      * @throws ItemNotFoundException if no items are found
      * 
      */
+    @Transactional(readOnly = true)
     public List<Item> findAllItems() {
         return itemRepository.findAll();
     }
@@ -191,8 +237,8 @@ public class ItemService {
      * @return A map where keys are Status enum values and values are their respective counts.
      */
     public Map<Status, Long> getItemCountsByStatus() {
-        return itemRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Item::getStatus, () -> new EnumMap<>(Status.class), Collectors.counting()));
+        return itemRepository.countGroupedByStatus().stream()
+                .collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getTotal, Long::sum, () -> new EnumMap<>(Status.class)));
     }
 
     /**
@@ -200,8 +246,8 @@ public class ItemService {
      * @return A map where keys are String values (category names) and values are their respective counts.
      */
     public Map<String, Long> getItemCountsByCategory() { 
-        return itemRepository.findAll().stream()
-                .collect(Collectors.groupingBy(item -> item.getCategory().getName(), Collectors.counting())); 
+        return itemRepository.countGroupedByCategory().stream()
+                .collect(Collectors.toMap(CategoryCount::getName, CategoryCount::getTotal));
     }
 }
 
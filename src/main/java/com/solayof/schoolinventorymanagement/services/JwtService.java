@@ -20,6 +20,7 @@ import java.util.function.Function;
 @Slf4j
 @Component
 public class JwtService {
+    public static final String SCHOOL_CLAIM = "school_id"; // The school the token's requests work for
 
     @Value("${sm.app.jwtSecret}")
     private String jwtSecret;
@@ -38,6 +39,7 @@ public class JwtService {
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getEmail()))
+                .claim(SCHOOL_CLAIM, userPrincipal.getSchoolId())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSignKey(), SignatureAlgorithm.HS256)
@@ -62,6 +64,14 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * @param token the JWT
+     * @return the school in the token's school_id claim, or null for tokens issued without one
+     */
+    public String extractSchoolId(String token) {
+        return extractClaim(token, claims -> claims.get(SCHOOL_CLAIM, String.class));
+    }
+
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
@@ -2,23 +2,60 @@ package com.solayof.schoolinventorymanagement.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.solayof.schoolinventorymanagement.config.NetworkIoGuard;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
 @Service
 public class MailService {
+    private static final String FROM = "noreply@schoolinventory.com";
+
     @Autowired
     private JavaMailSender javaMailSender;
 
+    @Autowired
+    private NetworkIoGuard networkIoGuard; // Flags emails sent while a transaction holds a connection
+
     
     
     public void sendEmail(String to, String subject, String body) throws MailException {
         SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom("noreply@schoolinventory.com");
+        message.setFrom(FROM);
         message.setTo(to);
         message.setSubject(subject);
         message.setText(body);
+        networkIoGuard.check("smtp");
+        javaMailSender.send(message);
+    }
+
+    /**
+     * Sends an email with a plain-text and an HTML version of the same body, as multipart/alternative.
+     *
+     * @param to the recipient
+     * @param subject the subject line
+     * @param text the plain-text body
+     * @param html the HTML body
+     * @throws MailException if the message cannot be built or sent
+     */
+    public void sendEmail(String to, String subject, String text, String html) throws MailException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(FROM);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(text, html);
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Failed to build email to " + to, e);
+        }
+        networkIoGuard.check("smtp");
         javaMailSender.send(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service running the daily overdue reminder job on a cluster of nodes.
+ *
+ * The overdue set is split into {@code sims.reminders.partitions} ranges of the assignment ID
+ * hash, or of the collector ID hash in digest mode, where every node first creates the day's
+ * reminders with the idempotent bulk insert. Each range of each day's run is a lease: every node
+ * goes through all ranges at the cron tick and works on the ones it acquires, so the ranges are
+ * spread over the nodes and each assignment (or collector) is reminded by one node only. The
+ * holder renews its lease while it works; if it dies, the lease expires and the failover check
+ * on another node finishes the range, for the run date in the lease name even after midnight.
+ */
+@Service
+@Slf4j
+public class OverdueReminderJobService {
+    static final String LEASE_PREFIX = "overdue-reminders:"; // Followed by "<run date>:<partition>/<partitions>"
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService; // Hands out the per-partition leases
+    @Autowired
+    private ReminderService reminderService; // Sends the reminders
+    @Autowired
+    private AssignmentService assignmentService; // Lists the overdue assignments
+
+    @Value("${sims.reminders.partitions:8}")
+    private int partitions; // Hash ranges the overdue set is split into; must be the same on every node
+
+    @Value("${sims.scheduler.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds; // How long a partition stays with a node that stops renewing
+
+    @Value("${sims.scheduler.lease-retention-days:7}")
+    private int leaseRetentionDays; // Completed leases are kept this long, as a record of past runs
+
+    /**
+     * Runs the job for a day: works on every partition of that day's run this node can acquire.
+     * During quiet hours it only creates the day's reminders and leaves them to the dispatch.
+     *
+     * @param runDate the day of the run
+     * @return the number of reminders sent by this node
+     */
+    public int runTick(LocalDate runDate) {
+        schedulerLeaseService.purgeCompletedBefore(Instant.now().minus(leaseRetentionDays, ChronoUnit.DAYS));
+        if (reminderService.isQuietHours()) {
+            int created = reminderService.generateOverdueReminders(runDate); // Left pending for the first dispatch after the quiet hours
+            log.info("Quiet hours: created {} overdue reminders for {}, sending deferred", created, runDate);
+            return 0;
+        }
+        if (reminderService.isDigestMode()) {
+            reminderService.generateOverdueReminders(runDate);
+        }
+        int reminded = 0;
+        for (int partition = 0; partition < partitions; partition++) {
+            String lease = leaseName(runDate, partition, partitions);
+            if (schedulerLeaseService.tryAcquire(lease, leaseTtl())) {
+                reminded += runPartition(lease, runDate, partition, partitions);
+            }
+        }
+        return reminded;
+    }
+
+    /**
+     * Finishes the partitions left unfinished by nodes that stopped renewing their lease.
+     *
+     * @return the number of reminders sent by this node
+     */
+    public int recoverExpired() {
+        if (reminderService.isQuietHours()) {
+            return 0; // The expired leases are still there after the quiet hours
+        }
+        int reminded = 0;
+        for (String lease : schedulerLeaseService.findExpired(LEASE_PREFIX)) {
+            LocalDate runDate = LocalDate.parse(lease.substring(LEASE_PREFIX.length(), lease.lastIndexOf(':')));
+            String range = lease.substring(lease.lastIndexOf(':') + 1);
+            int partition = Integer.parseInt(range.substring(0, range.indexOf('/')));
+            int count = Integer.parseInt(range.substring(range.indexOf('/') + 1));
+            if (schedulerLeaseService.tryAcquire(lease, leaseTtl())) {
+                log.warn("Taking over expired lease {}", lease);
+                reminded += runPartition(lease, runDate, partition, count);
+            }
+        }
+        return reminded;
+    }
+
+    /**
+     * Maps an assignment ID to its partition: the 32-bit ID hash is cut into {@code count} equal ranges.
+     *
+     * @param id the assignment (or collector) ID
+     * @param count the number of partitions
+     * @return the partition, from 0 to count - 1
+     */
+    static int partitionOf(UUID id, int count) {
+        return (int) (((id.hashCode() & 0xffffffffL) * count) >>> 32);
+    }
+
+    static String leaseName(LocalDate runDate, int partition, int count) {
+        return LEASE_PREFIX + runDate + ":" + partition + "/" + count;
+    }
+
+    // Works on the run date of the lease, not today's: a partition taken over after midnight is still that day's
+    private int runPartition(String lease, LocalDate runDate, int partition, int count) {
+        if (reminderService.isDigestMode()) {
+            Map<UUID, List<UUID>> byCollector = reminderService.groupPendingOverdueByCollector(runDate);
+            return runPartition(lease, partition, count, List.copyOf(byCollector.keySet()),
+                    collectorId -> reminderService.sendDigest(byCollector.get(collectorId)));
+        }
+        return runPartition(lease, partition, count, assignmentService.getOverdueAssignmentIds(runDate),
+                assignmentId -> reminderService.remindOverdue(assignmentId, runDate) ? 1 : 0);
+    }
+
+    private int runPartition(String lease, int partition, int count, List<UUID> keys, ToIntFunction<UUID> remind) {
+        List<UUID> partitionKeys = keys.stream()
+                .filter(id -> partitionOf(id, count) == partition)
+                .toList();
+        Instant renewAt = Instant.now().plus(leaseTtl().dividedBy(2));
+        int reminded = 0;
+        for (UUID key : partitionKeys) {
+            if (!Instant.now().isBefore(renewAt)) {
+                if (!schedulerLeaseService.renew(lease, leaseTtl())) {
+                    log.warn("Lost lease {} after {} reminders; leaving the rest to its new holder", lease, reminded);
+                    return reminded;
+                }
+                renewAt = Instant.now().plus(leaseTtl().dividedBy(2));
+            }
+            try {
+                reminded += remind.applyAsInt(key);
+            } catch (AssignmentNotFoundException e) {
+                log.debug("Assignment {} was returned before its reminder", key);
+            } catch (RuntimeException e) {
+                log.error("Failed to send reminder for ID: {}. Error: {}", key, e.getMessage());
+            }
+        }
+        schedulerLeaseService.complete(lease);
+        log.info("Completed lease {}: {} reminders sent for {} overdue keys", lease, reminded, partitionKeys.size());
+        return reminded;
+    }
+
+    private Duration leaseTtl() {
+        return Duration.ofSeconds(leaseTtlSeconds);
+    }
+}
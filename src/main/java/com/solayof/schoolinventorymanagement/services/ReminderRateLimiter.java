@@ -0,0 +1,72 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.solayof.schoolinventorymanagement.exceptions.RateLimitExceededException;
+import com.solayof.schoolinventorymanagement.utils.TokenBuckets;
+
+/**
+ * In-memory token buckets limiting manually sent reminders, per recipient and per caller.
+ *
+ * The buckets are lock-free (see {@link TokenBuckets}); buckets that have refilled completely
+ * carry no state and are evicted by {@link #evictIdle()}.
+ *
+ * The limits are per node; with several nodes behind a load balancer the effective limit is
+ * at most the node count times the configured one.
+ */
+@Service
+public class ReminderRateLimiter {
+    @Value("${sims.reminders.rate-limit.collector-per-hour:6}")
+    private int collectorPerHour; // Sustained manual reminders per recipient
+
+    @Value("${sims.reminders.rate-limit.collector-burst:2}")
+    private int collectorBurst; // Manual reminders a recipient can get back to back
+
+    @Value("${sims.reminders.rate-limit.caller-per-hour:120}")
+    private int callerPerHour; // Sustained manual sends per user
+
+    @Value("${sims.reminders.rate-limit.caller-burst:10}")
+    private int callerBurst; // Manual sends a user can make back to back
+
+    private LongSupplier clock = System::nanoTime; // Replaced in tests
+    private final TokenBuckets buckets = new TokenBuckets(() -> clock.getAsLong());
+
+    /**
+     * Takes a token from the caller's bucket and one from the recipient's, or neither.
+     *
+     * @param caller the user sending the reminder
+     * @param collectorEmail the recipient of the reminder
+     * @throws RateLimitExceededException if either bucket is empty, with the time until it has a token again
+     */
+    public void acquire(String caller, String collectorEmail) {
+        String callerKey = "caller:" + caller;
+        String collectorKey = "collector:" + collectorEmail.toLowerCase();
+        long callerWait = buckets.tryTake(callerKey, interval(callerPerHour), callerBurst);
+        if (callerWait > 0) {
+            throw new RateLimitExceededException("Too many reminders sent by " + caller + ".", Duration.ofNanos(callerWait));
+        }
+        long collectorWait = buckets.tryTake(collectorKey, interval(collectorPerHour), collectorBurst);
+        if (collectorWait > 0) {
+            buckets.giveBack(callerKey, interval(callerPerHour)); // The request is rejected, so it must not count against the caller
+            throw new RateLimitExceededException("Too many reminders sent to " + collectorEmail + ".", Duration.ofNanos(collectorWait));
+        }
+    }
+
+    /**
+     * Removes the buckets that have refilled completely; they are recreated full on next use.
+     *
+     * @return the number of buckets removed
+     */
+    public int evictIdle() {
+        return buckets.evictIdle();
+    }
+
+    private static long interval(int perHour) {
+        return TimeUnit.HOURS.toNanos(1) / perHour;
+    }
+}
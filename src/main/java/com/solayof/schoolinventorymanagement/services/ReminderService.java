@@ -2,18 +2,54 @@ package com.solayof.schoolinventorymanagement.services;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import com.solayof.schoolinventorymanagement.config.PoolRouting;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.DuplicateReminderException;
 import com.solayof.schoolinventorymanagement.exceptions.ReminderNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.PendingReminderRef;
+import com.solayof.schoolinventorymanagement.repository.ReminderMessageData;
 import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+import com.solayof.schoolinventorymanagement.services.ReminderTemplateService.RenderedMessage;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,6 +62,55 @@ public class ReminderService {
     private MailService mailService; // Inject MailService
     @Autowired
     private AssignmentService assignmentService; // Inject AssignmentService
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Publishes reminder status transitions to live subscribers
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Each dispatch batch holds its claims only until it commits
+    @Autowired
+    private ReminderTemplateService reminderTemplateService; // Renders the email subjects and bodies
+    @Autowired
+    private ChangeLogService changeLogService; // Records the reminders created by the bulk insert, which bypasses the entity listeners
+    @PersistenceContext
+    private EntityManager entityManager; // Used to pick the database's form of the idempotent insert
+
+    @Value("${sims.reminders.dispatch-batch-size:50}")
+    private int dispatchBatchSize; // Reminders claimed per dispatch transaction
+
+    @Value("${sims.reminders.digest:true}")
+    private boolean digest; // Overdue reminders go out as one email per collector instead of one per assignment
+
+    @Value("${sims.reminders.manual-send-threads:2}")
+    private int manualSendThreads; // Threads sending manually requested reminders off the request thread
+
+    @Value("${sims.reminders.manual-send-queue:500}")
+    private int manualSendQueue; // Manual sends waiting for a thread; beyond this they are left to the sweep
+
+    private ExecutorService manualSender; // Sends manually requested reminders after the request has returned
+
+    @Value("${sims.reminders.quiet-hours.start:}")
+    private String quietStart; // Local time from which no reminder is emailed, e.g. 21:00; empty disables quiet hours
+
+    @Value("${sims.reminders.quiet-hours.end:}")
+    private String quietEnd; // Local time at which emailing resumes, e.g. 07:00
+
+    @Value("${sims.reminders.quiet-hours.zone:}")
+    private String quietZone; // Time zone of the quiet hours; empty for the server's
+
+    @PostConstruct
+    void startManualSender() {
+        AtomicInteger count = new AtomicInteger();
+        manualSender = new ThreadPoolExecutor(manualSendThreads, manualSendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(manualSendQueue), runnable -> {
+                    Thread thread = new Thread(PoolRouting.onBatchPool(runnable), "reminder-manual-send-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopManualSender() {
+        manualSender.shutdown();
+    }
 
     /**
      * Saves a reminder to the repository.
@@ -48,6 +133,17 @@ public class ReminderService {
         return reminderRepository.findByStatus(status);
     }
 
+    /**
+     * Finds one page of reminders by their status.
+     *
+     * @param status the status of the reminders to find
+     * @param pageable the page to read, including its sort order
+     * @return the requested page of reminders with the specified status
+     */
+    public Page<Reminder> findByStatus(ReminderStatus status, Pageable pageable) {
+        return reminderRepository.findByStatus(status, pageable);
+    }
+
     /**
      * Finds a reminder by its ID.
      *
@@ -57,7 +153,7 @@ public class ReminderService {
      */
     @Transactional
     public Reminder findByReminderId(UUID reminderId) {
-        return reminderRepository.findById(reminderId)
+        return reminderRepository.findVisibleById(reminderId)
                 .orElseThrow(() -> new ReminderNotFoundException("Reminder not found with id: " + reminderId));
     }
 
@@ -76,32 +172,123 @@ public class ReminderService {
     @Transactional
     public Reminder sendReminder(UUID reminderId) {
         Reminder reminder = findByReminderId(reminderId);
+        return deliver(reminder, messageData(List.of(reminder)).get(reminderId));
+    }
 
-        // Ensure the assignment and collector are loaded to get email
-        Assignment assignment = reminder.getAssignment();
-        if (assignment == null || assignment.getCollector() == null || assignment.getItem() == null) {
+    /**
+     * Queues a saved PENDING reminder to be sent in the background, so the caller does not wait
+     * for the mail server. The reminder is claimed like any dispatch, so it is sent once even if
+     * the sweep gets to it first. If the queue is full, or it is quiet hours, the reminder stays
+     * PENDING and the sweep or the next dispatch sends it. Progress is visible on the reminder's
+     * status and as REMINDER_STATUS_CHANGED events.
+     *
+     * @param reminderId the ID of a committed PENDING reminder
+     * @return true if the reminder was queued for sending now
+     */
+    public boolean enqueueSend(UUID reminderId) {
+        if (isQuietHours()) {
+            return false;
+        }
+        try {
+            manualSender.execute(() -> {
+                try {
+                    dispatchPending(List.of(reminderId));
+                } catch (RuntimeException e) {
+                    log.error("Failed to send queued reminder {}", reminderId, e); // Still PENDING; the sweep retries it
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Manual send queue full, reminder {} left to the sweep", reminderId);
+            return false;
+        }
+    }
+
+    /**
+     * Delivers due reminders, PENDING and FAILED ones dated today or earlier, in batches of
+     * {@code sims.reminders.dispatch-batch-size}. Each batch is claimed with FOR UPDATE SKIP LOCKED
+     * and sent in its own transaction, so several nodes can dispatch at once without sending
+     * any reminder twice. A reminder is attempted at most once per run. Nothing is sent during
+     * quiet hours; the reminders wait for the first run after them.
+     *
+     * @return the number of reminders attempted
+     */
+    public int dispatchDueReminders() {
+        if (isQuietHours()) {
+            log.info("Quiet hours: due reminders are left pending until {}", quietEnd);
+            return 0;
+        }
+        Instant runStart = Instant.now();
+        int attempted = 0;
+        while (true) {
+            Integer claimed = transactionTemplate.execute(status -> {
+                List<Reminder> due = reminderRepository.claimDue(LocalDate.now(), runStart, dispatchBatchSize);
+                Map<UUID, ReminderMessageData> data = messageData(due);
+                for (Reminder reminder : due) {
+                    reminder.setUpdatedAt(Instant.now()); // Marks the attempt even if the status does not change, so this run skips it from now on
+                    try {
+                        deliver(reminder, data.get(reminder.getId()));
+                    } catch (IllegalStateException e) {
+                        log.error("Skipping reminder {}: {}", reminder.getId(), e.getMessage());
+                    }
+                }
+                return due.size();
+            });
+            attempted += claimed;
+            if (claimed < dispatchBatchSize) {
+                return attempted;
+            }
+        }
+    }
+
+    /**
+     * Delivers the given reminders that are still PENDING, in one transaction. Reminders that were
+     * sent in the meantime, or are being sent by another transaction, are skipped.
+     *
+     * @param reminderIds the IDs of the reminders to deliver
+     * @return the number of reminders attempted
+     */
+    public int dispatchPending(List<UUID> reminderIds) {
+        Integer attempted = transactionTemplate.execute(status -> {
+            List<Reminder> claimed = reminderRepository.claimPending(reminderIds);
+            Map<UUID, ReminderMessageData> data = messageData(claimed);
+            for (Reminder reminder : claimed) {
+                try {
+                    deliver(reminder, data.get(reminder.getId()));
+                } catch (IllegalStateException e) {
+                    log.error("Skipping reminder {}: {}", reminder.getId(), e.getMessage());
+                }
+            }
+            return claimed.size();
+        });
+        return attempted == null ? 0 : attempted;
+    }
+
+    private Reminder deliver(Reminder reminder, ReminderMessageData data) {
+        UUID reminderId = reminder.getId();
+        if (data == null) {
             throw new IllegalStateException("Cannot send reminder: associated assignment or collector/item data is missing.");
         }
-        String recipientEmail = assignment.getCollector().getEmail();
-        String subject = "Inventory Return Reminder: " + assignment.getItem().getName();
-        String body = reminder.getMessage() != null ? reminder.getMessage() :
-                      "Dear " + assignment.getCollector().getName() + ",\n\n" +
-                      "This is a reminder that the item '" + assignment.getItem().getName() + "' (Serial: " + assignment.getItem().getSerialNumber() + ") " +
-                      "assigned to you on " + assignment.getAssignmentDate() + " is due for return by " + assignment.getReturnDueDate() + ".\n\n" +
-                      "Please return it as soon as possible. Thank you.";
+        String recipientEmail = data.collectorEmail();
+        RenderedMessage rendered = reminderTemplateService.renderReminder(data);
+        String subject = rendered.subject();
+        boolean custom = reminder.getMessage() != null; // A stored message, custom or from a failed attempt, is resent as is
+        String body = custom ? reminder.getMessage() : rendered.text();
 
         try {
-            mailService.sendEmail(recipientEmail, subject, body);
+            send(recipientEmail, subject, body, custom ? null : rendered.html());
             reminder.setStatus(ReminderStatus.SENT);
             reminder.setSentAt(Instant.now());
             reminder.setMessage(body);
             log.info("Reminder email sent successfully to {}", recipientEmail);
+            eventPublisher.publishEvent(InventoryEvent.reminderStatusChanged(reminder));
             return saveReminder(reminder);
         } catch (Exception e) {
             log.error("Failed to send reminder email for reminder ID: {}", reminderId, e);
             reminder.setStatus(ReminderStatus.FAILED);
-            reminder.setMessage("Failed to send reminder email: " + e.getMessage());
+            reminder.setMessage(body); // Keep the body, not the error, so a retry sends the same email
             saveReminder(reminder); // Save status as failed
+            eventPublisher.publishEvent(InventoryEvent.reminderStatusChanged(reminder));
         }
         return reminder; // Return the reminder with updated status
     }
@@ -110,31 +297,285 @@ public class ReminderService {
     public Reminder updateReminderStatus(UUID id, ReminderStatus newStatus) {
         Reminder reminder = findByReminderId(id);
         reminder.setStatus(newStatus);
+        eventPublisher.publishEvent(InventoryEvent.reminderStatusChanged(reminder));
         return reminderRepository.save(reminder);
     }
 
 
-    @Transactional
-    public void processOverdueReminders() {
-        List<Assignment> overdueAssignments = assignmentService.getOverdueAssignments();
+    /**
+     * Creates today's OVERDUE reminder for every overdue assignment that has none yet, then
+     * delivers today's OVERDUE reminders that are still pending: as one digest per collector in
+     * digest mode, one email per reminder otherwise. Running it again on the same day creates
+     * nothing and resends nothing. During quiet hours the reminders are only created, and the
+     * first dispatch after the quiet hours sends them.
+     *
+     * @return the number of reminders created by this run
+     */
+    public int processOverdueReminders() {
+        LocalDate today = LocalDate.now();
+        int created = generateOverdueReminders(today);
+        int attempted = 0;
+        if (isQuietHours()) {
+            log.info("Quiet hours: created {} overdue reminders for {}, sending deferred", created, today);
+            return created;
+        }
+        if (digest) {
+            for (List<UUID> reminderIds : groupPendingOverdueByCollector(today).values()) {
+                attempted += sendDigestSafely(reminderIds);
+            }
+        } else {
+            List<UUID> pending = reminderRepository.findIdsByKindAndReminderDateAndStatus(ReminderKind.OVERDUE, today, ReminderStatus.PENDING);
+            for (int from = 0; from < pending.size(); from += dispatchBatchSize) {
+                attempted += dispatchPending(pending.subList(from, Math.min(from + dispatchBatchSize, pending.size())));
+            }
+        }
+        log.info("Created {} overdue reminders for {}, attempted {} pending ones", created, today, attempted);
+        return created;
+    }
+
+    /**
+     * Creates the OVERDUE reminder of a day for every overdue assignment that has none yet, in one
+     * INSERT keyed by (assignment, day, kind). Safe to run again, also concurrently on PostgreSQL.
+     *
+     * @param today the day of the reminders
+     * @return the number of reminders created
+     */
+    public int generateOverdueReminders(LocalDate today) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS); // Stored precision, so the new rows can be found by it
+        Integer created = transactionTemplate.execute(status -> {
+            int inserted = isPostgres()
+                    ? reminderRepository.insertOverdueOnConflictDoNothing(today, now)
+                    : reminderRepository.insertOverdueIfAbsent(today, now);
+            reminderRepository.findIdsByKindAndReminderDateAndCreatedAt(ReminderKind.OVERDUE, today, now)
+                    .forEach(id -> changeLogService.recordBulkChange(Reminder.class, id, ChangeOperation.INSERT));
+            return inserted;
+        });
+        return created == null ? 0 : created;
+    }
 
-        for (Assignment assignment : overdueAssignments) {
+    /**
+     * Checks whether overdue reminders are sent as one digest per collector.
+     *
+     * @return true in digest mode
+     */
+    public boolean isDigestMode() {
+        return digest;
+    }
+
+    /**
+     * Groups a day's pending OVERDUE reminders by collector, in one query.
+     *
+     * @param today the day of the reminders
+     * @return collector ID -> IDs of that collector's pending reminders, ordered by due date
+     */
+    public Map<UUID, List<UUID>> groupPendingOverdueByCollector(LocalDate today) {
+        Map<UUID, List<UUID>> byCollector = new LinkedHashMap<>();
+        for (PendingReminderRef ref : reminderRepository.findPendingByCollector(ReminderKind.OVERDUE, today)) {
+            byCollector.computeIfAbsent(ref.getCollectorId(), id -> new ArrayList<>()).add(ref.getReminderId());
+        }
+        return byCollector;
+    }
+
+    /**
+     * Sends one email covering the given reminders of a collector, and marks them all SENT, or
+     * FAILED if the email could not be sent. Reminders sent in the meantime, or being sent by
+     * another transaction, are left out.
+     *
+     * @param reminderIds the IDs of pending reminders of one collector
+     * @return the number of reminders the email covered
+     */
+    public int sendDigest(List<UUID> reminderIds) {
+        Integer covered = transactionTemplate.execute(status -> {
+            List<Reminder> reminders = reminderRepository.claimPending(reminderIds);
+            if (reminders.isEmpty()) {
+                return 0;
+            }
+            List<ReminderMessageData> items = reminderRepository.findMessageDataByIdIn(reminders.stream().map(Reminder::getId).toList()); // One flat query, ordered by due date
+            if (items.size() < reminders.size()) {
+                throw new IllegalStateException("Cannot send digest: associated assignment or collector/item data is missing.");
+            }
+            ReminderMessageData first = items.get(0);
+            RenderedMessage rendered = reminderTemplateService.renderDigest(items);
+            String body = rendered.text();
             try {
-                
-                Reminder newReminder = new Reminder();
-                newReminder.setAssignment(assignment);
-                newReminder.setReminderDate(LocalDate.now());
-                newReminder.setStatus(ReminderStatus.PENDING);
-                reminderRepository.save(newReminder);
-    
-                sendReminder(newReminder.getId());
-    
-                log.info("Sent reminder for overdue assignment ID: {} (Item: {}, Collector: {})",
-                        assignment.getId(), assignment.getItem().getName(), assignment.getCollector().getName());
+                send(first.collectorEmail(), rendered.subject(), body, rendered.html());
+                Instant sentAt = Instant.now();
+                for (Reminder reminder : reminders) {
+                    reminder.setStatus(ReminderStatus.SENT);
+                    reminder.setSentAt(sentAt);
+                    reminder.setMessage(body);
+                }
+                log.info("Digest of {} reminders sent to {}", reminders.size(), first.collectorEmail());
             } catch (Exception e) {
-                log.error("Failed to send reminder for assignment ID: {}. Error: {}", assignment.getId(), e.getMessage());
+                log.error("Failed to send digest of {} reminders to {}", reminders.size(), first.collectorEmail(), e);
+                for (Reminder reminder : reminders) {
+                    reminder.setStatus(ReminderStatus.FAILED); // No message: the hourly retry sends each reminder on its own
+                }
             }
+            reminders.forEach(reminder -> eventPublisher.publishEvent(InventoryEvent.reminderStatusChanged(reminder)));
+            return reminders.size(); // The updates are flushed together at commit
+        });
+        return covered == null ? 0 : covered;
+    }
+
+    private int sendDigestSafely(List<UUID> reminderIds) {
+        try {
+            return sendDigest(reminderIds);
+        } catch (RuntimeException e) {
+            log.error("Failed to send digest for reminders {}. Error: {}", reminderIds, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void send(String to, String subject, String text, String html) {
+        if (html == null) {
+            mailService.sendEmail(to, subject, text);
+        } else {
+            mailService.sendEmail(to, subject, text, html);
+        }
+    }
+
+    private Map<UUID, ReminderMessageData> messageData(List<Reminder> reminders) {
+        if (reminders.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, ReminderMessageData> data = new HashMap<>();
+        reminderRepository.findMessageDataByIdIn(reminders.stream().map(Reminder::getId).toList())
+                .forEach(row -> data.put(row.reminderId(), row));
+        return data;
+    }
+
+    /**
+     * Creates and sends a run's reminder for one overdue assignment.
+     * Used by the partitioned overdue reminder job, which works through the overdue set one
+     * assignment per transaction.
+     *
+     * @param assignmentId the ID of the overdue assignment
+     * @param runDate the day of the job's run, which the reminder is dated
+     * @return true if a reminder was sent; false if the assignment has been returned, was not
+     *         overdue on the run date, or already has that day's reminder
+     * @throws AssignmentNotFoundException if no assignment is found with the given ID
+     */
+    @Transactional
+    public boolean remindOverdue(UUID assignmentId, LocalDate runDate) {
+        Assignment assignment = assignmentService.findByAssignmentId(assignmentId);
+        if (assignment.getActualReturnDate() != null || !assignment.getReturnDueDate().isBefore(runDate)) {
+            return false;
         }
+        int created = isPostgres()
+                ? reminderRepository.insertOverdueOnConflictDoNothing(assignmentId, runDate, Instant.now())
+                : reminderRepository.insertOverdueIfAbsent(assignmentId, runDate, Instant.now());
+        if (created == 0) {
+            return false; // A rerun of the day's job, e.g. after a failover, must not remind twice
+        }
+        Reminder newReminder = reminderRepository.findByAssignmentIdAndReminderDateAndKind(assignmentId, runDate, ReminderKind.OVERDUE).orElseThrow();
+        changeLogService.recordBulkChange(Reminder.class, newReminder.getId(), ChangeOperation.INSERT);
+        eventPublisher.publishEvent(InventoryEvent.reminderStatusChanged(newReminder));
+
+        deliver(newReminder, messageData(List.of(newReminder)).get(newReminder.getId()));
+
+        log.info("Sent reminder for overdue assignment ID: {} (Item: {}, Collector: {})",
+                assignment.getId(), assignment.getItem().getName(), assignment.getCollector().getName());
+        return true;
+    }
+
+    /**
+     * Gets today's manual reminder for an assignment ready to be sent, creating it if needed. An
+     * existing one that is PENDING is returned as is; a FAILED or DISMISSED one goes back to PENDING,
+     * with the new message if one is given. When two requests create it at once, the one losing the
+     * insert to the (assignment, day, kind) key gets the other's reminder.
+     *
+     * @param assignment the assignment to remind about
+     * @param message optional custom message for the reminder
+     * @return the committed PENDING reminder
+     * @throws DuplicateReminderException if today's manual reminder was already sent
+     */
+    public Reminder prepareManualReminder(Assignment assignment, String message) {
+        LocalDate today = LocalDate.now();
+        Optional<Reminder> existing = findReminder(assignment.getId(), today, ReminderKind.MANUAL);
+        if (existing.isEmpty()) {
+            Reminder reminder = new Reminder();
+            reminder.setAssignment(assignment);
+            reminder.setReminderDate(today);
+            reminder.setKind(ReminderKind.MANUAL);
+            reminder.setStatus(ReminderStatus.PENDING);
+            reminder.setMessage(message);
+            try {
+                return reminderRepository.save(reminder);
+            } catch (DataIntegrityViolationException e) {
+                existing = findReminder(assignment.getId(), today, ReminderKind.MANUAL); // Created by a concurrent request
+                if (existing.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+        Reminder reminder = existing.get();
+        switch (reminder.getStatus()) {
+            case PENDING:
+                return reminder; // Queued or being sent already
+            case SENT:
+                throw new DuplicateReminderException("The manual reminder for assignment " + assignment.getId() + " was already sent today");
+            default:
+                reminder.setStatus(ReminderStatus.PENDING);
+                if (message != null) reminder.setMessage(message);
+                return reminderRepository.save(reminder);
+        }
+    }
+
+    /**
+     * Finds the reminder of a kind for an assignment and day.
+     *
+     * @param assignmentId the ID of the assignment
+     * @param reminderDate the day of the reminder
+     * @param kind the kind of the reminder
+     * @return the reminder, if one exists
+     */
+    public Optional<Reminder> findReminder(UUID assignmentId, LocalDate reminderDate, ReminderKind kind) {
+        return reminderRepository.findByAssignmentIdAndReminderDateAndKind(assignmentId, reminderDate, kind);
+    }
+
+    /**
+     * Checks whether an assignment has a reminder of a kind for a day; there can be at most one.
+     *
+     * @param assignmentId the ID of the assignment
+     * @param reminderDate the day of the reminder
+     * @param kind the kind of the reminder
+     * @return true if the reminder exists
+     */
+    public boolean existsReminder(UUID assignmentId, LocalDate reminderDate, ReminderKind kind) {
+        return reminderRepository.existsByAssignmentIdAndReminderDateAndKind(assignmentId, reminderDate, kind);
+    }
+
+    /**
+     * Checks whether reminders are currently held back by the configured quiet hours.
+     *
+     * @return true during quiet hours; always false if none are configured
+     */
+    public boolean isQuietHours() {
+        if (!StringUtils.hasText(quietStart) || !StringUtils.hasText(quietEnd)) {
+            return false;
+        }
+        ZoneId zone = StringUtils.hasText(quietZone) ? ZoneId.of(quietZone) : ZoneId.systemDefault();
+        return isWithin(LocalTime.parse(quietStart), LocalTime.parse(quietEnd), LocalTime.now(zone));
+    }
+
+    /**
+     * Checks whether a time falls in a daily window; a window whose end is before its start spans midnight.
+     *
+     * @param start the start of the window, inclusive
+     * @param end the end of the window, exclusive
+     * @param time the time to check
+     * @return true if the time is in the window
+     */
+    static boolean isWithin(LocalTime start, LocalTime end, LocalTime time) {
+        return start.isBefore(end)
+                ? !time.isBefore(start) && time.isBefore(end)
+                : !time.isBefore(start) || time.isBefore(end);
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
     }
 
 }
@@ -0,0 +1,131 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.solayof.schoolinventorymanagement.config.PoolRouting;
+import com.solayof.schoolinventorymanagement.entity.JobWatermark;
+import com.solayof.schoolinventorymanagement.repository.JobWatermarkRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service sweeping the reminders that became due since its previous run.
+ *
+ * The sweep keeps a watermark in job_watermarks: the creation time and the day up to which
+ * reminders have been handled. A run reads only the PENDING reminders created since the
+ * watermark and already due, plus those created earlier that fell due since the watermark day,
+ * so running it every minute costs a small index range scan rather than a rescan of the day.
+ * The reminders are claimed in batches of {@code sims.reminders.sweep-batch-size} and the
+ * batches are delivered in parallel on a small pool; the watermark moves once every batch is done.
+ *
+ * Only the node holding the sweep lease runs it. Reminders whose transaction commits more than
+ * {@code sims.reminders.sweep-commit-lag-seconds} after their creation time can fall behind the
+ * watermark; the hourly dispatch of all due reminders still picks them up, along with retries
+ * of failed ones.
+ */
+@Service
+@Slf4j
+public class ReminderSweepService {
+    static final String JOB_NAME = "due-reminder-sweep"; // Watermark and lease name
+    private static final UUID FIRST_ID = new UUID(0, 0); // Keyset start; below every generated UUID
+
+    @Autowired
+    private ReminderRepository reminderRepository; // Injecting the ReminderRepository to find newly due reminders
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository; // Stores how far the sweep has got
+    @Autowired
+    private ReminderService reminderService; // Delivers the claimed reminders
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService; // Keeps the sweep on one node
+
+    @Value("${sims.reminders.sweep-batch-size:20}")
+    private int batchSize; // Reminders claimed and delivered per transaction
+
+    @Value("${sims.reminders.sweep-threads:4}")
+    private int threads; // Batches delivered in parallel
+
+    @Value("${sims.reminders.sweep-commit-lag-seconds:30}")
+    private long commitLagSeconds; // Reminders created this recently are left to the next run, so in-flight inserts are not skipped
+
+    @Value("${sims.scheduler.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds; // How long the sweep stays with a node that stops running it
+
+    private ExecutorService dispatcher; // Delivers the batches off the scheduler thread
+
+    @PostConstruct
+    void startDispatcher() {
+        AtomicInteger count = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(PoolRouting.onBatchPool(runnable), "reminder-sweep-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopDispatcher() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Delivers the reminders that became due since the previous sweep and moves the watermark.
+     * Does nothing during quiet hours, so the first sweep after them picks up everything in between.
+     *
+     * @return the number of reminders attempted, or 0 if another node holds the sweep
+     */
+    public int sweep() {
+        if (reminderService.isQuietHours()) {
+            return 0;
+        }
+        if (!schedulerLeaseService.tryAcquire(JOB_NAME, Duration.ofSeconds(leaseTtlSeconds))) {
+            return 0;
+        }
+        JobWatermark watermark = jobWatermarkRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobWatermark(JOB_NAME, Instant.EPOCH, LocalDate.EPOCH, null)); // First run sweeps every pending due reminder
+        Instant createdTo = Instant.now().minusSeconds(commitLagSeconds);
+        LocalDate today = LocalDate.now();
+
+        List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        UUID afterId = FIRST_ID;
+        while (true) {
+            List<UUID> ids = reminderRepository.findNewlyDueIds(watermark.getWatermarkAt(), createdTo,
+                    watermark.getWatermarkDate(), today, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            batches.add(CompletableFuture.supplyAsync(() -> reminderService.dispatchPending(ids), dispatcher));
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        int attempted = 0;
+        for (CompletableFuture<Integer> batch : batches) {
+            attempted += batch.join(); // A failed batch fails the run, and the watermark stays where it was
+        }
+
+        if (createdTo.isAfter(watermark.getWatermarkAt())) {
+            watermark.setWatermarkAt(createdTo);
+        }
+        watermark.setWatermarkDate(today);
+        jobWatermarkRepository.save(watermark);
+        return attempted;
+    }
+}
@@ -0,0 +1,123 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import com.samskivert.mustache.Escapers;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import com.solayof.schoolinventorymanagement.repository.ReminderMessageData;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders reminder emails from Mustache templates.
+ *
+ * The templates are compiled once at startup and kept for the life of the application, so
+ * rendering a message only walks the compiled template over a {@link ReminderMessageData}.
+ * Each template is looked up in {@code sims.reminders.templates.location} first, so a school can
+ * replace any of them with its own wording, and falls back to the default under
+ * {@code classpath:/templates/reminders/}. A template that does not compile fails the startup.
+ */
+@Service
+@Slf4j
+public class ReminderTemplateService {
+    static final String DEFAULT_LOCATION = "classpath:/templates/reminders/";
+    static final List<String> TEMPLATE_NAMES = List.of(
+            "reminder.subject", "reminder.txt", "reminder.html", "digest.subject", "digest.txt", "digest.html");
+
+    @Autowired
+    private ResourceLoader resourceLoader; // Resolves classpath: and file: template locations
+
+    @Value("${sims.reminders.templates.location:" + DEFAULT_LOCATION + "}")
+    private String location; // Directory searched for templates before the defaults
+
+    @Value("${sims.reminders.templates.html:false}")
+    private boolean html; // Also render an HTML part, sent alongside the plain-text one
+
+    private final Map<String, Template> templates = new HashMap<>(); // Template name -> compiled template; read-only after init
+
+    /**
+     * Compiles every template. Plain-text templates are not HTML-escaped; HTML ones are.
+     *
+     * @throws IllegalStateException if a template cannot be read or compiled
+     */
+    @PostConstruct
+    public void init() {
+        Mustache.Compiler text = Mustache.compiler().withEscaper(Escapers.NONE).nullValue("");
+        Mustache.Compiler markup = Mustache.compiler().nullValue("");
+        for (String name : TEMPLATE_NAMES) {
+            Mustache.Compiler compiler = name.endsWith(".html") ? markup : text;
+            try (Reader reader = new InputStreamReader(resolve(name).getInputStream(), StandardCharsets.UTF_8)) {
+                templates.put(name, compiler.compile(reader));
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Failed to compile reminder template '" + name + "'", e);
+            }
+        }
+        log.info("Compiled {} reminder templates from {}", templates.size(), location);
+    }
+
+    /**
+     * Renders the email of one reminder.
+     *
+     * @param data the data of the reminder
+     * @return the subject, the plain-text body and, if enabled, the HTML body
+     */
+    public RenderedMessage renderReminder(ReminderMessageData data) {
+        return render("reminder", data);
+    }
+
+    /**
+     * Renders one email covering several reminders of the same collector.
+     *
+     * @param items the data of the reminders, in the order they are listed
+     * @return the subject, the plain-text body and, if enabled, the HTML body
+     * @throws IllegalArgumentException if there are no reminders
+     */
+    public RenderedMessage renderDigest(List<ReminderMessageData> items) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("A digest needs at least one reminder.");
+        }
+        Map<String, Object> context = new HashMap<>();
+        context.put("collectorName", items.get(0).collectorName());
+        context.put("count", items.size());
+        context.put("single", items.size() == 1);
+        context.put("items", items);
+        return render("digest", context);
+    }
+
+    private RenderedMessage render(String prefix, Object context) {
+        return new RenderedMessage(
+                templates.get(prefix + ".subject").execute(context).strip(),
+                templates.get(prefix + ".txt").execute(context).stripTrailing(), // Editors tend to end template files with a newline
+                html ? templates.get(prefix + ".html").execute(context) : null);
+    }
+
+    private Resource resolve(String name) {
+        String file = name + ".mustache";
+        Resource override = resourceLoader.getResource(location.endsWith("/") ? location + file : location + "/" + file);
+        return override.exists() ? override : resourceLoader.getResource(DEFAULT_LOCATION + file);
+    }
+
+    /**
+     * A rendered reminder email.
+     *
+     * @param subject the subject line
+     * @param text the plain-text body
+     * @param html the HTML body, or null if HTML rendering is disabled
+     */
+    public record RenderedMessage(String subject, String text, String html) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentSummaryDTO;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorAssignmentStats;
+
+/**
+ * Read-only queries behind the reporting endpoints.
+ * Aggregates are computed by the database; detail rows are only read one page at a time.
+ */
+@Service
+public class ReportService {
+    @Autowired
+    private AssignmentRepository assignmentRepository; // Injecting the AssignmentRepository to aggregate assignments
+    @Autowired
+    private CollectorService collectorService; // Injecting the CollectorService to validate collectors
+    @Autowired
+    private ItemService itemService; // Injecting the ItemService to count items by status and category
+
+    /**
+     * Builds the inventory levels report from two GROUP BY queries.
+     *
+     * @return the item counts by status and by category, and the share of items currently assigned
+     */
+    @Transactional(readOnly = true)
+    public InventoryLevelsReportDTO getInventoryLevelsReport() {
+        Map<Status, Long> byStatus = itemService.getItemCountsByStatus();
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        InventoryLevelsReportDTO report = new InventoryLevelsReportDTO();
+        report.setTotalItems(total);
+        report.setItemCountsByStatus(byStatus);
+        report.setItemCountsByCategory(itemService.getItemCountsByCategory());
+        report.setUtilization(total == 0 ? 0 : (double) byStatus.getOrDefault(Status.ASSIGNED, 0L) / total);
+        report.setGeneratedAt(Instant.now());
+        return report;
+    }
+
+    /**
+     * Builds the per-collector assignment report with a single GROUP BY query.
+     *
+     * @return the active and overdue counts and oldest due date per collector, keyed by collector ID
+     */
+    @Transactional(readOnly = true)
+    public CollectorAssignmentsReportDTO getCollectorAssignmentsReport() {
+        Map<UUID, CollectorAssignmentSummaryDTO> collectors = new LinkedHashMap<>();
+        long totalActive = 0;
+        long totalOverdue = 0;
+        for (CollectorAssignmentStats stats : assignmentRepository.findActiveStatsByCollector(LocalDate.now())) {
+            collectors.put(stats.getCollectorId(), CollectorAssignmentSummaryDTO.fromStats(stats));
+            totalActive += stats.getActiveCount();
+            totalOverdue += stats.getOverdueCount();
+        }
+        CollectorAssignmentsReportDTO report = new CollectorAssignmentsReportDTO(collectors, totalActive, totalOverdue);
+        report.setGeneratedAt(Instant.now());
+        return report;
+    }
+
+    /**
+     * Retrieves one page of a collector's active assignments.
+     *
+     * @param collectorId the ID of the collector
+     * @param overdueOnly whether to restrict the page to assignments past their return due date
+     * @param pageable the page to read, including its sort order
+     * @return the requested page of assignments
+     * @throws CollectorNotFoundException if no collector is found with the given ID
+     */
+    @Transactional(readOnly = true)
+    public Page<Assignment> getCollectorAssignments(UUID collectorId, boolean overdueOnly, Pageable pageable) {
+        collectorService.findByCollectorId(collectorId);
+        if (overdueOnly) {
+            return assignmentRepository.findByCollectorIdAndActualReturnDateIsNullAndReturnDueDateBefore(collectorId, LocalDate.now(), pageable);
+        }
+        return assignmentRepository.findByCollectorIdAndActualReturnDateIsNull(collectorId, pageable);
+    }
+}
@@ -0,0 +1,195 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.ReportSnapshotDTO;
+import com.solayof.schoolinventorymanagement.entity.ReportSnapshot;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ReportSnapshotRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service storing and serving precomputed reports.
+ *
+ * Snapshots are taken by the ReportSnapshotScheduler and whenever a caller asks for a fresh
+ * report. The latest snapshot of each report type is kept in memory, so serving a report is a
+ * map lookup; after a restart it is read back from the newest row. A report type that has never
+ * been snapshotted is computed on first request.
+ *
+ * Snapshots belong to a school: each school's reports cover its own inventory, and the in-memory
+ * copies are kept per school and report type.
+ */
+@Service
+@Slf4j
+public class ReportSnapshotService {
+    @Autowired
+    private ReportSnapshotRepository reportSnapshotRepository; // Injecting the ReportSnapshotRepository to store snapshots
+    @Autowired
+    private ReportService reportService; // Injecting the ReportService to compute the reports
+    @Autowired
+    private ObjectMapper objectMapper; // Serializes payloads the same way the endpoints render them
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Computes and stores a snapshot in one read-write transaction
+    @Autowired
+    private CategoryRepository categoryRepository; // Finds the schools to snapshot
+    @Autowired
+    private CollectorRepository collectorRepository; // Finds the schools to snapshot
+
+    private final ConcurrentMap<SnapshotKey, Object> latest = new ConcurrentHashMap<>(); // School and report type -> latest payload
+
+    /**
+     * Retrieves the inventory levels report.
+     *
+     * @param fresh whether to recompute (and store) the report instead of serving the latest snapshot
+     * @return the inventory levels report
+     */
+    public InventoryLevelsReportDTO getInventoryLevels(boolean fresh) {
+        return latest(ReportType.INVENTORY_LEVELS, InventoryLevelsReportDTO.class, fresh);
+    }
+
+    /**
+     * Retrieves the collector assignments report.
+     *
+     * @param fresh whether to recompute (and store) the report instead of serving the latest snapshot
+     * @return the collector assignments report
+     */
+    public CollectorAssignmentsReportDTO getCollectorAssignments(boolean fresh) {
+        return latest(ReportType.COLLECTOR_ASSIGNMENTS, CollectorAssignmentsReportDTO.class, fresh);
+    }
+
+    /**
+     * Computes a report of the current school and stores it as the latest snapshot of its type.
+     *
+     * @param type the report to compute
+     * @return the computed payload
+     */
+    public Object takeSnapshot(ReportType type) {
+        // One read-write transaction, so the report is read on the primary: under open-in-view a read-only one
+        // would leave the request holding a replica connection for the save
+        Object payload = transactionTemplate.execute(status -> {
+            Object report = switch (type) {
+                case INVENTORY_LEVELS -> reportService.getInventoryLevelsReport();
+                case COLLECTOR_ASSIGNMENTS -> reportService.getCollectorAssignmentsReport();
+            };
+            ReportSnapshot snapshot = new ReportSnapshot();
+            snapshot.setReportType(type);
+            snapshot.setPayload(toJson(report));
+            snapshot.setCreatedAt(Instant.now());
+            reportSnapshotRepository.save(snapshot);
+            return report;
+        });
+        latest.put(new SnapshotKey(TenantContext.schoolForNewRows(), type), payload);
+        return payload;
+    }
+
+    /**
+     * Takes a snapshot of every report type for every school. A failing report does not prevent
+     * the others.
+     */
+    public void takeSnapshots() {
+        for (String schoolId : schoolIds()) {
+            TenantContext.runAs(schoolId, () -> {
+                for (ReportType type : ReportType.values()) {
+                    try {
+                        takeSnapshot(type);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to take snapshot of report {} for school {}", type, schoolId, e);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the stored snapshots of a report in a time range, oldest first.
+     *
+     * @param type the report
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, inclusive
+     * @return the snapshots in the range, with their raw JSON payloads
+     * @throws IllegalArgumentException if the range ends before it starts
+     */
+    @Transactional(readOnly = true)
+    public List<ReportSnapshotDTO> getHistory(ReportType type, Instant from, Instant to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+        return reportSnapshotRepository.findByReportTypeAndCreatedAtBetweenOrderByCreatedAtAsc(type, from, to).stream()
+                .map(ReportSnapshotDTO::fromReportSnapshot)
+                .toList();
+    }
+
+    /**
+     * Deletes snapshots taken before a cutoff.
+     *
+     * @param cutoff the oldest creation time to keep
+     * @return the number of deleted snapshots
+     */
+    @Transactional
+    public int purgeOlderThan(Instant cutoff) {
+        return reportSnapshotRepository.deleteOlderThan(cutoff);
+    }
+
+    private <T> T latest(ReportType type, Class<T> payloadType, boolean fresh) {
+        if (fresh) {
+            return payloadType.cast(takeSnapshot(type));
+        }
+        SnapshotKey key = new SnapshotKey(TenantContext.schoolForNewRows(), type);
+        Object cached = latest.get(key);
+        if (cached != null) {
+            return payloadType.cast(cached);
+        }
+        return reportSnapshotRepository.findFirstByReportTypeOrderByCreatedAtDesc(type)
+                .map(snapshot -> {
+                    T payload = fromJson(snapshot.getPayload(), payloadType);
+                    latest.putIfAbsent(key, payload);
+                    return payloadType.cast(latest.get(key));
+                })
+                .orElseGet(() -> payloadType.cast(takeSnapshot(type)));
+    }
+
+    // The schools with data, and the default one so a new installation gets its (empty) reports
+    private Set<String> schoolIds() {
+        Set<String> schoolIds = new TreeSet<>(categoryRepository.findSchoolIds());
+        schoolIds.addAll(collectorRepository.findSchoolIds());
+        schoolIds.add(TenantContext.DEFAULT_SCHOOL);
+        return schoolIds;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize report payload", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> payloadType) {
+        try {
+            return objectMapper.readValue(json, payloadType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored report payload", e);
+        }
+    }
+
+    private record SnapshotKey(String schoolId, ReportType type) {
+    }
+}
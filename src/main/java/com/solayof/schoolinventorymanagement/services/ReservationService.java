@@ -0,0 +1,226 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.exceptions.ReservationNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.ReservationRepository;
+
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service managing the per-item FIFO waitlists.
+ *
+ * Waitlists are persisted in the 'reservations' table and cached in memory as the ordered
+ * reservation IDs of each item. The cache answers waitlist and position lookups without a
+ * query and is only changed after the owning transaction commits. Hand-offs always lock the
+ * head of the waitlist in the database, so the cache can never cause an item to be handed
+ * to the wrong collector.
+ */
+@Service
+@Slf4j
+public class ReservationService {
+    @Autowired
+    private ReservationRepository reservationRepository; // Injecting the ReservationRepository to interact with reservations
+    @Autowired
+    private ItemService itemService; // Injecting the ItemService to validate reserved items
+    @Autowired
+    private CollectorService collectorService; // Injecting the CollectorService to validate waiting collectors
+    @Autowired
+    private MailService mailService; // Injecting the MailService to notify collectors of a hand-off
+
+    private final ConcurrentMap<UUID, List<UUID>> waitlists = new ConcurrentHashMap<>(); // Item ID -> waiting reservation IDs, oldest first
+
+    /**
+     * Finds a reservation by its ID.
+     *
+     * @param reservationId the ID of the reservation to find
+     * @return the found Reservation entity
+     * @throws ReservationNotFoundException if no reservation is found with the given ID
+     */
+    public Reservation findByReservationId(UUID reservationId) {
+        return reservationRepository.findVisibleById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + reservationId));
+    }
+
+    /**
+     * Adds a collector to the end of an item's waitlist.
+     *
+     * @param itemId the ID of the item to wait for
+     * @param collectorId the ID of the waiting collector
+     * @param loanDays the length of the loan created when the item is handed over
+     * @return the saved Reservation entity
+     * @throws IllegalArgumentException if the item can be checked out directly or the collector is already waiting
+     * @throws org.springframework.dao.DataIntegrityViolationException if a concurrent request added the collector first
+     */
+    @Transactional
+    public Reservation reserve(UUID itemId, UUID collectorId, int loanDays) {
+        Item item = itemService.findByItemId(itemId);
+        Collector collector = collectorService.findByCollectorId(collectorId);
+        if (item.getStatus() == Status.AVAILABLE) {
+            throw new IllegalArgumentException("Item with name '" + item.getName() + "' is available, check it out directly.");
+        }
+        if (item.getAssignment() != null && collector.equals(item.getAssignment().getCollector())) {
+            throw new IllegalArgumentException("Collector already holds item with name '" + item.getName() + "'.");
+        }
+        if (reservationRepository.existsByItemIdAndCollectorIdAndStatus(itemId, collectorId, ReservationStatus.WAITING)) {
+            throw new IllegalArgumentException("Collector is already waiting for item with name '" + item.getName() + "'.");
+        }
+
+        Reservation reservation = new Reservation();
+        reservation.setItem(item);
+        reservation.setCollector(collector);
+        reservation.setLoanDays(loanDays);
+        reservation.setStatus(ReservationStatus.WAITING);
+        Reservation saved = reservationRepository.saveAndFlush(reservation); // Flushed, so the waiting key rejects a concurrent duplicate here
+        afterCommit(() -> waitlists.computeIfPresent(itemId, (id, queue) -> {
+            queue.add(saved.getId());
+            return queue;
+        }));
+        return saved;
+    }
+
+    /**
+     * Removes a waiting reservation from its item's waitlist.
+     *
+     * @param reservationId the ID of the reservation to cancel
+     * @return the cancelled Reservation entity
+     * @throws IllegalArgumentException if the reservation is no longer waiting
+     */
+    @Transactional
+    public Reservation cancel(UUID reservationId) {
+        Reservation reservation = findByReservationId(reservationId);
+        if (reservation.getStatus() != ReservationStatus.WAITING) {
+            throw new IllegalArgumentException("Only waiting reservations can be cancelled.");
+        }
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        UUID itemId = reservation.getItem().getId();
+        afterCommit(() -> removeFromWaitlist(itemId, reservationId));
+        return reservationRepository.save(reservation);
+    }
+
+    /**
+     * Retrieves the waiting reservation IDs of an item, oldest first.
+     * Served from the in-memory waitlist once it has been loaded.
+     *
+     * @param itemId the ID of the item
+     * @return the IDs of the waiting reservations in hand-off order
+     */
+    public List<UUID> getWaitlist(UUID itemId) {
+        return List.copyOf(waitlist(itemId));
+    }
+
+    /**
+     * Retrieves the waiting reservations of an item, oldest first.
+     *
+     * @param itemId the ID of the item
+     * @return the waiting Reservation entities in hand-off order
+     */
+    public List<Reservation> findWaiting(UUID itemId) {
+        return reservationRepository.findByItemIdAndStatusOrderByCreatedAtAsc(itemId, ReservationStatus.WAITING);
+    }
+
+    /**
+     * Returns the 1-based position of a reservation in its item's waitlist.
+     *
+     * @param reservation the reservation to locate
+     * @return the position, or null if the reservation is not waiting
+     */
+    public Integer positionOf(Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.WAITING) {
+            return null;
+        }
+        int index = waitlist(reservation.getItem().getId()).indexOf(reservation.getId());
+        return index < 0 ? null : index + 1;
+    }
+
+    /**
+     * Locks and returns the oldest waiting reservation of an item.
+     * Must be called inside the transaction that hands the item over, so the row stays
+     * locked until the reservation is marked fulfilled.
+     *
+     * @param itemId the ID of the returned item
+     * @return the next waiter, if any
+     */
+    @Transactional
+    public Optional<Reservation> pollNextWaiter(UUID itemId) {
+        return reservationRepository.findFirstByItemIdAndStatusOrderByCreatedAtAsc(itemId, ReservationStatus.WAITING);
+    }
+
+    /**
+     * Marks a reservation as fulfilled by a hand-off assignment.
+     * Once the transaction commits the reservation leaves the cached waitlist and the
+     * collector is notified by email.
+     *
+     * @param reservationId the ID of the fulfilled reservation
+     * @param assignment the assignment created for the waiting collector
+     * @return the updated Reservation entity
+     */
+    @Transactional
+    public Reservation markFulfilled(UUID reservationId, Assignment assignment) {
+        Reservation reservation = findByReservationId(reservationId);
+        reservation.setStatus(ReservationStatus.FULFILLED);
+        reservation.setAssignmentId(assignment.getId());
+        reservation.setFulfilledAt(Instant.now());
+
+        UUID itemId = reservation.getItem().getId();
+        String recipientEmail = assignment.getCollector().getEmail();
+        String subject = "Reserved item ready: " + assignment.getItem().getName();
+        String body = "Dear " + assignment.getCollector().getName() + ",\n\n" +
+                      "The item '" + assignment.getItem().getName() + "' (Serial: " + assignment.getItem().getSerialNumber() + ") " +
+                      "you reserved has been returned and is now assigned to you until " + assignment.getReturnDueDate() + ".\n\n" +
+                      "Please collect it from the inventory desk. Thank you.";
+        afterCommit(() -> {
+            removeFromWaitlist(itemId, reservationId);
+            try {
+                mailService.sendEmail(recipientEmail, subject, body);
+            } catch (Exception e) {
+                log.error("Failed to notify {} of hand-off for reservation ID: {}", recipientEmail, reservationId, e);
+            }
+        });
+        return reservationRepository.save(reservation);
+    }
+
+    private List<UUID> waitlist(UUID itemId) {
+        return waitlists.computeIfAbsent(itemId, id ->
+                new CopyOnWriteArrayList<>(reservationRepository.findIdsByItemIdAndStatus(id, ReservationStatus.WAITING)));
+    }
+
+    private void removeFromWaitlist(UUID itemId, UUID reservationId) {
+        waitlists.computeIfPresent(itemId, (id, queue) -> {
+            queue.remove(reservationId);
+            return queue;
+        });
+    }
+
+    // Defers cache updates and notifications until the data they describe is committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
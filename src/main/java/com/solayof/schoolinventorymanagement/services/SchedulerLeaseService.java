@@ -0,0 +1,137 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.repository.SchedulerLeaseRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service handing out database-backed leases, so that a scheduled job running on every node
+ * does each unit of work on one node only.
+ *
+ * A lease is a row in scheduler_leases. It is acquired with a conditional UPDATE that succeeds
+ * for one node only, renewed by its holder while it works, and marked completed when the work
+ * is done. A holder that dies stops renewing; once the lease expires another node may take it
+ * over. Every call runs in its own short transaction, so a lease is visible to the other nodes
+ * as soon as it is taken. Expiry is checked against each node's clock, so the lease TTL must be
+ * well above the clock skew between nodes.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository; // Injecting the SchedulerLeaseRepository to manage lease rows
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Each lease operation commits on its own
+
+    @Value("${sims.scheduler.node-id:}")
+    private String nodeId; // Identifies this node as a lease owner; generated when not configured
+
+    @PostConstruct
+    void initNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = hostName() + ":" + UUID.randomUUID();
+        }
+        log.info("Scheduler leases are owned by node {}", nodeId);
+    }
+
+    /**
+     * Retrieves the ID this node records as lease owner.
+     *
+     * @return the node ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Tries to take a lease, creating it on first use.
+     *
+     * @param name the lease name
+     * @param ttl how long the lease is held without renewal
+     * @return true if this node now holds the lease; false if another node holds it or the work is completed
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        if (!schedulerLeaseRepository.existsById(name)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        schedulerLeaseRepository.insert(name, nodeId, now, now.plus(ttl)));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Lease {} was created by another node", name); // Fall through to the conditional update
+            }
+        }
+        Integer acquired = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.acquire(name, nodeId, now, now.plus(ttl)));
+        return acquired != null && acquired == 1;
+    }
+
+    /**
+     * Extends a lease held by this node.
+     *
+     * @param name the lease name
+     * @param ttl how long from now the lease is held
+     * @return true if the lease was extended; false if this node has lost it and must stop working on it
+     */
+    public boolean renew(String name, Duration ttl) {
+        Instant now = Instant.now();
+        Integer renewed = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.renew(name, nodeId, now, now.plus(ttl)));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * Marks the work behind a lease held by this node as done, so no node acquires it again.
+     *
+     * @param name the lease name
+     * @return true if the lease was completed; false if this node no longer held it
+     */
+    public boolean complete(String name) {
+        Integer completed = transactionTemplate.execute(status ->
+                schedulerLeaseRepository.complete(name, nodeId, Instant.now()));
+        return completed != null && completed == 1;
+    }
+
+    /**
+     * Finds the unfinished leases whose holder stopped renewing them.
+     *
+     * @param prefix the lease name prefix to search
+     * @return the names of the expired leases, in name order
+     */
+    public List<String> findExpired(String prefix) {
+        return schedulerLeaseRepository.findExpired(prefix, Instant.now());
+    }
+
+    /**
+     * Deletes leases completed before a cutoff.
+     *
+     * @param cutoff the oldest completion time to keep
+     * @return the number of deleted leases
+     */
+    public int purgeCompletedBefore(Instant cutoff) {
+        Integer deleted = transactionTemplate.execute(status -> schedulerLeaseRepository.deleteCompletedBefore(cutoff));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
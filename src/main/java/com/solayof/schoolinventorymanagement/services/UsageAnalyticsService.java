@@ -0,0 +1,200 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.dtos.CategoryUsageDTO;
+import com.solayof.schoolinventorymanagement.dtos.ItemUsageDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.ItemUsageDaily;
+import com.solayof.schoolinventorymanagement.repository.AssignmentHistoryRepository;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemUsageDailyRepository;
+import com.solayof.schoolinventorymanagement.repository.OpenLoan;
+
+/**
+ * Service recording item usage and computing utilization analytics.
+ *
+ * Checkouts and returns update a per-item, per-day rollup row in the caller's transaction, and
+ * returns also copy the assignment to the history table before it is deleted. A return counts
+ * the loan on every day it had the item out, and the days of loans still open are added when
+ * analytics are computed. Analytics sum the rollups of a date range in the database, so their
+ * cost grows with the number of active items and days, not with the number of assignments ever made. Rollups and history rows carry the
+ * school of their item, so in multi-school mode a school's analytics only cover its own items.
+ */
+@Service
+public class UsageAnalyticsService {
+    @Autowired
+    private AssignmentHistoryRepository assignmentHistoryRepository; // Injecting the AssignmentHistoryRepository to keep returned assignments
+    @Autowired
+    private ItemUsageDailyRepository itemUsageDailyRepository; // Injecting the ItemUsageDailyRepository to maintain the daily rollups
+    @Autowired
+    private AssignmentRepository assignmentRepository; // Injecting the AssignmentRepository to add the loans still open
+    @Autowired
+    private ItemService itemService; // Injecting the ItemService to count the items per category
+
+    /**
+     * Counts a checkout in the item's rollup for the assignment date.
+     * Must be called inside the checkout transaction.
+     *
+     * @param assignment the assignment that was just created
+     */
+    public void recordCheckout(Assignment assignment) {
+        ItemUsageDaily usage = usageOf(assignment.getItem(), assignment.getAssignmentDate());
+        usage.setCheckouts(usage.getCheckouts() + 1);
+        itemUsageDailyRepository.save(usage);
+    }
+
+    /**
+     * Copies a returned assignment to the history table, counts the return in the item's rollup
+     * for the return date and the loan in the rollup of each day it had the item out. Must be
+     * called inside the return transaction, before the assignment is deleted.
+     *
+     * @param assignment the assignment, with its actual return date set
+     */
+    public void recordReturn(Assignment assignment) {
+        Item item = assignment.getItem();
+        LocalDate returnedOn = assignment.getActualReturnDate();
+        int loanDays = (int) ChronoUnit.DAYS.between(assignment.getAssignmentDate(), returnedOn);
+        boolean overdue = assignment.getReturnDueDate() != null && returnedOn.isAfter(assignment.getReturnDueDate());
+
+        assignmentHistoryRepository.save(new AssignmentHistory(assignment.getId(), item.getId(), item.getCategory().getId(),
+                assignment.getCollector().getId(), assignment.getAssignmentDate(), assignment.getReturnDueDate(),
+                returnedOn, loanDays, overdue, Instant.now(), item.getSchoolId()));
+
+        ItemUsageDaily usage = usageOf(item, returnedOn);
+        usage.setReturns(usage.getReturns() + 1);
+        usage.setLoanDays(usage.getLoanDays() + loanDays);
+        if (overdue) {
+            usage.setOverdueReturns(usage.getOverdueReturns() + 1);
+        }
+        itemUsageDailyRepository.save(usage);
+        if (loanDays > 0) {
+            recordDaysOnLoan(item, assignment.getAssignmentDate(), returnedOn.minusDays(1));
+        }
+    }
+
+    /**
+     * Computes the usage of every item that was checked out, returned or out on loan in a date
+     * range, most used first. Items missing from the result were idle for the whole range.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range, inclusive
+     * @return the utilization, mean loan duration and overdue rate per item
+     * @throws IllegalArgumentException if the range ends before it starts
+     */
+    @Transactional(readOnly = true)
+    public List<ItemUsageDTO> getItemUsage(LocalDate from, LocalDate to) {
+        long days = daysBetween(from, to);
+        List<OpenLoan> openLoans = assignmentRepository.findOpenLoansStartedBy(to);
+        Map<UUID, Long> openLoanDays = openLoans.stream()
+                .collect(Collectors.groupingBy(OpenLoan::getItemId, Collectors.summingLong(loan -> openLoanDays(loan, from, to))));
+        Map<UUID, ItemUsageDTO> usage = new LinkedHashMap<>();
+        itemUsageDailyRepository.sumByItem(from, to)
+                .forEach(stats -> usage.put(stats.getItemId(), ItemUsageDTO.fromStats(stats, openLoanDays.getOrDefault(stats.getItemId(), 0L), days)));
+        // Items out for the whole range on a loan started before it have no rollups in the range
+        openLoans.stream()
+                .filter(loan -> !usage.containsKey(loan.getItemId()) && openLoanDays.get(loan.getItemId()) > 0)
+                .forEach(loan -> usage.put(loan.getItemId(), ItemUsageDTO.fromOpenLoan(loan.getItemId(), loan.getItemName(), openLoanDays.get(loan.getItemId()), days)));
+        List<ItemUsageDTO> result = new ArrayList<>(usage.values());
+        result.sort(Comparator.comparingDouble(ItemUsageDTO::getUtilization).reversed());
+        return result;
+    }
+
+    /**
+     * Computes the usage of every category whose items were checked out, returned or out on loan
+     * in a date range.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range, inclusive
+     * @return the utilization, mean loan duration and overdue rate per category, by name
+     * @throws IllegalArgumentException if the range ends before it starts
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryUsageDTO> getCategoryUsage(LocalDate from, LocalDate to) {
+        long days = daysBetween(from, to);
+        Map<String, Long> itemCounts = itemService.getItemCountsByCategory();
+        Map<String, Long> openLoanDays = assignmentRepository.findOpenLoansStartedBy(to).stream()
+                .collect(Collectors.groupingBy(OpenLoan::getCategoryName, Collectors.summingLong(loan -> openLoanDays(loan, from, to))));
+        Map<String, CategoryUsageDTO> usage = itemUsageDailyRepository.sumByCategory(from, to).stream()
+                .map(stats -> CategoryUsageDTO.fromStats(stats, itemCounts.getOrDefault(stats.getCategoryName(), 0L),
+                        openLoanDays.getOrDefault(stats.getCategoryName(), 0L), days))
+                .collect(Collectors.toMap(CategoryUsageDTO::getCategoryName, Function.identity()));
+        openLoanDays.forEach((categoryName, loanDays) -> {
+            if (loanDays > 0) {
+                usage.computeIfAbsent(categoryName, name -> CategoryUsageDTO.fromOpenLoans(name, itemCounts.getOrDefault(name, 0L), loanDays, days));
+            }
+        });
+        return usage.values().stream()
+                .sorted(Comparator.comparing(CategoryUsageDTO::getCategoryName))
+                .toList();
+    }
+
+    /**
+     * Retrieves one page of the returned assignments of an item that have not been archived yet.
+     *
+     * @param itemId the ID of the item
+     * @param pageable the page to read, including its sort order
+     * @return the requested page of returned assignments
+     */
+    @Transactional(readOnly = true)
+    public Page<AssignmentHistory> getItemHistory(UUID itemId, Pageable pageable) {
+        return assignmentHistoryRepository.findByItemId(itemId, pageable);
+    }
+
+    // Operations on one item are serialized by its status (a checkout needs it AVAILABLE, a return
+    // needs the active assignment), so a row is never created by two transactions at once
+    private ItemUsageDaily usageOf(Item item, LocalDate day) {
+        return itemUsageDailyRepository.findByItemIdAndUsageDate(item.getId(), day)
+                .orElseGet(() -> new ItemUsageDaily(item.getId(), item.getCategory().getId(), item.getSchoolId(), day));
+    }
+
+    // Counts the loan on each day from the checkout to the last day out, loading the existing rows at once
+    private void recordDaysOnLoan(Item item, LocalDate firstDay, LocalDate lastDay) {
+        Map<LocalDate, ItemUsageDaily> existing = new HashMap<>();
+        itemUsageDailyRepository.findByItemIdAndUsageDateBetween(item.getId(), firstDay, lastDay)
+                .forEach(usage -> existing.put(usage.getUsageDate(), usage));
+        List<ItemUsageDaily> days = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            ItemUsageDaily usage = existing.get(day);
+            if (usage == null) {
+                usage = new ItemUsageDaily(item.getId(), item.getCategory().getId(), item.getSchoolId(), day);
+            }
+            usage.setOnLoan(usage.getOnLoan() + 1);
+            days.add(usage);
+        }
+        itemUsageDailyRepository.saveAll(days);
+    }
+
+    // The days of a range an open loan had its item out, up to today: the item is out today too
+    private static long openLoanDays(OpenLoan loan, LocalDate from, LocalDate to) {
+        LocalDate first = loan.getAssignmentDate().isAfter(from) ? loan.getAssignmentDate() : from;
+        LocalDate last = to.isBefore(LocalDate.now()) ? to : LocalDate.now();
+        return Math.max(0, ChronoUnit.DAYS.between(first, last) + 1);
+    }
+
+    private long daysBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
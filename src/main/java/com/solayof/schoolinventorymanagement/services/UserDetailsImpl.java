@@ -21,6 +21,7 @@ public class UserDetailsImpl implements UserDetails {
     private String email;
     private String phone;
     private String gender;
+    private String schoolId;
     @JsonIgnore
     private String password;
     private LocalDate dob;
@@ -28,7 +29,7 @@ public class UserDetailsImpl implements UserDetails {
 
     private UserDetailsImpl( UUID id, String firstName, String middleName, String lastName,
                              String email, String phone, String gender, String password, Collection<? extends GrantedAuthority> authorities,
-                             LocalDate dob) {
+                             LocalDate dob, String schoolId) {
         this.id = id;
         this.firstName = firstName;
         this.middleName = middleName;
@@ -39,6 +40,7 @@ public class UserDetailsImpl implements UserDetails {
         this.password = password;
         this.dob = dob;
         this.authorities = authorities;
+        this.schoolId = schoolId;
     }
 
     public static UserDetailsImpl build(UserEntity user) {
@@ -55,7 +57,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getGender(),
                 user.getPassword(),
                 authorities,
-                user.getDob());
+                user.getDob(),
+                user.getSchoolId());
     }
     
     
@@ -140,6 +143,14 @@ public class UserDetailsImpl implements UserDetails {
         this.dob = dob;
     }
 
+    public String getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(String schoolId) {
+        this.schoolId = schoolId;
+    }
+
     @Override
     public String getUsername() {
        return email; 
@@ -175,6 +186,7 @@ public class UserDetailsImpl implements UserDetails {
         user.setLastName(userDetailsImpl.getLastName());
         user.setGender(userDetailsImpl.getGender());
         user.setPhone(userDetailsImpl.getPhone());
+        user.setSchoolId(userDetailsImpl.getSchoolId());
 
         return user;
     }
@@ -31,14 +31,14 @@ public class UserService implements UserDetailsService {
     }
 
     public UserEntity getUserById(UUID id) throws UserNotFoundException {
-        return userRepository.findById(id)
+        return userRepository.findVisibleById(id) // Only the users of the current school
         .orElseThrow(() -> new UserNotFoundException(id));
     }
 
     @Transactional
     public String addUser(UserEntity user) {
         user.setPassword(encoder.encode(user.getPassword()));
-        userRepository.save(user);
+        userRepository.save(user); // Stamped with the school of the admin creating the user (TenantListener)
         return "UserEntity added Sucessfully";
     }
 
@@ -0,0 +1,111 @@
+package com.solayof.schoolinventorymanagement.utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+
+/**
+ * ETag builders and Cache-Control policies for the conditional read endpoints.
+ *
+ * ETags are strong and derived from cheap projections (a version column, an updated_at
+ * timestamp, or count and max(updated_at) for collections), so a matching If-None-Match
+ * is answered with 304 Not Modified before the entity is loaded or serialized.
+ */
+public final class HttpCaching {
+
+    /** Items change status constantly: shared caches may store them but must revalidate every time. */
+    public static final CacheControl ITEMS = CacheControl.noCache().cachePublic();
+
+    /** Categories are reference data that rarely changes: any cache may serve them for a minute. */
+    public static final CacheControl CATEGORIES = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    /** Collectors hold personal data: only the client's own cache may store them, and it must revalidate. */
+    public static final CacheControl COLLECTORS = CacheControl.noCache().cachePrivate();
+
+    // In multi-school mode a response only holds the caller's school's rows, so shared caches must not store it
+    private static final CacheControl ITEMS_PER_SCHOOL = CacheControl.noCache().cachePrivate();
+    private static final CacheControl CATEGORIES_PER_SCHOOL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+
+    private HttpCaching() {
+    }
+
+    /**
+     * @return the policy for items in the current request: {@link #ITEMS}, or private when the
+     *         request is scoped to a school
+     */
+    public static CacheControl items() {
+        return TenantContext.current() == null ? ITEMS : ITEMS_PER_SCHOOL;
+    }
+
+    /**
+     * @return the policy for categories in the current request: {@link #CATEGORIES}, or private
+     *         when the request is scoped to a school
+     */
+    public static CacheControl categories() {
+        return TenantContext.current() == null ? CATEGORIES : CATEGORIES_PER_SCHOOL;
+    }
+
+    /**
+     * Lists the request headers a response varies by. When the request is scoped to a school the
+     * response also depends on the caller's token, so Authorization is added.
+     *
+     * @param requestHeaders the request headers the representation is negotiated on
+     * @return the headers for the Vary header
+     */
+    public static String[] vary(String... requestHeaders) {
+        if (TenantContext.current() == null) {
+            return requestHeaders;
+        }
+        String[] headers = Arrays.copyOf(requestHeaders, requestHeaders.length + 1);
+        headers[requestHeaders.length] = HttpHeaders.AUTHORIZATION;
+        return headers;
+    }
+
+    /**
+     * Builds a strong ETag from a version column.
+     *
+     * @param version the entity's version
+     * @return the quoted ETag
+     */
+    public static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds a strong ETag from a last-modified timestamp, keeping its full precision.
+     *
+     * @param updatedAt the entity's last update time
+     * @return the quoted ETag
+     */
+    public static String eTag(Instant updatedAt) {
+        return "\"" + updatedAt.getEpochSecond() + "." + updatedAt.getNano() + "\"";
+    }
+
+    /**
+     * Builds a strong ETag for a collection. Adding or updating a row moves the latest
+     * update time, and deleting one changes the count.
+     *
+     * @param count the number of rows in the collection
+     * @param lastUpdatedAt the latest update time in the collection, null when empty
+     * @return the quoted ETag
+     */
+    public static String eTag(long count, Instant lastUpdatedAt) {
+        return "\"" + count + "-" + (lastUpdatedAt == null ? "0" : lastUpdatedAt.getEpochSecond() + "." + lastUpdatedAt.getNano()) + "\"";
+    }
+
+    /**
+     * Derives the ETag of the lean representation from the ETag of the HAL one.
+     * Both are served from the same URL, so they must never share a strong ETag.
+     *
+     * @param eTag the quoted ETag of the default representation
+     * @return the quoted ETag of the lean representation
+     */
+    public static String leanETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-lean\"";
+    }
+}
@@ -0,0 +1,23 @@
+package com.solayof.schoolinventorymanagement.utils;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types negotiated by the list endpoints in addition to the default HAL representation.
+ */
+public final class MediaTypes {
+
+    /**
+     * Lean list representation: a {@code {"content": [...], "links": {...}}} object (see
+     * LeanCollectionDTO), with the rows as plain DTOs and only collection-level links.
+     * Requested with {@code Accept: application/vnd.sims.lean+json}; every other Accept value,
+     * including plain {@code application/json}, keeps receiving HAL.
+     */
+    public static final String LEAN_JSON_VALUE = "application/vnd.sims.lean+json";
+
+    /** {@link #LEAN_JSON_VALUE} as a MediaType. */
+    public static final MediaType LEAN_JSON = MediaType.parseMediaType(LEAN_JSON_VALUE);
+
+    private MediaTypes() {
+    }
+}
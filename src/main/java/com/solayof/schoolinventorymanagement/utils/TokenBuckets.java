@@ -0,0 +1,77 @@
+package com.solayof.schoolinventorymanagement.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets by key, for rate limits.
+ *
+ * Each bucket is one AtomicLong holding the time at which it will be full again (the
+ * "theoretical arrival time" form of a token bucket), updated with compare-and-set, so taking a
+ * token never locks. The buckets live in a ConcurrentHashMap, whose bins are the stripes: callers
+ * hitting different keys do not contend. Buckets that have refilled completely carry no state
+ * and are removed by {@link #evictIdle()}.
+ */
+public class TokenBuckets {
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>(); // Key -> time (nanos) the bucket is full again
+    private final LongSupplier clock;
+
+    /**
+     * @param clock the time in nanoseconds, e.g. System::nanoTime
+     */
+    public TokenBuckets(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from a bucket, creating it full if needed.
+     *
+     * @param key the bucket
+     * @param interval the nanoseconds it takes to refill one token
+     * @param burst the number of tokens the bucket holds when full
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryTake(String key, long interval, int burst) {
+        long tolerance = interval * (burst - 1); // How far ahead of now a bucket can run before it is empty
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(clock.getAsLong()));
+        while (true) {
+            long now = clock.getAsLong();
+            long fullAt = bucket.get();
+            long base = fullAt - now > 0 ? fullAt : now;
+            long wait = base - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, base + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Puts back a token taken for a request that was rejected after all.
+     *
+     * @param key the bucket
+     * @param interval the nanoseconds it takes to refill one token
+     */
+    public void giveBack(String key, long interval) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-interval);
+        }
+    }
+
+    /**
+     * Removes the buckets that have refilled completely; they are recreated full on next use.
+     *
+     * @return the number of buckets removed
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+        return before - buckets.size();
+    }
+}
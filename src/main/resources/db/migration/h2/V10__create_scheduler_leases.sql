@@ -0,0 +1,11 @@
+-- H2-compatible scheduler lease table (see postgres/V10__create_scheduler_leases.sql)
+
+CREATE TABLE scheduler_leases (
+    lease_name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    locked_until TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_scheduler_leases_unfinished ON scheduler_leases (completed_at, locked_until);
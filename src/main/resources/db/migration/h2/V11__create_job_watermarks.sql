@@ -0,0 +1,10 @@
+-- H2-compatible job watermark table (see postgres/V11__create_job_watermarks.sql)
+
+CREATE TABLE job_watermarks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    watermark_at TIMESTAMP NOT NULL,
+    watermark_date DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_reminders_pending_created_at ON reminders (status, created_at);
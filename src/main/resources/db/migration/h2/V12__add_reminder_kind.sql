@@ -0,0 +1,24 @@
+-- H2-compatible reminder kind and idempotency key (see postgres/V12__add_reminder_kind.sql)
+
+ALTER TABLE reminders ADD COLUMN kind VARCHAR(20) NOT NULL DEFAULT 'LEGACY';
+
+UPDATE reminders SET kind = 'OVERDUE' WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+            PARTITION BY assignment_id, reminder_date
+            ORDER BY CASE status WHEN 'SENT' THEN 0 ELSE 1 END, created_at DESC
+        ) AS rn
+        FROM reminders
+    ) ranked
+    WHERE rn = 1
+);
+
+ALTER TABLE reminders ALTER COLUMN kind DROP DEFAULT;
+
+-- H2 has no partial indexes: LEGACY rows get their own ID in the key, every other row the same empty string
+-- (the ID is cast, as the column may have been retyped to UUID)
+ALTER TABLE reminders ADD COLUMN legacy_key VARCHAR(36) GENERATED ALWAYS AS (CASE WHEN kind = 'LEGACY' THEN CAST(id AS VARCHAR(36)) ELSE '' END);
+
+ALTER TABLE reminders ADD CONSTRAINT uq_reminders_assignment_date_kind UNIQUE (assignment_id, reminder_date, kind, legacy_key);
+
+ALTER TABLE reminders_archive ADD COLUMN kind VARCHAR(20) NOT NULL DEFAULT 'LEGACY';
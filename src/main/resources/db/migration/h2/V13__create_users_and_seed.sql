@@ -0,0 +1,42 @@
+-- H2-compatible users, roles and seed data (see postgres/V13__create_users_and_seed.sql)
+
+CREATE TABLE IF NOT EXISTS roles (
+    id VARCHAR(36) PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id VARCHAR(36) PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    middle_name VARCHAR(255),
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(255) UNIQUE,
+    dob DATE NOT NULL,
+    gender VARCHAR(255),
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS user_to_roles (
+    user_id VARCHAR(36) NOT NULL REFERENCES users (id),
+    role_id VARCHAR(36) NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+INSERT INTO roles (id, name)
+SELECT RANDOM_UUID(), r.name
+FROM (VALUES ('ROLE_SUPERADMIN'), ('ROLE_ADMIN'), ('ROLE_MANAGER')) AS r (name)
+WHERE NOT EXISTS (SELECT 1 FROM roles WHERE roles.name = r.name);
+
+INSERT INTO users (id, first_name, middle_name, last_name, email, dob, gender, password, created_at, updated_at)
+SELECT RANDOM_UUID(), 'Solomon', 'Ayofemi', 'Moses', 'solayof@gmail.com', CURRENT_DATE, 'Male',
+       '$2a$10$oSdO0PUIhsu4JB8SEknuYu4r.1f.RoovcCalj53mlQXWROvjAy1AG', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = 'solayof@gmail.com');
+
+INSERT INTO user_to_roles (user_id, role_id)
+SELECT u.id, r.id
+FROM users u JOIN roles r ON r.name IN ('ROLE_SUPERADMIN', 'ROLE_ADMIN')
+WHERE u.email = 'solayof@gmail.com'
+  AND NOT EXISTS (SELECT 1 FROM user_to_roles ur WHERE ur.user_id = u.id);
@@ -0,0 +1,56 @@
+-- H2-compatible school tenancy (see postgres/V14__add_school_tenancy.sql)
+
+ALTER TABLE categories ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE items ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE collectors ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignments ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE report_snapshots ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE users ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+ALTER TABLE categories ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE items ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE collectors ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignments ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE report_snapshots ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE users ALTER COLUMN school_id DROP DEFAULT;
+
+-- The inline UNIQUE constraints have generated names, so each column is recreated instead: dropping
+-- the old column drops its single-column constraints and indexes with it
+ALTER TABLE categories ALTER COLUMN name RENAME TO name_unscoped;
+ALTER TABLE categories ADD COLUMN name VARCHAR(255);
+UPDATE categories SET name = name_unscoped;
+ALTER TABLE categories DROP COLUMN name_unscoped;
+ALTER TABLE categories ALTER COLUMN name SET NOT NULL;
+
+ALTER TABLE items ALTER COLUMN name RENAME TO name_unscoped;
+ALTER TABLE items ADD COLUMN name VARCHAR(255);
+UPDATE items SET name = name_unscoped;
+ALTER TABLE items DROP COLUMN name_unscoped;
+ALTER TABLE items ALTER COLUMN name SET NOT NULL;
+
+ALTER TABLE items ALTER COLUMN serial_number RENAME TO serial_number_unscoped;
+ALTER TABLE items ADD COLUMN serial_number VARCHAR(255);
+UPDATE items SET serial_number = serial_number_unscoped;
+ALTER TABLE items DROP COLUMN serial_number_unscoped;
+ALTER TABLE items ALTER COLUMN serial_number SET NOT NULL;
+
+ALTER TABLE collectors ALTER COLUMN email RENAME TO email_unscoped;
+ALTER TABLE collectors ADD COLUMN email VARCHAR(255);
+UPDATE collectors SET email = email_unscoped;
+ALTER TABLE collectors DROP COLUMN email_unscoped;
+ALTER TABLE collectors ALTER COLUMN email SET NOT NULL;
+
+ALTER TABLE categories ADD CONSTRAINT uq_categories_school_name UNIQUE (school_id, name);
+ALTER TABLE items ADD CONSTRAINT uq_items_school_name UNIQUE (school_id, name);
+ALTER TABLE items ADD CONSTRAINT uq_items_school_serial_number UNIQUE (school_id, serial_number);
+ALTER TABLE collectors ADD CONSTRAINT uq_collectors_school_email UNIQUE (school_id, email);
+
+CREATE INDEX idx_items_school_status ON items (school_id, status);
+CREATE INDEX idx_items_school_category ON items (school_id, category_id);
+CREATE INDEX idx_assignments_school_collector ON assignments (school_id, collector_id);
+
+DROP INDEX IF EXISTS idx_assignments_active_collector_due;
+CREATE INDEX idx_assignments_active_school_collector_due ON assignments (school_id, collector_id, return_due_date);
+
+DROP INDEX IF EXISTS idx_report_snapshots_type_created_at;
+CREATE INDEX idx_report_snapshots_school_type_created_at ON report_snapshots (school_id, report_type, created_at DESC);
@@ -0,0 +1,18 @@
+-- H2-compatible school of the usage rollups and assignment history (see postgres/V15__add_school_to_usage.sql)
+
+ALTER TABLE item_usage_daily ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignment_history ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignment_history_archive ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+UPDATE item_usage_daily u SET school_id = (SELECT i.school_id FROM items i WHERE i.id = u.item_id)
+    WHERE EXISTS (SELECT 1 FROM items i WHERE i.id = u.item_id);
+UPDATE assignment_history h SET school_id = (SELECT i.school_id FROM items i WHERE i.id = h.item_id)
+    WHERE EXISTS (SELECT 1 FROM items i WHERE i.id = h.item_id);
+UPDATE assignment_history_archive h SET school_id = (SELECT i.school_id FROM items i WHERE i.id = h.item_id)
+    WHERE EXISTS (SELECT 1 FROM items i WHERE i.id = h.item_id);
+
+ALTER TABLE item_usage_daily ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignment_history ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignment_history_archive ALTER COLUMN school_id DROP DEFAULT;
+
+CREATE INDEX idx_item_usage_daily_school_date ON item_usage_daily (school_id, usage_date);
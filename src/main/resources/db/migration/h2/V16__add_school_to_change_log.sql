@@ -0,0 +1,11 @@
+-- H2-compatible school of the change feed (see postgres/V16__add_school_to_change_log.sql)
+
+ALTER TABLE change_log ADD COLUMN school_id VARCHAR(64);
+
+UPDATE change_log c SET school_id = (SELECT e.school_id FROM items e WHERE e.id = c.entity_id) WHERE c.entity_type = 'Item';
+UPDATE change_log c SET school_id = (SELECT e.school_id FROM assignments e WHERE e.id = c.entity_id) WHERE c.entity_type = 'Assignment';
+UPDATE change_log c SET school_id = (SELECT e.school_id FROM collectors e WHERE e.id = c.entity_id) WHERE c.entity_type = 'Collector';
+UPDATE change_log c SET school_id = (SELECT a.school_id FROM reminders r JOIN assignments a ON a.id = r.assignment_id WHERE r.id = c.entity_id)
+    WHERE c.entity_type = 'Reminder';
+
+CREATE INDEX idx_change_log_school_offset ON change_log (school_id, change_offset);
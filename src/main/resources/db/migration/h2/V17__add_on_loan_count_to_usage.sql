@@ -0,0 +1,21 @@
+-- H2-compatible days on loan of the usage rollups (see postgres/V17__add_on_loan_count_to_usage.sql)
+
+ALTER TABLE item_usage_daily ADD COLUMN on_loan_count INTEGER NOT NULL DEFAULT 0;
+
+MERGE INTO item_usage_daily u USING (
+    WITH RECURSIVE loan_day (item_id, category_id, school_id, usage_date, return_date) AS (
+        SELECT item_id, category_id, school_id, assignment_date, actual_return_date FROM (
+            SELECT item_id, category_id, school_id, assignment_date, actual_return_date FROM assignment_history
+            UNION ALL
+            SELECT item_id, category_id, school_id, assignment_date, actual_return_date FROM assignment_history_archive
+        ) h WHERE assignment_date < actual_return_date
+        UNION ALL
+        SELECT item_id, category_id, school_id, DATEADD(DAY, 1, usage_date), return_date FROM loan_day
+        WHERE DATEADD(DAY, 1, usage_date) < return_date
+    )
+    SELECT item_id, MIN(category_id) AS category_id, MIN(school_id) AS school_id, usage_date, COUNT(*) AS on_loan_count
+    FROM loan_day GROUP BY item_id, usage_date
+) d ON u.item_id = d.item_id AND u.usage_date = d.usage_date
+WHEN MATCHED THEN UPDATE SET on_loan_count = d.on_loan_count
+WHEN NOT MATCHED THEN INSERT (id, item_id, category_id, school_id, usage_date, on_loan_count)
+    VALUES (CAST(RANDOM_UUID() AS VARCHAR(36)), d.item_id, d.category_id, d.school_id, d.usage_date, d.on_loan_count);
@@ -0,0 +1,6 @@
+-- H2-compatible equivalent of idx_reservations_waiting_collector (see postgres/V3__create_reservations.sql)
+-- H2 has no partial indexes: WAITING rows get the same empty string in the key, every other row its own ID
+-- (the ID is cast, as the column may have been retyped to UUID)
+ALTER TABLE reservations ADD COLUMN waiting_key VARCHAR(36) GENERATED ALWAYS AS (CASE WHEN status = 'WAITING' THEN '' ELSE CAST(id AS VARCHAR(36)) END);
+
+ALTER TABLE reservations ADD CONSTRAINT uq_reservations_waiting_collector UNIQUE (item_id, collector_id, waiting_key);
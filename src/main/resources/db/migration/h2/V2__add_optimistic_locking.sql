@@ -0,0 +1,4 @@
+-- H2-compatible optimistic locking columns (see postgres/V2__add_optimistic_locking.sql)
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- H2-compatible reservations table (see postgres/V3__create_reservations.sql)
+-- Partial indexes are not supported, so the waitlist index covers all statuses
+
+CREATE TABLE reservations (
+    id VARCHAR(36) PRIMARY KEY,
+    item_id VARCHAR(36) NOT NULL,
+    collector_id VARCHAR(36) NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'WAITING',
+    loan_days INTEGER NOT NULL DEFAULT 7,
+    assignment_id VARCHAR(36),
+    fulfilled_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_reservation_item FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    CONSTRAINT fk_reservation_collector FOREIGN KEY (collector_id) REFERENCES collectors (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_reservations_waitlist ON reservations (item_id, status, created_at);
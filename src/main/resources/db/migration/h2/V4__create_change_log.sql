@@ -0,0 +1,16 @@
+-- H2-compatible change feed tables (see postgres/V4__create_change_log.sql)
+
+CREATE TABLE change_log (
+    change_offset BIGINT PRIMARY KEY,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(36) NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE change_log_offsets (
+    id INTEGER PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+);
+
+INSERT INTO change_log_offsets (id, last_offset) VALUES (1, 0);
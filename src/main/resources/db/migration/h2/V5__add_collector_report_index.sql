@@ -0,0 +1,2 @@
+-- Supports the per-collector assignment report (H2 has no partial indexes)
+CREATE INDEX idx_assignments_active_collector_due ON assignments (collector_id, return_due_date);
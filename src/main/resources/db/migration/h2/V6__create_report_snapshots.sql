@@ -0,0 +1,10 @@
+-- H2-compatible report snapshot table (see postgres/V6__create_report_snapshots.sql)
+
+CREATE TABLE report_snapshots (
+    id VARCHAR(36) PRIMARY KEY,
+    report_type VARCHAR(50) NOT NULL,
+    payload CLOB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_report_snapshots_type_created_at ON report_snapshots (report_type, created_at DESC);
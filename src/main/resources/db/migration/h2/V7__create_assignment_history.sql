@@ -0,0 +1,30 @@
+-- H2-compatible assignment history and usage rollup tables (see postgres/V7__create_assignment_history.sql)
+
+CREATE TABLE assignment_history (
+    id VARCHAR(36) PRIMARY KEY,
+    item_id VARCHAR(36) NOT NULL,
+    category_id VARCHAR(36) NOT NULL,
+    collector_id VARCHAR(36) NOT NULL,
+    assignment_date DATE NOT NULL,
+    return_due_date DATE,
+    actual_return_date DATE NOT NULL,
+    loan_days INTEGER NOT NULL,
+    overdue BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_assignment_history_item_id ON assignment_history (item_id, actual_return_date);
+
+CREATE TABLE item_usage_daily (
+    id VARCHAR(36) PRIMARY KEY,
+    item_id VARCHAR(36) NOT NULL,
+    category_id VARCHAR(36) NOT NULL,
+    usage_date DATE NOT NULL,
+    checkout_count INTEGER NOT NULL DEFAULT 0,
+    return_count INTEGER NOT NULL DEFAULT 0,
+    loan_days BIGINT NOT NULL DEFAULT 0,
+    overdue_returns INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_item_usage_daily_item_date UNIQUE (item_id, usage_date)
+);
+
+CREATE INDEX idx_item_usage_daily_usage_date ON item_usage_daily (usage_date);
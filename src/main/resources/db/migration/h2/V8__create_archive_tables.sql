@@ -0,0 +1,34 @@
+-- H2-compatible archive tables (see postgres/V8__create_archive_tables.sql)
+-- H2 has no declarative partitioning, so the archives are plain tables indexed on the record's date
+
+CREATE TABLE assignment_history_archive (
+    id VARCHAR(36) PRIMARY KEY,
+    item_id VARCHAR(36) NOT NULL,
+    category_id VARCHAR(36) NOT NULL,
+    collector_id VARCHAR(36) NOT NULL,
+    assignment_date DATE NOT NULL,
+    return_due_date DATE,
+    actual_return_date DATE NOT NULL,
+    loan_days INTEGER NOT NULL,
+    overdue BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE reminders_archive (
+    id VARCHAR(36) PRIMARY KEY,
+    assignment_id VARCHAR(36) NOT NULL,
+    reminder_date DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    message TEXT,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_assignment_history_archive_item_id ON assignment_history_archive (item_id, actual_return_date);
+CREATE INDEX idx_reminders_archive_assignment_id ON reminders_archive (assignment_id);
+CREATE INDEX idx_assignment_history_archive_return_date ON assignment_history_archive (actual_return_date);
+CREATE INDEX idx_reminders_archive_reminder_date ON reminders_archive (reminder_date);
+
+CREATE INDEX idx_assignment_history_actual_return_date ON assignment_history (actual_return_date);
+CREATE INDEX idx_reminders_closed_reminder_date ON reminders (reminder_date, status);
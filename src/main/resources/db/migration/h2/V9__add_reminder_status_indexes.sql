@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; the (status, reminder_date) index serves both the dispatcher and the status views
+CREATE INDEX idx_reminders_status_reminder_date ON reminders (status, reminder_date);
@@ -0,0 +1,15 @@
+-- Leases coordinating scheduled jobs across application nodes.
+-- One row per unit of work, e.g. 'overdue-reminders:2024-01-10:3' for partition 3 of that day's run.
+-- A node owns a row while locked_until is in the future; a row whose owner died becomes
+-- claimable again once its lease expires, and completed_at marks work that must not be redone.
+
+CREATE TABLE scheduler_leases (
+    lease_name VARCHAR(200) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,                 -- Node ID of the current or last holder
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,       -- NULL while the work is unfinished
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Serves the failover scan for unfinished leases whose holder stopped renewing
+CREATE INDEX idx_scheduler_leases_unfinished ON scheduler_leases (locked_until) WHERE completed_at IS NULL;
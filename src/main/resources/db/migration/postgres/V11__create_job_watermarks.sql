@@ -0,0 +1,12 @@
+-- High-water marks of incremental jobs, so a run only reads what changed since the previous one.
+-- The due-reminder sweep stores the creation time and the day up to which it has dispatched reminders.
+
+CREATE TABLE job_watermarks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    watermark_at TIMESTAMP WITH TIME ZONE NOT NULL, -- Rows created up to this instant have been handled
+    watermark_date DATE NOT NULL,                   -- Rows dated up to this day have been handled
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Serves the sweep over newly created pending reminders
+CREATE INDEX idx_reminders_pending_created_at ON reminders (created_at) WHERE status = 'PENDING';
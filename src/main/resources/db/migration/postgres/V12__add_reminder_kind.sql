@@ -0,0 +1,26 @@
+-- Keys reminders by (assignment, day, kind), so generating them twice, e.g. on a retried or
+-- overlapping overdue run, creates nothing new.
+
+ALTER TABLE reminders ADD COLUMN kind VARCHAR(20) NOT NULL DEFAULT 'LEGACY'; -- 'OVERDUE', 'MANUAL' or 'LEGACY'
+
+-- Earlier rows came from the overdue job as well as from the API, and nothing tells them apart.
+-- The first of each assignment and day, preferring a sent one, takes the OVERDUE slot; the others
+-- stay LEGACY, which the key below leaves out, so no row is lost
+UPDATE reminders SET kind = 'OVERDUE' WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+            PARTITION BY assignment_id, reminder_date
+            ORDER BY CASE status WHEN 'SENT' THEN 0 ELSE 1 END, created_at DESC
+        ) AS rn
+        FROM reminders
+    ) ranked
+    WHERE rn = 1
+);
+
+ALTER TABLE reminders ALTER COLUMN kind DROP DEFAULT;
+
+-- The conflict target of the generating INSERT ... ON CONFLICT DO NOTHING; LEGACY rows are never created again
+CREATE UNIQUE INDEX uq_reminders_assignment_date_kind ON reminders (assignment_id, reminder_date, kind) WHERE kind <> 'LEGACY';
+
+-- Archived reminders cannot be told apart either
+ALTER TABLE reminders_archive ADD COLUMN kind VARCHAR(20) NOT NULL DEFAULT 'LEGACY';
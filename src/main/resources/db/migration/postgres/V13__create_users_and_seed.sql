@@ -0,0 +1,48 @@
+-- Users and roles used to be created by Hibernate (ddl-auto=update) and seeded by Setup on
+-- every boot. Creating and seeding them here lets the fastboot profile validate the schema
+-- instead of diffing it, and skip Setup. Every statement is a no-op on a database where
+-- Hibernate and Setup already did the work.
+
+CREATE TABLE IF NOT EXISTS roles (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    middle_name VARCHAR(255),
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(255) UNIQUE,
+    dob DATE NOT NULL,
+    gender VARCHAR(255),
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS user_to_roles (
+    user_id UUID NOT NULL REFERENCES users (id),
+    role_id UUID NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+INSERT INTO roles (id, name)
+SELECT gen_random_uuid(), r.name
+FROM (VALUES ('ROLE_SUPERADMIN'), ('ROLE_ADMIN'), ('ROLE_MANAGER')) AS r (name)
+WHERE NOT EXISTS (SELECT 1 FROM roles WHERE roles.name = r.name);
+
+-- The password is the BCrypt hash (strength 10, as SecurityConfig's encoder) of the superadmin
+-- password Setup used to hash at startup
+INSERT INTO users (id, first_name, middle_name, last_name, email, dob, gender, password, created_at, updated_at)
+SELECT gen_random_uuid(), 'Solomon', 'Ayofemi', 'Moses', 'solayof@gmail.com', CURRENT_DATE, 'Male',
+       '$2a$10$oSdO0PUIhsu4JB8SEknuYu4r.1f.RoovcCalj53mlQXWROvjAy1AG', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = 'solayof@gmail.com');
+
+-- Only a superadmin without any role gets the default ones, so roles changed since are kept
+INSERT INTO user_to_roles (user_id, role_id)
+SELECT u.id, r.id
+FROM users u JOIN roles r ON r.name IN ('ROLE_SUPERADMIN', 'ROLE_ADMIN')
+WHERE u.email = 'solayof@gmail.com'
+  AND NOT EXISTS (SELECT 1 FROM user_to_roles ur WHERE ur.user_id = u.id);
@@ -0,0 +1,59 @@
+-- Multi-school tenancy: the inventory aggregates, report snapshots and users belong to a school.
+-- Existing rows belong to the 'default' school. Reminders and reservations belong to the school
+-- of their assignment or item and get no column of their own.
+
+ALTER TABLE categories ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE items ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE collectors ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignments ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE report_snapshots ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE users ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- New rows always name their school
+ALTER TABLE categories ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE items ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE collectors ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignments ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE report_snapshots ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE users ALTER COLUMN school_id DROP DEFAULT;
+
+-- Names, serial numbers and emails are unique within a school rather than across all of them.
+-- The single-column constraints were created inline (or by Hibernate), so they are found by column.
+DO $$
+DECLARE
+    unique_constraint RECORD;
+BEGIN
+    FOR unique_constraint IN
+        SELECT rel.relname AS table_name, con.conname AS constraint_name
+        FROM pg_constraint con
+        JOIN pg_class rel ON rel.oid = con.conrelid
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND rel.relnamespace = current_schema()::regnamespace
+          AND (rel.relname, att.attname) IN (('categories', 'name'), ('items', 'name'), ('items', 'serial_number'), ('collectors', 'email'))
+    LOOP
+        EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', unique_constraint.table_name, unique_constraint.constraint_name);
+    END LOOP;
+END $$;
+DROP INDEX IF EXISTS idx_collectors_email;
+DROP INDEX IF EXISTS idx_items_name;
+DROP INDEX IF EXISTS idx_items_serial_number;
+
+ALTER TABLE categories ADD CONSTRAINT uq_categories_school_name UNIQUE (school_id, name);
+ALTER TABLE items ADD CONSTRAINT uq_items_school_name UNIQUE (school_id, name);
+ALTER TABLE items ADD CONSTRAINT uq_items_school_serial_number UNIQUE (school_id, serial_number);
+ALTER TABLE collectors ADD CONSTRAINT uq_collectors_school_email UNIQUE (school_id, email);
+
+-- Every query of a school filters on school_id, so the indexes it uses lead with it: a school's
+-- lookups and report scans stay within its own slice of the index. The unique constraints above
+-- also serve the name, serial number and email lookups and the per-school listings.
+CREATE INDEX idx_items_school_status ON items (school_id, status);
+CREATE INDEX idx_items_school_category ON items (school_id, category_id);
+CREATE INDEX idx_assignments_school_collector ON assignments (school_id, collector_id);
+
+DROP INDEX IF EXISTS idx_assignments_active_collector_due;
+CREATE INDEX idx_assignments_active_school_collector_due ON assignments (school_id, collector_id, return_due_date) WHERE actual_return_date IS NULL;
+
+DROP INDEX IF EXISTS idx_report_snapshots_type_created_at;
+CREATE INDEX idx_report_snapshots_school_type_created_at ON report_snapshots (school_id, report_type, created_at DESC);
@@ -0,0 +1,19 @@
+-- The usage rollups and the assignment history belong to the school of their item, so a school's
+-- analytics and item history only cover its own items. Existing rows take the school of their
+-- item; rows of items deleted since stay in the 'default' school.
+
+ALTER TABLE item_usage_daily ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignment_history ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+ALTER TABLE assignment_history_archive ADD COLUMN school_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+UPDATE item_usage_daily u SET school_id = i.school_id FROM items i WHERE i.id = u.item_id AND i.school_id <> u.school_id;
+UPDATE assignment_history h SET school_id = i.school_id FROM items i WHERE i.id = h.item_id AND i.school_id <> h.school_id;
+UPDATE assignment_history_archive h SET school_id = i.school_id FROM items i WHERE i.id = h.item_id AND i.school_id <> h.school_id;
+
+-- New rows always name their school
+ALTER TABLE item_usage_daily ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignment_history ALTER COLUMN school_id DROP DEFAULT;
+ALTER TABLE assignment_history_archive ALTER COLUMN school_id DROP DEFAULT;
+
+-- A school's usage reports scan its own slice of the rollups for the date range
+CREATE INDEX idx_item_usage_daily_school_date ON item_usage_daily (school_id, usage_date);
@@ -0,0 +1,14 @@
+-- The change feed belongs to the school of each changed entity, so a school's consumers only read
+-- its own changes. Records of entities that no longer exist cannot be placed and keep no school;
+-- only consumers across all schools read them.
+
+ALTER TABLE change_log ADD COLUMN school_id VARCHAR(64);
+
+UPDATE change_log c SET school_id = e.school_id FROM items e WHERE c.entity_type = 'Item' AND e.id = c.entity_id;
+UPDATE change_log c SET school_id = e.school_id FROM assignments e WHERE c.entity_type = 'Assignment' AND e.id = c.entity_id;
+UPDATE change_log c SET school_id = e.school_id FROM collectors e WHERE c.entity_type = 'Collector' AND e.id = c.entity_id;
+UPDATE change_log c SET school_id = a.school_id FROM reminders r JOIN assignments a ON a.id = r.assignment_id
+    WHERE c.entity_type = 'Reminder' AND r.id = c.entity_id;
+
+-- A school's consumers page through its slice of the feed in offset order
+CREATE INDEX idx_change_log_school_offset ON change_log (school_id, change_offset);
@@ -0,0 +1,17 @@
+-- Utilization counts the days an item was out, spread over the days each loan covered, instead of
+-- the whole loan on the day it came back. A returned loan counts on every day from its checkout up
+-- to the day before its return; loans still open are added from 'assignments' when queried.
+-- Existing rows are backfilled from the assignment history, archived or not.
+
+ALTER TABLE item_usage_daily ADD COLUMN on_loan_count INTEGER NOT NULL DEFAULT 0;
+
+INSERT INTO item_usage_daily (item_id, category_id, school_id, usage_date, on_loan_count)
+SELECT h.item_id, (array_agg(h.category_id))[1], (array_agg(h.school_id))[1], d.day::date, COUNT(*)
+FROM (
+    SELECT item_id, category_id, school_id, assignment_date, actual_return_date FROM assignment_history
+    UNION ALL
+    SELECT item_id, category_id, school_id, assignment_date, actual_return_date FROM assignment_history_archive
+) h
+CROSS JOIN LATERAL generate_series(h.assignment_date, h.actual_return_date - 1, INTERVAL '1 day') AS d(day)
+GROUP BY h.item_id, d.day
+ON CONFLICT (item_id, usage_date) DO UPDATE SET on_loan_count = EXCLUDED.on_loan_count;
@@ -0,0 +1,6 @@
+-- Optimistic locking for concurrent checkouts and returns.
+-- Every update of an item or assignment increments 'version'; a write based on a stale
+-- version is rejected instead of overwriting the concurrent change.
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,30 @@
+-- Per-item FIFO waitlists. When an item is returned it is handed to the oldest WAITING reservation.
+
+CREATE TABLE reservations (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(), -- UUID primary key, auto-generated
+    item_id UUID NOT NULL,                         -- Foreign Key to Items
+    collector_id UUID NOT NULL,                    -- Foreign Key to Collectors
+    status VARCHAR(50) NOT NULL DEFAULT 'WAITING', -- Status (e.g., 'WAITING', 'FULFILLED', 'CANCELLED')
+    loan_days INTEGER NOT NULL DEFAULT 7,          -- Length of the loan created by the hand-off
+    assignment_id UUID,                            -- Assignment created by the hand-off (not a FK, assignments are deleted on return)
+    fulfilled_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_reservation_item
+        FOREIGN KEY (item_id)
+        REFERENCES items (id)
+        ON DELETE CASCADE, -- Deleting an item drops its waitlist
+    CONSTRAINT fk_reservation_collector
+        FOREIGN KEY (collector_id)
+        REFERENCES collectors (id)
+        ON DELETE CASCADE
+);
+
+-- The waitlist of an item in hand-off order; only waiting rows are indexed
+CREATE INDEX idx_reservations_waitlist ON reservations (item_id, created_at) WHERE status = 'WAITING';
+-- A collector can wait for the same item only once
+CREATE UNIQUE INDEX idx_reservations_waiting_collector ON reservations (item_id, collector_id) WHERE status = 'WAITING';
+-- Apply trigger for updated_at
+CREATE TRIGGER update_reservations_updated_at
+BEFORE UPDATE ON reservations
+FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
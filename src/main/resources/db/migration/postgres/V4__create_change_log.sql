@@ -0,0 +1,18 @@
+-- Append-only change feed of items, assignments, collectors and reminders.
+-- Rows are written in the same transaction as the change they describe.
+
+CREATE TABLE change_log (
+    change_offset BIGINT PRIMARY KEY,          -- Gap-free offset in commit order
+    entity_type VARCHAR(50) NOT NULL,          -- e.g., 'Item', 'Assignment', 'Collector', 'Reminder'
+    entity_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,            -- 'INSERT', 'UPDATE' or 'DELETE'
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Single-row counter. Writers lock it until commit, so offsets are handed out in commit order.
+CREATE TABLE change_log_offsets (
+    id INTEGER PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+);
+
+INSERT INTO change_log_offsets (id, last_offset) VALUES (1, 0);
@@ -0,0 +1,3 @@
+-- Supports the per-collector assignment report: the GROUP BY over active assignments and the
+-- paginated per-collector detail lists (ordered by due date) read only this index.
+CREATE INDEX idx_assignments_active_collector_due ON assignments (collector_id, return_due_date) WHERE actual_return_date IS NULL;
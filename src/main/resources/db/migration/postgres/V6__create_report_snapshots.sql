@@ -0,0 +1,12 @@
+-- Precomputed report payloads, written by the snapshot job and on ?fresh=true.
+-- The latest row per report type is served by the report endpoints; older rows feed trend charts.
+
+CREATE TABLE report_snapshots (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    report_type VARCHAR(50) NOT NULL,          -- 'INVENTORY_LEVELS' or 'COLLECTOR_ASSIGNMENTS'
+    payload TEXT NOT NULL,                     -- The report as JSON
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Serves both the latest-snapshot lookup and the history range scan per report type
+CREATE INDEX idx_report_snapshots_type_created_at ON report_snapshots (report_type, created_at DESC);
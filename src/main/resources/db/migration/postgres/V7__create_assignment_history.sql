@@ -0,0 +1,34 @@
+-- Returned assignments are deleted from 'assignments'; a copy is kept here for analytics.
+-- References are plain IDs so history survives deleted items and collectors.
+
+CREATE TABLE assignment_history (
+    id UUID PRIMARY KEY,                       -- The ID the assignment had while it was active
+    item_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    collector_id UUID NOT NULL,
+    assignment_date DATE NOT NULL,
+    return_due_date DATE,
+    actual_return_date DATE NOT NULL,
+    loan_days INTEGER NOT NULL,                -- actual_return_date - assignment_date
+    overdue BOOLEAN NOT NULL,                  -- Returned after return_due_date
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_assignment_history_item_id ON assignment_history (item_id, actual_return_date);
+
+-- Per-item, per-day usage counters, updated in the checkout and return transactions.
+-- Operations on one item are serialized by its status, so each row has a single writer at a time.
+CREATE TABLE item_usage_daily (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    item_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    usage_date DATE NOT NULL,
+    checkout_count INTEGER NOT NULL DEFAULT 0,
+    return_count INTEGER NOT NULL DEFAULT 0,
+    loan_days BIGINT NOT NULL DEFAULT 0,       -- Total duration of the loans returned on this day
+    overdue_returns INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_item_usage_daily_item_date UNIQUE (item_id, usage_date)
+);
+
+-- Range scans for the analytics queries
+CREATE INDEX idx_item_usage_daily_usage_date ON item_usage_daily (usage_date);
@@ -0,0 +1,69 @@
+-- Cold storage for closed records. The archival job moves returned assignments and closed
+-- reminders older than the retention window out of the hot tables, so the queries the app
+-- runs all day only scan recent rows. Archive tables are range-partitioned by year on the
+-- record's date; the job creates the yearly partitions it needs with ensure_yearly_partitions.
+
+CREATE TABLE assignment_history_archive (
+    id UUID NOT NULL,
+    item_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    collector_id UUID NOT NULL,
+    assignment_date DATE NOT NULL,
+    return_due_date DATE,
+    actual_return_date DATE NOT NULL,          -- Partition key
+    loan_days INTEGER NOT NULL,
+    overdue BOOLEAN NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, actual_return_date)       -- Must include the partition key
+) PARTITION BY RANGE (actual_return_date);
+
+CREATE TABLE reminders_archive (
+    id UUID NOT NULL,
+    assignment_id UUID NOT NULL,               -- No foreign key: the assignment is usually gone
+    reminder_date DATE NOT NULL,               -- Partition key
+    status VARCHAR(50) NOT NULL,               -- 'SENT' or 'DISMISSED'
+    message TEXT,
+    sent_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id, reminder_date)
+) PARTITION BY RANGE (reminder_date);
+
+-- Catch-all partitions, so a move never fails for want of a yearly partition
+CREATE TABLE assignment_history_archive_default PARTITION OF assignment_history_archive DEFAULT;
+CREATE TABLE reminders_archive_default PARTITION OF reminders_archive DEFAULT;
+
+CREATE INDEX idx_assignment_history_archive_item_id ON assignment_history_archive (item_id, actual_return_date);
+CREATE INDEX idx_reminders_archive_assignment_id ON reminders_archive (assignment_id);
+
+-- Creates the missing yearly partitions <parent>_<year> covering first_day..last_day and returns how many.
+-- Rows that already landed in the default partition for such a year are moved into the new one.
+CREATE OR REPLACE FUNCTION ensure_yearly_partitions(parent TEXT, key_column TEXT, first_day DATE, last_day DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    y INTEGER;
+    part TEXT;
+    range_start DATE;
+    range_end DATE;
+    created INTEGER := 0;
+BEGIN
+    FOR y IN EXTRACT(YEAR FROM first_day)::INTEGER .. EXTRACT(YEAR FROM last_day)::INTEGER LOOP
+        part := parent || '_' || y;
+        CONTINUE WHEN to_regclass(part) IS NOT NULL;
+        range_start := make_date(y, 1, 1);
+        range_end := make_date(y + 1, 1, 1);
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part, parent);
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                parent || '_default', key_column, range_start, key_column, range_end, part);
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                parent, part, range_start, range_end);
+        created := created + 1;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Returned assignments are looked up by return date when archiving
+CREATE INDEX idx_assignment_history_actual_return_date ON assignment_history (actual_return_date);
+-- Closed reminders are looked up by date when archiving
+CREATE INDEX idx_reminders_closed_reminder_date ON reminders (reminder_date) WHERE status IN ('SENT', 'DISMISSED');
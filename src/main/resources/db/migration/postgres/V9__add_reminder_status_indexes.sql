@@ -0,0 +1,8 @@
+-- Reminder queries filter on status and reminder_date, which were not indexed.
+
+-- The dispatcher only ever looks for reminders still to be delivered; the partial index stays
+-- small however many sent reminders accumulate
+CREATE INDEX idx_reminders_due ON reminders (reminder_date) WHERE status IN ('PENDING', 'FAILED');
+
+-- Paged status views (/api/reminders/status/{status}), sorted by date
+CREATE INDEX idx_reminders_status_reminder_date ON reminders (status, reminder_date);
@@ -0,0 +1,69 @@
+package com.solayof.schoolinventorymanagement;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * JMH measurement of time to first request: starting the application on the in-memory H2
+ * database and signing in as the seeded superadmin, with and without the fastboot profile.
+ * Every measurement is a cold start in a fresh JVM, so there is no warmup and one invocation per
+ * fork. Not run by the test suite; run with
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     com.solayof.schoolinventorymanagement.StartupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+public class StartupBenchmark {
+    private static final String SIGN_IN = "{\"email\":\"solayof@gmail.com\",\"password\":\"solayof\"}";
+
+    @Param({"render", "render,fastboot"})
+    public String profiles;
+
+    @Benchmark
+    public int startAndSignIn() throws Exception {
+        try (ConfigurableApplicationContext context = SpringApplication.run(SchoolinventorymanagementApplication.class,
+                "--spring.profiles.active=" + profiles, "--server.port=0")) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:" + port + "/api/v1/noauth/signin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(SIGN_IN))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Sign in failed with " + response.statusCode() + ": " + response.body());
+            }
+            return response.statusCode();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for flagging network calls made inside transactions.
+ */
+class NetworkIoGuardTest {
+
+    private NetworkIoGuard networkIoGuard;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        networkIoGuard = new NetworkIoGuard();
+        ReflectionTestUtils.setField(networkIoGuard, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(networkIoGuard, "mode", "warn");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+    }
+
+    /**
+     * Tests that calls are only counted inside a transaction, tagged with the pool.
+     */
+    @Test
+    void testCheck_CountsCallsInsideTransactions() {
+        networkIoGuard.check("smtp");
+        assertNull(meterRegistry.find("sims.transactions.network.io").counter());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionName("ReminderService.sendReminder");
+        networkIoGuard.check("smtp");
+        PoolRouting.onBatchPool(() -> networkIoGuard.check("smtp")).run();
+
+        assertEquals(1.0, meterRegistry.get("sims.transactions.network.io").tags("operation", "smtp", "pool", "web").counter().count());
+        assertEquals(1.0, meterRegistry.get("sims.transactions.network.io").tags("operation", "smtp", "pool", "batch").counter().count());
+    }
+
+    /**
+     * Tests that fail mode refuses the call inside a transaction but not outside one.
+     */
+    @Test
+    void testCheck_FailModeRefusesCallsInsideTransactions() {
+        ReflectionTestUtils.setField(networkIoGuard, "mode", "fail");
+        networkIoGuard.check("smtp");
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThrows(IllegalStateException.class, () -> networkIoGuard.check("smtp"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.solayof.schoolinventorymanagement.config.PoolRouting.Pool;
+
+/**
+ * Tests for choosing the connection pool by thread.
+ */
+class PoolRoutingTest {
+
+    /**
+     * Tests that batch tasks use the batch pool, nested ones included, and that the thread goes back
+     * to the web pool afterwards.
+     */
+    @Test
+    void testOnBatchPool_RestoresPreviousPool() {
+        assertEquals(Pool.WEB, PoolRouting.current());
+
+        PoolRouting.onBatchPool(() -> {
+            assertEquals(Pool.BATCH, PoolRouting.current());
+            PoolRouting.onBatchPool(() -> assertEquals(Pool.BATCH, PoolRouting.current())).run();
+            assertEquals(Pool.BATCH, PoolRouting.current());
+        }).run();
+
+        assertEquals(Pool.WEB, PoolRouting.current());
+    }
+
+    /**
+     * Tests that the routing DataSource takes connections from the pool of the current thread.
+     */
+    @Test
+    void testRoutingDataSource_ConnectionFromCurrentPool() throws Exception {
+        DataSource web = mock(DataSource.class);
+        DataSource batch = mock(DataSource.class);
+        Connection webConnection = mock(Connection.class);
+        Connection batchConnection = mock(Connection.class);
+        when(web.getConnection()).thenReturn(webConnection);
+        when(batch.getConnection()).thenReturn(batchConnection);
+        PoolRouting.RoutingDataSource routing = new PoolRouting.RoutingDataSource();
+        routing.setTargetDataSources(Map.of(Pool.WEB, web, Pool.BATCH, batch));
+        routing.afterPropertiesSet();
+
+        assertSame(webConnection, routing.getConnection());
+        Connection[] fromBatch = new Connection[1];
+        PoolRouting.onBatchPool(() -> {
+            try {
+                fromBatch[0] = routing.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).run();
+        assertSame(batchConnection, fromBatch[0]);
+    }
+}
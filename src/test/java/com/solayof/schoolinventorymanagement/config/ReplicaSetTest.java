@@ -0,0 +1,130 @@
+package com.solayof.schoolinventorymanagement.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for routing reads to a replica, with two embedded H2 databases standing in for the
+ * primary and the replica. Each holds a row naming it, and the replica a simulated lag.
+ */
+class ReplicaSetTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaSet replicaSet;
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_status (lag_seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_status VALUES (0)");
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        replicaSet = new ReplicaSet(replicas, Duration.ofSeconds(10), "SELECT lag_seconds FROM replica_status", 60_000, meterRegistry);
+        replicaSet.check();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaSet.readOnly(primary));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaSet.close();
+    }
+
+    /**
+     * Tests that only read-only transactions of marked methods read from the replica.
+     */
+    @Test
+    void testReadOnly_MarkedReadsGoToReplica() throws Throwable {
+        assertEquals("replica", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+        assertEquals("primary", readOnly.execute(status -> whereAmI()), "Unmarked read-only transactions stay on the primary");
+        assertEquals("primary", ReplicaReads.onReplica(() -> readWrite.execute(status -> whereAmI())));
+    }
+
+    /**
+     * Tests that a replica lagging more than allowed stops serving reads until it catches up.
+     */
+    @Test
+    void testCheck_StaleReplicaFallsBackToPrimary() throws Throwable {
+        new JdbcTemplate(replica).update("UPDATE replica_status SET lag_seconds = 42");
+        replicaSet.check();
+        assertEquals("primary", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+        assertEquals(42.0, meterRegistry.get("sims.datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+        assertEquals(1.0, meterRegistry.get("sims.datasource.replica.fallbacks").counter().count());
+
+        new JdbcTemplate(replica).update("UPDATE replica_status SET lag_seconds = 0.5");
+        replicaSet.check();
+        assertEquals("replica", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+    }
+
+    /**
+     * Tests that reads fall back to the primary when the replica stops giving connections, and that
+     * the replica is left out until a check succeeds again.
+     */
+    @Test
+    void testReadOnly_UnreachableReplicaFallsBackToPrimary() throws Throwable {
+        DataSource flaky = spy(replica);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", flaky);
+        ReplicaSet flakySet = new ReplicaSet(replicas, Duration.ofSeconds(10), "", 60_000, meterRegistry);
+        flakySet.check();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(flakySet.readOnly(primary));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        doThrow(new SQLException("Connection refused")).when(flaky).getConnection();
+        assertEquals("primary", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+        verify(flaky, times(2)).getConnection(); // The check, then the failed read
+
+        doCallRealMethod().when(flaky).getConnection();
+        assertEquals("primary", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+        flakySet.check();
+        assertEquals("replica", ReplicaReads.onReplica(() -> readOnly.execute(status -> whereAmI())));
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
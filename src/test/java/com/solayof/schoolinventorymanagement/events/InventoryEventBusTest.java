@@ -0,0 +1,166 @@
+package com.solayof.schoolinventorymanagement.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.solayof.schoolinventorymanagement.constants.Status;
+
+// Unit test class for InventoryEventBus
+class InventoryEventBusTest {
+
+    private List<Runnable> queuedDrains; // Drains are run by hand to simulate a slow subscriber
+    private InventoryEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        queuedDrains = new ArrayList<>();
+        Executor manualExecutor = queuedDrains::add;
+        eventBus = new InventoryEventBus(manualExecutor, 3);
+    }
+
+    private void runDrains() {
+        while (!queuedDrains.isEmpty()) {
+            queuedDrains.remove(0).run();
+        }
+    }
+
+    private static InventoryEvent itemEvent() {
+        return InventoryEvent.itemStatusChanged(UUID.randomUUID(), "default", Status.ASSIGNED);
+    }
+
+    // Records everything delivered to one subscriber
+    private static class RecordingSink implements InventoryEventSink {
+        final List<Long> sequences = new ArrayList<>();
+        final List<InventoryEvent> events = new ArrayList<>();
+        long dropped;
+        int heartbeats;
+        boolean broken;
+
+        @Override
+        public void send(long sequence, InventoryEvent event) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            sequences.add(sequence);
+            events.add(event);
+        }
+
+        @Override
+        public void dropped(long count) {
+            dropped += count;
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+    }
+
+    @Test
+    void testEventsAreDeliveredInOrder() {
+        RecordingSink sink = new RecordingSink();
+        eventBus.subscribe(sink, Set.of(), null);
+        InventoryEvent first = itemEvent();
+        InventoryEvent second = itemEvent();
+
+        eventBus.onInventoryEvent(first);
+        eventBus.onInventoryEvent(second);
+        runDrains();
+
+        assertEquals(List.of(first, second), sink.events);
+        assertEquals(List.of(1L, 2L), sink.sequences);
+        assertEquals(0, sink.dropped);
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldestEvents() {
+        RecordingSink sink = new RecordingSink();
+        eventBus.subscribe(sink, Set.of(), null);
+        List<InventoryEvent> published = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            InventoryEvent event = itemEvent();
+            published.add(event);
+            eventBus.onInventoryEvent(event); // Never blocks, even though nothing is drained
+        }
+
+        runDrains();
+
+        assertEquals(published.subList(2, 5), sink.events); // Buffer size is 3
+        assertEquals(2, sink.dropped);
+    }
+
+    @Test
+    void testSubscriberOnlyReceivesRequestedTypes() {
+        RecordingSink sink = new RecordingSink();
+        eventBus.subscribe(sink, EnumSet.of(InventoryEventType.ASSIGNMENT_RETURNED), null);
+
+        eventBus.onInventoryEvent(itemEvent());
+        runDrains();
+
+        assertTrue(sink.events.isEmpty());
+    }
+
+    @Test
+    void testSchoolSubscriberOnlyReceivesItsSchoolsEvents() {
+        RecordingSink north = new RecordingSink();
+        RecordingSink everyone = new RecordingSink();
+        eventBus.subscribe(north, Set.of(), "north");
+        eventBus.subscribe(everyone, Set.of(), null);
+
+        InventoryEvent northEvent = InventoryEvent.itemStatusChanged(UUID.randomUUID(), "north", Status.ASSIGNED);
+        eventBus.onInventoryEvent(InventoryEvent.itemStatusChanged(UUID.randomUUID(), "south", Status.ASSIGNED));
+        eventBus.onInventoryEvent(northEvent);
+        runDrains();
+
+        assertEquals(List.of(northEvent), north.events);
+        assertEquals(2, everyone.events.size());
+    }
+
+    @Test
+    void testFailingSubscriberIsRemoved() {
+        RecordingSink broken = new RecordingSink();
+        broken.broken = true;
+        RecordingSink healthy = new RecordingSink();
+        eventBus.subscribe(broken, Set.of(), null);
+        eventBus.subscribe(healthy, Set.of(), null);
+
+        eventBus.onInventoryEvent(itemEvent());
+        runDrains();
+
+        assertEquals(1, eventBus.getSubscriberCount());
+        assertEquals(1, healthy.events.size());
+    }
+
+    @Test
+    void testCancelledSubscriptionReceivesNothing() {
+        RecordingSink sink = new RecordingSink();
+        eventBus.subscribe(sink, Set.of(), null).cancel();
+
+        eventBus.onInventoryEvent(itemEvent());
+        runDrains();
+
+        assertTrue(sink.events.isEmpty());
+        assertEquals(0, eventBus.getSubscriberCount());
+    }
+
+    @Test
+    void testHeartbeatIsSentToIdleSubscribers() {
+        RecordingSink sink = new RecordingSink();
+        eventBus.subscribe(sink, Set.of(), null);
+
+        eventBus.heartbeat();
+        runDrains();
+
+        assertEquals(1, sink.heartbeats);
+    }
+}
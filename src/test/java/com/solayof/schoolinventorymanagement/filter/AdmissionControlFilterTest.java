@@ -0,0 +1,189 @@
+package com.solayof.schoolinventorymanagement.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Tests for the admission control filter, on a controlled clock.
+ */
+class AdmissionControlFilterTest {
+
+    private AdmissionControlFilter admissionControlFilter;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionControlFilter = new AdmissionControlFilter();
+        ReflectionTestUtils.setField(admissionControlFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(admissionControlFilter, "enabled", true);
+        ReflectionTestUtils.setField(admissionControlFilter, "userPerMinute", 60);
+        ReflectionTestUtils.setField(admissionControlFilter, "userBurst", 5);
+        ReflectionTestUtils.setField(admissionControlFilter, "anonymousPerMinute", 6);
+        ReflectionTestUtils.setField(admissionControlFilter, "anonymousBurst", 2);
+        ReflectionTestUtils.setField(admissionControlFilter, "endpointPerMinute", 6); // One token every 10 seconds
+        ReflectionTestUtils.setField(admissionControlFilter, "endpointBurst", 2);
+        ReflectionTestUtils.setField(admissionControlFilter, "schoolPerMinute", 60);
+        ReflectionTestUtils.setField(admissionControlFilter, "schoolBurst", 3);
+        ReflectionTestUtils.setField(admissionControlFilter, "reportsConcurrency", 1);
+        ReflectionTestUtils.setField(admissionControlFilter, "listingsConcurrency", 1);
+        ReflectionTestUtils.setField(admissionControlFilter, "clock", (LongSupplier) now::get);
+        admissionControlFilter.afterPropertiesSet();
+        SecurityContextHolder.clearContext(); // Other tests may leave a mocked context on the thread
+        login("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+    }
+
+    /**
+     * Tests that a caller polling one endpoint gets the burst, then 429 with the time to the next
+     * token, while its other endpoints and other callers are not affected.
+     */
+    @Test
+    void testEndpointBucket_BurstThenRetryAfter() throws Exception {
+        assertEquals(200, send("GET", "/api/items/" + UUID.randomUUID()).getStatus());
+        assertEquals(200, send("GET", "/api/items/" + UUID.randomUUID()).getStatus());
+
+        MockHttpServletResponse rejected = send("GET", "/api/items/" + UUID.randomUUID()); // The same endpoint, whatever the ID
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+        assertEquals(200, send("GET", "/api/categories/" + UUID.randomUUID()).getStatus());
+        login("bob");
+        assertEquals(200, send("GET", "/api/items/" + UUID.randomUUID()).getStatus());
+
+        login("alice");
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(200, send("GET", "/api/items/" + UUID.randomUUID()).getStatus());
+        assertEquals(1.0, meterRegistry.get("sims.admission.rejected").tag("limit", "endpoint").counter().count());
+    }
+
+    /**
+     * Tests that a caller is limited across endpoints, and that requests rejected for their
+     * endpoint do not use up the caller's tokens.
+     */
+    @Test
+    void testUserBucket_AcrossEndpoints() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            send("GET", "/api/items/" + i); // 2 admitted, 2 rejected for the endpoint
+        }
+        for (String path : new String[] {"/api/categories/1", "/api/collectors/1", "/api/reservations/1"}) {
+            assertEquals(200, send("GET", path).getStatus());
+        }
+
+        MockHttpServletResponse rejected = send("GET", "/api/assignments/1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("sims.admission.rejected").tag("limit", "user").counter().count());
+    }
+
+    /**
+     * Tests that a school is limited across its users in multi-school mode.
+     */
+    @Test
+    void testSchoolBucket_AcrossUsers() throws Exception {
+        TenantContext.set("north");
+        for (String user : new String[] {"alice", "bob", "carol"}) {
+            login(user);
+            assertEquals(200, send("GET", "/api/items/1").getStatus());
+        }
+        login("dave");
+        assertEquals(429, send("GET", "/api/items/1").getStatus());
+
+        TenantContext.set("south");
+        assertEquals(200, send("GET", "/api/items/1").getStatus());
+        assertEquals(1.0, meterRegistry.get("sims.admission.rejected").tag("limit", "school").counter().count());
+    }
+
+    /**
+     * Tests that only the allowed number of reports run at once, and that the slot is freed when
+     * the request completes.
+     */
+    @Test
+    void testConcurrency_ReportsRunOneAtATime() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        FilterChain runningReport = (request, response) -> {
+            assertEquals(1.0, meterRegistry.get("sims.admission.in.flight").tag("group", "reports").gauge().value());
+            login("bob");
+            nested[0] = send("GET", "/api/reports/inventory-levels");
+            nested[1] = send("GET", "/api/items"); // Listings have their own limit
+        };
+
+        MockHttpServletRequest request = request("GET", "/api/reports/collector-assignments");
+        admissionControlFilter.doFilter(request, new MockHttpServletResponse(), runningReport);
+
+        assertEquals(429, nested[0].getStatus());
+        assertEquals(200, nested[1].getStatus());
+        assertEquals(0.0, meterRegistry.get("sims.admission.in.flight").tag("group", "reports").gauge().value());
+        assertEquals(200, send("GET", "/api/reports/inventory-levels").getStatus());
+        assertEquals(1.0, meterRegistry.get("sims.admission.rejected").tag("limit", "concurrency").counter().count());
+    }
+
+    /**
+     * Tests that callers are told apart by address before they log in, with limits separate from
+     * those of logged-in users, and that only API requests are limited.
+     */
+    @Test
+    void testAnonymousCallers_ByAddress() throws Exception {
+        SecurityContextHolder.clearContext();
+        send("POST", "/api/v1/noauth/login");
+        send("POST", "/api/v1/noauth/login");
+        assertEquals(429, send("POST", "/api/v1/noauth/login").getStatus());
+
+        MockHttpServletRequest otherClient = request("POST", "/api/v1/noauth/login");
+        otherClient.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        admissionControlFilter.doFilter(otherClient, response, mock(FilterChain.class));
+        assertEquals(200, response.getStatus());
+        login("alice");
+        assertEquals(200, send("GET", "/api/items/1").getStatus());
+        assertEquals(1.0, meterRegistry.get("sims.admission.rejected").tag("limit", "anonymous").counter().count());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send("GET", "/actuator/health").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String path) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        admissionControlFilter.doFilter(request(method, path), response, mock(FilterChain.class));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,78 @@
+package com.solayof.schoolinventorymanagement.modelAssembler;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.solayof.schoolinventorymanagement.restControllers.ItemController;
+
+/**
+ * JMH comparison of the per-entity link cost in ItemModelAssembler: linkTo(methodOn(...)) against
+ * LinkTemplateCache, for the same self and createItem links. Not run by the test suite; run with
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     com.solayof.schoolinventorymanagement.modelAssembler.LinkAssemblyBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkAssemblyBenchmark {
+
+    private final LinkTemplateCache linkTemplates = new LinkTemplateCache();
+    private UUID itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemId = UUID.randomUUID();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/items")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void linkToMethodOn(Blackhole blackhole) {
+        blackhole.consume(linkTo(methodOn(ItemController.class).getOne(itemId, null)).withSelfRel());
+        blackhole.consume(linkTo(methodOn(ItemController.class).createItem(null)).withRel("createItem"));
+    }
+
+    @Benchmark
+    public void linkTemplateCache(Blackhole blackhole) {
+        blackhole.consume(linkTemplates.link(ItemController.class, "getOne", itemId).withSelfRel());
+        blackhole.consume(linkTemplates.link(ItemController.class, "createItem").withRel("createItem"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LinkAssemblyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.solayof.schoolinventorymanagement.modelAssembler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.solayof.schoolinventorymanagement.restControllers.ItemController;
+import com.solayof.schoolinventorymanagement.restControllers.ReservationController;
+
+/**
+ * Unit tests for LinkTemplateCache: cached links must be identical to the ones built by linkTo(methodOn(...)).
+ */
+class LinkTemplateCacheTest {
+
+    private final LinkTemplateCache linkTemplates = new LinkTemplateCache();
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.setServerName("inventory.school.test");
+        request.setServerPort(8443);
+        request.setScheme("https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Tests that a link with a path variable matches linkTo, including the request's base URI.
+     */
+    @Test
+    void testLink_MatchesLinkToWithPathVariable() {
+        UUID id = UUID.randomUUID();
+
+        assertSameLink(linkTo(methodOn(ItemController.class).getOne(id, null)).withSelfRel(),
+                linkTemplates.link(ItemController.class, "getOne", id).withSelfRel());
+        assertEquals("https://inventory.school.test:8443/api/items/" + id,
+                linkTemplates.link(ItemController.class, "getOne", id).getHref());
+    }
+
+    /**
+     * Tests links without path variables and with a variable in the middle of a nested mapping.
+     */
+    @Test
+    void testLink_MatchesLinkToForCollectionAndNestedMappings() {
+        UUID itemId = UUID.randomUUID();
+
+        assertSameLink(linkTo(methodOn(ItemController.class).createItem(null)).withRel("createItem"),
+                linkTemplates.link(ItemController.class, "createItem").withRel("createItem"));
+        assertSameLink(linkTo(methodOn(ReservationController.class).getWaitlist(itemId)).withRel("waitlist"),
+                linkTemplates.link(ReservationController.class, "getWaitlist", itemId).withRel("waitlist"));
+    }
+
+    /**
+     * Tests that links built outside a request are relative to the servlet mapping.
+     */
+    @Test
+    void testLink_OutsideRequest_IsRelative() {
+        RequestContextHolder.resetRequestAttributes();
+        UUID id = UUID.randomUUID();
+
+        assertEquals("/api/items/" + id, linkTemplates.link(ItemController.class, "getOne", id).getHref());
+    }
+
+    /**
+     * Tests that a wrong number of path variables is rejected instead of producing a broken link.
+     */
+    @Test
+    void testLink_WrongVariableCount_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> linkTemplates.link(ItemController.class, "getOne"));
+    }
+
+    /**
+     * Tests that unknown handler methods are rejected.
+     */
+    @Test
+    void testLink_UnknownMethod_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> linkTemplates.link(ItemController.class, "noSuchHandler"));
+    }
+
+    // linkTo also attaches affordances, which only HAL-FORMS renders; compare what HAL serializes
+    private static void assertSameLink(Link expected, Link actual) {
+        assertEquals(expected.getHref(), actual.getHref());
+        assertEquals(expected.getRel(), actual.getRel());
+        assertFalse(actual.isTemplated());
+    }
+}
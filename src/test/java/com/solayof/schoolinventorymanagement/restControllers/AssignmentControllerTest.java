@@ -8,6 +8,7 @@ import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.CheckoutConflictException;
 import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssembler;
 import com.solayof.schoolinventorymanagement.services.AssignmentService;
 import com.solayof.schoolinventorymanagement.services.CollectorService;
@@ -129,9 +130,8 @@ class AssignmentControllerTest {
     @Test
     void createAssignment_shouldReturnCreated() throws Exception {
         // Mock service calls
-        when(collectorService.findByCollectorId(collectorId)).thenReturn(collector);
-        when(itemService.findByItemId(itemId)).thenReturn(item);
-        when(assignmentService.saveAssignment(any(Assignment.class))).thenReturn(assignment);
+        when(assignmentService.checkout(itemId, collectorId, assignmentDTO.getAssignmentDate(), assignmentDTO.getReturnDueDate()))
+                .thenReturn(assignment);
         when(assembler.toModel(any(Assignment.class))).thenReturn(assignmentEntityModel);
 
         // Perform POST request and verify response
@@ -143,6 +143,36 @@ class AssignmentControllerTest {
                 .andExpect(jsonPath("$.itemId", is(assignmentDTO.getItemId().toString())));
     }
 
+    /**
+     * Test for the createAssignment endpoint when the item is no longer available.
+     * Verifies that losing a checkout race is reported as a 400 instead of a server error.
+     */
+    @Test
+    void createAssignment_whenItemNotAvailable_shouldReturnBadRequest() throws Exception {
+        when(assignmentService.checkout(any(UUID.class), any(UUID.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new IllegalArgumentException("Item with name 'Laptop' is not available for assignment."));
+
+        mockMvc.perform(post("/api/assignments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(assignmentDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test for the createAssignment endpoint when every checkout attempt conflicted.
+     * Verifies that it returns an HTTP 409 Conflict status.
+     */
+    @Test
+    void createAssignment_whenCheckoutConflicts_shouldReturnConflict() throws Exception {
+        when(assignmentService.checkout(any(UUID.class), any(UUID.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new CheckoutConflictException("Could not check out item"));
+
+        mockMvc.perform(post("/api/assignments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(assignmentDTO)))
+                .andExpect(status().isConflict());
+    }
+
     /**
      * Test for the getOne endpoint (GET /api/assignments/{id}).
      * Verifies that a single assignment can be fetched by its ID.
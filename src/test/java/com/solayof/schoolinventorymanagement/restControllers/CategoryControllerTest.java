@@ -1,6 +1,7 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
 import com.solayof.schoolinventorymanagement.config.TestSecurityConfig;
 import com.solayof.schoolinventorymanagement.dtos.CategoryDto;
 import com.solayof.schoolinventorymanagement.dtos.ItemDTO;
@@ -10,9 +11,11 @@ import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.modelAssembler.CategoryModelAssembler;
 import com.solayof.schoolinventorymanagement.modelAssembler.ItemModelAssembler;
 import com.solayof.schoolinventorymanagement.services.CategoryService;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 import com.solayof.schoolinventorymanagement.services.JwtService;
 import com.solayof.schoolinventorymanagement.services.UserService;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,8 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -97,8 +102,13 @@ class CategoryControllerTest {
 
         // Create a HATEOAS EntityModel for the CategoryDto
         categoryEntityModel = EntityModel.of(categoryDto,
-                linkTo(methodOn(CategoryController.class).getOne(categoryId)).withSelfRel(),
-                linkTo(methodOn(CategoryController.class).getAll()).withRel("categories"));
+                linkTo(methodOn(CategoryController.class).getOne(categoryId, null)).withSelfRel(),
+                linkTo(methodOn(CategoryController.class).getAll(null)).withRel("categories"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
     }
 
     /**
@@ -146,16 +156,38 @@ class CategoryControllerTest {
     void getAll_shouldReturnAllCategories() throws Exception {
         // --- Arrange ---
         List<Category> categories = Collections.singletonList(category);
+        when(categoryService.getCategoriesETag()).thenReturn("\"1-1700000000.0\"");
         when(categoryService.findAllCategories()).thenReturn(categories);
         when(assembler.toModel(any(Category.class))).thenReturn(categoryEntityModel);
 
         // --- Act & Assert ---
         mockMvc.perform(get("/api/categories"))
                 .andExpect(status().isOk()) // Expect HTTP 200 OK
+                .andExpect(header().string("ETag", "\"1-1700000000.0\""))
+                .andExpect(header().string("Cache-Control", "max-age=60, public"))
                 .andExpect(jsonPath("$._embedded.categoryDtoList", hasSize(1))) // Check if the list contains one item
                 .andExpect(jsonPath("$._embedded.categoryDtoList[0].name", is("Electronics")));
     }
 
+    /**
+     * Test for the getAll endpoint when the request is scoped to a school.
+     * The response holds only that school's categories, so shared caches must not store it.
+     */
+    @Test
+    void getAll_whenScopedToSchool_shouldBePrivateAndVaryByAuthorization() throws Exception {
+        // --- Arrange ---
+        when(categoryService.getCategoriesETag()).thenReturn("\"1-1700000000.0\"");
+        when(categoryService.findAllCategories()).thenReturn(Collections.singletonList(category));
+        when(assembler.toModel(any(Category.class))).thenReturn(categoryEntityModel);
+        TenantContext.set("north");
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk()) // Expect HTTP 200 OK
+                .andExpect(header().string("Cache-Control", "max-age=60, private"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept, Authorization")));
+    }
+
     /**
      * Test for the updateCategory endpoint (PUT /api/categories/{id}).
      * It verifies that an existing category can be updated.
@@ -241,5 +273,56 @@ class CategoryControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._embedded.categoryDtoList[0].name", is("Electronics")));
     }
-}
 
+    /**
+     * Test for the getAll endpoint with a current collection ETag in If-None-Match.
+     * Verifies that 304 is returned without loading the categories.
+     */
+    @Test
+    void getAll_whenETagMatches_shouldReturnNotModified() throws Exception {
+        // --- Arrange ---
+        when(categoryService.getCategoriesETag()).thenReturn("\"1-1700000000.0\"");
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/categories").header("If-None-Match", "\"1-1700000000.0\""))
+                .andExpect(status().isNotModified()) // Expect HTTP 304
+                .andExpect(header().string("ETag", "\"1-1700000000.0\""));
+        verify(categoryService, never()).findAllCategories();
+    }
+
+    /**
+     * Test for the getAll endpoint with the lean media type in Accept.
+     * Verifies that plain DTOs are returned under an ETag distinct from the HAL representation.
+     */
+    @Test
+    void getAll_withLeanAccept_shouldReturnPlainDtos() throws Exception {
+        // --- Arrange ---
+        when(categoryService.getCategoriesETag()).thenReturn("\"1-1700000000.0\"");
+        when(categoryService.findAllCategories()).thenReturn(Collections.singletonList(category));
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/categories").accept(MediaTypes.LEAN_JSON))
+                .andExpect(status().isOk()) // Expect HTTP 200 OK
+                .andExpect(header().string("ETag", "\"1-1700000000.0-lean\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Electronics")))
+                .andExpect(jsonPath("$.links.category", endsWith("/api/categories/{id}")));
+        verify(assembler, never()).toModel(any(Category.class));
+    }
+
+    /**
+     * Test for the lean getAll endpoint when If-None-Match holds the HAL ETag.
+     * The representations differ, so the HAL ETag must not validate the lean one.
+     */
+    @Test
+    void getAll_withLeanAcceptAndHalETag_shouldReturnOk() throws Exception {
+        // --- Arrange ---
+        when(categoryService.getCategoriesETag()).thenReturn("\"1-1700000000.0\"");
+        when(categoryService.findAllCategories()).thenReturn(Collections.singletonList(category));
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/categories").accept(MediaTypes.LEAN_JSON).header("If-None-Match", "\"1-1700000000.0\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,88 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.dtos.ChangeFeedDTO;
+import com.solayof.schoolinventorymanagement.dtos.ChangeRecordDTO;
+import com.solayof.schoolinventorymanagement.services.ChangeLogService;
+import com.solayof.schoolinventorymanagement.services.JwtService;
+import com.solayof.schoolinventorymanagement.services.UserService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the ChangeFeedController.
+ * This class tests the change feed endpoint using MockMvc.
+ */
+@WebMvcTest(ChangeFeedController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Main entry point for server-side Spring MVC test support
+
+    @MockBean
+    private ChangeLogService changeLogService; // Mock service for reading the change feed
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    /**
+     * Test for the getChanges endpoint (GET /api/changes).
+     */
+    @Test
+    void getChanges_shouldReturnChangesAfterOffset() throws Exception {
+        ChangeRecordDTO change = new ChangeRecordDTO();
+        change.setOffset(43);
+        change.setEntityType("Item");
+        change.setEntityId(UUID.randomUUID());
+        change.setOperation(ChangeOperation.UPDATE);
+        when(changeLogService.getChanges(42, 10)).thenReturn(new ChangeFeedDTO(List.of(change), 43, false));
+
+        mockMvc.perform(get("/api/changes").param("since", "42").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].offset", is(43)))
+                .andExpect(jsonPath("$.changes[0].operation", is("UPDATE")))
+                .andExpect(jsonPath("$.nextOffset", is(43)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    /**
+     * Test for the getChanges endpoint with default parameters.
+     */
+    @Test
+    void getChanges_withoutParameters_shouldStartFromTheBeginning() throws Exception {
+        when(changeLogService.getChanges(0, 100)).thenReturn(new ChangeFeedDTO(List.of(), 0, false));
+
+        mockMvc.perform(get("/api/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(0)));
+    }
+
+    /**
+     * Test for the getChanges endpoint with an invalid limit.
+     */
+    @Test
+    void getChanges_withInvalidLimit_shouldReturnBadRequest() throws Exception {
+        when(changeLogService.getChanges(0, 5000)).thenThrow(new IllegalArgumentException("Limit must be between 1 and 1000."));
+
+        mockMvc.perform(get("/api/changes").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -8,6 +8,7 @@ import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
 import com.solayof.schoolinventorymanagement.modelAssembler.CollectorModelAssembler;
 import com.solayof.schoolinventorymanagement.services.CollectorService;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 import com.solayof.schoolinventorymanagement.services.JwtService;
 import com.solayof.schoolinventorymanagement.services.UserService;
 
@@ -21,6 +22,7 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -28,10 +30,13 @@ import java.util.UUID;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -88,7 +93,7 @@ class CollectorControllerTest {
 
         // Sample HATEOAS EntityModel for the CollectorDTO
         collectorEntityModel = EntityModel.of(collectorDto,
-                linkTo(methodOn(CollectorController.class).getOne(collectorId)).withSelfRel(),
+                linkTo(methodOn(CollectorController.class).getOne(collectorId, null)).withSelfRel(),
                 linkTo(methodOn(CollectorController.class).getAll()).withRel("collectors"));
     }
 
@@ -119,16 +124,55 @@ class CollectorControllerTest {
     @Test
     void getOne_shouldReturnCollector() throws Exception {
         // --- Arrange ---
+        when(collectorService.getCollectorETag(collectorId)).thenReturn("\"1700000000.5\"");
         when(collectorService.findByCollectorId(collectorId)).thenReturn(collector);
         when(assembler.toModel(collector)).thenReturn(collectorEntityModel);
 
         // --- Act & Assert ---
         mockMvc.perform(get("/api/collectors/{collectorId}", collectorId))
                 .andExpect(status().isOk()) // Expect HTTP 200
+                .andExpect(header().string("ETag", "\"1700000000.5\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private")) // Personal data stays out of shared caches
                 .andExpect(jsonPath("$.name", is(collector.getName())))
                 .andExpect(jsonPath("$._links.self.href", endsWith("/api/collectors/" + collectorId)));
     }
 
+    /**
+     * Test for the getOne endpoint with a current ETag in If-None-Match.
+     * Verifies that 304 is returned without loading the collector.
+     */
+    @Test
+    void getOne_whenETagMatches_shouldReturnNotModified() throws Exception {
+        // --- Arrange ---
+        when(collectorService.getCollectorETag(collectorId)).thenReturn("\"1700000000.5\"");
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/collectors/{collectorId}", collectorId).header("If-None-Match", "\"1700000000.5\""))
+                .andExpect(status().isNotModified()); // Expect HTTP 304
+        verify(collectorService, never()).findByCollectorId(collectorId);
+    }
+
+    /**
+     * Test for the getAll endpoint with the lean media type in Accept.
+     * Verifies that plain DTOs are returned with collection-level links only and without the assembler.
+     */
+    @Test
+    void getAll_withLeanAccept_shouldReturnPlainDtos() throws Exception {
+        // --- Arrange ---
+        collector.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        collector.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        when(collectorService.findAll()).thenReturn(Collections.singletonList(collector));
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/collectors").accept(MediaTypes.LEAN_JSON))
+                .andExpect(status().isOk()) // Expect HTTP 200
+                .andExpect(header().string("Content-Type", MediaTypes.LEAN_JSON_VALUE))
+                .andExpect(jsonPath("$.content[0].email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.content[0]._links").doesNotExist()) // No per-row links
+                .andExpect(jsonPath("$.links.collector", endsWith("/api/collectors/{id}")));
+        verify(assembler, never()).toModel(any(Collector.class));
+    }
+
     /**
      * Test for the getAll endpoint (GET /collectors).
      * Verifies retrieval of all collectors.
@@ -0,0 +1,83 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.events.InventoryEventBus;
+import com.solayof.schoolinventorymanagement.events.InventoryEventSink;
+import com.solayof.schoolinventorymanagement.events.InventoryEventType;
+import com.solayof.schoolinventorymanagement.services.JwtService;
+import com.solayof.schoolinventorymanagement.services.UserService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for the EventStreamController.
+ * This class tests the Server-Sent Events endpoint using MockMvc.
+ */
+@WebMvcTest(EventStreamController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class EventStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Main entry point for server-side Spring MVC test support
+
+    @MockBean
+    private InventoryEventBus eventBus; // Mock bus so the test controls what is delivered
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    /**
+     * Test for the streamEvents endpoint (GET /api/events).
+     * Verifies that the stream is opened asynchronously and events are written in SSE format.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamEvents_shouldSubscribeAndWriteEvents() throws Exception {
+        when(eventBus.subscribe(any(InventoryEventSink.class), any(Set.class), isNull()))
+                .thenReturn(mock(InventoryEventBus.Subscription.class));
+
+        MvcResult result = mockMvc.perform(get("/api/events")
+                        .param("types", "ASSIGNMENT_CREATED")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ArgumentCaptor<InventoryEventSink> sink = ArgumentCaptor.forClass(InventoryEventSink.class);
+        verify(eventBus).subscribe(sink.capture(), eq(Set.of(InventoryEventType.ASSIGNMENT_CREATED)), isNull()); // No school outside multi-school mode
+        UUID assignmentId = UUID.randomUUID();
+        sink.getValue().send(7, new InventoryEvent(InventoryEventType.ASSIGNMENT_CREATED, assignmentId, null, null, null, null));
+        sink.getValue().dropped(2);
+
+        String body = result.getResponse().getContentAsString();
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, result.getResponse().getContentType());
+        assertThat(body, containsString("id:7\nevent:ASSIGNMENT_CREATED\ndata:"));
+        assertThat(body, containsString(assignmentId.toString()));
+        assertThat(body, containsString("event:dropped\ndata:2"));
+    }
+}
@@ -11,6 +11,7 @@ import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssem
 import com.solayof.schoolinventorymanagement.modelAssembler.ItemModelAssembler;
 import com.solayof.schoolinventorymanagement.services.CategoryService;
 import com.solayof.schoolinventorymanagement.services.ItemService;
+import com.solayof.schoolinventorymanagement.utils.MediaTypes;
 import com.solayof.schoolinventorymanagement.services.JwtService;
 import com.solayof.schoolinventorymanagement.services.UserService;
 
@@ -29,13 +30,17 @@ import java.util.Collections;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -113,7 +118,7 @@ class ItemControllerTest {
 
         // Sample HATEOAS EntityModel for the ItemDTO
         itemEntityModel = EntityModel.of(itemDto,
-                linkTo(methodOn(ItemController.class).getOne(itemId)).withSelfRel(),
+                linkTo(methodOn(ItemController.class).getOne(itemId, null)).withSelfRel(),
                 linkTo(methodOn(ItemController.class).getAll()).withRel("items"));
     }
 
@@ -148,16 +153,35 @@ class ItemControllerTest {
     @Test
     void getOne_shouldReturnItem() throws Exception {
         // --- Arrange ---
+        when(itemService.getItemETag(itemId)).thenReturn("\"3\"");
         when(itemService.findByItemId(itemId)).thenReturn(item);
         when(assembler.toModel(item)).thenReturn(itemEntityModel);
 
         // --- Act & Assert ---
         mockMvc.perform(get("/api/items/{id}", itemId))
                 .andExpect(status().isOk()) // Expect HTTP 200
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
                 .andExpect(jsonPath("$.name", is(item.getName())))
                 .andExpect(jsonPath("$._links.self.href", endsWith("/api/items/" + itemId)));
     }
 
+    /**
+     * Test for the getOne endpoint with a current ETag in If-None-Match.
+     * Verifies that 304 is returned without loading the item.
+     */
+    @Test
+    void getOne_whenETagMatches_shouldReturnNotModified() throws Exception {
+        // --- Arrange ---
+        when(itemService.getItemETag(itemId)).thenReturn("\"3\"");
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/items/{id}", itemId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified()) // Expect HTTP 304
+                .andExpect(header().string("ETag", "\"3\""));
+        verify(itemService, never()).findByItemId(itemId);
+    }
+
     /**
      * Test for the getAll endpoint (GET /items).
      * Verifies that a list of all items is returned.
@@ -174,6 +198,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$._embedded.itemDTOList[0].name", is(item.getName())));
     }
 
+    /**
+     * Test for the getAll endpoint with the lean media type in Accept.
+     * Verifies that plain DTOs are returned with collection-level links only and without the assembler.
+     */
+    @Test
+    void getAll_withLeanAccept_shouldReturnPlainDtos() throws Exception {
+        // --- Arrange ---
+        when(itemService.findAllItems()).thenReturn(Collections.singletonList(item));
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/items").accept(MediaTypes.LEAN_JSON))
+                .andExpect(status().isOk()) // Expect HTTP 200
+                .andExpect(header().string("Content-Type", MediaTypes.LEAN_JSON_VALUE))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(jsonPath("$.content[0].name", is(item.getName())))
+                .andExpect(jsonPath("$.content[0]._links").doesNotExist()) // No per-row links
+                .andExpect(jsonPath("$.links.self", endsWith("/api/items")))
+                .andExpect(jsonPath("$.links.item", endsWith("/api/items/{id}")));
+        verify(assembler, never()).toModel(any(Item.class));
+    }
+
     /**
      * Test for the updateItem endpoint (PUT /api/items/{id}).
      * Verifies that an existing item can be successfully updated.
@@ -1,15 +1,20 @@
 package com.solayof.schoolinventorymanagement.restControllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.dtos.ReminderDTO;
 import com.solayof.schoolinventorymanagement.dtos.UpdateReminderDTO;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.exceptions.DuplicateReminderException;
+import com.solayof.schoolinventorymanagement.exceptions.RateLimitExceededException;
 import com.solayof.schoolinventorymanagement.exceptions.ReminderNotFoundException;
 import com.solayof.schoolinventorymanagement.modelAssembler.ReminderModelAssembler;
 import com.solayof.schoolinventorymanagement.services.AssignmentService;
 import com.solayof.schoolinventorymanagement.services.JwtService;
+import com.solayof.schoolinventorymanagement.services.ReminderRateLimiter;
 import com.solayof.schoolinventorymanagement.services.ReminderService;
 import com.solayof.schoolinventorymanagement.services.UserService;
 
@@ -19,11 +24,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.hateoas.CollectionModel;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.UUID;
@@ -31,11 +40,16 @@ import java.util.UUID;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -59,6 +73,9 @@ class ReminderControllerTest {
     @MockBean
     private AssignmentService assignmentService; // Mock service for assignment operations
 
+    @MockBean
+    private ReminderRateLimiter reminderRateLimiter; // Mock rate limiter for manual sends
+
     @Autowired
     private ObjectMapper objectMapper; // ObjectMapper for JSON conversion
 
@@ -86,6 +103,7 @@ class ReminderControllerTest {
         // Initialize an Assignment object for testing
         assignment = new Assignment();
         assignment.setId(assignmentId);
+        assignment.setCollector(new Collector("Alice", "0800000001", "alice@school.test"));
 
         // Initialize a Reminder object for testing
         reminder = new Reminder();
@@ -105,7 +123,7 @@ class ReminderControllerTest {
         // Initialize an EntityModel for ReminderDTO
         reminderEntityModel = EntityModel.of(reminderDTO,
                 linkTo(methodOn(ReminderController.class).getOne(reminderId)).withSelfRel(),
-                linkTo(methodOn(ReminderController.class).getByStatus(ReminderStatus.PENDING)).withRel("reminders"));
+                linkTo(methodOn(ReminderController.class).getByStatus(ReminderStatus.PENDING, null, null)).withRel("reminders"));
     }
 
     /**
@@ -145,20 +163,41 @@ class ReminderControllerTest {
                 .andExpect(jsonPath("$.status", is(reminderDTO.getStatus().toString())));
     }
 
+    /**
+     * Test for creating a second manual reminder for the same assignment and date.
+     * @throws Exception if the test fails
+     */
+    @Test
+    void createReminder_whenDuplicate_shouldReturnConflict() throws Exception {
+        when(assignmentService.findByAssignmentId(assignmentId)).thenReturn(assignment);
+        when(reminderService.existsReminder(assignmentId, reminderDTO.getReminderDate(), ReminderKind.MANUAL)).thenReturn(true);
+
+        mockMvc.perform(post("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reminderDTO)))
+                .andExpect(status().isConflict());
+        verify(reminderService, never()).saveReminder(any(Reminder.class));
+    }
+
     /**
      * Test for retrieving reminders by status.
      * @throws Exception if the test fails
      */
     @Test
     void getByStatus_shouldReturnReminders() throws Exception {
-        // Mock the service call to return a list of reminders
-        when(reminderService.findByStatus(ReminderStatus.PENDING)).thenReturn(Collections.singletonList(reminder));
-        when(reminderModelAssembler.toCollectionModel(any())).thenReturn(CollectionModel.of(Collections.singletonList(reminderEntityModel)));
+        // Mock the service call to return one page of reminders
+        Pageable pageable = PageRequest.of(2, 5, Sort.by("reminderDate"));
+        when(reminderService.findByStatus(eq(ReminderStatus.PENDING), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(reminder), pageable, 11));
+        when(reminderModelAssembler.toModel(reminder)).thenReturn(reminderEntityModel);
 
         // Perform the GET request and verify the response
-        mockMvc.perform(get("/api/reminders/status/{status}", ReminderStatus.PENDING))
+        mockMvc.perform(get("/api/reminders/status/{status}", ReminderStatus.PENDING).param("page", "2").param("size", "5"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$._embedded.reminderDTOList[0].status", is(ReminderStatus.PENDING.toString())));
+                .andExpect(jsonPath("$._embedded.reminderDTOList[0].status", is(ReminderStatus.PENDING.toString())))
+                .andExpect(jsonPath("$.page.totalElements", is(11)))
+                .andExpect(jsonPath("$.page.number", is(2)));
+        verify(reminderService).findByStatus(ReminderStatus.PENDING, pageable);
     }
 
     /**
@@ -232,19 +271,58 @@ class ReminderControllerTest {
 
     /**
      * Test for manually sending a reminder.
+     * Verifies that the reminder is saved and queued, and that 202 points at the reminder.
      * @throws Exception if the test fails
      */
     @Test
-    void manuallySendReminder_shouldReturnReminder() throws Exception {
+    void manuallySendReminder_shouldQueueReminderAndReturnLocation() throws Exception {
         // Mock the service calls
         when(assignmentService.findByAssignmentId(assignmentId)).thenReturn(assignment);
-        when(reminderService.saveReminder(any(Reminder.class))).thenReturn(reminder);
-        when(reminderService.sendReminder(reminderId)).thenReturn(reminder);
+        when(reminderService.prepareManualReminder(assignment, "Manual reminder message")).thenReturn(reminder);
+        when(reminderModelAssembler.toModel(reminder)).thenReturn(reminderEntityModel);
 
         // Perform the POST request and verify the response
         mockMvc.perform(post("/api/reminders/manual-send/{assignmentId}", assignmentId)
                         .param("message", "Manual reminder message"))
-                .andExpect(status().isOk());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/reminders/" + reminderId)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+        verify(reminderService).enqueueSend(reminderId);
+        verify(reminderService, never()).sendReminder(any(UUID.class));
+    }
+
+    /**
+     * Test for manually sending a reminder again after today's was sent.
+     * Verifies the 409 response, and that nothing is queued.
+     * @throws Exception if the test fails
+     */
+    @Test
+    void manuallySendReminder_whenAlreadySent_shouldReturnConflict() throws Exception {
+        when(assignmentService.findByAssignmentId(assignmentId)).thenReturn(assignment);
+        when(reminderService.prepareManualReminder(assignment, null))
+                .thenThrow(new DuplicateReminderException("The manual reminder for assignment " + assignmentId + " was already sent today"));
+
+        mockMvc.perform(post("/api/reminders/manual-send/{assignmentId}", assignmentId))
+                .andExpect(status().isConflict());
+        verify(reminderService, never()).enqueueSend(any(UUID.class));
+    }
+
+    /**
+     * Test for manually sending a reminder when the caller or recipient is over the limit.
+     * Verifies the 429 response with Retry-After, and that nothing is saved or sent.
+     * @throws Exception if the test fails
+     */
+    @Test
+    void manuallySendReminder_whenRateLimited_shouldReturnTooManyRequests() throws Exception {
+        when(assignmentService.findByAssignmentId(assignmentId)).thenReturn(assignment);
+        doThrow(new RateLimitExceededException("Too many reminders sent to alice@school.test.", Duration.ofMillis(1500)))
+                .when(reminderRateLimiter).acquire(any(), eq("alice@school.test"));
+
+        mockMvc.perform(post("/api/reminders/manual-send/{assignmentId}", assignmentId))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+        verify(reminderService, never()).prepareManualReminder(any(Assignment.class), any());
+        verify(reminderService, never()).sendReminder(any(UUID.class));
     }
 
     /**
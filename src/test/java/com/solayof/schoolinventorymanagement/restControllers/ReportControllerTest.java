@@ -0,0 +1,221 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.AssignmentDTO;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentSummaryDTO;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.ItemUsageDTO;
+import com.solayof.schoolinventorymanagement.dtos.ReportSnapshotDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
+import com.solayof.schoolinventorymanagement.modelAssembler.AssignmentModelAssembler;
+import com.solayof.schoolinventorymanagement.services.JwtService;
+import com.solayof.schoolinventorymanagement.services.ReportService;
+import com.solayof.schoolinventorymanagement.services.ReportSnapshotService;
+import com.solayof.schoolinventorymanagement.services.UsageAnalyticsService;
+import com.solayof.schoolinventorymanagement.services.UserService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the ReportController.
+ * This class tests the report endpoints using MockMvc.
+ */
+@WebMvcTest(ReportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Main entry point for server-side Spring MVC test support
+
+    @MockBean
+    private ReportService reportService; // Mock service for the report queries
+
+    @MockBean
+    private ReportSnapshotService reportSnapshotService; // Mock service serving the report snapshots
+
+    @MockBean
+    private UsageAnalyticsService usageAnalyticsService; // Mock service for the usage analytics
+
+    @MockBean
+    private AssignmentModelAssembler assignmentAssembler; // Mock assembler for assignment detail rows
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    /**
+     * Test for the collector assignments report (GET /api/reports/collector-assignments).
+     * Verifies that the aggregates are keyed by collector ID.
+     */
+    @Test
+    void getCollectorAssignmentsReport_shouldReturnAggregatesByCollectorId() throws Exception {
+        UUID collectorId = UUID.randomUUID();
+        CollectorAssignmentSummaryDTO summary = new CollectorAssignmentSummaryDTO();
+        summary.setCollectorId(collectorId);
+        summary.setCollectorName("Alice");
+        summary.setActiveCount(3);
+        summary.setOverdueCount(2);
+        summary.setOldestDueDate(LocalDate.of(2024, 1, 10));
+        Map<UUID, CollectorAssignmentSummaryDTO> collectors = new LinkedHashMap<>();
+        collectors.put(collectorId, summary);
+        when(reportSnapshotService.getCollectorAssignments(false)).thenReturn(new CollectorAssignmentsReportDTO(collectors, 3, 2));
+
+        mockMvc.perform(get("/api/reports/collector-assignments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collectors['" + collectorId + "'].collectorName", is("Alice")))
+                .andExpect(jsonPath("$.collectors['" + collectorId + "'].overdueCount", is(2)))
+                .andExpect(jsonPath("$.collectors['" + collectorId + "'].oldestDueDate", is("2024-01-10")))
+                .andExpect(jsonPath("$.totalActiveAssignments", is(3)))
+                .andExpect(jsonPath("$.totalOverdueAssignments", is(2)));
+    }
+
+    /**
+     * Test for the inventory levels report with fresh=true.
+     * Verifies that a recomputed report is requested instead of the latest snapshot.
+     */
+    @Test
+    void getInventoryLevelsReport_withFresh_shouldRecompute() throws Exception {
+        InventoryLevelsReportDTO report = new InventoryLevelsReportDTO();
+        report.setTotalItems(4);
+        report.setItemCountsByStatus(Map.of(Status.ASSIGNED, 1L, Status.AVAILABLE, 3L));
+        report.setItemCountsByCategory(Map.of("Electronics", 4L));
+        report.setUtilization(0.25);
+        report.setGeneratedAt(Instant.parse("2024-01-10T06:00:00Z"));
+        when(reportSnapshotService.getInventoryLevels(true)).thenReturn(report);
+
+        mockMvc.perform(get("/api/reports/inventory-levels").param("fresh", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems", is(4)))
+                .andExpect(jsonPath("$.itemCountsByStatus.ASSIGNED", is(1)))
+                .andExpect(jsonPath("$.itemCountsByCategory.Electronics", is(4)))
+                .andExpect(jsonPath("$.utilization", is(0.25)));
+        verify(reportSnapshotService).getInventoryLevels(true);
+    }
+
+    /**
+     * Test for the snapshot history endpoint (GET /api/reports/snapshots).
+     * Verifies that stored payloads are embedded as JSON, not as strings.
+     */
+    @Test
+    void getSnapshots_shouldReturnHistoryWithRawPayloads() throws Exception {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-31T00:00:00Z");
+        ReportSnapshotDTO snapshot = new ReportSnapshotDTO();
+        snapshot.setReportType(ReportType.INVENTORY_LEVELS);
+        snapshot.setCreatedAt(Instant.parse("2024-01-10T06:00:00Z"));
+        snapshot.setPayload("{\"totalItems\":4}");
+        when(reportSnapshotService.getHistory(ReportType.INVENTORY_LEVELS, from, to)).thenReturn(List.of(snapshot));
+
+        mockMvc.perform(get("/api/reports/snapshots").param("type", "INVENTORY_LEVELS")
+                        .param("from", from.toString()).param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].payload.totalItems", is(4)));
+    }
+
+    /**
+     * Test for the collector detail endpoint (GET /api/reports/collector-assignments/{collectorId}).
+     * Verifies that the requested page is read and returned with page metadata.
+     */
+    @Test
+    void getCollectorAssignments_shouldReturnRequestedPage() throws Exception {
+        UUID collectorId = UUID.randomUUID();
+        Assignment assignment = new Assignment();
+        AssignmentDTO dto = new AssignmentDTO();
+        dto.setCollectorId(collectorId);
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("returnDueDate"));
+        when(reportService.getCollectorAssignments(eq(collectorId), eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(assignment), pageable, 6));
+        when(assignmentAssembler.toModel(assignment)).thenReturn(EntityModel.of(dto));
+
+        mockMvc.perform(get("/api/reports/collector-assignments/" + collectorId)
+                        .param("overdue", "true").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.assignmentDTOList", hasSize(1)))
+                .andExpect(jsonPath("$.page.totalElements", is(6)))
+                .andExpect(jsonPath("$.page.number", is(1)));
+        verify(reportService).getCollectorAssignments(collectorId, true, pageable);
+    }
+
+    /**
+     * Test for the collector detail endpoint with an unknown collector.
+     */
+    @Test
+    void getCollectorAssignments_whenCollectorNotFound_shouldReturnNotFound() throws Exception {
+        UUID collectorId = UUID.randomUUID();
+        when(reportService.getCollectorAssignments(eq(collectorId), eq(false), any(Pageable.class)))
+                .thenThrow(new CollectorNotFoundException("Collector not found with id: " + collectorId));
+
+        mockMvc.perform(get("/api/reports/collector-assignments/" + collectorId))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test for the item usage endpoint (GET /api/reports/usage/items).
+     * Verifies that the requested range is passed through and the metrics are returned.
+     */
+    @Test
+    void getItemUsage_shouldReturnMetricsForRange() throws Exception {
+        ItemUsageDTO usage = new ItemUsageDTO();
+        usage.setItemId(UUID.randomUUID());
+        usage.setItemName("Laptop");
+        usage.setCheckouts(2);
+        usage.setReturns(1);
+        usage.setUtilization(0.5);
+        usage.setMeanLoanDays(10);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 20);
+        when(usageAnalyticsService.getItemUsage(from, to)).thenReturn(List.of(usage));
+
+        mockMvc.perform(get("/api/reports/usage/items").param("from", "2024-01-01").param("to", "2024-01-20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemName", is("Laptop")))
+                .andExpect(jsonPath("$[0].utilization", is(0.5)))
+                .andExpect(jsonPath("$[0].meanLoanDays", is(10.0)));
+    }
+
+    /**
+     * Test for the category usage endpoint with an inverted range.
+     */
+    @Test
+    void getCategoryUsage_withInvertedRange_shouldReturnBadRequest() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 20);
+        LocalDate to = LocalDate.of(2024, 1, 1);
+        when(usageAnalyticsService.getCategoryUsage(from, to)).thenThrow(new IllegalArgumentException("'to' must not be before 'from'."));
+
+        mockMvc.perform(get("/api/reports/usage/categories").param("from", "2024-01-20").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
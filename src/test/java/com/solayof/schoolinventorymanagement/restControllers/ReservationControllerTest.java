@@ -0,0 +1,201 @@
+package com.solayof.schoolinventorymanagement.restControllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.dtos.ReservationDTO;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.exceptions.ReservationNotFoundException;
+import com.solayof.schoolinventorymanagement.modelAssembler.ReservationModelAssembler;
+import com.solayof.schoolinventorymanagement.services.JwtService;
+import com.solayof.schoolinventorymanagement.services.ReservationService;
+import com.solayof.schoolinventorymanagement.services.UserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the ReservationController.
+ * This class tests the REST endpoints of the ReservationController using MockMvc.
+ */
+@WebMvcTest(ReservationController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Main entry point for server-side Spring MVC test support
+
+    @MockBean
+    private ReservationService reservationService; // Mock service for handling waitlists
+
+    @MockBean
+    private ReservationModelAssembler assembler; // Mock assembler for converting Reservation entities to DTOs
+
+    @Autowired
+    private ObjectMapper objectMapper; // ObjectMapper for converting Java objects to/from JSON
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserService userService;
+
+    // Test data fields
+    private Reservation reservation;
+    private ReservationDTO reservationDTO;
+    private EntityModel<ReservationDTO> reservationEntityModel;
+    private UUID reservationId;
+    private UUID itemId;
+    private UUID collectorId;
+
+    /**
+     * Sets up common test data and mock behavior before each test runs.
+     */
+    @BeforeEach
+    void setUp() {
+        reservationId = UUID.randomUUID();
+        itemId = UUID.randomUUID();
+        collectorId = UUID.randomUUID();
+
+        reservation = new Reservation();
+        reservation.setId(reservationId);
+        reservation.setStatus(ReservationStatus.WAITING);
+
+        reservationDTO = new ReservationDTO();
+        reservationDTO.setId(reservationId);
+        reservationDTO.setItemId(itemId);
+        reservationDTO.setCollectorId(collectorId);
+        reservationDTO.setLoanDays(14);
+        reservationDTO.setStatus(ReservationStatus.WAITING);
+        reservationDTO.setPosition(1);
+
+        reservationEntityModel = EntityModel.of(reservationDTO,
+                linkTo(methodOn(ReservationController.class).getOne(reservationId)).withSelfRel());
+        when(assembler.toModel(any(Reservation.class))).thenReturn(reservationEntityModel);
+    }
+
+    /**
+     * Test for the createReservation endpoint (POST /api/reservations).
+     */
+    @Test
+    void createReservation_shouldReturnCreated() throws Exception {
+        when(reservationService.reserve(itemId, collectorId, 14)).thenReturn(reservation);
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("WAITING")))
+                .andExpect(jsonPath("$.position", is(1)))
+                .andExpect(jsonPath("$._links.self.href", endsWith("/api/reservations/" + reservationId)));
+    }
+
+    /**
+     * Test for the createReservation endpoint when the item can be checked out directly.
+     */
+    @Test
+    void createReservation_whenItemAvailable_shouldReturnBadRequest() throws Exception {
+        when(reservationService.reserve(itemId, collectorId, 14))
+                .thenThrow(new IllegalArgumentException("Item with name 'Laptop' is available, check it out directly."));
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test for the createReservation endpoint when a concurrent request added the collector first.
+     */
+    @Test
+    void createReservation_whenAlreadyWaitingConcurrently_shouldReturnConflict() throws Exception {
+        when(reservationService.reserve(itemId, collectorId, 14))
+                .thenThrow(new DataIntegrityViolationException("uq_reservations_waiting_collector"));
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Test for the getOne endpoint (GET /api/reservations/{id}).
+     */
+    @Test
+    void getOne_shouldReturnReservation() throws Exception {
+        when(reservationService.findByReservationId(reservationId)).thenReturn(reservation);
+
+        mockMvc.perform(get("/api/reservations/{id}", reservationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(reservationId.toString())));
+    }
+
+    /**
+     * Test for the getOne endpoint when the reservation is not found.
+     */
+    @Test
+    void getOne_whenReservationNotFound_shouldReturnNotFound() throws Exception {
+        when(reservationService.findByReservationId(reservationId))
+                .thenThrow(new ReservationNotFoundException("Reservation not found with id: " + reservationId));
+
+        mockMvc.perform(get("/api/reservations/{id}", reservationId))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test for the getWaitlist endpoint (GET /api/reservations/item/{itemId}).
+     */
+    @Test
+    void getWaitlist_shouldReturnWaitingReservations() throws Exception {
+        when(reservationService.findWaiting(itemId)).thenReturn(List.of(reservation));
+
+        mockMvc.perform(get("/api/reservations/item/{itemId}", itemId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.reservationDTOList[0].position", is(1)));
+    }
+
+    /**
+     * Test for the cancelReservation endpoint (DELETE /api/reservations/{id}).
+     */
+    @Test
+    void cancelReservation_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/reservations/{id}", reservationId))
+                .andExpect(status().isNoContent());
+
+        verify(reservationService).cancel(reservationId);
+    }
+
+    /**
+     * Test for the cancelReservation endpoint when the reservation is no longer waiting.
+     */
+    @Test
+    void cancelReservation_whenNotWaiting_shouldReturnBadRequest() throws Exception {
+        doThrow(new IllegalArgumentException("Only waiting reservations can be cancelled."))
+                .when(reservationService).cancel(reservationId);
+
+        mockMvc.perform(delete("/api/reservations/{id}", reservationId))
+                .andExpect(status().isBadRequest());
+    }
+}
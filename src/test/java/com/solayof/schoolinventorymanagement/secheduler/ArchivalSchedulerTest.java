@@ -0,0 +1,71 @@
+package com.solayof.schoolinventorymanagement.secheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.services.ArchivalService;
+import com.solayof.schoolinventorymanagement.services.SchedulerLeaseService;
+
+/**
+ * Unit tests for ArchivalScheduler using JUnit 5 and Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class ArchivalSchedulerTest {
+
+    @Mock
+    private ArchivalService archivalService;
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @InjectMocks
+    private ArchivalScheduler archivalScheduler;
+
+    private final String lease = ArchivalScheduler.LEASE_PREFIX + LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archivalScheduler, "retentionMonths", 24);
+        ReflectionTestUtils.setField(archivalScheduler, "leaseTtlSeconds", 300L);
+    }
+
+    /**
+     * Tests that the node holding the day's lease archives records past the retention and completes the lease.
+     */
+    @Test
+    void testArchiveClosedRecords_RunsOnLeaseHolder() {
+        LocalDate cutoff = LocalDate.now().minusMonths(24);
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(true);
+
+        archivalScheduler.archiveClosedRecords();
+
+        verify(archivalService).archiveAssignmentHistory(cutoff);
+        verify(archivalService).archiveReminders(cutoff);
+        verify(schedulerLeaseService).complete(lease);
+    }
+
+    /**
+     * Tests that the other nodes, or a rerun after the day's run completed, archive nothing.
+     */
+    @Test
+    void testArchiveClosedRecords_SkippedWithoutLease() {
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(false);
+
+        archivalScheduler.archiveClosedRecords();
+
+        verifyNoInteractions(archivalService);
+        verify(schedulerLeaseService, never()).complete(anyString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.solayof.schoolinventorymanagement.secheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.services.ReportSnapshotService;
+import com.solayof.schoolinventorymanagement.services.SchedulerLeaseService;
+
+/**
+ * Unit tests for ReportSnapshotScheduler using JUnit 5 and Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportSnapshotSchedulerTest {
+
+    @Mock
+    private ReportSnapshotService reportSnapshotService;
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @InjectMocks
+    private ReportSnapshotScheduler reportSnapshotScheduler;
+
+    private final String lease = ReportSnapshotScheduler.LEASE_PREFIX + LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reportSnapshotScheduler, "retentionDays", 400);
+        ReflectionTestUtils.setField(reportSnapshotScheduler, "leaseTtlSeconds", 300L);
+    }
+
+    /**
+     * Tests that the node holding the day's lease takes the snapshots and completes the lease.
+     */
+    @Test
+    void testTakeReportSnapshots_RunsOnLeaseHolder() {
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(true);
+
+        reportSnapshotScheduler.takeReportSnapshots();
+
+        verify(reportSnapshotService).takeSnapshots();
+        verify(reportSnapshotService).purgeOlderThan(any(Instant.class));
+        verify(schedulerLeaseService).complete(lease);
+    }
+
+    /**
+     * Tests that the other nodes, or a rerun after the day's run completed, take no snapshots.
+     */
+    @Test
+    void testTakeReportSnapshots_SkippedWithoutLease() {
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(false);
+
+        reportSnapshotScheduler.takeReportSnapshots();
+
+        verifyNoInteractions(reportSnapshotService);
+        verify(schedulerLeaseService, never()).complete(anyString());
+    }
+}
@@ -0,0 +1,156 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentHistoryRepository;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.ChangeLogRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+/**
+ * Tests the archival job against the H2 schema built by the Flyway migrations,
+ * since the archive tables are only created there.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/h2",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:archival;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "sims.archive.batch-size=2") // Forces several batches
+@Import({ArchivalService.class, ChangeLogService.class, ChangeCaptureListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Change records are only written when the archival batches commit
+class ArchivalServiceTest {
+
+    @Autowired
+    private ArchivalService archivalService;
+    @Autowired
+    private AssignmentHistoryRepository assignmentHistoryRepository;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate cutoff = LocalDate.now().minusMonths(24);
+    private Assignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        Collector collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        Item item = new Item("Laptop", "Staff laptop", "SN-L1", category);
+        item.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(item);
+        assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(cutoff.minusYears(1));
+        assignment = assignmentRepository.save(assignment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET assignment_id = NULL"); // Items and assignments reference each other
+        for (String table : new String[] {"reminders_archive", "assignment_history_archive", "reminders", "assignment_history",
+                "assignments", "items", "collectors", "categories", "change_log"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * Tests that returned assignments older than the cutoff move to the archive and recent ones stay.
+     */
+    @Test
+    void testArchiveAssignmentHistory_MovesOnlyOldRows() {
+        for (int i = 0; i < 5; i++) {
+            history(cutoff.minusDays(i + 1));
+        }
+        AssignmentHistory recent = history(cutoff);
+
+        assertEquals(5, archivalService.archiveAssignmentHistory(cutoff));
+
+        assertEquals(1, assignmentHistoryRepository.count());
+        assertTrue(assignmentHistoryRepository.existsById(recent.getId()));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM assignment_history_archive", Integer.class));
+        assertEquals(0, archivalService.archiveAssignmentHistory(cutoff)); // Nothing left to move
+    }
+
+    /**
+     * Tests that only closed reminders older than the cutoff are archived, and that their
+     * deletion is recorded in the change feed.
+     */
+    @Test
+    void testArchiveReminders_MovesOnlyOldClosedReminders() {
+        Reminder oldSent = reminder(cutoff.minusDays(30), ReminderStatus.SENT);
+        reminder(cutoff.minusDays(20), ReminderStatus.DISMISSED);
+        Reminder oldPending = reminder(cutoff.minusDays(10), ReminderStatus.PENDING);
+        Reminder recentSent = reminder(cutoff.plusDays(1), ReminderStatus.SENT);
+
+        assertEquals(2, archivalService.archiveReminders(cutoff));
+
+        assertFalse(reminderRepository.existsById(oldSent.getId()));
+        assertTrue(reminderRepository.existsById(oldPending.getId()));
+        assertTrue(reminderRepository.existsById(recentSent.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reminders_archive", Integer.class));
+        assertTrue(changeLogRepository.findAll().stream().anyMatch(entry -> entry.getEntityId().equals(oldSent.getId())
+                && entry.getOperation() == ChangeOperation.DELETE));
+    }
+
+    private AssignmentHistory history(LocalDate returnedOn) {
+        return assignmentHistoryRepository.save(new AssignmentHistory(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), returnedOn.minusDays(7), returnedOn.minusDays(3), returnedOn, 7, true, Instant.now(), "default"));
+    }
+
+    private Reminder reminder(LocalDate date, ReminderStatus status) {
+        Reminder reminder = new Reminder();
+        reminder.setAssignment(assignment);
+        reminder.setReminderDate(date);
+        reminder.setStatus(status);
+        reminder.setMessage("Please return the laptop");
+        return reminderRepository.save(reminder);
+    }
+}
@@ -16,7 +16,11 @@ import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Collector;
 import com.solayof.schoolinventorymanagement.entity.Item;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.events.InventoryEventType;
 import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.CheckoutConflictException;
 import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +28,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 class AssignmentServiceTest {
 
@@ -36,6 +45,18 @@ class AssignmentServiceTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsageAnalyticsService usageAnalyticsService;
+
     @InjectMocks
     private AssignmentService assignmentService;
 
@@ -56,6 +77,11 @@ class AssignmentServiceTest {
         assignment.setCollector(collector);
         assignment.setItem(item);
         assignment.setReturnDueDate(LocalDate.now().plusDays(5));
+
+        // Run checkout callbacks inline, as the real template would inside a transaction
+        ReflectionTestUtils.setField(assignmentService, "checkoutMaxAttempts", 3);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -164,6 +190,36 @@ class AssignmentServiceTest {
         assertNotNull(result.getActualReturnDate());
         assertEquals(Status.AVAILABLE, result.getItem().getStatus());
         verify(itemService).saveItem(any(Item.class));
+        verify(itemService, never()).compareAndSetStatus(any(), any(), any()); // Nobody is waiting
+        verify(usageAnalyticsService).recordReturn(assignment);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof InventoryEvent e
+                && e.type() == InventoryEventType.ASSIGNMENT_RETURNED
+                && e.entityId().equals(assignmentId)));
+    }
+
+    @Test
+    void testReturnItem_HandsOffToNextWaiter() {
+        UUID itemId = UUID.randomUUID();
+        item.setId(itemId);
+        Collector waiter = new Collector();
+        waiter.setId(UUID.randomUUID());
+        Reservation reservation = new Reservation();
+        reservation.setId(UUID.randomUUID());
+        reservation.setItem(item);
+        reservation.setCollector(waiter);
+        reservation.setLoanDays(10);
+        when(assignmentRepository.findById(assignmentId)).thenReturn(Optional.of(assignment));
+        when(reservationService.pollNextWaiter(itemId)).thenReturn(Optional.of(reservation));
+        when(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED)).thenReturn(true);
+        when(itemService.findByItemId(itemId)).thenReturn(item);
+        when(collectorService.findByCollectorId(waiter.getId())).thenReturn(waiter);
+        when(assignmentRepository.save(any(Assignment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assignmentService.returnItem(assignmentId);
+
+        verify(reservationService).markFulfilled(eq(reservation.getId()), argThat(handedOff ->
+                handedOff.getCollector() == waiter
+                && handedOff.getReturnDueDate().equals(LocalDate.now().plusDays(10))));
     }
 
     @Test
@@ -180,4 +236,66 @@ class AssignmentServiceTest {
         List<Assignment> result = assignmentService.getAllAssignments();
         assertEquals(1, result.size());
     }
+
+    @Test
+    void testCheckout_Success() {
+        UUID itemId = UUID.randomUUID();
+        UUID collectorId = UUID.randomUUID();
+        when(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED)).thenReturn(true);
+        when(itemService.findByItemId(itemId)).thenReturn(item);
+        when(collectorService.findByCollectorId(collectorId)).thenReturn(collector);
+
+        Assignment result = assignmentService.checkout(itemId, collectorId, LocalDate.now(), LocalDate.now().plusDays(7));
+
+        assertEquals(item, result.getItem());
+        assertEquals(collector, result.getCollector());
+        assertEquals(result, item.getAssignment());
+        verify(assignmentRepository).save(result);
+    }
+
+    @Test
+    void testCheckout_ItemNotAvailable() {
+        UUID itemId = UUID.randomUUID();
+        item.setName("Projector");
+        when(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED)).thenReturn(false);
+        when(itemService.findByItemId(itemId)).thenReturn(item);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> assignmentService.checkout(itemId, UUID.randomUUID(), LocalDate.now(), LocalDate.now().plusDays(7)));
+        verify(assignmentRepository, never()).save(any());
+    }
+
+    @Test
+    void testCheckout_DueDateBeforeAssignmentDate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> assignmentService.checkout(UUID.randomUUID(), UUID.randomUUID(), LocalDate.now(), LocalDate.now().minusDays(1)));
+        verify(itemService, never()).compareAndSetStatus(any(), any(), any());
+    }
+
+    @Test
+    void testCheckout_RetriesOnConflict() {
+        UUID itemId = UUID.randomUUID();
+        UUID collectorId = UUID.randomUUID();
+        when(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, itemId))
+                .thenReturn(true);
+        when(itemService.findByItemId(itemId)).thenReturn(item);
+        when(collectorService.findByCollectorId(collectorId)).thenReturn(collector);
+
+        Assignment result = assignmentService.checkout(itemId, collectorId, LocalDate.now(), LocalDate.now().plusDays(7));
+
+        assertNotNull(result);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void testCheckout_GivesUpAfterMaxAttempts() {
+        UUID itemId = UUID.randomUUID();
+        when(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, itemId));
+
+        assertThrows(CheckoutConflictException.class,
+                () -> assignmentService.checkout(itemId, UUID.randomUUID(), LocalDate.now(), LocalDate.now().plusDays(7)));
+        verify(transactionTemplate, times(3)).execute(any());
+    }
 }
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 import com.solayof.schoolinventorymanagement.entity.Category;
 import com.solayof.schoolinventorymanagement.exceptions.CategoryNotFoundException;
 import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectionStamp;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -175,4 +177,33 @@ class CategoryServiceTest {
 
         assertEquals(2, found.size());
     }
+
+    @Test
+    void testGetCategoriesETag() {
+        // Arrange: two categories, the latest updated at a known time
+        CollectionStamp stamp = mock(CollectionStamp.class);
+        when(stamp.getTotal()).thenReturn(2L);
+        when(stamp.getLastUpdatedAt()).thenReturn(Instant.ofEpochSecond(1700000000));
+        when(categoryRepository.findCollectionStamp()).thenReturn(stamp);
+
+        // Act & Assert
+        assertEquals("\"2-1700000000.0\"", categoryService.getCategoriesETag());
+        verify(categoryRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetCategoriesETag_Empty() {
+        CollectionStamp stamp = mock(CollectionStamp.class);
+        when(stamp.getTotal()).thenReturn(0L);
+        when(categoryRepository.findCollectionStamp()).thenReturn(stamp);
+
+        assertEquals("\"0-0\"", categoryService.getCategoriesETag());
+    }
+
+    @Test
+    void testGetCategoryETag_NotFound() {
+        when(categoryRepository.findUpdatedAtById(categoryId)).thenReturn(Optional.empty());
+
+        assertThrows(CategoryNotFoundException.class, () -> categoryService.getCategoryETag(categoryId));
+    }
 }
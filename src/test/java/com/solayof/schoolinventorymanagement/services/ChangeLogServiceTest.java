@@ -0,0 +1,171 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.ChangeFeedDTO;
+import com.solayof.schoolinventorymanagement.dtos.ChangeRecordDTO;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.ChangeLogRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+
+/**
+ * Tests for the change feed against a real (H2) database, since capture happens inside
+ * Hibernate's flush and commit.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:changes;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ChangeLogService.class, ChangeCaptureListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Every change must commit on its own
+class ChangeLogServiceTest {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("ELECTRONICS", "Devices")); // Categories are not captured
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        collectorRepository.deleteAll();
+        categoryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.update("DELETE FROM change_log_offsets");
+    }
+
+    private Item newItem(String serialNumber) {
+        Item item = new Item("Laptop " + serialNumber, "Staff laptop", serialNumber, category);
+        item.setStatus(Status.AVAILABLE);
+        return item;
+    }
+
+    @Test
+    void testChangesAreRecordedInCommitOrder() {
+        Item item = itemRepository.save(newItem("SN-1"));
+        Collector collector = collectorRepository.save(new Collector("Ada", "0800", "ada@school.test"));
+        item.setDescription("Updated");
+        itemRepository.save(item);
+        itemRepository.deleteById(item.getId());
+
+        List<ChangeRecordDTO> changes = changeLogService.getChanges(0, 100).getChanges();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), changes.stream().map(ChangeRecordDTO::getOffset).toList());
+        assertEquals(List.of(ChangeOperation.INSERT, ChangeOperation.INSERT, ChangeOperation.UPDATE, ChangeOperation.DELETE),
+                changes.stream().map(ChangeRecordDTO::getOperation).toList());
+        assertEquals(List.of("Item", "Collector", "Item", "Item"), changes.stream().map(ChangeRecordDTO::getEntityType).toList());
+        assertEquals(collector.getId(), changes.get(1).getEntityId());
+    }
+
+    @Test
+    void testChangesOfOneTransactionAreMergedPerEntity() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepository.saveAndFlush(newItem("SN-2"));
+            item.setDescription("Changed twice");
+            itemRepository.saveAndFlush(item);
+            itemRepository.save(newItem("SN-3"));
+        });
+
+        List<ChangeRecordDTO> changes = changeLogService.getChanges(0, 100).getChanges();
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(change -> change.getOperation() == ChangeOperation.INSERT));
+    }
+
+    @Test
+    void testRolledBackChangesAreNotRecorded() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.saveAndFlush(newItem("SN-4"));
+            throw new IllegalStateException("Rollback");
+        }));
+
+        assertEquals(0, changeLogRepository.count());
+        assertEquals(0, itemRepository.count());
+    }
+
+    @Test
+    void testBulkChangesAreRecorded() {
+        UUID itemId = itemRepository.save(newItem("SN-5")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED, Instant.now());
+            changeLogService.recordBulkChange(Item.class, itemId, ChangeOperation.UPDATE);
+        });
+
+        ChangeFeedDTO feed = changeLogService.getChanges(1, 100);
+        assertEquals(1, feed.getChanges().size());
+        assertEquals(ChangeOperation.UPDATE, feed.getChanges().get(0).getOperation());
+        assertEquals(2, feed.getNextOffset());
+    }
+
+    @Test
+    void testConsumerCanResumeFromNextOffset() {
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(newItem("SN-P" + i));
+        }
+
+        ChangeFeedDTO first = changeLogService.getChanges(0, 3);
+        ChangeFeedDTO second = changeLogService.getChanges(first.getNextOffset(), 3);
+        ChangeFeedDTO caughtUp = changeLogService.getChanges(second.getNextOffset(), 3);
+
+        assertEquals(3, first.getChanges().size());
+        assertTrue(first.isHasMore());
+        assertEquals(List.of(4L, 5L), second.getChanges().stream().map(ChangeRecordDTO::getOffset).toList());
+        assertFalse(second.isHasMore());
+        assertTrue(caughtUp.getChanges().isEmpty());
+        assertEquals(5, caughtUp.getNextOffset());
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> changeLogService.getChanges(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> changeLogService.getChanges(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> changeLogService.getChanges(0, ChangeLogService.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,169 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReservationRepository;
+
+/**
+ * Stress test for the checkout engine against a real (H2) database.
+ * Many threads check out the same item at the same time; exactly one of them may win.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:checkout;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.hikari.maximum-pool-size=16"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AssignmentService.class, ItemService.class, CollectorService.class, CategoryService.class, ReservationService.class,
+    ChangeLogService.class, ChangeCaptureListener.class, UsageAnalyticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Every checkout must commit on its own
+class CheckoutConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private AssignmentService assignmentService;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private MailService mailService; // Hand-off notifications are not under test
+
+    private UUID itemId;
+    private List<UUID> collectorIds;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        Item item = new Item("Laptop", "Staff laptop", "SN-0001", category);
+        item.setStatus(Status.AVAILABLE);
+        itemId = itemRepository.save(item).getId();
+
+        collectorIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Collector collector = new Collector("Teacher " + i, "0800000" + i, "teacher" + i + "@school.test");
+            collectorIds.add(collectorRepository.save(collector).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.findAll().forEach(item -> item.setAssignment(null));
+            itemRepository.flush();
+            reservationRepository.deleteAll();
+            assignmentRepository.deleteAll();
+            itemRepository.deleteAll();
+            collectorRepository.deleteAll();
+            categoryRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void concurrentCheckoutsOfTheSameItem_onlyOneSucceeds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (UUID collectorId : collectorIds) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    assignmentService.checkout(itemId, collectorId, LocalDate.now(), LocalDate.now().plusDays(7));
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejections.incrementAndGet(); // Lost the race: the item is no longer available
+                }
+                return null;
+            }));
+        }
+        ready.await();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS); // Any other exception (e.g. a constraint violation) fails the test
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes.get());
+        assertEquals(THREADS - 1, rejections.get());
+        assertEquals(1, assignmentRepository.count());
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        assertEquals(Status.ASSIGNED, item.getStatus());
+    }
+
+    @Test
+    void returnedItemIsHandedToTheOldestWaiter() {
+        Assignment first = assignmentService.checkout(itemId, collectorIds.get(0), LocalDate.now(), LocalDate.now().plusDays(7));
+        UUID oldest = reservationService.reserve(itemId, collectorIds.get(1), 14).getId();
+        UUID next = reservationService.reserve(itemId, collectorIds.get(2), 7).getId();
+        assertEquals(List.of(oldest, next), reservationService.getWaitlist(itemId));
+
+        assignmentService.returnItem(first.getId());
+
+        Assignment handedOff = assignmentRepository.findAll().get(0);
+        assertEquals(1, assignmentRepository.count());
+        assertEquals(collectorIds.get(1), handedOff.getCollector().getId());
+        assertEquals(LocalDate.now().plusDays(14), handedOff.getReturnDueDate());
+        assertEquals(Status.ASSIGNED, itemRepository.findById(itemId).orElseThrow().getStatus());
+        assertEquals(ReservationStatus.FULFILLED, reservationRepository.findById(oldest).orElseThrow().getStatus());
+        assertEquals(List.of(next), reservationService.getWaitlist(itemId));
+        verify(mailService).sendEmail(eq("teacher1@school.test"), eq("Reserved item ready: Laptop"), anyString());
+    }
+}
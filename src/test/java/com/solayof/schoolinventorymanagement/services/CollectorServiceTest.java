@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -168,4 +169,25 @@ public class CollectorServiceTest {
         assertEquals(mockCollectors, result);
         verify(collectorRepository).findAll();
     }
+
+    /**
+     * Tests that the collector ETag is derived from the last update time only.
+     */
+    @Test
+    void testGetCollectorETag_Success() {
+        when(collectorRepository.findUpdatedAtById(collectorId)).thenReturn(Optional.of(Instant.ofEpochSecond(1700000000, 500)));
+
+        assertEquals("\"1700000000.500\"", collectorService.getCollectorETag(collectorId));
+        verify(collectorRepository, never()).findById(collectorId); // The collector itself is not loaded
+    }
+
+    /**
+     * Tests that computing the ETag of an unknown collector throws.
+     */
+    @Test
+    void testGetCollectorETag_NotFound() {
+        when(collectorRepository.findUpdatedAtById(collectorId)).thenReturn(Optional.empty());
+
+        assertThrows(CollectorNotFoundException.class, () -> collectorService.getCollectorETag(collectorId));
+    }
 }
@@ -1,15 +1,21 @@
 package com.solayof.schoolinventorymanagement.services;
 
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
 import com.solayof.schoolinventorymanagement.constants.Status;
 import com.solayof.schoolinventorymanagement.entity.Category;
 import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.events.InventoryEventType;
 import com.solayof.schoolinventorymanagement.exceptions.ItemNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.CategoryCount;
 import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.StatusCount;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -25,6 +31,12 @@ class ItemServiceTest {
     @Mock
     private CategoryService categoryService; // Mocking the CategoryService
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mocking the event publisher
+
+    @Mock
+    private ChangeLogService changeLogService; // Mocking the ChangeLogService
+
     @InjectMocks
     private ItemService itemService; // Injecting mocks into the ItemService
 
@@ -210,7 +222,10 @@ class ItemServiceTest {
 
     @Test
     void testGetItemCountsByStatus() {
-        when(itemRepository.findAll()).thenReturn(List.of(item));
+        StatusCount available = mock(StatusCount.class);
+        when(available.getStatus()).thenReturn(Status.AVAILABLE);
+        when(available.getTotal()).thenReturn(1L);
+        when(itemRepository.countGroupedByStatus()).thenReturn(List.of(available));
 
         Map<Status, Long> counts = itemService.getItemCountsByStatus();
         assertEquals(1L, counts.get(Status.AVAILABLE));
@@ -218,9 +233,49 @@ class ItemServiceTest {
 
     @Test
     void testGetItemCountsByCategory() {
-        when(itemRepository.findAll()).thenReturn(List.of(item));
+        CategoryCount electronics = mock(CategoryCount.class);
+        when(electronics.getName()).thenReturn("Electronics");
+        when(electronics.getTotal()).thenReturn(1L);
+        when(itemRepository.countGroupedByCategory()).thenReturn(List.of(electronics));
 
         Map<String, Long> counts = itemService.getItemCountsByCategory();
         assertEquals(1L, counts.get("Electronics"));
     }
-} 
+
+    @Test
+    void testCompareAndSetStatus_Updated() {
+        when(itemRepository.compareAndSetStatus(eq(itemId), eq(Status.AVAILABLE), eq(Status.ASSIGNED), any()))
+                .thenReturn(1);
+
+        assertTrue(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED));
+        verify(changeLogService).recordBulkChange(Item.class, itemId, ChangeOperation.UPDATE); // Bulk updates raise no entity events
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof InventoryEvent e
+                && e.type() == InventoryEventType.ITEM_STATUS_CHANGED
+                && e.itemId().equals(itemId)
+                && e.status().equals("ASSIGNED")));
+    }
+
+    @Test
+    void testCompareAndSetStatus_NotInExpectedStatus() {
+        when(itemRepository.compareAndSetStatus(eq(itemId), eq(Status.AVAILABLE), eq(Status.ASSIGNED), any()))
+                .thenReturn(0);
+
+        assertFalse(itemService.compareAndSetStatus(itemId, Status.AVAILABLE, Status.ASSIGNED));
+        verifyNoInteractions(eventPublisher, changeLogService); // Nothing changed, nothing to announce
+    }
+
+    @Test
+    void testGetItemETag_FromVersion() {
+        when(itemRepository.findVersionById(itemId)).thenReturn(Optional.of(4L));
+
+        assertEquals("\"4\"", itemService.getItemETag(itemId));
+        verify(itemRepository, never()).findById(itemId); // The item itself is not loaded
+    }
+
+    @Test
+    void testGetItemETag_NotFound() {
+        when(itemRepository.findVersionById(itemId)).thenReturn(Optional.empty());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemETag(itemId));
+    }
+}
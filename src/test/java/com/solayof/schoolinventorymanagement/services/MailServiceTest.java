@@ -12,10 +12,19 @@ import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import com.solayof.schoolinventorymanagement.config.NetworkIoGuard;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 // @ExtendWith(MockitoExtension.class) integrates Mockito with JUnit 5.
@@ -28,6 +37,9 @@ public class MailServiceTest {
     @Mock
     private JavaMailSender javaMailSender;
 
+    @Mock
+    private NetworkIoGuard networkIoGuard;
+
     // @InjectMocks creates an instance of MailService and injects the mocked
     // JavaMailSender into it. This is the service we want to test.
     @InjectMocks
@@ -135,4 +147,25 @@ public class MailServiceTest {
         // Assert that 'to' is an empty array in the captured message.
         assertArrayEquals(new String[]{toEmpty}, capturedMessage.getTo());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should send plain-text and HTML bodies as alternatives of one message")
+    void shouldSendTextAndHtmlAlternatives() throws Exception {
+        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+
+        mailService.sendEmail("test@example.com", "Subject", "Plain body", "<p>HTML body</p>");
+
+        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(javaMailSender, times(1)).send(messageCaptor.capture());
+        MimeMessage message = messageCaptor.getValue();
+        message.saveChanges();
+        assertEquals("Subject", message.getSubject());
+        assertEquals("test@example.com", message.getAllRecipients()[0].toString());
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        message.writeTo(raw);
+        String content = raw.toString(StandardCharsets.UTF_8);
+        assertTrue(content.contains("multipart/alternative"));
+        assertTrue(content.contains("Plain body"));
+        assertTrue(content.contains("<p>HTML body</p>"));
+    }
+}
@@ -0,0 +1,169 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.ChangeLogRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+/**
+ * Tests against a real (H2) database that overdue reminders are keyed by (assignment, day, kind),
+ * so generating them again creates and sends nothing new.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:overduegen;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "sims.reminders.digest=false") // One email per reminder, so each delivery can be counted
+@Import({ReminderService.class, ReminderTemplateService.class, AssignmentService.class, ItemService.class, CollectorService.class, CategoryService.class,
+    ReservationService.class, ChangeLogService.class, ChangeCaptureListener.class, UsageAnalyticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each run commits, as the scheduled job does
+class OverdueReminderGenerationTest {
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private MailService mailService;
+
+    private Category category;
+    private Collector collector;
+    private int serial;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET assignment_id = NULL"); // Items and assignments reference each other
+        for (String table : new String[] {"reminders", "assignments", "items", "collectors", "categories", "change_log"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * Tests that a second run on the same day creates and sends nothing, and that the created
+     * reminders reach the change log although they bypass the entity listeners.
+     */
+    @Test
+    void testProcessOverdueReminders_RerunIsIdempotent() {
+        assign(LocalDate.now().minusDays(3));
+        assign(LocalDate.now().minusDays(1));
+        assign(LocalDate.now().plusDays(2)); // Not overdue
+
+        assertEquals(2, reminderService.processOverdueReminders());
+        assertEquals(0, reminderService.processOverdueReminders());
+
+        List<Reminder> reminders = reminderRepository.findAll();
+        assertEquals(2, reminders.size());
+        assertTrue(reminders.stream().allMatch(r -> r.getKind() == ReminderKind.OVERDUE && r.getStatus() == ReminderStatus.SENT));
+        verify(mailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+        assertEquals(2, changeLogRepository.findAll().stream().filter(entry -> "Reminder".equals(entry.getEntityType()) && entry.getOperation() == ChangeOperation.INSERT).count());
+    }
+
+    /**
+     * Tests that the per-assignment path used by the partitioned job shares the key with the bulk path.
+     */
+    @Test
+    void testRemindOverdue_SkipsAssignmentAlreadyRemindedToday() {
+        Assignment first = assign(LocalDate.now().minusDays(3));
+        Assignment second = assign(LocalDate.now().minusDays(2));
+
+        assertTrue(reminderService.remindOverdue(first.getId(), LocalDate.now()));
+        assertFalse(reminderService.remindOverdue(first.getId(), LocalDate.now()));
+        assertEquals(1, reminderService.processOverdueReminders()); // Only the second assignment is new work
+
+        assertEquals(1, reminderRepository.findAll().stream().filter(r -> r.getAssignment().getId().equals(second.getId())).count());
+        verify(mailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Tests that the unique key rejects a second reminder of the same kind for an assignment and
+     * day, while a manual reminder can sit next to the generated one.
+     */
+    @Test
+    void testUniqueKey_OneReminderPerAssignmentDayAndKind() {
+        Assignment assignment = assign(LocalDate.now().minusDays(3));
+        reminderService.processOverdueReminders();
+
+        assertNotNull(reminderRepository.saveAndFlush(reminder(assignment, ReminderKind.MANUAL)).getId());
+        assertThrows(DataIntegrityViolationException.class, () -> reminderRepository.saveAndFlush(reminder(assignment, ReminderKind.OVERDUE)));
+        assertTrue(reminderService.existsReminder(assignment.getId(), LocalDate.now(), ReminderKind.MANUAL));
+    }
+
+    private Assignment assign(LocalDate dueDate) {
+        Item item = new Item("Laptop " + serial, "Staff laptop", "SN-" + serial++, category);
+        item.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(item);
+        Assignment assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(LocalDate.now().minusDays(20));
+        assignment.setReturnDueDate(dueDate);
+        return assignmentRepository.save(assignment);
+    }
+
+    private Reminder reminder(Assignment assignment, ReminderKind kind) {
+        Reminder reminder = new Reminder();
+        reminder.setAssignment(assignment);
+        reminder.setReminderDate(LocalDate.now());
+        reminder.setStatus(ReminderStatus.PENDING);
+        reminder.setKind(kind);
+        return reminder;
+    }
+}
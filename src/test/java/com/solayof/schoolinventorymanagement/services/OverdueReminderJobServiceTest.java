@@ -0,0 +1,213 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.exceptions.AssignmentNotFoundException;
+
+/**
+ * Unit tests for OverdueReminderJobService using JUnit 5 and Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class OverdueReminderJobServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2024, 1, 10);
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+    @Mock
+    private ReminderService reminderService;
+    @Mock
+    private AssignmentService assignmentService;
+
+    @InjectMocks
+    private OverdueReminderJobService overdueReminderJobService;
+
+    private List<UUID> overdueIds;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(overdueReminderJobService, "partitions", 4);
+        ReflectionTestUtils.setField(overdueReminderJobService, "leaseTtlSeconds", 300L);
+        ReflectionTestUtils.setField(overdueReminderJobService, "leaseRetentionDays", 7);
+        overdueIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            overdueIds.add(UUID.randomUUID());
+        }
+    }
+
+    /**
+     * Tests that a node only works on the partitions it acquires, and completes their leases.
+     */
+    @Test
+    void testRunTick_WorksOnAcquiredPartitionsOnly() {
+        String first = "overdue-reminders:2024-01-10:0/4";
+        String third = "overdue-reminders:2024-01-10:2/4";
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> List.of(first, third).contains(invocation.getArgument(0, String.class)));
+        when(assignmentService.getOverdueAssignmentIds(RUN_DATE)).thenReturn(overdueIds);
+        when(reminderService.remindOverdue(any(UUID.class), eq(RUN_DATE))).thenReturn(true);
+
+        int reminded = overdueReminderJobService.runTick(RUN_DATE);
+
+        List<UUID> expected = overdueIds.stream()
+                .filter(id -> OverdueReminderJobService.partitionOf(id, 4) % 2 == 0)
+                .toList();
+        assertEquals(expected.size(), reminded);
+        expected.forEach(id -> verify(reminderService).remindOverdue(id, RUN_DATE));
+        verify(reminderService, times(expected.size())).remindOverdue(any(UUID.class), eq(RUN_DATE));
+        verify(schedulerLeaseService).complete(first);
+        verify(schedulerLeaseService).complete(third);
+        verify(schedulerLeaseService, times(2)).complete(anyString());
+    }
+
+    /**
+     * Tests that a failing or vanished assignment does not stop the rest of the partition.
+     */
+    @Test
+    void testRunTick_ContinuesPastFailures() {
+        ReflectionTestUtils.setField(overdueReminderJobService, "partitions", 1);
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(assignmentService.getOverdueAssignmentIds(RUN_DATE)).thenReturn(overdueIds.subList(0, 3));
+        when(reminderService.remindOverdue(overdueIds.get(0), RUN_DATE)).thenThrow(new AssignmentNotFoundException("Assignment not found"));
+        when(reminderService.remindOverdue(overdueIds.get(1), RUN_DATE)).thenThrow(new IllegalStateException("Mail down"));
+        when(reminderService.remindOverdue(overdueIds.get(2), RUN_DATE)).thenReturn(true);
+
+        assertEquals(1, overdueReminderJobService.runTick(RUN_DATE));
+        verify(schedulerLeaseService).complete("overdue-reminders:2024-01-10:0/1");
+    }
+
+    /**
+     * Tests that a node which loses its lease mid-run stops and leaves the partition unfinished.
+     */
+    @Test
+    void testRunTick_StopsWhenLeaseIsLost() {
+        ReflectionTestUtils.setField(overdueReminderJobService, "partitions", 1);
+        ReflectionTestUtils.setField(overdueReminderJobService, "leaseTtlSeconds", 0L); // Renew before every reminder
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(assignmentService.getOverdueAssignmentIds(RUN_DATE)).thenReturn(overdueIds);
+        when(schedulerLeaseService.renew(anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(0, overdueReminderJobService.runTick(RUN_DATE));
+        verify(reminderService, never()).remindOverdue(any(UUID.class), any(LocalDate.class));
+        verify(schedulerLeaseService, never()).complete(anyString());
+    }
+
+    /**
+     * Tests that an expired lease is taken over and its partition is read from the lease name,
+     * even if this node is configured with a different number of partitions.
+     */
+    @Test
+    void testRecoverExpired_FinishesPartitionOfDeadNode() {
+        String lease = "overdue-reminders:2024-01-10:1/2";
+        when(schedulerLeaseService.findExpired(OverdueReminderJobService.LEASE_PREFIX)).thenReturn(List.of(lease));
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(true);
+        when(assignmentService.getOverdueAssignmentIds(RUN_DATE)).thenReturn(overdueIds);
+        when(reminderService.remindOverdue(any(UUID.class), eq(RUN_DATE))).thenReturn(true);
+
+        int reminded = overdueReminderJobService.recoverExpired();
+
+        long expected = overdueIds.stream().filter(id -> OverdueReminderJobService.partitionOf(id, 2) == 1).count();
+        assertEquals(expected, reminded);
+        verify(schedulerLeaseService).complete(lease);
+    }
+
+    /**
+     * Tests that a partition of yesterday's run taken over after midnight still works on
+     * yesterday's overdue set and reminders, not today's.
+     */
+    @Test
+    void testRecoverExpired_AfterMidnightKeepsTheRunDate() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        String lease = OverdueReminderJobService.leaseName(yesterday, 0, 1);
+        when(schedulerLeaseService.findExpired(OverdueReminderJobService.LEASE_PREFIX)).thenReturn(List.of(lease));
+        when(schedulerLeaseService.tryAcquire(eq(lease), any(Duration.class))).thenReturn(true);
+        when(assignmentService.getOverdueAssignmentIds(yesterday)).thenReturn(overdueIds);
+        when(reminderService.remindOverdue(any(UUID.class), eq(yesterday))).thenReturn(true);
+
+        assertEquals(overdueIds.size(), overdueReminderJobService.recoverExpired());
+        verify(reminderService, never()).remindOverdue(any(UUID.class), eq(LocalDate.now()));
+
+        // In digest mode, the takeover sends the run's pending reminders
+        Map<UUID, List<UUID>> byCollector = Map.of(UUID.randomUUID(), List.of(UUID.randomUUID()));
+        when(reminderService.isDigestMode()).thenReturn(true);
+        when(reminderService.groupPendingOverdueByCollector(yesterday)).thenReturn(byCollector);
+        when(reminderService.sendDigest(anyList())).thenReturn(1);
+
+        assertEquals(1, overdueReminderJobService.recoverExpired());
+        verify(reminderService, never()).groupPendingOverdueByCollector(LocalDate.now());
+    }
+
+    /**
+     * Tests that in digest mode the day's reminders are generated first and the partitions are
+     * ranges of collectors, each sent one digest.
+     */
+    @Test
+    void testRunTick_DigestModePartitionsByCollector() {
+        ReflectionTestUtils.setField(overdueReminderJobService, "partitions", 2);
+        Map<UUID, List<UUID>> byCollector = new LinkedHashMap<>();
+        overdueIds.forEach(collectorId -> byCollector.put(collectorId, List.of(UUID.randomUUID(), UUID.randomUUID())));
+        when(reminderService.isDigestMode()).thenReturn(true);
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, String.class).endsWith(":1/2"));
+        when(reminderService.groupPendingOverdueByCollector(any(LocalDate.class))).thenReturn(byCollector);
+        when(reminderService.sendDigest(anyList())).thenReturn(2);
+
+        int reminded = overdueReminderJobService.runTick(RUN_DATE);
+
+        List<UUID> expected = overdueIds.stream().filter(id -> OverdueReminderJobService.partitionOf(id, 2) == 1).toList();
+        assertEquals(2 * expected.size(), reminded);
+        verify(reminderService).generateOverdueReminders(RUN_DATE);
+        expected.forEach(collectorId -> verify(reminderService).sendDigest(byCollector.get(collectorId)));
+        verify(reminderService, times(expected.size())).sendDigest(anyList());
+        verify(assignmentService, never()).getOverdueAssignmentIds(any(LocalDate.class));
+    }
+
+    /**
+     * Tests that during quiet hours the day's reminders are only created, and no partition is run.
+     */
+    @Test
+    void testRunTick_DuringQuietHoursOnlyGeneratesReminders() {
+        when(reminderService.isQuietHours()).thenReturn(true);
+
+        assertEquals(0, overdueReminderJobService.runTick(RUN_DATE));
+
+        verify(reminderService).generateOverdueReminders(RUN_DATE);
+        verify(schedulerLeaseService, never()).tryAcquire(anyString(), any(Duration.class));
+        verify(reminderService, never()).remindOverdue(any(UUID.class), any(LocalDate.class));
+    }
+
+    /**
+     * Tests that the hash ranges cover every ID and every partition gets a share.
+     */
+    @Test
+    void testPartitionOf_SpreadsIdsOverAllRanges() {
+        int[] counts = new int[8];
+        for (int i = 0; i < 8000; i++) {
+            counts[OverdueReminderJobService.partitionOf(UUID.randomUUID(), 8)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 500, "Each range should get roughly an eighth of the IDs");
+        }
+    }
+}
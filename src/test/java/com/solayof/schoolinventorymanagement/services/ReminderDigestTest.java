@@ -0,0 +1,170 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+/**
+ * Tests the digest mode against a real (H2) database: a collector with several overdue items
+ * gets one email listing all of them, and every reminder it covers is recorded.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:digest;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReminderService.class, ReminderTemplateService.class, AssignmentService.class, ItemService.class, CollectorService.class, CategoryService.class,
+    ReservationService.class, ChangeLogService.class, ChangeCaptureListener.class, UsageAnalyticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each digest commits on its own, as in the scheduled job
+class ReminderDigestTest {
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private MailService mailService;
+
+    private Category category;
+    private Collector alice;
+    private Collector bob;
+    private int serial;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        alice = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        bob = collectorRepository.save(new Collector("Bob", "0800000002", "bob@school.test"));
+        assign(alice, LocalDate.now().minusDays(3));
+        assign(alice, LocalDate.now().minusDays(2));
+        assign(alice, LocalDate.now().minusDays(1));
+        assign(bob, LocalDate.now().minusDays(4));
+        assign(bob, LocalDate.now().plusDays(4)); // Not overdue
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET assignment_id = NULL"); // Items and assignments reference each other
+        for (String table : new String[] {"reminders", "assignments", "items", "collectors", "categories", "change_log"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * Tests that each collector gets one email listing all their overdue items, that every covered
+     * reminder is marked sent, and that a rerun sends nothing.
+     */
+    @Test
+    void testProcessOverdueReminders_SendsOneDigestPerCollector() {
+        assertEquals(4, reminderService.processOverdueReminders());
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(mailService).sendEmail(eq("alice@school.test"), eq("Inventory Return Reminder: 3 overdue items"), body.capture());
+        assertTrue(body.getValue().contains("The following 3 items"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(body.getValue().contains("Serial: SN-" + i), "Alice's digest should list SN-" + i);
+        }
+        verify(mailService).sendEmail(eq("bob@school.test"), eq("Inventory Return Reminder: Laptop 3"), anyString());
+        verify(mailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+
+        List<Reminder> reminders = reminderRepository.findAll();
+        assertEquals(4, reminders.size());
+        assertTrue(reminders.stream().allMatch(r -> r.getStatus() == ReminderStatus.SENT && r.getSentAt() != null));
+
+        reminderService.processOverdueReminders();
+        verify(mailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Tests that the reminders are grouped by collector, each group ordered by due date.
+     */
+    @Test
+    void testGroupPendingOverdueByCollector() {
+        reminderService.generateOverdueReminders(LocalDate.now());
+
+        Map<UUID, List<UUID>> byCollector = reminderService.groupPendingOverdueByCollector(LocalDate.now());
+
+        assertEquals(2, byCollector.size());
+        assertEquals(3, byCollector.get(alice.getId()).size());
+        assertEquals(1, byCollector.get(bob.getId()).size());
+    }
+
+    /**
+     * Tests that a failed digest marks every reminder it covered as failed, without a message,
+     * so the hourly retry sends each on its own.
+     */
+    @Test
+    void testSendDigest_FailureMarksAllCoveredRemindersFailed() {
+        reminderService.generateOverdueReminders(LocalDate.now());
+        List<UUID> aliceReminders = reminderService.groupPendingOverdueByCollector(LocalDate.now()).get(alice.getId());
+        doThrow(new RuntimeException("SMTP down")).when(mailService).sendEmail(anyString(), anyString(), anyString());
+
+        assertEquals(3, reminderService.sendDigest(aliceReminders));
+
+        List<Reminder> reminders = reminderRepository.findAllById(aliceReminders);
+        assertTrue(reminders.stream().allMatch(r -> r.getStatus() == ReminderStatus.FAILED && r.getMessage() == null));
+        assertEquals(0, reminderService.sendDigest(aliceReminders)); // No longer pending
+    }
+
+    private void assign(Collector collector, LocalDate dueDate) {
+        Item item = new Item("Laptop " + serial, "Staff laptop", "SN-" + serial++, category);
+        item.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(item);
+        Assignment assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(LocalDate.now().minusDays(20));
+        assignment.setReturnDueDate(dueDate);
+        assignmentRepository.save(assignment);
+    }
+}
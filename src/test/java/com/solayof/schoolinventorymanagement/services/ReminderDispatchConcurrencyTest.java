@@ -0,0 +1,239 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+/**
+ * Tests the reminder dispatcher against a real (H2) database: due reminders are claimed with
+ * FOR UPDATE SKIP LOCKED, so dispatchers running at the same time never deliver the same reminder.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:dispatch;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.hikari.maximum-pool-size=8"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "sims.reminders.dispatch-batch-size=5")
+@Import({ReminderService.class, ReminderTemplateService.class, AssignmentService.class, ItemService.class, CollectorService.class, CategoryService.class,
+    ReservationService.class, ChangeLogService.class, ChangeCaptureListener.class, UsageAnalyticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Claims must be held by concurrent transactions
+class ReminderDispatchConcurrencyTest {
+
+    private static final int REMINDERS = 40;
+    private static final int DISPATCHERS = 4;
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private MailService mailService;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        Collector collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        Item item = new Item("Laptop", "Staff laptop", "SN-L1", category);
+        item.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(item);
+        Assignment assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(LocalDate.now().minusDays(20));
+        assignment.setReturnDueDate(LocalDate.now().minusDays(5));
+        Assignment saved = assignmentRepository.save(assignment);
+
+        List<Reminder> reminders = new ArrayList<>();
+        for (int i = 0; i < REMINDERS; i++) {
+            Reminder reminder = new Reminder();
+            reminder.setAssignment(saved);
+            reminder.setReminderDate(LocalDate.now().minusDays(i)); // One reminder per assignment and day
+            reminder.setStatus(ReminderStatus.PENDING);
+            reminder.setMessage("Please return the laptop (" + i + ")");
+            reminders.add(reminder);
+        }
+        reminderRepository.saveAll(reminders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET assignment_id = NULL"); // Items and assignments reference each other
+        for (String table : new String[] {"reminders", "assignments", "items", "collectors", "categories", "change_log"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * Tests that a second claim skips the rows locked by a first, still open, claim instead of
+     * waiting for them. (H2 locks every matching row of a sorted claim before applying the limit,
+     * so there the second claim comes back empty; PostgreSQL hands it the next due rows.)
+     */
+    @Test
+    void testClaimDue_SkipsRowsLockedByAnotherTransaction() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Set<UUID>> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                Set<UUID> ids = claim(5);
+                claimed.countDown();
+                await(release);
+                return ids;
+            }));
+            assertTrue(claimed.await(30, TimeUnit.SECONDS));
+
+            long started = System.nanoTime();
+            Set<UUID> second = transactionTemplate.execute(status -> claim(5));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            release.countDown();
+
+            assertEquals(5, first.get(30, TimeUnit.SECONDS).size());
+            assertTrue(second.stream().noneMatch(first.get()::contains), "Locked reminders must be skipped, not shared");
+            assertTrue(waitedMillis < 5000, "The second claim must not wait for the first one's locks");
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that concurrent dispatchers deliver every due reminder exactly once.
+     */
+    @Test
+    void testDispatchDueReminders_ConcurrentDispatchersDeliverEachReminderOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(DISPATCHERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < DISPATCHERS; i++) {
+                runs.add(executor.submit(() -> {
+                    await(start);
+                    return reminderService.dispatchDueReminders();
+                }));
+            }
+            start.countDown();
+            int attempted = 0;
+            for (Future<Integer> run : runs) {
+                attempted += run.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(REMINDERS, attempted);
+            verify(mailService, times(REMINDERS)).sendEmail(anyString(), anyString(), anyString());
+            assertEquals(REMINDERS, reminderRepository.findByStatus(ReminderStatus.SENT).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that reminders queued for a background send are delivered once, even when a dispatch
+     * run works through the same reminders at the same time.
+     */
+    @Test
+    void testEnqueueSend_RacingDispatchDeliversEachReminderOnce() throws Exception {
+        List<UUID> ids = reminderRepository.findAll().stream().map(Reminder::getId).toList();
+
+        ids.forEach(reminderService::enqueueSend);
+        reminderService.dispatchDueReminders();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!reminderRepository.findByStatus(ReminderStatus.PENDING).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200); // Let a send that lost the race finish, so a duplicate would show up
+
+        assertEquals(REMINDERS, reminderRepository.findByStatus(ReminderStatus.SENT).size());
+        verify(mailService, times(REMINDERS)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Tests that a failed delivery keeps its message for the retry and is not retried within the same run.
+     */
+    @Test
+    void testDispatchDueReminders_FailedDeliveryIsRetriedOnNextRun() {
+        doThrow(new RuntimeException("SMTP down")).doNothing().when(mailService).sendEmail(anyString(), anyString(), anyString());
+
+        assertEquals(REMINDERS, reminderService.dispatchDueReminders());
+        List<Reminder> failed = reminderRepository.findByStatus(ReminderStatus.FAILED);
+        assertEquals(1, failed.size());
+        assertTrue(failed.get(0).getMessage().startsWith("Please return the laptop"));
+
+        assertEquals(1, reminderService.dispatchDueReminders());
+        assertEquals(REMINDERS, reminderRepository.findByStatus(ReminderStatus.SENT).size());
+    }
+
+    private Set<UUID> claim(int limit) {
+        List<Reminder> due = reminderRepository.claimDue(LocalDate.now(), Instant.now(), limit);
+        Set<UUID> ids = new HashSet<>();
+        due.forEach(reminder -> ids.add(reminder.getId()));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.exceptions.RateLimitExceededException;
+
+/**
+ * Tests for the manual reminder token buckets, on a controlled clock.
+ */
+class ReminderRateLimiterTest {
+
+    private ReminderRateLimiter reminderRateLimiter;
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        reminderRateLimiter = new ReminderRateLimiter();
+        ReflectionTestUtils.setField(reminderRateLimiter, "collectorPerHour", 6); // One token every 10 minutes
+        ReflectionTestUtils.setField(reminderRateLimiter, "collectorBurst", 2);
+        ReflectionTestUtils.setField(reminderRateLimiter, "callerPerHour", 60);
+        ReflectionTestUtils.setField(reminderRateLimiter, "callerBurst", 3);
+        ReflectionTestUtils.setField(reminderRateLimiter, "clock", (LongSupplier) now::get);
+    }
+
+    /**
+     * Tests that a recipient gets the burst, is then refused with the time to the next token, and
+     * gets one more token once it has refilled.
+     */
+    @Test
+    void testAcquire_CollectorBurstThenRefill() {
+        reminderRateLimiter.acquire("admin", "alice@school.test");
+        reminderRateLimiter.acquire("admin", "alice@school.test");
+
+        RateLimitExceededException thrown = assertThrows(RateLimitExceededException.class,
+                () -> reminderRateLimiter.acquire("admin", "Alice@School.test"));
+        assertEquals(Duration.ofMinutes(10), thrown.getRetryAfter());
+
+        advance(Duration.ofMinutes(10));
+        reminderRateLimiter.acquire("admin", "alice@school.test");
+        assertThrows(RateLimitExceededException.class, () -> reminderRateLimiter.acquire("admin", "alice@school.test"));
+        reminderRateLimiter.acquire("admin", "bob@school.test"); // Other recipients are not affected
+    }
+
+    /**
+     * Tests that a caller is limited across recipients, and that a request refused for its
+     * recipient does not use up a caller token.
+     */
+    @Test
+    void testAcquire_CallerLimitAndRefund() {
+        reminderRateLimiter.acquire("admin", "a@school.test");
+        reminderRateLimiter.acquire("admin", "a@school.test");
+        assertThrows(RateLimitExceededException.class, () -> reminderRateLimiter.acquire("admin", "a@school.test")); // Refused for the recipient
+        reminderRateLimiter.acquire("admin", "b@school.test"); // Third caller token, still available
+
+        RateLimitExceededException thrown = assertThrows(RateLimitExceededException.class,
+                () -> reminderRateLimiter.acquire("admin", "c@school.test"));
+        assertEquals(Duration.ofMinutes(1), thrown.getRetryAfter());
+        reminderRateLimiter.acquire("teacher", "c@school.test");
+    }
+
+    /**
+     * Tests that only buckets that have refilled completely are evicted.
+     */
+    @Test
+    void testEvictIdle() {
+        reminderRateLimiter.acquire("admin", "alice@school.test");
+        advance(Duration.ofMinutes(5));
+        reminderRateLimiter.acquire("teacher", "bob@school.test");
+
+        advance(Duration.ofMinutes(6)); // Admin, Alice and Teacher are full again; Bob is not
+        assertEquals(3, reminderRateLimiter.evictIdle());
+        advance(Duration.ofMinutes(10));
+        assertEquals(1, reminderRateLimiter.evictIdle());
+    }
+
+    /**
+     * Tests that concurrent callers cannot take more tokens than the bucket holds.
+     */
+    @Test
+    void testAcquire_ConcurrentCallersShareOneBucket() throws InterruptedException {
+        ReflectionTestUtils.setField(reminderRateLimiter, "collectorBurst", 5);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            String caller = "caller-" + i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    reminderRateLimiter.acquire(caller, "alice@school.test");
+                    granted.incrementAndGet();
+                } catch (RateLimitExceededException | InterruptedException e) {
+                    // Refused
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(5, granted.get());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -1,8 +1,12 @@
 package com.solayof.schoolinventorymanagement.services;
 
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
 import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
 import com.solayof.schoolinventorymanagement.entity.Assignment;
 import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.events.InventoryEvent;
+import com.solayof.schoolinventorymanagement.events.InventoryEventType;
+import com.solayof.schoolinventorymanagement.exceptions.DuplicateReminderException;
 import com.solayof.schoolinventorymanagement.exceptions.ReminderNotFoundException;
 import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -36,6 +49,10 @@ public class ReminderServiceTest {
     @Mock
     private ReminderRepository reminderRepository;
 
+    // Mocked so status transitions can be published without a Spring context.
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // @InjectMocks creates an instance of ReminderService and automatically injects
     // the mocked ReminderRepository into it. This is the service class we are testing.
     @InjectMocks
@@ -98,7 +115,7 @@ public class ReminderServiceTest {
         // 1. Define test data: Create a list of reminders with PENDING status.
         List<Reminder> pendingReminders = Arrays.asList(
                 testReminder,
-                new Reminder(UUID.randomUUID(), LocalDate.now().plusDays(10), ReminderStatus.PENDING, "Another reminder", null, null, null, testAssignment)
+                new Reminder(UUID.randomUUID(), LocalDate.now().plusDays(10), ReminderStatus.PENDING, ReminderKind.MANUAL, "Another reminder", null, null, null, testAssignment)
         );
 
         // 2. Mock behavior: When reminderRepository.findByStatus() is called with ReminderStatus.PENDING,
@@ -142,16 +159,16 @@ public class ReminderServiceTest {
     @Test
     @DisplayName("Should find and return a reminder by its ID")
     void findByReminderId_shouldReturnReminderWhenFound() {
-        // 1. Mock behavior: When reminderRepository.findById() is called with testReminderId,
+        // 1. Mock behavior: When reminderRepository.findVisibleById() is called with testReminderId,
         // it should return an Optional containing our testReminder.
-        when(reminderRepository.findById(testReminderId)).thenReturn(Optional.of(testReminder));
+        when(reminderRepository.findVisibleById(testReminderId)).thenReturn(Optional.of(testReminder));
 
         // 2. Call the method under test
         Reminder foundReminder = reminderService.findByReminderId(testReminderId);
 
-        // 3. Verify interactions: Ensure that reminderRepository.findById() was called exactly once
+        // 3. Verify interactions: Ensure that reminderRepository.findVisibleById() was called exactly once
         // with the correct ID.
-        verify(reminderRepository, times(1)).findById(testReminderId);
+        verify(reminderRepository, times(1)).findVisibleById(testReminderId);
 
         // 4. Assert outcomes: Check if the returned reminder matches the expected one.
         assertNotNull(foundReminder, "Found reminder should not be null");
@@ -165,9 +182,9 @@ public class ReminderServiceTest {
         // 1. Define test data: Create a non-existent ID.
         UUID nonExistentId = UUID.randomUUID();
 
-        // 2. Mock behavior: When reminderRepository.findById() is called with the nonExistentId,
+        // 2. Mock behavior: When reminderRepository.findVisibleById() is called with the nonExistentId,
         // it should return an empty Optional, simulating no reminder found.
-        when(reminderRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(reminderRepository.findVisibleById(nonExistentId)).thenReturn(Optional.empty());
 
         // 3. Call the method under test and assert that it throws ReminderNotFoundException.
         // assertThrows is used to verify that a specific exception is thrown by the lambda expression.
@@ -175,8 +192,8 @@ public class ReminderServiceTest {
                 reminderService.findByReminderId(nonExistentId),
                 "Should throw ReminderNotFoundException when reminder is not found");
 
-        // 4. Verify interactions: Ensure that reminderRepository.findById() was called exactly once.
-        verify(reminderRepository, times(1)).findById(nonExistentId);
+        // 4. Verify interactions: Ensure that reminderRepository.findVisibleById() was called exactly once.
+        verify(reminderRepository, times(1)).findVisibleById(nonExistentId);
 
         // 5. Assert outcomes: Check the exception message.
         assertTrue(thrown.getMessage().contains("Reminder not found with id: " + nonExistentId),
@@ -188,9 +205,9 @@ public class ReminderServiceTest {
     @DisplayName("Should successfully delete a reminder by removing it from its assignment's reminders list")
     void deleteReminder_shouldRemoveReminderFromAssignment() {
         // 1. Mock behavior:
-        // First, mock findById to return the testReminder. This is crucial because deleteReminder
+        // First, mock findVisibleById to return the testReminder. This is crucial because deleteReminder
         // internally calls findByReminderId.
-        when(reminderRepository.findById(testReminderId)).thenReturn(Optional.of(testReminder));
+        when(reminderRepository.findVisibleById(testReminderId)).thenReturn(Optional.of(testReminder));
 
         // 2. Pre-condition check: Ensure the reminder is initially in the assignment's list.
         assertTrue(testAssignment.getReminders().contains(testReminder), "Reminder should be in assignment's list initially");
@@ -200,8 +217,8 @@ public class ReminderServiceTest {
         reminderService.deleteReminder(testReminderId);
 
         // 4. Verify interactions:
-        // Verify that findById was called to retrieve the reminder.
-        verify(reminderRepository, times(1)).findById(testReminderId);
+        // Verify that findVisibleById was called to retrieve the reminder.
+        verify(reminderRepository, times(1)).findVisibleById(testReminderId);
         // IMPORTANT: The current implementation of deleteReminder only modifies the in-memory
         // Assignment object's reminder list. It does NOT call reminderRepository.delete()
         // nor does it call reminderRepository.save() on the Assignment or Reminder.
@@ -220,16 +237,16 @@ public class ReminderServiceTest {
         // 1. Define test data: Create a non-existent ID for deletion.
         UUID nonExistentId = UUID.randomUUID();
 
-        // 2. Mock behavior: When findById is called with the nonExistentId, return an empty Optional.
-        when(reminderRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        // 2. Mock behavior: When findVisibleById is called with the nonExistentId, return an empty Optional.
+        when(reminderRepository.findVisibleById(nonExistentId)).thenReturn(Optional.empty());
 
         // 3. Call the method under test and assert that it throws ReminderNotFoundException.
         ReminderNotFoundException thrown = assertThrows(ReminderNotFoundException.class, () ->
                 reminderService.deleteReminder(nonExistentId),
                 "Should throw ReminderNotFoundException when reminder to delete is not found");
 
-        // 4. Verify interactions: Ensure that findById was called.
-        verify(reminderRepository, times(1)).findById(nonExistentId);
+        // 4. Verify interactions: Ensure that findVisibleById was called.
+        verify(reminderRepository, times(1)).findVisibleById(nonExistentId);
 
         // 5. Assert outcomes: Check the exception message.
         assertTrue(thrown.getMessage().contains("Reminder not found with id: " + nonExistentId),
@@ -237,4 +254,109 @@ public class ReminderServiceTest {
         // Ensure no other repository methods were called.
         verifyNoMoreInteractions(reminderRepository);
     }
+
+    @Test
+    @DisplayName("Should return one page of reminders by status")
+    void findByStatus_withPageable_shouldReturnPage() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("reminderDate"));
+        when(reminderRepository.findByStatus(ReminderStatus.PENDING, pageable)).thenReturn(new PageImpl<>(List.of(testReminder), pageable, 1));
+
+        Page<Reminder> page = reminderService.findByStatus(ReminderStatus.PENDING, pageable);
+
+        assertEquals(List.of(testReminder), page.getContent());
+        verify(reminderRepository, never()).findByStatus(ReminderStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should publish a status change event when a reminder status is updated")
+    void updateReminderStatus_shouldPublishEvent() {
+        when(reminderRepository.findVisibleById(testReminderId)).thenReturn(Optional.of(testReminder));
+        when(reminderRepository.save(testReminder)).thenReturn(testReminder);
+
+        Reminder updated = reminderService.updateReminderStatus(testReminderId, ReminderStatus.DISMISSED);
+
+        assertEquals(ReminderStatus.DISMISSED, updated.getStatus());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof InventoryEvent e
+                && e.type() == InventoryEventType.REMINDER_STATUS_CHANGED
+                && e.entityId().equals(testReminderId)
+                && e.status().equals("DISMISSED")));
+    }
+
+    @Test
+    @DisplayName("Should place times in quiet hours, including windows spanning midnight")
+    void isWithin_shouldHandleWindowsSpanningMidnight() {
+        LocalTime nine = LocalTime.of(21, 0);
+        LocalTime seven = LocalTime.of(7, 0);
+
+        assertTrue(ReminderService.isWithin(nine, seven, LocalTime.of(23, 30)));
+        assertTrue(ReminderService.isWithin(nine, seven, LocalTime.of(6, 59)));
+        assertFalse(ReminderService.isWithin(nine, seven, seven));
+        assertFalse(ReminderService.isWithin(nine, seven, LocalTime.NOON));
+        assertTrue(ReminderService.isWithin(LocalTime.of(12, 0), LocalTime.of(14, 0), LocalTime.of(12, 0)));
+        assertFalse(ReminderService.isWithin(LocalTime.of(12, 0), LocalTime.of(14, 0), LocalTime.of(14, 0)));
+    }
+
+    @Test
+    @DisplayName("Should not dispatch anything during quiet hours")
+    void dispatchDueReminders_duringQuietHours_shouldLeaveRemindersPending() {
+        LocalTime now = LocalTime.now();
+        ReflectionTestUtils.setField(reminderService, "quietStart", now.minusHours(1).toString());
+        ReflectionTestUtils.setField(reminderService, "quietEnd", now.plusHours(1).toString());
+
+        assertTrue(reminderService.isQuietHours());
+        assertEquals(0, reminderService.dispatchDueReminders());
+        assertFalse(reminderService.enqueueSend(testReminderId), "A manual send waits for the quiet hours to end");
+        verifyNoInteractions(reminderRepository);
+    }
+
+    @Test
+    @DisplayName("Should create today's manual reminder as PENDING")
+    void prepareManualReminder_shouldCreatePendingReminder() {
+        when(reminderRepository.findByAssignmentIdAndReminderDateAndKind(testAssignment.getId(), LocalDate.now(), ReminderKind.MANUAL)).thenReturn(Optional.empty());
+        when(reminderRepository.save(any(Reminder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Reminder reminder = reminderService.prepareManualReminder(testAssignment, "Please return it");
+
+        assertEquals(ReminderStatus.PENDING, reminder.getStatus());
+        assertEquals(ReminderKind.MANUAL, reminder.getKind());
+        assertEquals(LocalDate.now(), reminder.getReminderDate());
+        assertEquals("Please return it", reminder.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should return the reminder of a concurrent request that created it first")
+    void prepareManualReminder_whenInsertRaceLost_shouldReturnExistingReminder() {
+        testReminder.setKind(ReminderKind.MANUAL);
+        when(reminderRepository.findByAssignmentIdAndReminderDateAndKind(testAssignment.getId(), LocalDate.now(), ReminderKind.MANUAL))
+                .thenReturn(Optional.empty(), Optional.of(testReminder));
+        when(reminderRepository.save(any(Reminder.class))).thenThrow(new DataIntegrityViolationException("uq_reminders_assignment_date_kind"));
+
+        assertSame(testReminder, reminderService.prepareManualReminder(testAssignment, "Please return it"));
+        verify(reminderRepository, times(1)).save(any(Reminder.class));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed manual reminder with the new message")
+    void prepareManualReminder_whenFailed_shouldRequeueIt() {
+        testReminder.setStatus(ReminderStatus.FAILED);
+        when(reminderRepository.findByAssignmentIdAndReminderDateAndKind(testAssignment.getId(), LocalDate.now(), ReminderKind.MANUAL)).thenReturn(Optional.of(testReminder));
+        when(reminderRepository.save(testReminder)).thenReturn(testReminder);
+
+        Reminder reminder = reminderService.prepareManualReminder(testAssignment, "Second try");
+
+        assertEquals(ReminderStatus.PENDING, reminder.getStatus());
+        assertEquals("Second try", reminder.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should refuse to send today's manual reminder again once it was sent")
+    void prepareManualReminder_whenSent_shouldThrowDuplicate() {
+        testReminder.setStatus(ReminderStatus.SENT);
+        when(reminderRepository.findByAssignmentIdAndReminderDateAndKind(testAssignment.getId(), LocalDate.now(), ReminderKind.MANUAL)).thenReturn(Optional.of(testReminder));
+
+        assertThrows(DuplicateReminderException.class, () -> reminderService.prepareManualReminder(testAssignment, "Again"));
+        assertEquals(ReminderStatus.SENT, testReminder.getStatus());
+        assertEquals("Don't forget the assignment!", testReminder.getMessage(), "The sent message is kept");
+        verify(reminderRepository, never()).save(any(Reminder.class));
+    }
 }
@@ -0,0 +1,189 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.JobWatermark;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.JobWatermarkRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+
+/**
+ * Tests the incremental reminder sweep against a real (H2) database: each run only delivers the
+ * reminders that became due since the watermark left by the previous one.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:sweep;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.hikari.maximum-pool-size=8"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {"sims.reminders.sweep-batch-size=3", "sims.reminders.sweep-commit-lag-seconds=0"})
+@Import({ReminderSweepService.class, ReminderService.class, ReminderTemplateService.class, SchedulerLeaseService.class, AssignmentService.class, ItemService.class,
+    CollectorService.class, CategoryService.class, ReservationService.class, ChangeLogService.class, ChangeCaptureListener.class,
+    UsageAnalyticsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Batches are delivered on the sweep's own threads
+class ReminderSweepServiceTest {
+
+    @Autowired
+    private ReminderSweepService reminderSweepService;
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private JobWatermarkRepository jobWatermarkRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private MailService mailService;
+
+    private Assignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        Collector collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        Item item = new Item("Laptop", "Staff laptop", "SN-L1", category);
+        item.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(item);
+        Assignment newAssignment = new Assignment();
+        newAssignment.setItem(item);
+        newAssignment.setCollector(collector);
+        newAssignment.setAssignmentDate(LocalDate.now().minusDays(20));
+        newAssignment.setReturnDueDate(LocalDate.now().minusDays(5));
+        assignment = assignmentRepository.save(newAssignment);
+        ReflectionTestUtils.setField(schedulerLeaseService, "nodeId", "test-node");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE items SET assignment_id = NULL"); // Items and assignments reference each other
+        for (String table : new String[] {"reminders", "assignments", "items", "collectors", "categories", "change_log",
+            "job_watermarks", "scheduler_leases"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * Tests that the first sweep delivers every pending due reminder over several batches, and the
+     * next sweep finds nothing new.
+     */
+    @Test
+    void testSweep_DeliversDueRemindersOnceAcrossBatches() {
+        for (int i = 0; i < 7; i++) {
+            reminder(LocalDate.now().minusDays(i), ReminderStatus.PENDING);
+        }
+        reminder(LocalDate.now().minusDays(10), ReminderStatus.SENT);
+        reminder(LocalDate.now().plusDays(1), ReminderStatus.PENDING); // Not due yet
+
+        assertEquals(7, reminderSweepService.sweep());
+        verify(mailService, times(7)).sendEmail(anyString(), anyString(), anyString());
+        JobWatermark watermark = jobWatermarkRepository.findById(ReminderSweepService.JOB_NAME).orElseThrow();
+        assertEquals(LocalDate.now(), watermark.getWatermarkDate());
+
+        assertEquals(0, reminderSweepService.sweep());
+        verify(mailService, times(7)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    /**
+     * Tests that a run reads only the window after the watermark: new due reminders and older ones
+     * that fell due since the watermark day, but not older ones the previous runs already covered.
+     */
+    @Test
+    void testSweep_OnlyReadsRemindersThatBecameDueSinceWatermark() {
+        Instant watermarkAt = Instant.now().minus(Duration.ofHours(1));
+        jobWatermarkRepository.save(new JobWatermark(ReminderSweepService.JOB_NAME, watermarkAt, LocalDate.now().minusDays(1), null));
+        UUID created = reminder(LocalDate.now(), ReminderStatus.PENDING).getId(); // Created since the watermark
+        UUID rolledOver = reminder(LocalDate.now(), ReminderStatus.PENDING, ReminderKind.OVERDUE).getId(); // Created earlier, due from today
+        UUID covered = reminder(LocalDate.now().minusDays(1), ReminderStatus.PENDING).getId(); // Created earlier, already due at the watermark
+        backdate(rolledOver, watermarkAt.minus(Duration.ofDays(2)));
+        backdate(covered, watermarkAt.minus(Duration.ofDays(2)));
+
+        assertEquals(2, reminderSweepService.sweep());
+        assertEquals(ReminderStatus.SENT, reminderRepository.findById(created).orElseThrow().getStatus());
+        assertEquals(ReminderStatus.SENT, reminderRepository.findById(rolledOver).orElseThrow().getStatus());
+        assertEquals(ReminderStatus.PENDING, reminderRepository.findById(covered).orElseThrow().getStatus()); // Left to the hourly dispatch
+    }
+
+    /**
+     * Tests that only the node holding the sweep lease sweeps.
+     */
+    @Test
+    void testSweep_SkippedWhenAnotherNodeHoldsTheLease() {
+        reminder(LocalDate.now(), ReminderStatus.PENDING);
+        ReflectionTestUtils.setField(schedulerLeaseService, "nodeId", "other-node");
+        assertTrue(schedulerLeaseService.tryAcquire(ReminderSweepService.JOB_NAME, Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(schedulerLeaseService, "nodeId", "test-node");
+
+        assertEquals(0, reminderSweepService.sweep());
+        verify(mailService, never()).sendEmail(anyString(), anyString(), anyString());
+        assertTrue(jobWatermarkRepository.findById(ReminderSweepService.JOB_NAME).isEmpty());
+    }
+
+    private Reminder reminder(LocalDate date, ReminderStatus status) {
+        return reminder(date, status, ReminderKind.MANUAL);
+    }
+
+    private Reminder reminder(LocalDate date, ReminderStatus status, ReminderKind kind) {
+        Reminder reminder = new Reminder();
+        reminder.setKind(kind);
+        reminder.setAssignment(assignment);
+        reminder.setReminderDate(date);
+        reminder.setStatus(status);
+        reminder.setMessage("Please return the laptop");
+        return reminderRepository.save(reminder);
+    }
+
+    private void backdate(UUID reminderId, Instant createdAt) {
+        jdbcTemplate.update("UPDATE reminders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), reminderId);
+    }
+}
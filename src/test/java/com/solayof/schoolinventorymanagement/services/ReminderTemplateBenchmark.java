@@ -0,0 +1,91 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.solayof.schoolinventorymanagement.repository.ReminderMessageData;
+
+/**
+ * JMH measurement of rendering 10,000 reminder emails: the string concatenation ReminderService
+ * used before, the compiled plain-text templates, and plain text plus HTML. Each invocation
+ * renders the whole batch. Not run by the test suite; run with
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     com.solayof.schoolinventorymanagement.services.ReminderTemplateBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReminderTemplateBenchmark {
+    private static final int MESSAGES = 10_000;
+
+    private List<ReminderMessageData> messages;
+    private ReminderTemplateService textTemplates;
+    private ReminderTemplateService htmlTemplates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        messages = new ArrayList<>(MESSAGES);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(new ReminderMessageData(UUID.randomUUID(), "Collector " + i, "collector" + i + "@school.test",
+                    "Laptop " + i, "SN-" + i, start.plusDays(i % 30), start.plusDays(i % 30 + 14)));
+        }
+        textTemplates = ReminderTemplateServiceTest.templates(ReminderTemplateService.DEFAULT_LOCATION, false);
+        htmlTemplates = ReminderTemplateServiceTest.templates(ReminderTemplateService.DEFAULT_LOCATION, true);
+    }
+
+    @Benchmark
+    public void concatenation(Blackhole blackhole) {
+        for (ReminderMessageData data : messages) {
+            blackhole.consume("Inventory Return Reminder: " + data.itemName());
+            blackhole.consume("Dear " + data.collectorName() + ",\n\n"
+                    + "This is a reminder that the item '" + data.itemName() + "' (Serial: " + data.serialNumber() + ") "
+                    + "assigned to you on " + data.assignmentDate() + " is due for return by " + data.returnDueDate() + ".\n\n"
+                    + "Please return it as soon as possible. Thank you.");
+        }
+    }
+
+    @Benchmark
+    public void templateText(Blackhole blackhole) {
+        for (ReminderMessageData data : messages) {
+            blackhole.consume(textTemplates.renderReminder(data));
+        }
+    }
+
+    @Benchmark
+    public void templateTextAndHtml(Blackhole blackhole) {
+        for (ReminderMessageData data : messages) {
+            blackhole.consume(htmlTemplates.renderReminder(data));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReminderTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.solayof.schoolinventorymanagement.repository.ReminderMessageData;
+import com.solayof.schoolinventorymanagement.services.ReminderTemplateService.RenderedMessage;
+
+/**
+ * Tests for the reminder templates, compiled from the default location and from an override directory.
+ */
+class ReminderTemplateServiceTest {
+
+    private static final ReminderMessageData LAPTOP = new ReminderMessageData(UUID.randomUUID(), "Alice", "alice@school.test",
+            "Laptop", "SN-1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8));
+    private static final ReminderMessageData PROJECTOR = new ReminderMessageData(UUID.randomUUID(), "Alice", "alice@school.test",
+            "Projector <4K>", "SN-2", LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 9));
+
+    private ReminderTemplateService reminderTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        reminderTemplateService = templates(ReminderTemplateService.DEFAULT_LOCATION, false);
+    }
+
+    /**
+     * Tests that the default reminder template renders the wording the service used to build by hand.
+     */
+    @Test
+    void testRenderReminder_DefaultTemplates() {
+        RenderedMessage message = reminderTemplateService.renderReminder(LAPTOP);
+
+        assertEquals("Inventory Return Reminder: Laptop", message.subject());
+        assertEquals("Dear Alice,\n\n"
+                + "This is a reminder that the item 'Laptop' (Serial: SN-1) assigned to you on 2024-01-01 is due for return by 2024-01-08.\n\n"
+                + "Please return it as soon as possible. Thank you.", message.text());
+        assertNull(message.html(), "HTML is only rendered when enabled");
+    }
+
+    /**
+     * Tests the singular and plural forms of the digest.
+     */
+    @Test
+    void testRenderDigest_SingularAndPlural() {
+        RenderedMessage single = reminderTemplateService.renderDigest(List.of(LAPTOP));
+        assertEquals("Inventory Return Reminder: Laptop", single.subject());
+        assertTrue(single.text().contains("The following item assigned to you is past its return due date:"));
+        assertTrue(single.text().endsWith("Please return it as soon as possible. Thank you."));
+
+        RenderedMessage both = reminderTemplateService.renderDigest(List.of(LAPTOP, PROJECTOR));
+        assertEquals("Inventory Return Reminder: 2 overdue items", both.subject());
+        assertEquals("Dear Alice,\n\n"
+                + "The following 2 items assigned to you are past their return due date:\n\n"
+                + "- 'Laptop' (Serial: SN-1), assigned on 2024-01-01, due for return by 2024-01-08\n"
+                + "- 'Projector <4K>' (Serial: SN-2), assigned on 2024-01-02, due for return by 2024-01-09\n\n"
+                + "Please return them as soon as possible. Thank you.", both.text());
+        assertThrows(IllegalArgumentException.class, () -> reminderTemplateService.renderDigest(List.of()));
+    }
+
+    /**
+     * Tests that the HTML variant is rendered when enabled, with the values escaped.
+     */
+    @Test
+    void testRenderDigest_HtmlEscapesValues() {
+        RenderedMessage message = templates(ReminderTemplateService.DEFAULT_LOCATION, true).renderDigest(List.of(LAPTOP, PROJECTOR));
+
+        assertTrue(message.html().contains("<td>Projector &lt;4K&gt;</td>"));
+        assertTrue(message.text().contains("'Projector <4K>'"), "The plain-text part is not escaped");
+    }
+
+    /**
+     * Tests that a template in the configured location replaces the default, and the others fall back.
+     */
+    @Test
+    void testInit_OverrideLocationFallsBackToDefaults(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("reminder.txt.mustache"), "Hello {{collectorName}}, please bring back {{itemName}} by {{returnDueDate}}.\n");
+
+        RenderedMessage message = templates(dir.toUri().toString(), false).renderReminder(LAPTOP);
+
+        assertEquals("Hello Alice, please bring back Laptop by 2024-01-08.", message.text());
+        assertEquals("Inventory Return Reminder: Laptop", message.subject());
+    }
+
+    /**
+     * Tests that a broken template fails at startup rather than on the first reminder.
+     */
+    @Test
+    void testInit_BrokenTemplateFails(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("digest.txt.mustache"), "{{#items}}unclosed");
+
+        assertThrows(IllegalStateException.class, () -> templates(dir.toUri().toString(), false));
+    }
+
+    static ReminderTemplateService templates(String location, boolean html) {
+        ReminderTemplateService service = new ReminderTemplateService();
+        ReflectionTestUtils.setField(service, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "location", location);
+        ReflectionTestUtils.setField(service, "html", html);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,167 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentSummaryDTO;
+import com.solayof.schoolinventorymanagement.dtos.CollectorAssignmentsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.exceptions.CollectorNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+
+/**
+ * Tests for the report queries against a real (H2) database, since the aggregation is done in SQL.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:reports;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReportService.class, CollectorService.class, ItemService.class, CategoryService.class, ChangeLogService.class, ChangeCaptureListener.class})
+class ReportServiceTest {
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+    private Collector alice;
+    private Collector bob;
+    private int serial;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        alice = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        bob = collectorRepository.save(new Collector("Bob", "0800000002", "bob@school.test"));
+        LocalDate today = LocalDate.now();
+
+        assign(alice, today.minusDays(3), null); // Overdue
+        assign(alice, today.minusDays(1), null); // Overdue
+        assign(alice, today.plusDays(5), null);
+        assign(alice, today.minusDays(10), today.minusDays(9)); // Returned, not counted
+        assign(bob, today.plusDays(2), null);
+        assignmentRepository.flush();
+    }
+
+    /**
+     * Tests that the report aggregates active and overdue assignments per collector in one query.
+     */
+    @Test
+    void testGetCollectorAssignmentsReport_AggregatesPerCollector() {
+        CollectorAssignmentsReportDTO report = reportService.getCollectorAssignmentsReport();
+
+        assertEquals(List.of(alice.getId(), bob.getId()), List.copyOf(report.getCollectors().keySet())); // Ordered by name
+        CollectorAssignmentSummaryDTO aliceSummary = report.getCollectors().get(alice.getId());
+        assertEquals("Alice", aliceSummary.getCollectorName());
+        assertEquals(3, aliceSummary.getActiveCount());
+        assertEquals(2, aliceSummary.getOverdueCount());
+        assertEquals(LocalDate.now().minusDays(3), aliceSummary.getOldestDueDate());
+        CollectorAssignmentSummaryDTO bobSummary = report.getCollectors().get(bob.getId());
+        assertEquals(1, bobSummary.getActiveCount());
+        assertEquals(0, bobSummary.getOverdueCount());
+        assertEquals(4, report.getTotalActiveAssignments());
+        assertEquals(2, report.getTotalOverdueAssignments());
+    }
+
+    /**
+     * Tests that the inventory levels report counts items by status and category in SQL.
+     */
+    @Test
+    void testGetInventoryLevelsReport_CountsByStatusAndCategory() {
+        Item spare = new Item("Projector", "Spare projector", "SN-P1", category);
+        spare.setStatus(Status.AVAILABLE);
+        itemRepository.saveAndFlush(spare);
+
+        InventoryLevelsReportDTO report = reportService.getInventoryLevelsReport();
+
+        assertEquals(6, report.getTotalItems());
+        assertEquals(4L, report.getItemCountsByStatus().get(Status.ASSIGNED));
+        assertEquals(2L, report.getItemCountsByStatus().get(Status.AVAILABLE));
+        assertEquals(6L, report.getItemCountsByCategory().get("ELECTRONICS"));
+        assertEquals(4.0 / 6, report.getUtilization(), 1e-9);
+        assertNotNull(report.getGeneratedAt());
+    }
+
+    /**
+     * Tests that collectors without active assignments are left out of the report.
+     */
+    @Test
+    void testGetCollectorAssignmentsReport_SkipsCollectorsWithoutActiveAssignments() {
+        Collector idle = collectorRepository.save(new Collector("Carol", "0800000003", "carol@school.test"));
+
+        assertFalse(reportService.getCollectorAssignmentsReport().getCollectors().containsKey(idle.getId()));
+    }
+
+    /**
+     * Tests that the detail list is paginated and sorted, and can be restricted to overdue assignments.
+     */
+    @Test
+    void testGetCollectorAssignments_Paginated() {
+        PageRequest firstPage = PageRequest.of(0, 2, Sort.by("returnDueDate"));
+
+        Page<Assignment> active = reportService.getCollectorAssignments(alice.getId(), false, firstPage);
+        assertEquals(3, active.getTotalElements());
+        assertEquals(2, active.getContent().size());
+        assertEquals(LocalDate.now().minusDays(3), active.getContent().get(0).getReturnDueDate());
+
+        Page<Assignment> overdue = reportService.getCollectorAssignments(alice.getId(), true, firstPage);
+        assertEquals(2, overdue.getTotalElements());
+    }
+
+    /**
+     * Tests that paging through an unknown collector throws.
+     */
+    @Test
+    void testGetCollectorAssignments_UnknownCollector() {
+        assertThrows(CollectorNotFoundException.class,
+                () -> reportService.getCollectorAssignments(UUID.randomUUID(), false, PageRequest.of(0, 20)));
+    }
+
+    private void assign(Collector collector, LocalDate dueDate, LocalDate returnedOn) {
+        Item item = new Item("Laptop " + serial, "Staff laptop", "SN-" + serial++, category);
+        item.setStatus(returnedOn == null ? Status.ASSIGNED : Status.AVAILABLE);
+        item = itemRepository.save(item);
+        Assignment assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(LocalDate.now().minusDays(14));
+        assignment.setReturnDueDate(dueDate);
+        assignment.setActualReturnDate(returnedOn);
+        assignmentRepository.save(assignment);
+    }
+}
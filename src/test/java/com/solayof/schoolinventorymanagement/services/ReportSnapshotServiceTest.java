@@ -0,0 +1,198 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.constants.ReportType;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.dtos.ReportSnapshotDTO;
+import com.solayof.schoolinventorymanagement.entity.ReportSnapshot;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ReportSnapshotRepository;
+
+/**
+ * Unit tests for ReportSnapshotService using JUnit 5 and Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportSnapshotServiceTest {
+
+    @Mock
+    private ReportSnapshotRepository reportSnapshotRepository;
+    @Mock
+    private ReportService reportService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private CollectorRepository collectorRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // Configured like Spring Boot's mapper
+
+    @InjectMocks
+    private ReportSnapshotService reportSnapshotService;
+
+    private InventoryLevelsReportDTO report;
+
+    @BeforeEach
+    void setUp() {
+        report = new InventoryLevelsReportDTO();
+        report.setTotalItems(4);
+        report.setItemCountsByStatus(Map.of(Status.ASSIGNED, 1L, Status.AVAILABLE, 3L));
+        report.setItemCountsByCategory(Map.of("Electronics", 4L));
+        report.setUtilization(0.25);
+        report.setGeneratedAt(Instant.parse("2024-01-10T06:00:00Z"));
+
+        // Run snapshot callbacks inline, as the real template would inside a transaction
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    /**
+     * Tests that a snapshot stores the serialized report and is then served without recomputing.
+     */
+    @Test
+    void testTakeSnapshot_StoresPayloadAndServesItFromMemory() {
+        when(reportService.getInventoryLevelsReport()).thenReturn(report);
+
+        reportSnapshotService.takeSnapshot(ReportType.INVENTORY_LEVELS);
+        InventoryLevelsReportDTO served = reportSnapshotService.getInventoryLevels(false);
+
+        assertSame(report, served);
+        ArgumentCaptor<ReportSnapshot> saved = ArgumentCaptor.forClass(ReportSnapshot.class);
+        verify(reportSnapshotRepository).save(saved.capture());
+        assertEquals(ReportType.INVENTORY_LEVELS, saved.getValue().getReportType());
+        assertTrue(saved.getValue().getPayload().contains("\"totalItems\":4"));
+        verify(reportService, times(1)).getInventoryLevelsReport();
+        verify(reportSnapshotRepository, never()).findFirstByReportTypeOrderByCreatedAtDesc(any());
+    }
+
+    /**
+     * Tests that after a restart the latest stored snapshot is read back instead of recomputed.
+     */
+    @Test
+    void testGetInventoryLevels_LoadsLatestStoredSnapshot() throws Exception {
+        ReportSnapshot stored = new ReportSnapshot(null, ReportType.INVENTORY_LEVELS, objectMapper.writeValueAsString(report), report.getGeneratedAt(), TenantContext.DEFAULT_SCHOOL);
+        when(reportSnapshotRepository.findFirstByReportTypeOrderByCreatedAtDesc(ReportType.INVENTORY_LEVELS)).thenReturn(Optional.of(stored));
+
+        InventoryLevelsReportDTO served = reportSnapshotService.getInventoryLevels(false);
+        reportSnapshotService.getInventoryLevels(false);
+
+        assertEquals(4, served.getTotalItems());
+        assertEquals(3L, served.getItemCountsByStatus().get(Status.AVAILABLE));
+        assertEquals(report.getGeneratedAt(), served.getGeneratedAt());
+        verify(reportSnapshotRepository, times(1)).findFirstByReportTypeOrderByCreatedAtDesc(ReportType.INVENTORY_LEVELS); // Cached after the first read
+        verify(reportService, never()).getInventoryLevelsReport();
+    }
+
+    /**
+     * Tests that a report without any snapshot is computed on first request.
+     */
+    @Test
+    void testGetInventoryLevels_NoSnapshot_ComputesOne() {
+        when(reportSnapshotRepository.findFirstByReportTypeOrderByCreatedAtDesc(ReportType.INVENTORY_LEVELS)).thenReturn(Optional.empty());
+        when(reportService.getInventoryLevelsReport()).thenReturn(report);
+
+        assertSame(report, reportSnapshotService.getInventoryLevels(false));
+        verify(reportSnapshotRepository).save(any(ReportSnapshot.class));
+    }
+
+    /**
+     * Tests that fresh=true recomputes even when a snapshot is cached.
+     */
+    @Test
+    void testGetInventoryLevels_Fresh_Recomputes() {
+        InventoryLevelsReportDTO newer = new InventoryLevelsReportDTO();
+        when(reportService.getInventoryLevelsReport()).thenReturn(report, newer);
+
+        reportSnapshotService.takeSnapshot(ReportType.INVENTORY_LEVELS);
+
+        assertSame(newer, reportSnapshotService.getInventoryLevels(true));
+        assertSame(newer, reportSnapshotService.getInventoryLevels(false));
+        verify(reportSnapshotRepository, times(2)).save(any(ReportSnapshot.class));
+    }
+
+    /**
+     * Tests that one failing report does not stop the others from being snapshotted.
+     */
+    @Test
+    void testTakeSnapshots_ContinuesAfterFailure() {
+        when(reportService.getInventoryLevelsReport()).thenThrow(new IllegalStateException("boom"));
+
+        reportSnapshotService.takeSnapshots();
+
+        verify(reportService).getCollectorAssignmentsReport();
+        verify(reportSnapshotRepository, times(1)).save(any(ReportSnapshot.class));
+    }
+
+    /**
+     * Tests that every school with data, and the default one, gets its snapshots.
+     */
+    @Test
+    void testTakeSnapshots_EverySchool() {
+        when(categoryRepository.findSchoolIds()).thenReturn(List.of("north", TenantContext.DEFAULT_SCHOOL));
+        when(collectorRepository.findSchoolIds()).thenReturn(List.of("north", "south"));
+        when(reportService.getInventoryLevelsReport()).thenReturn(report);
+
+        reportSnapshotService.takeSnapshots();
+
+        verify(reportService, times(3)).getInventoryLevelsReport();
+        verify(reportService, times(3)).getCollectorAssignmentsReport();
+        assertNull(TenantContext.current());
+    }
+
+    /**
+     * Tests that the in-memory snapshot of one school is not served to another.
+     */
+    @Test
+    void testGetInventoryLevels_CachedPerSchool() {
+        InventoryLevelsReportDTO south = new InventoryLevelsReportDTO();
+        when(reportService.getInventoryLevelsReport()).thenReturn(report, south);
+        when(reportSnapshotRepository.findFirstByReportTypeOrderByCreatedAtDesc(ReportType.INVENTORY_LEVELS)).thenReturn(Optional.empty());
+
+        TenantContext.runAs("north", () -> reportSnapshotService.takeSnapshot(ReportType.INVENTORY_LEVELS));
+        TenantContext.runAs("south", () -> assertSame(south, reportSnapshotService.getInventoryLevels(false)));
+        TenantContext.runAs("north", () -> assertSame(report, reportSnapshotService.getInventoryLevels(false)));
+    }
+
+    /**
+     * Tests that the history returns the stored payloads and rejects inverted ranges.
+     */
+    @Test
+    void testGetHistory() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-31T00:00:00Z");
+        ReportSnapshot stored = new ReportSnapshot(null, ReportType.INVENTORY_LEVELS, "{\"totalItems\":4}", from, TenantContext.DEFAULT_SCHOOL);
+        when(reportSnapshotRepository.findByReportTypeAndCreatedAtBetweenOrderByCreatedAtAsc(ReportType.INVENTORY_LEVELS, from, to))
+                .thenReturn(List.of(stored));
+
+        List<ReportSnapshotDTO> history = reportSnapshotService.getHistory(ReportType.INVENTORY_LEVELS, from, to);
+
+        assertEquals(1, history.size());
+        assertEquals("{\"totalItems\":4}", history.get(0).getPayload());
+        assertThrows(IllegalArgumentException.class, () -> reportSnapshotService.getHistory(ReportType.INVENTORY_LEVELS, to, from));
+    }
+}
@@ -0,0 +1,179 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.exceptions.ReservationNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit test class for ReservationService
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository; // Mocking the ReservationRepository
+
+    @Mock
+    private ItemService itemService; // Mocking the ItemService
+
+    @Mock
+    private CollectorService collectorService; // Mocking the CollectorService
+
+    @Mock
+    private MailService mailService; // Mocking the MailService
+
+    @InjectMocks
+    private ReservationService reservationService; // Injecting mocks into the ReservationService
+
+    private UUID itemId;
+    private UUID collectorId;
+    private Item item;
+    private Collector collector;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Initialize test data: an item currently held by someone else
+        itemId = UUID.randomUUID();
+        collectorId = UUID.randomUUID();
+        item = new Item();
+        item.setId(itemId);
+        item.setName("Projector");
+        item.setSerialNumber("SN-42");
+        item.setStatus(Status.ASSIGNED);
+        collector = new Collector();
+        collector.setId(collectorId);
+        collector.setName("Ada");
+        collector.setEmail("ada@school.test");
+
+        when(itemService.findByItemId(itemId)).thenReturn(item);
+        when(collectorService.findByCollectorId(collectorId)).thenReturn(collector);
+        Answer<Reservation> assignId = invocation -> {
+            Reservation saved = invocation.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(UUID.randomUUID());
+            }
+            return saved;
+        };
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(assignId);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenAnswer(assignId); // New reservations
+    }
+
+    private Reservation waiting(UUID id) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setItem(item);
+        reservation.setCollector(collector);
+        reservation.setLoanDays(7);
+        reservation.setStatus(ReservationStatus.WAITING);
+        return reservation;
+    }
+
+    @Test
+    void testFindByReservationId_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(reservationRepository.findVisibleById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.findByReservationId(id));
+    }
+
+    @Test
+    void testReserve_Success() {
+        Reservation result = reservationService.reserve(itemId, collectorId, 14);
+
+        assertEquals(ReservationStatus.WAITING, result.getStatus());
+        assertEquals(14, result.getLoanDays());
+        assertEquals(item, result.getItem());
+        assertEquals(collector, result.getCollector());
+    }
+
+    @Test
+    void testReserve_ItemAvailable() {
+        item.setStatus(Status.AVAILABLE);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve(itemId, collectorId, 7));
+        verify(reservationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testReserve_AlreadyWaiting() {
+        when(reservationRepository.existsByItemIdAndCollectorIdAndStatus(itemId, collectorId, ReservationStatus.WAITING))
+                .thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve(itemId, collectorId, 7));
+        verify(reservationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testReserve_AppendsToLoadedWaitlist() {
+        UUID first = UUID.randomUUID();
+        when(reservationRepository.findIdsByItemIdAndStatus(itemId, ReservationStatus.WAITING))
+                .thenReturn(new ArrayList<>(List.of(first)));
+        assertEquals(List.of(first), reservationService.getWaitlist(itemId)); // Loads the waitlist once
+
+        Reservation second = reservationService.reserve(itemId, collectorId, 7);
+
+        assertEquals(List.of(first, second.getId()), reservationService.getWaitlist(itemId));
+        assertEquals(2, reservationService.positionOf(second));
+        verify(reservationRepository, times(1)).findIdsByItemIdAndStatus(itemId, ReservationStatus.WAITING);
+    }
+
+    @Test
+    void testCancel_RemovesFromWaitlist() {
+        UUID id = UUID.randomUUID();
+        Reservation reservation = waiting(id);
+        when(reservationRepository.findVisibleById(id)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.findIdsByItemIdAndStatus(itemId, ReservationStatus.WAITING))
+                .thenReturn(new ArrayList<>(List.of(id)));
+        assertEquals(1, reservationService.positionOf(reservation));
+
+        Reservation result = reservationService.cancel(id);
+
+        assertEquals(ReservationStatus.CANCELLED, result.getStatus());
+        assertNull(reservationService.positionOf(result));
+        assertTrue(reservationService.getWaitlist(itemId).isEmpty());
+    }
+
+    @Test
+    void testCancel_NotWaiting() {
+        UUID id = UUID.randomUUID();
+        Reservation reservation = waiting(id);
+        reservation.setStatus(ReservationStatus.FULFILLED);
+        when(reservationRepository.findVisibleById(id)).thenReturn(Optional.of(reservation));
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.cancel(id));
+    }
+
+    @Test
+    void testMarkFulfilled_NotifiesCollector() {
+        UUID id = UUID.randomUUID();
+        when(reservationRepository.findVisibleById(id)).thenReturn(Optional.of(waiting(id)));
+        Assignment assignment = new Assignment();
+        assignment.setId(UUID.randomUUID());
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setReturnDueDate(LocalDate.now().plusDays(7));
+
+        Reservation result = reservationService.markFulfilled(id, assignment);
+
+        assertEquals(ReservationStatus.FULFILLED, result.getStatus());
+        assertEquals(assignment.getId(), result.getAssignmentId());
+        assertNotNull(result.getFulfilledAt());
+        verify(mailService).sendEmail(eq("ada@school.test"), eq("Reserved item ready: Projector"), anyString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.solayof.schoolinventorymanagement.constants.ReservationStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reservation;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ReservationRepository;
+
+/**
+ * Tests against the H2 schema built by the Flyway migrations that a collector can wait for an
+ * item only once, as the partial unique index does on PostgreSQL.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/h2",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:reservationkey;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReservationWaitingKeyTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Item item;
+    private Collector collector;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        Item laptop = new Item("Laptop", "Staff laptop", "SN-L1", category);
+        laptop.setStatus(Status.ASSIGNED);
+        item = itemRepository.save(laptop);
+        collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+    }
+
+    /**
+     * Tests that a second waiting reservation of the same collector for the same item is rejected,
+     * as when two requests pass the service's check at once.
+     */
+    @Test
+    void testSecondWaitingReservation_Rejected() {
+        reservationRepository.saveAndFlush(reservation(ReservationStatus.WAITING));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> reservationRepository.saveAndFlush(reservation(ReservationStatus.WAITING)));
+    }
+
+    /**
+     * Tests that closed reservations stay out of the key, so a collector can wait again.
+     */
+    @Test
+    void testClosedReservations_DoNotBlockWaiting() {
+        reservationRepository.saveAndFlush(reservation(ReservationStatus.CANCELLED));
+        reservationRepository.saveAndFlush(reservation(ReservationStatus.CANCELLED));
+        reservationRepository.saveAndFlush(reservation(ReservationStatus.FULFILLED));
+
+        assertNotNull(reservationRepository.saveAndFlush(reservation(ReservationStatus.WAITING)).getId());
+        assertEquals(4, reservationRepository.count());
+    }
+
+    private Reservation reservation(ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setItem(item);
+        reservation.setCollector(collector);
+        reservation.setLoanDays(7);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -0,0 +1,142 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.solayof.schoolinventorymanagement.entity.SchedulerLease;
+import com.solayof.schoolinventorymanagement.repository.SchedulerLeaseRepository;
+
+/**
+ * Tests the scheduler leases against a real (H2) database. Several nodes are simulated by
+ * switching the node ID of the service between calls.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:leases;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.hikari.maximum-pool-size=8"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchedulerLeaseService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each lease operation commits, as it would across nodes
+class SchedulerLeaseServiceTest {
+
+    private static final String LEASE = "overdue-reminders:2024-01-10:0/8";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM scheduler_leases");
+    }
+
+    /**
+     * Tests that a lease is held by one node at a time, and can be reacquired by its holder.
+     */
+    @Test
+    void testTryAcquire_HeldByOneNode() {
+        assertTrue(asNode("node-a").tryAcquire(LEASE, TTL));
+        assertFalse(asNode("node-b").tryAcquire(LEASE, TTL));
+        assertTrue(asNode("node-a").tryAcquire(LEASE, TTL));
+        assertEquals("node-a", schedulerLeaseRepository.findById(LEASE).orElseThrow().getOwner());
+    }
+
+    /**
+     * Tests that of several nodes racing for a new lease, exactly one acquires it.
+     */
+    @Test
+    void testTryAcquire_ConcurrentNodes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Boolean>> nodes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                SchedulerLeaseService node = new SchedulerLeaseService();
+                ReflectionTestUtils.setField(node, "schedulerLeaseRepository", schedulerLeaseRepository);
+                ReflectionTestUtils.setField(node, "transactionTemplate", ReflectionTestUtils.getField(schedulerLeaseService, "transactionTemplate"));
+                ReflectionTestUtils.setField(node, "nodeId", "node-" + i);
+                nodes.add(() -> node.tryAcquire(LEASE, TTL));
+            }
+            int acquired = 0;
+            for (Future<Boolean> result : executor.invokeAll(nodes)) {
+                acquired += result.get() ? 1 : 0;
+            }
+            assertEquals(1, acquired);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests failover: once the holder's lease expires another node takes it over, and the old
+     * holder can no longer renew or complete it.
+     */
+    @Test
+    void testExpiredLease_TakenOverByAnotherNode() {
+        assertTrue(asNode("node-a").tryAcquire(LEASE, TTL));
+        expire(LEASE);
+
+        assertEquals(List.of(LEASE), schedulerLeaseService.findExpired("overdue-reminders:"));
+        assertTrue(asNode("node-b").tryAcquire(LEASE, TTL));
+        assertTrue(schedulerLeaseService.findExpired("overdue-reminders:").isEmpty());
+
+        assertFalse(asNode("node-a").renew(LEASE, TTL));
+        assertFalse(asNode("node-a").complete(LEASE));
+        assertTrue(asNode("node-b").renew(LEASE, TTL));
+    }
+
+    /**
+     * Tests that a completed lease is not acquired again, nor reported as expired, and is purged later.
+     */
+    @Test
+    void testCompletedLease_NotReacquired() {
+        assertTrue(asNode("node-a").tryAcquire(LEASE, TTL));
+        assertTrue(asNode("node-a").complete(LEASE));
+
+        assertFalse(asNode("node-a").tryAcquire(LEASE, TTL));
+        assertFalse(asNode("node-b").tryAcquire(LEASE, TTL));
+        assertTrue(schedulerLeaseService.findExpired("overdue-reminders:").isEmpty());
+
+        assertEquals(0, schedulerLeaseService.purgeCompletedBefore(Instant.now().minus(Duration.ofDays(1))));
+        assertEquals(1, schedulerLeaseService.purgeCompletedBefore(Instant.now().plusSeconds(1)));
+    }
+
+    private SchedulerLeaseService asNode(String nodeId) {
+        ReflectionTestUtils.setField(schedulerLeaseService, "nodeId", nodeId);
+        return schedulerLeaseService;
+    }
+
+    private void expire(String lease) {
+        SchedulerLease row = schedulerLeaseRepository.findById(lease).orElseThrow();
+        row.setLockedUntil(Instant.now().minusSeconds(1));
+        schedulerLeaseRepository.save(row);
+    }
+}
@@ -0,0 +1,293 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.config.TenancyConfig;
+import com.solayof.schoolinventorymanagement.config.TenantContext;
+import com.solayof.schoolinventorymanagement.constants.ChangeOperation;
+import com.solayof.schoolinventorymanagement.constants.ReminderKind;
+import com.solayof.schoolinventorymanagement.constants.ReminderStatus;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.ChangeRecordDTO;
+import com.solayof.schoolinventorymanagement.dtos.InventoryLevelsReportDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.entity.Reminder;
+import com.solayof.schoolinventorymanagement.entity.UserEntity;
+import com.solayof.schoolinventorymanagement.exceptions.ItemNotFoundException;
+import com.solayof.schoolinventorymanagement.exceptions.UserNotFoundException;
+import com.solayof.schoolinventorymanagement.repository.AssignmentRepository;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.ChangeLogRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemUsageDailyRepository;
+import com.solayof.schoolinventorymanagement.repository.ReminderRepository;
+import com.solayof.schoolinventorymanagement.repository.UserRepository;
+
+/**
+ * Tests that two schools sharing a (H2) database only see their own rows. Every call runs in its
+ * own transaction, as the school filter is enabled when a transaction begins.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:tenancy;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TenancyConfig.class, ReportService.class, CollectorService.class, ItemService.class, CategoryService.class,
+    ChangeLogService.class, ChangeCaptureListener.class, UsageAnalyticsService.class, UserService.class,
+    SchoolTenancyTest.PasswordConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchoolTenancyTest {
+
+    @TestConfiguration
+    static class PasswordConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService;
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private ItemUsageDailyRepository itemUsageDailyRepository;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Item northLaptop;
+
+    @BeforeEach
+    void setUp() {
+        northLaptop = as("north", () -> {
+            Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+            Item laptop = item("Laptop", "SN-1", category, Status.ASSIGNED);
+            item("Projector", "SN-2", category, Status.AVAILABLE);
+            Collector alice = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+            remind(assign(laptop, alice));
+            return laptop;
+        });
+        as("south", () -> {
+            // The same names, serial numbers and emails as the other school
+            Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+            item("Laptop", "SN-1", category, Status.AVAILABLE);
+            return collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            reminderRepository.deleteAll();
+            itemUsageDailyRepository.deleteAll();
+            itemRepository.findAll().forEach(item -> item.setAssignment(null));
+            itemRepository.flush();
+            assignmentRepository.deleteAll();
+            itemRepository.deleteAll();
+            collectorRepository.deleteAll();
+            categoryRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+        // Separately, as the deletes above are captured when their transaction commits
+        changeLogRepository.deleteAll();
+    }
+
+    /**
+     * Tests that listings, reports and child rows only cover the current school.
+     */
+    @Test
+    void testQueries_OnlySeeTheCurrentSchool() {
+        assertEquals(List.of("Laptop", "Projector"), as("north", () -> itemService.findAllItems().stream().map(Item::getName).sorted().toList()));
+        assertEquals(1, as("south", () -> itemService.findAllItems().size()));
+        assertEquals(1, as("south", () -> categoryService.findAllCategories().size()));
+
+        InventoryLevelsReportDTO north = as("north", () -> reportService.getInventoryLevelsReport());
+        assertEquals(2, north.getTotalItems());
+        assertEquals(1L, north.getItemCountsByStatus().get(Status.ASSIGNED));
+        InventoryLevelsReportDTO south = as("south", () -> reportService.getInventoryLevelsReport());
+        assertEquals(1, south.getTotalItems());
+        assertNull(south.getItemCountsByStatus().get(Status.ASSIGNED));
+
+        assertEquals(1, as("north", () -> reminderRepository.findByStatus(ReminderStatus.PENDING).size()));
+        assertEquals(0, as("south", () -> reminderRepository.findByStatus(ReminderStatus.PENDING).size()), "Reminders follow their assignment's school");
+        assertEquals(3, itemService.findAllItems().size(), "Without a school, e.g. in scheduled jobs, all schools are seen");
+    }
+
+    /**
+     * Tests that usage rollups belong to the school of their item, and that usage reports only
+     * cover the current school's items.
+     */
+    @Test
+    void testUsageReports_OnlyCoverTheCurrentSchool() {
+        as("north", () -> transactionTemplate.execute(status -> {
+            usageAnalyticsService.recordCheckout(assignmentRepository.findAll().get(0));
+            return null;
+        }));
+        LocalDate from = LocalDate.now().minusDays(30);
+
+        assertEquals("north", itemUsageDailyRepository.findAll().get(0).getSchoolId());
+        assertEquals(1, as("north", () -> usageAnalyticsService.getItemUsage(from, LocalDate.now()).size()));
+        assertTrue(as("south", () -> usageAnalyticsService.getItemUsage(from, LocalDate.now())).isEmpty());
+        assertTrue(as("south", () -> usageAnalyticsService.getCategoryUsage(from, LocalDate.now())).isEmpty());
+    }
+
+    /**
+     * Tests that loading another school's row by ID, which no filter covers, is reported as not found.
+     */
+    @Test
+    void testFindById_OtherSchoolNotFound() {
+        UUID id = northLaptop.getId();
+
+        assertEquals("Laptop", as("north", () -> itemService.findByItemId(id).getName()));
+        assertThrows(ItemNotFoundException.class, () -> as("south", () -> itemService.findByItemId(id)));
+        assertFalse(as("south", () -> itemService.existsById(id)));
+    }
+
+    /**
+     * Tests that an admin of one school can neither list nor find the users of another, so cannot
+     * edit them or reset their passwords.
+     */
+    @Test
+    void testUsers_OtherSchoolNotFound() {
+        UUID id = as("north", () -> {
+            userService.addUser(user("bob@north.test", "secret"));
+            return userRepository.findByEmail("bob@north.test").get().getId();
+        });
+        String password = userRepository.findById(id).get().getPassword();
+
+        assertEquals("north", userRepository.findById(id).get().getSchoolId());
+        assertEquals(1, as("north", () -> userRepository.findAll().size()));
+        assertTrue(as("south", () -> userRepository.findAll()).isEmpty());
+        assertThrows(UserNotFoundException.class, () -> as("south", () -> {
+            UserEntity user = userService.getUserById(id);
+            user.setPassword("taken-over");
+            return userService.updateUserPassword(user);
+        }));
+        assertEquals(password, userRepository.findById(id).get().getPassword());
+    }
+
+    /**
+     * Tests that the change feed of a school only holds its own changes, including those made
+     * in bulk, while a job without a school reads them all.
+     */
+    @Test
+    void testChangeFeed_OnlyHoldsTheCurrentSchool() {
+        UUID id = northLaptop.getId();
+        as("north", () -> transactionTemplate.execute(status -> {
+            changeLogService.recordBulkChange(Item.class, id, ChangeOperation.UPDATE);
+            return null;
+        }));
+
+        List<ChangeRecordDTO> north = as("north", () -> changeLogService.getChanges(0, 100).getChanges());
+        List<ChangeRecordDTO> south = as("south", () -> changeLogService.getChanges(0, 100).getChanges());
+        assertEquals(List.of("Assignment", "Collector", "Item", "Item", "Item", "Reminder"),
+                north.stream().map(ChangeRecordDTO::getEntityType).sorted().toList());
+        assertEquals(id, north.get(north.size() - 1).getEntityId(), "The bulk change's school is looked up");
+        assertEquals(List.of("Collector", "Item"), south.stream().map(ChangeRecordDTO::getEntityType).sorted().toList());
+        assertEquals(8, changeLogService.getChanges(0, 100).getChanges().size());
+    }
+
+    /**
+     * Tests that new rows belong to the school they were created for, or to the default school.
+     */
+    @Test
+    void testSave_StampsTheCurrentSchool() {
+        assertEquals("north", northLaptop.getSchoolId());
+        Category shared = categoryRepository.save(new Category("FURNITURE", "Desks"));
+        assertEquals(TenantContext.DEFAULT_SCHOOL, shared.getSchoolId());
+        assertTrue(as("north", () -> categoryRepository.findByName("FURNITURE")).isEmpty());
+    }
+
+    private <T> T as(String schoolId, Supplier<T> work) {
+        AtomicReference<T> result = new AtomicReference<>();
+        TenantContext.runAs(schoolId, () -> result.set(work.get()));
+        return result.get();
+    }
+
+    private static UserEntity user(String email, String password) {
+        UserEntity user = new UserEntity();
+        user.setFirstName("Bob");
+        user.setLastName("Smith");
+        user.setEmail(email);
+        user.setDob(LocalDate.of(1990, 1, 1));
+        user.setPassword(password);
+        return user;
+    }
+
+    private Item item(String name, String serialNumber, Category category, Status status) {
+        Item item = new Item(name, "Test item", serialNumber, category);
+        item.setStatus(status);
+        return itemRepository.save(item);
+    }
+
+    private Assignment assign(Item item, Collector collector) {
+        Assignment assignment = new Assignment();
+        assignment.setItem(item);
+        assignment.setCollector(collector);
+        assignment.setAssignmentDate(LocalDate.now().minusDays(14));
+        assignment.setReturnDueDate(LocalDate.now().minusDays(1));
+        return assignmentRepository.save(assignment);
+    }
+
+    private void remind(Assignment assignment) {
+        Reminder reminder = new Reminder();
+        reminder.setAssignment(assignment);
+        reminder.setReminderDate(LocalDate.now());
+        reminder.setStatus(ReminderStatus.PENDING);
+        reminder.setKind(ReminderKind.OVERDUE);
+        reminderRepository.save(reminder);
+    }
+}
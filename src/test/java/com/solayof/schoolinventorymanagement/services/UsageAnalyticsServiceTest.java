@@ -0,0 +1,184 @@
+package com.solayof.schoolinventorymanagement.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.solayof.schoolinventorymanagement.config.ChangeCaptureListener;
+import com.solayof.schoolinventorymanagement.constants.Status;
+import com.solayof.schoolinventorymanagement.dtos.CategoryUsageDTO;
+import com.solayof.schoolinventorymanagement.dtos.ItemUsageDTO;
+import com.solayof.schoolinventorymanagement.entity.Assignment;
+import com.solayof.schoolinventorymanagement.entity.AssignmentHistory;
+import com.solayof.schoolinventorymanagement.entity.Category;
+import com.solayof.schoolinventorymanagement.entity.Collector;
+import com.solayof.schoolinventorymanagement.entity.Item;
+import com.solayof.schoolinventorymanagement.repository.CategoryRepository;
+import com.solayof.schoolinventorymanagement.repository.CollectorRepository;
+import com.solayof.schoolinventorymanagement.repository.ItemRepository;
+
+/**
+ * Tests that checkouts and returns maintain the assignment history and daily usage rollups,
+ * and that the analytics aggregate them correctly, against a real (H2) database.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.url=jdbc:h2:mem:usage;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UsageAnalyticsService.class, AssignmentService.class, ItemService.class, CollectorService.class, CategoryService.class,
+    ReservationService.class, ChangeLogService.class, ChangeCaptureListener.class})
+class UsageAnalyticsServiceTest {
+
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService;
+    @Autowired
+    private AssignmentService assignmentService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CollectorRepository collectorRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @MockBean
+    private MailService mailService; // Hand-off notifications are not under test
+
+    private final LocalDate today = LocalDate.now();
+    private Item laptop;
+    private Item projector;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("ELECTRONICS", "Devices"));
+        laptop = newItem("Laptop", "SN-L1", category);
+        projector = newItem("Projector", "SN-P1", category);
+        Collector collector = collectorRepository.save(new Collector("Alice", "0800000001", "alice@school.test"));
+
+        Assignment late = assignmentService.checkout(laptop.getId(), collector.getId(), today.minusDays(10), today.minusDays(5));
+        assignmentService.returnItem(late.getId()); // 10 days, overdue
+        assignmentService.checkout(laptop.getId(), collector.getId(), today, today.plusDays(7)); // Still out
+        Assignment onTime = assignmentService.checkout(projector.getId(), collector.getId(), today.minusDays(3), today.plusDays(4));
+        assignmentService.returnItem(onTime.getId()); // 3 days, on time
+    }
+
+    /**
+     * Tests the per-item metrics over a range covering every checkout.
+     */
+    @Test
+    void testGetItemUsage_ComputesMetricsPerItem() {
+        List<ItemUsageDTO> usage = usageAnalyticsService.getItemUsage(today.minusDays(29), today);
+
+        assertEquals(2, usage.size());
+        ItemUsageDTO laptopUsage = usage.get(0); // Most used first
+        assertEquals(laptop.getId(), laptopUsage.getItemId());
+        assertEquals("Laptop", laptopUsage.getItemName());
+        assertEquals(2, laptopUsage.getCheckouts());
+        assertEquals(1, laptopUsage.getReturns());
+        assertEquals(10.0, laptopUsage.getMeanLoanDays(), 1e-9);
+        assertEquals(1.0, laptopUsage.getOverdueRate(), 1e-9);
+        assertEquals(11.0 / 30, laptopUsage.getUtilization(), 1e-9); // 10 days returned, and out again today
+        ItemUsageDTO projectorUsage = usage.get(1);
+        assertEquals(3.0, projectorUsage.getMeanLoanDays(), 1e-9);
+        assertEquals(0.0, projectorUsage.getOverdueRate(), 1e-9);
+        assertEquals(3.0 / 30, projectorUsage.getUtilization(), 1e-9);
+    }
+
+    /**
+     * Tests that only the daily rows inside the range are counted.
+     */
+    @Test
+    void testGetItemUsage_OnlyCountsDaysInRange() {
+        List<ItemUsageDTO> usage = usageAnalyticsService.getItemUsage(today.minusDays(1), today);
+
+        ItemUsageDTO laptopUsage = usage.stream().filter(u -> u.getItemId().equals(laptop.getId())).findFirst().orElseThrow();
+        assertEquals(1, laptopUsage.getCheckouts()); // The checkout 10 days ago is outside the range
+        assertEquals(1, laptopUsage.getReturns());
+        assertEquals(1.0, laptopUsage.getUtilization(), 1e-9); // Out yesterday on the returned loan, today on the open one
+        ItemUsageDTO projectorUsage = usage.stream().filter(u -> u.getItemId().equals(projector.getId())).findFirst().orElseThrow();
+        assertEquals(0.5, projectorUsage.getUtilization(), 1e-9); // Only the loan's last day is in the range
+    }
+
+    /**
+     * Tests that an item out for the whole range, on a loan started before it and not returned
+     * yet, is fully utilized.
+     */
+    @Test
+    void testGetItemUsage_CountsLoansStillOpen() {
+        Category category = categoryRepository.save(new Category("AUDIO", "Speakers"));
+        Item speaker = newItem("Speaker", "SN-S1", category);
+        assignmentService.checkout(speaker.getId(), collectorRepository.findAll().get(0).getId(), today.minusDays(20), today.plusDays(5));
+
+        List<ItemUsageDTO> usage = usageAnalyticsService.getItemUsage(today.minusDays(6), today);
+
+        ItemUsageDTO speakerUsage = usage.stream().filter(u -> u.getItemId().equals(speaker.getId())).findFirst().orElseThrow();
+        assertEquals("Speaker", speakerUsage.getItemName());
+        assertEquals(0, speakerUsage.getCheckouts());
+        assertEquals(1.0, speakerUsage.getUtilization(), 1e-9);
+        CategoryUsageDTO audio = usageAnalyticsService.getCategoryUsage(today.minusDays(6), today).get(0);
+        assertEquals("AUDIO", audio.getCategoryName());
+        assertEquals(1.0, audio.getUtilization(), 1e-9);
+    }
+
+    /**
+     * Tests the per-category metrics, normalized by the number of items in the category.
+     */
+    @Test
+    void testGetCategoryUsage_AggregatesItemsOfCategory() {
+        List<CategoryUsageDTO> usage = usageAnalyticsService.getCategoryUsage(today.minusDays(29), today);
+
+        assertEquals(1, usage.size());
+        CategoryUsageDTO electronics = usage.get(0);
+        assertEquals("ELECTRONICS", electronics.getCategoryName());
+        assertEquals(2, electronics.getItemCount());
+        assertEquals(3, electronics.getCheckouts());
+        assertEquals(2, electronics.getReturns());
+        assertEquals(6.5, electronics.getMeanLoanDays(), 1e-9);
+        assertEquals(0.5, electronics.getOverdueRate(), 1e-9);
+        assertEquals(14.0 / 60, electronics.getUtilization(), 1e-9);
+    }
+
+    /**
+     * Tests that returned assignments are kept in the history after the assignment is deleted.
+     */
+    @Test
+    void testGetItemHistory_KeepsReturnedAssignments() {
+        Page<AssignmentHistory> history = usageAnalyticsService.getItemHistory(laptop.getId(), PageRequest.of(0, 20));
+
+        assertEquals(1, history.getTotalElements());
+        AssignmentHistory returned = history.getContent().get(0);
+        assertEquals(today.minusDays(10), returned.getAssignmentDate());
+        assertEquals(today, returned.getActualReturnDate());
+        assertEquals(10, returned.getLoanDays());
+        assertTrue(returned.isOverdue());
+    }
+
+    /**
+     * Tests that an inverted range is rejected.
+     */
+    @Test
+    void testGetItemUsage_InvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> usageAnalyticsService.getItemUsage(today, today.minusDays(1)));
+    }
+
+    private Item newItem(String name, String serialNumber, Category category) {
+        Item item = new Item(name, "Staff " + name.toLowerCase(), serialNumber, category);
+        item.setStatus(Status.AVAILABLE);
+        return itemRepository.save(item);
+    }
+}
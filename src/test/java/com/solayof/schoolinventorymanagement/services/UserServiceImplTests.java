@@ -93,7 +93,7 @@ class UserServiceTest {
     @DisplayName("Given existing ID, when getUserById, then return UserEntity")
     void getUserById_ShouldReturnUser_WhenUserExists() {
         // Arrange: Mock the repository to return our test user
-        given(userRepository.findById(userId)).willReturn(Optional.of(user));
+        given(userRepository.findVisibleById(userId)).willReturn(Optional.of(user));
 
         // Act: Call the method
         UserEntity foundUser = userService.getUserById(userId);
@@ -108,7 +108,7 @@ class UserServiceTest {
     void getUserById_ShouldThrowException_WhenUserDoesNotExist() {
         // Arrange: Mock the repository to return an empty Optional for a random UUID
         UUID nonExistentId = UUID.randomUUID();
-        given(userRepository.findById(nonExistentId)).willReturn(Optional.empty());
+        given(userRepository.findVisibleById(nonExistentId)).willReturn(Optional.empty());
 
         // Act & Assert: Verify that the correct exception is thrown
         assertThrows(UserNotFoundException.class, () -> {